@@ -44,3 +44,207 @@ WHERE json -> '$.sourceConfig.config.type' = 'DBT';
 ALTER TABLE test_connection_definition
 ADD fullyQualifiedName VARCHAR(256) GENERATED ALWAYS AS (json ->> '$.fullyQualifiedName') NOT NULL,
 DROP COLUMN name;
+
+-- Index updatedAt of the searchable entities for incremental reindexing
+ALTER TABLE table_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE topic_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE dashboard_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE pipeline_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE user_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE team_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE glossary_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE glossary_term_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE ml_model_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE storage_container_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE query_entity ADD INDEX updated_at_index (updatedAt, id);
+ALTER TABLE tag ADD INDEX updated_at_index (updatedAt, id);
+
+-- Cache invalidations propagated between the servers
+CREATE TABLE IF NOT EXISTS cache_invalidation_log (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    serverId VARCHAR(36) NOT NULL,
+    cacheName VARCHAR(64) NOT NULL,
+    cacheKey VARCHAR(256) NOT NULL,
+    timestamp BIGINT UNSIGNED NOT NULL,
+    PRIMARY KEY (id),
+    INDEX timestamp_index (timestamp)
+);
+
+-- Optional compact layout of entity_relationship keyed on binary UUIDs and entity type codes.
+-- Used only when relationshipLayout is COMPACT, verified and filled from entity_relationship in the background at
+-- server startup.
+CREATE TABLE IF NOT EXISTS entity_relationship_compact (
+    fromId BINARY(16) NOT NULL,                 -- ID of the from entity
+    toId BINARY(16) NOT NULL,                   -- ID of the to entity
+    fromEntity SMALLINT NOT NULL,               -- Type code of the from entity
+    toEntity SMALLINT NOT NULL,                 -- Type code of the to entity
+    relation TINYINT NOT NULL,
+    json JSON,                                  -- JSON payload with additional information
+    INDEX from_index (fromId, relation),
+    INDEX to_index (toId, relation),
+    PRIMARY KEY (fromId, toId, relation)
+);
+
+-- Read model of thread_entity used for listing and counting threads in the activity feed
+CREATE TABLE IF NOT EXISTS thread_feed (
+    id VARCHAR(36) NOT NULL,
+    entityId VARCHAR(36) NOT NULL,
+    entityLink VARCHAR(256) NOT NULL,
+    aboutFqn VARCHAR(256) NOT NULL,               -- Fully qualified name of the entity or field the thread is about
+    aboutType VARCHAR(256) NOT NULL,              -- Fully qualified type of the entity or field the thread is about
+    type VARCHAR(64),
+    taskStatus VARCHAR(64),
+    taskAssignees JSON,
+    resolved BOOLEAN,
+    createdAt BIGINT UNSIGNED NOT NULL,
+    createdBy VARCHAR(256) NOT NULL,
+    updatedAt BIGINT UNSIGNED NOT NULL,
+    announcementStart BIGINT UNSIGNED,
+    announcementEnd BIGINT UNSIGNED,
+    PRIMARY KEY (id),
+    INDEX updated_at_index (updatedAt),
+    INDEX about_index (aboutFqn, updatedAt),
+    INDEX type_index (type, taskStatus, updatedAt),
+    INDEX created_by_index (createdBy, updatedAt),
+    INDEX entity_id_index (entityId)
+);
+
+INSERT IGNORE INTO thread_feed(id, entityId, entityLink, aboutFqn, aboutType, type, taskStatus, taskAssignees, resolved,
+    createdAt, createdBy, updatedAt, announcementStart, announcementEnd)
+SELECT te.id, te.entityId, te.entityLink, fr.toFQN, fr.toType, te.type, te.taskStatus, te.taskAssignees, te.resolved,
+    te.createdAt, te.createdBy, te.updatedAt, te.announcementStart, te.announcementEnd
+FROM thread_entity te JOIN field_relationship fr ON fr.fromFQN = te.id AND fr.fromType = 'THREAD' AND fr.relation = 3;
+
+-- FQNs in tag_usage and field_relationship are keyed and looked up by the hash of the FQN, which is the MD5 of the
+-- whole FQN and has a fixed length of 32 characters. The FQN columns are not indexed, and the length of an FQN is not
+-- limited.
+ALTER TABLE tag_usage
+    DROP INDEX source,
+    MODIFY tagFQN TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    MODIFY targetFQN TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    ADD COLUMN tagFQNHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin,
+    ADD COLUMN targetFQNHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin;
+
+UPDATE tag_usage SET tagFQNHash = MD5(tagFQN), targetFQNHash = MD5(targetFQN);
+
+ALTER TABLE tag_usage
+    MODIFY tagFQNHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    MODIFY targetFQNHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    ADD UNIQUE INDEX tag_usage_unique (source, tagFQNHash, targetFQNHash),
+    ADD INDEX target_fqn_hash_index (targetFQNHash);
+
+ALTER TABLE field_relationship
+    DROP PRIMARY KEY,
+    DROP INDEX from_index,
+    DROP INDEX to_index,
+    MODIFY fromFQN TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    MODIFY toFQN TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    ADD COLUMN fromFQNHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin,
+    ADD COLUMN toFQNHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin;
+
+UPDATE field_relationship SET fromFQNHash = MD5(fromFQN), toFQNHash = MD5(toFQN);
+
+ALTER TABLE field_relationship
+    MODIFY fromFQNHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    MODIFY toFQNHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    ADD PRIMARY KEY (fromFQNHash, toFQNHash, relation),
+    ADD INDEX to_index (toFQNHash, relation);
+
+-- The descendants of an FQN are looked up by the hash of the FQN in fqn_parent_path, which holds the hash of each
+-- parent path of the FQNs in tag_usage and field_relationship. The parent paths of a.b.c are a and a.b, and a quoted
+-- name keeps its dots, so that the parent path of s."d.1".t is s."d.1" and the parent path of s."d.1" is s.
+CREATE TABLE IF NOT EXISTS fqn_parent_path (
+    parentHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    fqnHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    PRIMARY KEY (parentHash, fqnHash)
+);
+
+INSERT IGNORE INTO fqn_parent_path (parentHash, fqnHash)
+WITH RECURSIVE parent_path (path, fqnHash) AS (
+    SELECT fqn, MD5(fqn) FROM (
+        SELECT tagFQN AS fqn FROM tag_usage UNION SELECT targetFQN FROM tag_usage
+        UNION SELECT fromFQN FROM field_relationship UNION SELECT toFQN FROM field_relationship) fqns
+    UNION ALL
+    SELECT LEFT(path, CASE WHEN path LIKE '%"' THEN CHAR_LENGTH(path) - LOCATE('"', REVERSE(path), 2) - 1
+        ELSE CHAR_LENGTH(path) - LOCATE('.', REVERSE(path)) END), fqnHash
+    FROM parent_path
+    WHERE CASE WHEN path LIKE '%"' THEN CHAR_LENGTH(path) - LOCATE('"', REVERSE(path), 2) - 1
+        ELSE CHAR_LENGTH(path) - LOCATE('.', REVERSE(path)) END BETWEEN 1 AND CHAR_LENGTH(path) - 2
+)
+SELECT MD5(path), fqnHash FROM parent_path WHERE MD5(path) <> fqnHash;
+
+-- Change events are partitioned by event type and, within an event type, into chunks of a day by event time, so that
+-- the chunks older than the retention of the event type are dropped as a whole. Each event type has a tail partition
+-- p_<eventType>_max from which the chunks are split by ChangeEventCompactor ahead of time. The first chunk of each event
+-- type holds the existing events up to the end of the day of the migration, and is split from the tail partition before
+-- the events are copied so that the compactor never reorganizes the existing events.
+CREATE TABLE IF NOT EXISTS change_event_chunked (
+    eventType VARCHAR(36) GENERATED ALWAYS AS (json ->> '$.eventType') STORED NOT NULL,
+    entityType VARCHAR(36) GENERATED ALWAYS AS (json ->> '$.entityType') NOT NULL,
+    userName VARCHAR(256) GENERATED ALWAYS AS (json ->> '$.userName') NOT NULL,
+    eventTime BIGINT UNSIGNED GENERATED ALWAYS AS (json ->> '$.timestamp') STORED NOT NULL,
+    json JSON NOT NULL,
+    INDEX event_type_time_index (eventType, eventTime),
+    INDEX entity_type_index (entityType),
+    INDEX event_time_index (eventTime)
+)
+PARTITION BY RANGE COLUMNS (eventType, eventTime) (
+    PARTITION p_entitycreated_max VALUES LESS THAN ('entityCreated', MAXVALUE),
+    PARTITION p_entitydeleted_max VALUES LESS THAN ('entityDeleted', MAXVALUE),
+    PARTITION p_entitysoftdeleted_max VALUES LESS THAN ('entitySoftDeleted', MAXVALUE),
+    PARTITION p_entityupdated_max VALUES LESS THAN ('entityUpdated', MAXVALUE),
+    PARTITION p_other VALUES LESS THAN (MAXVALUE, MAXVALUE)
+);
+
+SET @first_chunk = DATE_FORMAT(UTC_DATE(), '%Y%m%d');
+SET @first_chunk_end = TIMESTAMPDIFF(SECOND, '1970-01-01', UTC_DATE() + INTERVAL 1 DAY) * 1000;
+SET @split_first_chunks = CONCAT(
+    'ALTER TABLE change_event_chunked REORGANIZE PARTITION ',
+    'p_entitycreated_max, p_entitydeleted_max, p_entitysoftdeleted_max, p_entityupdated_max INTO (',
+    'PARTITION p_entitycreated_', @first_chunk, ' VALUES LESS THAN (''entityCreated'', ', @first_chunk_end, '), ',
+    'PARTITION p_entitycreated_max VALUES LESS THAN (''entityCreated'', MAXVALUE), ',
+    'PARTITION p_entitydeleted_', @first_chunk, ' VALUES LESS THAN (''entityDeleted'', ', @first_chunk_end, '), ',
+    'PARTITION p_entitydeleted_max VALUES LESS THAN (''entityDeleted'', MAXVALUE), ',
+    'PARTITION p_entitysoftdeleted_', @first_chunk, ' VALUES LESS THAN (''entitySoftDeleted'', ', @first_chunk_end, '), ',
+    'PARTITION p_entitysoftdeleted_max VALUES LESS THAN (''entitySoftDeleted'', MAXVALUE), ',
+    'PARTITION p_entityupdated_', @first_chunk, ' VALUES LESS THAN (''entityUpdated'', ', @first_chunk_end, '), ',
+    'PARTITION p_entityupdated_max VALUES LESS THAN (''entityUpdated'', MAXVALUE))');
+PREPARE split_first_chunks FROM @split_first_chunks;
+EXECUTE split_first_chunks;
+DEALLOCATE PREPARE split_first_chunks;
+
+INSERT INTO change_event_chunked (json) SELECT json FROM change_event;
+DROP TABLE change_event;
+RENAME TABLE change_event_chunked TO change_event;
+
+-- Counts of the entities by entity type and deleted flag, and of the usages of each tag. The counts are maintained as
+-- entities and tag labels are written, and are counted again from the entity tables in the background.
+CREATE TABLE IF NOT EXISTS entity_counter (
+    entityType VARCHAR(64) NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (entityType, deleted)
+);
+
+CREATE TABLE IF NOT EXISTS tag_usage_counter (
+    source TINYINT NOT NULL,
+    tagFQN TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    tagFQNHash CHAR(32) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (source, tagFQNHash)
+);
+
+-- Renames of glossaries, glossary terms, classifications and tags. The descendants of the renamed entity and their
+-- tag usages are renamed in chunks, and the renames that did not complete are resumed at server startup.
+CREATE TABLE IF NOT EXISTS fqn_rename_job (
+    id VARCHAR(36) NOT NULL,
+    entityType VARCHAR(64) NOT NULL,
+    oldFqn TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    newFqn TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    renamed BIGINT NOT NULL,
+    startedAt BIGINT UNSIGNED NOT NULL,
+    updatedAt BIGINT UNSIGNED NOT NULL,
+    PRIMARY KEY (id),
+    INDEX status_index (status)
+);
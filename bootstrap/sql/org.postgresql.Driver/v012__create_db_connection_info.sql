@@ -32,3 +32,219 @@ WHERE json#>>'{sourceConfig,config,dbtConfigSource,dbtSecurityConfig}' is not nu
 ALTER TABLE test_connection_definition
 ADD fullyQualifiedName VARCHAR(256) GENERATED ALWAYS AS (json ->> 'fullyQualifiedName') STORED NOT NULL,
 DROP COLUMN name;
+
+-- Index updatedAt of the searchable entities for incremental reindexing
+CREATE INDEX IF NOT EXISTS table_entity_updated_at_index ON table_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS topic_entity_updated_at_index ON topic_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS dashboard_entity_updated_at_index ON dashboard_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS pipeline_entity_updated_at_index ON pipeline_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS user_entity_updated_at_index ON user_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS team_entity_updated_at_index ON team_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS glossary_entity_updated_at_index ON glossary_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS glossary_term_entity_updated_at_index ON glossary_term_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS ml_model_entity_updated_at_index ON ml_model_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS storage_container_entity_updated_at_index ON storage_container_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS query_entity_updated_at_index ON query_entity(updatedAt, id);
+CREATE INDEX IF NOT EXISTS tag_updated_at_index ON tag(updatedAt, id);
+
+-- Cache invalidations propagated between the servers
+CREATE TABLE IF NOT EXISTS cache_invalidation_log (
+    id BIGSERIAL NOT NULL,
+    serverId VARCHAR(36) NOT NULL,
+    cacheName VARCHAR(64) NOT NULL,
+    cacheKey VARCHAR(256) NOT NULL,
+    timestamp BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS cache_invalidation_log_timestamp_index ON cache_invalidation_log(timestamp);
+
+-- Optional compact layout of entity_relationship keyed on binary UUIDs and entity type codes.
+-- Used only when relationshipLayout is COMPACT, verified and filled from entity_relationship in the background at
+-- server startup.
+CREATE TABLE IF NOT EXISTS entity_relationship_compact (
+    fromId BYTEA NOT NULL,                      -- ID of the from entity
+    toId BYTEA NOT NULL,                        -- ID of the to entity
+    fromEntity SMALLINT NOT NULL,               -- Type code of the from entity
+    toEntity SMALLINT NOT NULL,                 -- Type code of the to entity
+    relation SMALLINT NOT NULL,
+    json JSONB,                                 -- JSON payload with additional information
+    PRIMARY KEY (fromId, toId, relation)
+);
+CREATE INDEX IF NOT EXISTS entity_relationship_compact_from_index ON entity_relationship_compact(fromId, relation);
+CREATE INDEX IF NOT EXISTS entity_relationship_compact_to_index ON entity_relationship_compact(toId, relation);
+
+-- Read model of thread_entity used for listing and counting threads in the activity feed
+CREATE TABLE IF NOT EXISTS thread_feed (
+    id VARCHAR(36) NOT NULL,
+    entityId VARCHAR(36) NOT NULL,
+    entityLink VARCHAR(256) NOT NULL,
+    aboutFqn VARCHAR(256) NOT NULL,               -- Fully qualified name of the entity or field the thread is about
+    aboutType VARCHAR(256) NOT NULL,              -- Fully qualified type of the entity or field the thread is about
+    type VARCHAR(64),
+    taskStatus VARCHAR(64),
+    taskAssignees JSONB,
+    resolved BOOLEAN,
+    createdAt BIGINT NOT NULL,
+    createdBy VARCHAR(256) NOT NULL,
+    updatedAt BIGINT NOT NULL,
+    announcementStart BIGINT,
+    announcementEnd BIGINT,
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS thread_feed_updated_at_index ON thread_feed(updatedAt);
+CREATE INDEX IF NOT EXISTS thread_feed_about_index ON thread_feed(aboutFqn varchar_pattern_ops, updatedAt);
+CREATE INDEX IF NOT EXISTS thread_feed_type_index ON thread_feed(type, taskStatus, updatedAt);
+CREATE INDEX IF NOT EXISTS thread_feed_created_by_index ON thread_feed(createdBy, updatedAt);
+CREATE INDEX IF NOT EXISTS thread_feed_entity_id_index ON thread_feed(entityId);
+CREATE INDEX IF NOT EXISTS thread_feed_task_assignees_index ON thread_feed USING GIN (taskAssignees);
+
+INSERT INTO thread_feed(id, entityId, entityLink, aboutFqn, aboutType, type, taskStatus, taskAssignees, resolved,
+    createdAt, createdBy, updatedAt, announcementStart, announcementEnd)
+SELECT te.id, te.entityId, te.entityLink, fr.toFQN, fr.toType, te.type, te.taskStatus, te.taskAssignees, te.resolved,
+    te.createdAt, te.createdBy, te.updatedAt, te.announcementStart, te.announcementEnd
+FROM thread_entity te JOIN field_relationship fr ON fr.fromFQN = te.id AND fr.fromType = 'THREAD' AND fr.relation = 3
+ON CONFLICT (id) DO NOTHING;
+
+-- FQNs in tag_usage and field_relationship are keyed and looked up by the hash of the FQN, which is the MD5 of the
+-- whole FQN and has a fixed length of 32 characters. The FQN columns are not indexed, and the length of an FQN is not
+-- limited.
+ALTER TABLE tag_usage
+    ALTER COLUMN tagFQN TYPE TEXT COLLATE "C",
+    ALTER COLUMN targetFQN TYPE TEXT COLLATE "C",
+    ADD COLUMN IF NOT EXISTS tagFQNHash CHAR(32) COLLATE "C",
+    ADD COLUMN IF NOT EXISTS targetFQNHash CHAR(32) COLLATE "C";
+
+UPDATE tag_usage SET tagFQNHash = md5(tagFQN), targetFQNHash = md5(targetFQN);
+
+ALTER TABLE tag_usage
+    DROP CONSTRAINT IF EXISTS tag_usage_source_tagfqn_targetfqn_key,
+    ALTER COLUMN tagFQNHash SET NOT NULL,
+    ALTER COLUMN targetFQNHash SET NOT NULL,
+    ADD CONSTRAINT tag_usage_unique UNIQUE (source, tagFQNHash, targetFQNHash);
+
+CREATE INDEX IF NOT EXISTS tag_usage_target_fqn_hash_index ON tag_usage(targetFQNHash);
+
+DROP INDEX IF EXISTS field_relationship_from_index;
+DROP INDEX IF EXISTS field_relationship_to_index;
+
+ALTER TABLE field_relationship
+    ALTER COLUMN fromFQN TYPE TEXT COLLATE "C",
+    ALTER COLUMN toFQN TYPE TEXT COLLATE "C",
+    ADD COLUMN IF NOT EXISTS fromFQNHash CHAR(32) COLLATE "C",
+    ADD COLUMN IF NOT EXISTS toFQNHash CHAR(32) COLLATE "C";
+
+UPDATE field_relationship SET fromFQNHash = md5(fromFQN), toFQNHash = md5(toFQN);
+
+ALTER TABLE field_relationship
+    DROP CONSTRAINT IF EXISTS field_relationship_pkey,
+    ALTER COLUMN fromFQNHash SET NOT NULL,
+    ALTER COLUMN toFQNHash SET NOT NULL,
+    ADD PRIMARY KEY (fromFQNHash, toFQNHash, relation);
+
+CREATE INDEX IF NOT EXISTS field_relationship_to_index ON field_relationship(toFQNHash, relation);
+
+-- The descendants of an FQN are looked up by the hash of the FQN in fqn_parent_path, which holds the hash of each
+-- parent path of the FQNs in tag_usage and field_relationship. The parent paths of a.b.c are a and a.b, and a quoted
+-- name keeps its dots, so that the parent path of s."d.1".t is s."d.1" and the parent path of s."d.1" is s.
+CREATE TABLE IF NOT EXISTS fqn_parent_path (
+    parentHash CHAR(32) COLLATE "C" NOT NULL,
+    fqnHash CHAR(32) COLLATE "C" NOT NULL,
+    PRIMARY KEY (parentHash, fqnHash)
+);
+
+WITH RECURSIVE parent_path (path, fqnHash) AS (
+    SELECT fqn, md5(fqn) FROM (
+        SELECT tagFQN AS fqn FROM tag_usage UNION SELECT targetFQN FROM tag_usage
+        UNION SELECT fromFQN FROM field_relationship UNION SELECT toFQN FROM field_relationship) fqns
+    UNION ALL
+    SELECT left(path, CASE WHEN path LIKE '%"' THEN length(path) - strpos(substr(reverse(path), 2), '"') - 2
+        ELSE length(path) - strpos(reverse(path), '.') END), fqnHash
+    FROM parent_path
+    WHERE CASE WHEN path LIKE '%"' THEN length(path) - strpos(substr(reverse(path), 2), '"') - 2
+        ELSE length(path) - strpos(reverse(path), '.') END BETWEEN 1 AND length(path) - 2
+)
+INSERT INTO fqn_parent_path (parentHash, fqnHash)
+SELECT md5(path), fqnHash FROM parent_path WHERE md5(path) <> fqnHash
+ON CONFLICT DO NOTHING;
+
+-- Change events are partitioned by event type and, within an event type, into chunks of a day by event time, so that
+-- the chunks older than the retention of the event type are dropped as a whole. The chunks are created ahead of time by
+-- ChangeEventCompactor. The first chunk of each event type holds the existing events up to the end of the day of the
+-- migration, and the default partition of an event type only holds the events written when the compactor has fallen
+-- behind.
+-- Partition keys can't be generated columns, and eventType and eventTime are set from the json on insert.
+ALTER TABLE change_event RENAME TO change_event_unpartitioned;
+
+CREATE TABLE IF NOT EXISTS change_event (
+    eventType VARCHAR(36) NOT NULL,
+    entityType VARCHAR(36) GENERATED ALWAYS AS (json ->> 'entityType') STORED NOT NULL,
+    userName VARCHAR(256) GENERATED ALWAYS AS (json ->> 'userName') STORED NOT NULL,
+    eventTime BIGINT NOT NULL,
+    json JSONB NOT NULL
+) PARTITION BY LIST (eventType);
+
+CREATE TABLE IF NOT EXISTS change_event_entitycreated PARTITION OF change_event
+    FOR VALUES IN ('entityCreated') PARTITION BY RANGE (eventTime);
+CREATE TABLE IF NOT EXISTS change_event_entityupdated PARTITION OF change_event
+    FOR VALUES IN ('entityUpdated') PARTITION BY RANGE (eventTime);
+CREATE TABLE IF NOT EXISTS change_event_entitysoftdeleted PARTITION OF change_event
+    FOR VALUES IN ('entitySoftDeleted') PARTITION BY RANGE (eventTime);
+CREATE TABLE IF NOT EXISTS change_event_entitydeleted PARTITION OF change_event
+    FOR VALUES IN ('entityDeleted') PARTITION BY RANGE (eventTime);
+CREATE TABLE IF NOT EXISTS change_event_entitycreated_default PARTITION OF change_event_entitycreated DEFAULT;
+CREATE TABLE IF NOT EXISTS change_event_entityupdated_default PARTITION OF change_event_entityupdated DEFAULT;
+CREATE TABLE IF NOT EXISTS change_event_entitysoftdeleted_default PARTITION OF change_event_entitysoftdeleted DEFAULT;
+CREATE TABLE IF NOT EXISTS change_event_entitydeleted_default PARTITION OF change_event_entitydeleted DEFAULT;
+CREATE TABLE IF NOT EXISTS change_event_default PARTITION OF change_event DEFAULT;
+
+DO $$
+DECLARE
+    event_type TEXT;
+    first_chunk DATE := (now() AT TIME ZONE 'UTC')::date;
+BEGIN
+    FOREACH event_type IN ARRAY ARRAY['entitycreated', 'entityupdated', 'entitysoftdeleted', 'entitydeleted'] LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (MINVALUE) TO (%s)',
+            'change_event_' || event_type || '_' || to_char(first_chunk, 'YYYYMMDD'), 'change_event_' || event_type,
+            (extract(epoch FROM (first_chunk + 1)::timestamp) * 1000)::bigint);
+    END LOOP;
+END $$;
+
+INSERT INTO change_event (eventType, eventTime, json)
+SELECT eventType, eventTime, json FROM change_event_unpartitioned;
+DROP TABLE change_event_unpartitioned;
+
+CREATE INDEX IF NOT EXISTS change_event_entity_type_index ON change_event(entityType);
+CREATE INDEX IF NOT EXISTS change_event_event_time_index ON change_event(eventTime);
+
+-- Counts of the entities by entity type and deleted flag, and of the usages of each tag. The counts are maintained as
+-- entities and tag labels are written, and are counted again from the entity tables in the background.
+CREATE TABLE IF NOT EXISTS entity_counter (
+    entityType VARCHAR(64) NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (entityType, deleted)
+);
+
+CREATE TABLE IF NOT EXISTS tag_usage_counter (
+    source SMALLINT NOT NULL,
+    tagFQN TEXT COLLATE "C" NOT NULL,
+    tagFQNHash CHAR(32) COLLATE "C" NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (source, tagFQNHash)
+);
+
+-- Renames of glossaries, glossary terms, classifications and tags. The descendants of the renamed entity and their
+-- tag usages are renamed in chunks, and the renames that did not complete are resumed at server startup.
+CREATE TABLE IF NOT EXISTS fqn_rename_job (
+    id VARCHAR(36) NOT NULL,
+    entityType VARCHAR(64) NOT NULL,
+    oldFqn TEXT COLLATE "C" NOT NULL,
+    newFqn TEXT COLLATE "C" NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    renamed BIGINT NOT NULL,
+    startedAt BIGINT NOT NULL,
+    updatedAt BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS fqn_rename_job_status_index ON fqn_rename_job(status);
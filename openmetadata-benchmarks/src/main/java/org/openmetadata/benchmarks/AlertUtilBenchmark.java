@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.entity.events.EventFilterRule;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EventType;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.events.subscription.AlertUtil;
+import org.openmetadata.service.util.EntityUtil;
+import org.openmetadata.service.util.JsonUtils;
+
+/** Evaluation of the alert filter conditions, which is done for every change event and every event subscription. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertUtilBenchmark {
+  private ChangeEvent changeEvent;
+  private List<EventFilterRule> filterRules;
+
+  @Setup
+  public void setup() throws IOException {
+    BenchmarkFixtures.registerTableRepository();
+    Table table = BenchmarkFixtures.createTable(200, 1);
+    ChangeDescription changeDescription = new ChangeDescription().withPreviousVersion(0.1);
+    EntityUtil.fieldUpdated(changeDescription, "description", "old description", table.getDescription());
+    changeEvent =
+        new ChangeEvent()
+            .withEventType(EventType.ENTITY_UPDATED)
+            .withEntityType(Entity.TABLE)
+            .withEntityId(table.getId())
+            .withEntityFullyQualifiedName(table.getFullyQualifiedName())
+            .withPreviousVersion(0.1)
+            .withCurrentVersion(0.2)
+            .withUserName(Entity.ADMIN_USER_NAME)
+            .withTimestamp(System.currentTimeMillis())
+            .withChangeDescription(changeDescription)
+            .withEntity(JsonUtils.pojoToJson(table));
+    filterRules =
+        List.of(
+            rule("matchAnySource('table', 'topic', 'dashboard')", EventFilterRule.Effect.INCLUDE),
+            rule("matchAnyEventType('entityCreated', 'entityUpdated')", EventFilterRule.Effect.INCLUDE),
+            rule("matchAnyFieldChange('description', 'tags')", EventFilterRule.Effect.INCLUDE),
+            rule("matchUpdatedBy('ingestion-bot')", EventFilterRule.Effect.EXCLUDE),
+            rule("matchAnyEntityFqn('" + table.getFullyQualifiedName() + "')", EventFilterRule.Effect.INCLUDE));
+  }
+
+  @Benchmark
+  public boolean evaluateAlertConditions() {
+    return AlertUtil.evaluateAlertConditions(changeEvent, filterRules);
+  }
+
+  private static EventFilterRule rule(String condition, EventFilterRule.Effect effect) {
+    return new EventFilterRule().withName(condition).withCondition(condition).withEffect(effect);
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.benchmarks;
+
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.openmetadata.schema.api.services.CreateDatabaseService.DatabaseServiceType;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.ColumnDataType;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.TableType;
+import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.TableRepository;
+import org.openmetadata.service.util.FullyQualifiedName;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Generates the entities used by the benchmarks. The entities are modeled after the tables ingested from warehouses,
+ * with wide column lists, nested struct columns, descriptions and classification tags. A fixed seed is used so that
+ * every benchmark run works on the same fixtures.
+ */
+public final class BenchmarkFixtures {
+  private static final String[] TAGS = {
+    "PII.Sensitive", "PII.NonSensitive", "PersonalData.Personal", "PersonalData.SpecialCategory", "Tier.Tier1"
+  };
+  private static final ColumnDataType[] DATA_TYPES = {
+    ColumnDataType.BIGINT,
+    ColumnDataType.VARCHAR,
+    ColumnDataType.TIMESTAMP,
+    ColumnDataType.DECIMAL,
+    ColumnDataType.BOOLEAN
+  };
+  private static TableRepository tableRepository;
+
+  private BenchmarkFixtures() {
+    /* Hidden constructor */
+  }
+
+  /**
+   * Register the table repository used to resolve the entity tags and to create entity updaters. The database access is
+   * stubbed out, and only the code paths that do not read or write the database can be benchmarked.
+   */
+  public static synchronized TableRepository registerTableRepository() {
+    if (tableRepository == null) {
+      tableRepository = new TableRepository(mock(CollectionDAO.class));
+      Entity.registerEntity(Table.class, Entity.TABLE, tableRepository, null);
+    }
+    return tableRepository;
+  }
+
+  /** Create a table with given number of columns. Every tenth column is a struct column with 5 child columns. */
+  public static Table createTable(int columnCount, long seed) {
+    Random random = new Random(seed);
+    String serviceName = "mysql_prod";
+    String databaseName = "warehouse";
+    String schemaName = "sales.emea"; // Name with a separator that needs quoting in the FQN
+    String tableName = "orders_" + seed;
+    String tableFqn = FullyQualifiedName.build(serviceName, databaseName, schemaName, tableName);
+
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < columnCount; i++) {
+      String name = "column_" + i;
+      Column column = createColumn(random, name, FullyQualifiedName.add(tableFqn, name));
+      if (i % 10 == 9) {
+        List<Column> children = new ArrayList<>();
+        for (int j = 0; j < 5; j++) {
+          String childName = name + "_field_" + j;
+          children.add(
+              createColumn(random, childName, FullyQualifiedName.add(column.getFullyQualifiedName(), childName)));
+        }
+        column.withDataType(ColumnDataType.STRUCT).withDataTypeDisplay("struct").withChildren(children);
+      }
+      columns.add(column);
+    }
+
+    return new Table()
+        .withId(UUID.nameUUIDFromBytes(tableFqn.getBytes()))
+        .withName(tableName)
+        .withFullyQualifiedName(tableFqn)
+        .withDisplayName("Orders " + seed)
+        .withDescription("Orders placed by the customers in the EMEA region. " + text(random, 40))
+        .withTableType(TableType.Regular)
+        .withColumns(columns)
+        .withTags(List.of(tagLabel(TAGS[4])))
+        .withOwner(reference(Entity.TEAM, "sales_engineering"))
+        .withFollowers(List.of(reference(Entity.USER, "alice"), reference(Entity.USER, "bob")))
+        .withService(reference(Entity.DATABASE_SERVICE, serviceName))
+        .withServiceType(DatabaseServiceType.Mysql)
+        .withDatabase(reference(Entity.DATABASE, databaseName))
+        .withDatabaseSchema(reference(Entity.DATABASE_SCHEMA, schemaName))
+        .withVersion(0.1)
+        .withUpdatedAt(System.currentTimeMillis())
+        .withUpdatedBy(Entity.ADMIN_USER_NAME);
+  }
+
+  /**
+   * Return a copy of the table with descriptions and tags updated for every fifth column, a tenth of the columns
+   * removed and new columns added. This is the typical change made by re-ingestion and by bulk edits from the UI.
+   */
+  public static Table updateTable(Table table) throws IOException {
+    Table updated = JsonUtils.readValue(JsonUtils.pojoToJson(table), Table.class);
+    List<Column> columns = updated.getColumns();
+    for (int i = 0; i < columns.size(); i++) {
+      Column column = columns.get(i);
+      if (i % 5 == 0) {
+        column.withDescription("Updated description of " + column.getName());
+        column.getTags().add(tagLabel(TAGS[i % 2]));
+      }
+    }
+    int removed = columns.size() / 10;
+    for (int i = 0; i < removed; i++) {
+      columns.remove(columns.size() - 1 - i * 2);
+    }
+    Random random = new Random(columns.size());
+    for (int i = 0; i < removed; i++) {
+      String name = "added_column_" + i;
+      columns.add(createColumn(random, name, FullyQualifiedName.add(updated.getFullyQualifiedName(), name)));
+    }
+    return updated.withVersion(0.2).withDescription("Updated " + table.getDescription());
+  }
+
+  /** Return FQNs of all the columns and nested columns of a table */
+  public static List<String> getColumnFqns(Table table) {
+    List<String> fqns = new ArrayList<>();
+    addColumnFqns(table.getColumns(), fqns);
+    return fqns;
+  }
+
+  private static void addColumnFqns(List<Column> columns, List<String> fqns) {
+    for (Column column : columns) {
+      fqns.add(column.getFullyQualifiedName());
+      if (column.getChildren() != null) {
+        addColumnFqns(column.getChildren(), fqns);
+      }
+    }
+  }
+
+  private static Column createColumn(Random random, String name, String fqn) {
+    ColumnDataType dataType = DATA_TYPES[random.nextInt(DATA_TYPES.length)];
+    List<TagLabel> tags = new ArrayList<>();
+    if (random.nextInt(3) == 0) {
+      tags.add(tagLabel(TAGS[random.nextInt(TAGS.length - 1)]));
+    }
+    return new Column()
+        .withName(name)
+        .withFullyQualifiedName(fqn)
+        .withDataType(dataType)
+        .withDataTypeDisplay(dataType.value().toLowerCase())
+        .withDataLength(dataType == ColumnDataType.VARCHAR ? 256 : null)
+        .withDescription(text(random, 12))
+        .withTags(tags);
+  }
+
+  private static TagLabel tagLabel(String tagFqn) {
+    return new TagLabel().withTagFQN(tagFqn).withSource(TagLabel.TagSource.CLASSIFICATION);
+  }
+
+  private static EntityReference reference(String entityType, String name) {
+    return new EntityReference()
+        .withId(UUID.nameUUIDFromBytes((entityType + name).getBytes()))
+        .withType(entityType)
+        .withName(name)
+        .withFullyQualifiedName(FullyQualifiedName.quoteName(name));
+  }
+
+  private static String text(Random random, int words) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      builder.append(i == 0 ? "" : " ").append(Integer.toString(random.nextInt(Integer.MAX_VALUE), 36));
+    }
+    return builder.toString();
+  }
+}
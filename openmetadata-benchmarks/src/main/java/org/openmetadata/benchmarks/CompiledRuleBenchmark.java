@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.entity.policies.accessControl.Rule;
+import org.openmetadata.schema.type.MetadataOperation;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.security.policyevaluator.CompiledRule;
+import org.openmetadata.service.security.policyevaluator.ResourceContext;
+import org.openmetadata.service.security.policyevaluator.RuleEvaluator;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/** Parsing and evaluation of policy rule conditions, which are evaluated for every authorized request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompiledRuleBenchmark {
+  private static final String CONDITION =
+      "noOwner() || matchAnyTag('PII.Sensitive', 'PersonalData.SpecialCategory') && !matchAllTags('Tier.Tier1')";
+
+  private CompiledRule rule;
+  private StandardEvaluationContext evaluationContext;
+
+  @Setup
+  public void setup() {
+    Table table = BenchmarkFixtures.createTable(200, 1);
+    ResourceContext resourceContext =
+        ResourceContext.builder()
+            .resource(Entity.TABLE)
+            .entity(table)
+            .entityRepository(BenchmarkFixtures.registerTableRepository())
+            .build();
+    evaluationContext = new StandardEvaluationContext(new RuleEvaluator(null, null, resourceContext));
+    rule =
+        new CompiledRule(
+            new Rule()
+                .withName("piiAccess")
+                .withCondition(CONDITION)
+                .withEffect(Rule.Effect.DENY)
+                .withOperations(List.of(MetadataOperation.VIEW_ALL))
+                .withResources(List.of(Entity.TABLE)));
+  }
+
+  @Benchmark
+  public Expression parseExpression() {
+    return CompiledRule.parseExpression(CONDITION);
+  }
+
+  @Benchmark
+  public Boolean evaluateExpression() {
+    return rule.getExpression().getValue(evaluationContext, Boolean.class);
+  }
+}
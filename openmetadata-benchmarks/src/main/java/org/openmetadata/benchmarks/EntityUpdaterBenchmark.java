@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.jdbi3.EntityRepository.Operation;
+import org.openmetadata.service.jdbi3.TableRepository;
+import org.openmetadata.service.util.EntityUtil;
+
+/** Diffing of the column lists of the original and updated tables during PUT and PATCH. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityUpdaterBenchmark {
+  @Param({"50", "500", "2000"})
+  private int columns;
+
+  private TableRepository repository;
+  private Table original;
+  private Table updated;
+
+  @Setup
+  public void setup() throws IOException {
+    repository = BenchmarkFixtures.registerTableRepository();
+    original = BenchmarkFixtures.createTable(columns, 1);
+    updated = BenchmarkFixtures.updateTable(original);
+  }
+
+  @Benchmark
+  public List<Column> recordListChange() throws IOException {
+    EntityRepository<Table>.EntityUpdater updater = repository.getUpdater(original, updated, Operation.PUT);
+    List<Column> added = new ArrayList<>();
+    List<Column> deleted = new ArrayList<>();
+    updater.recordListChange(
+        "columns", original.getColumns(), updated.getColumns(), added, deleted, EntityUtil.columnMatch);
+    return added;
+  }
+}
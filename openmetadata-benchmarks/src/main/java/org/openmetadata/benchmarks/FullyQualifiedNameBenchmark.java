@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openmetadata.service.util.FullyQualifiedName;
+
+/** Splitting and building the fully qualified names of all the columns of a wide table, including quoted names. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FullyQualifiedNameBenchmark {
+  private List<String> fqns;
+  private String[][] parts;
+
+  @Setup
+  public void setup() {
+    fqns = BenchmarkFixtures.getColumnFqns(BenchmarkFixtures.createTable(500, 1));
+    parts = new String[fqns.size()][];
+    for (int i = 0; i < fqns.size(); i++) {
+      parts[i] = FullyQualifiedName.split(fqns.get(i));
+    }
+  }
+
+  @Benchmark
+  public void split(Blackhole blackhole) {
+    for (String fqn : fqns) {
+      blackhole.consume(FullyQualifiedName.split(fqn));
+    }
+  }
+
+  @Benchmark
+  public void build(Blackhole blackhole) {
+    for (String[] fqnParts : parts) {
+      blackhole.consume(FullyQualifiedName.build(fqnParts));
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr353.JSR353Module;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.json.JsonPatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.RestUtil;
+
+/** Serialization, deserialization and JSON patch of tables, which are done on every read and write of an entity. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilsBenchmark {
+  @Param({"50", "500", "2000"})
+  private int columns;
+
+  private Table table;
+  private String json;
+  private JsonPatch patch;
+
+  // Mapper configured as JsonUtils was before the cached readers and generated property accessors, as the baseline
+  private final ObjectMapper baselineMapper =
+      new ObjectMapper()
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+          .setDateFormat(RestUtil.DATE_TIME_FORMAT)
+          .registerModule(new JSR353Module());
+
+  @Setup
+  public void setup() throws IOException {
+    table = BenchmarkFixtures.createTable(columns, 1);
+    json = JsonUtils.pojoToJson(table);
+    patch = JsonUtils.getJsonPatch(table, BenchmarkFixtures.updateTable(table));
+  }
+
+  @Benchmark
+  public Table readValue() throws IOException {
+    return JsonUtils.readValue(json, Table.class);
+  }
+
+  @Benchmark
+  public Table baselineReadValue() throws IOException {
+    return baselineMapper.readValue(json, Table.class);
+  }
+
+  @Benchmark
+  public String pojoToJson() throws IOException {
+    return JsonUtils.pojoToJson(table);
+  }
+
+  @Benchmark
+  public String baselinePojoToJson() throws IOException {
+    return baselineMapper.writeValueAsString(table);
+  }
+
+  @Benchmark
+  public Table applyPatch() {
+    return JsonUtils.applyPatch(table, patch, Table.class);
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.jdbi.v3.sqlobject.SqlObjects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.type.Relationship;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.service.jdbi3.CompactEntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.RelationshipLayout;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareAnnotationSqlLocator;
+
+/**
+ * Lookups of entity relationships in entity_relationship compared with the compact layout in
+ * entity_relationship_compact. Unlike the other benchmarks this one needs a database with the OpenMetadata schema,
+ * which is given with the system properties jdbcUrl, jdbcUser and jdbcPassword. A generated dataset of schemas that
+ * contain tables and of users that follow the tables is written to both layouts, and the index sizes of both tables are
+ * printed before the lookups are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RelationshipLayoutBenchmark {
+  private static final int TABLES_PER_SCHEMA = 100;
+  private static final int BATCH_SIZE = 1000;
+  private static final int CONTAINS = Relationship.CONTAINS.ordinal();
+  private static final int FOLLOWS = Relationship.FOLLOWS.ordinal();
+
+  @Param({"1000000"})
+  private int relationships;
+
+  @Param({"STRING", "COMPACT"})
+  private RelationshipLayout layout;
+
+  private EntityRelationshipDAO dao;
+  private final List<String> schemaIds = new ArrayList<>();
+  private final List<String> tableIds = new ArrayList<>();
+
+  @Setup
+  public void setup() {
+    String url = System.getProperty("jdbcUrl");
+    if (url == null) {
+      throw new IllegalArgumentException("System property jdbcUrl of the OpenMetadata database is required");
+    }
+    String driverClass = url.startsWith("jdbc:postgresql") ? "org.postgresql.Driver" : "com.mysql.cj.jdbc.Driver";
+    Jdbi jdbi = Jdbi.create(url, System.getProperty("jdbcUser"), System.getProperty("jdbcPassword"));
+    jdbi.installPlugin(new SqlObjectPlugin());
+    jdbi.getConfig(SqlObjects.class).setSqlLocator(new ConnectionAwareAnnotationSqlLocator(driverClass));
+    CollectionDAO collectionDAO = jdbi.onDemand(CollectionDAO.class);
+    EntityRelationshipDAO compactDAO =
+        new CompactEntityRelationshipDAO(collectionDAO.entityRelationshipDAO(), collectionDAO.compactRelationshipDAO());
+    CompactEntityRelationshipDAO.synchronize(collectionDAO.compactRelationshipDAO());
+    generateDataset(compactDAO, collectionDAO.compactRelationshipDAO().count() < relationships);
+    dao = layout == RelationshipLayout.COMPACT ? compactDAO : collectionDAO.entityRelationshipDAO();
+
+    try (Handle handle = jdbi.open()) {
+      printIndexSizes(handle, driverClass, "entity_relationship");
+      printIndexSizes(handle, driverClass, "entity_relationship_compact");
+    }
+  }
+
+  /** Tables of a schema, which is how the children of an entity are listed */
+  @Benchmark
+  public List<EntityRelationshipRecord> findTo() {
+    String schemaId = schemaIds.get(ThreadLocalRandom.current().nextInt(schemaIds.size()));
+    return dao.findTo(schemaId, Entity.DATABASE_SCHEMA, CONTAINS);
+  }
+
+  /** Schema of a table, which is how the container of an entity is looked up */
+  @Benchmark
+  public List<EntityRelationshipRecord> findFrom() {
+    String tableId = tableIds.get(ThreadLocalRandom.current().nextInt(tableIds.size()));
+    return dao.findFrom(tableId, Entity.TABLE, CONTAINS, Entity.DATABASE_SCHEMA);
+  }
+
+  /** Ids are generated from a fixed seed so that the dataset is written only once across the runs */
+  private void generateDataset(EntityRelationshipDAO compactDAO, boolean write) {
+    Random random = new Random(42);
+    List<EntityRelationshipObject> batch = new ArrayList<>();
+    // Each table has a schema and a follower
+    int tables = relationships / 2;
+    String schemaId = null;
+    for (int i = 0; i < tables; i++) {
+      if (i % TABLES_PER_SCHEMA == 0) {
+        schemaId = new UUID(random.nextLong(), random.nextLong()).toString();
+        schemaIds.add(schemaId);
+      }
+      String tableId = new UUID(random.nextLong(), random.nextLong()).toString();
+      String userId = new UUID(random.nextLong(), random.nextLong()).toString();
+      tableIds.add(tableId);
+      if (write) {
+        batch.add(relationship(schemaId, tableId, Entity.DATABASE_SCHEMA, Entity.TABLE, CONTAINS));
+        batch.add(relationship(userId, tableId, Entity.USER, Entity.TABLE, FOLLOWS));
+        if (batch.size() >= BATCH_SIZE) {
+          compactDAO.insertMany(batch);
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      compactDAO.insertMany(batch);
+    }
+  }
+
+  private static EntityRelationshipObject relationship(
+      String fromId, String toId, String fromEntity, String toEntity, int relation) {
+    return EntityRelationshipObject.builder()
+        .fromId(fromId)
+        .toId(toId)
+        .fromEntity(fromEntity)
+        .toEntity(toEntity)
+        .relation(relation)
+        .build();
+  }
+
+  private static void printIndexSizes(Handle handle, String driverClass, String table) {
+    String query;
+    if (driverClass.equals("org.postgresql.Driver")) {
+      handle.execute("ANALYZE " + table);
+      query =
+          "SELECT indexrelname AS name, pg_relation_size(indexrelid) AS size FROM pg_stat_user_indexes "
+              + "WHERE relname = :table";
+    } else {
+      handle.execute("ANALYZE TABLE " + table);
+      query =
+          "SELECT index_name AS name, stat_value * @@innodb_page_size AS size FROM mysql.innodb_index_stats "
+              + "WHERE database_name = DATABASE() AND table_name = :table AND stat_name = 'size'";
+    }
+    handle
+        .createQuery(query)
+        .bind("table", table)
+        .map((rs, ctx) -> String.format("%s.%s %d KB", table, rs.getString("name"), rs.getLong("size") / 1024))
+        .forEach(System.out::println);
+  }
+}
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -43,7 +44,6 @@ import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.schema.type.csv.CsvDocumentation;
 import org.openmetadata.schema.type.csv.CsvErrorType;
-import org.openmetadata.schema.type.csv.CsvFile;
 import org.openmetadata.schema.type.csv.CsvHeader;
 import org.openmetadata.schema.type.csv.CsvImportResult;
 import org.openmetadata.schema.type.csv.CsvImportResult.Status;
@@ -67,6 +67,7 @@ public abstract class EntityCsv<T extends EntityInterface> {
   public static final String IMPORT_STATUS_FAILED = "failure";
   public static final String ENTITY_CREATED = "Entity created";
   public static final String ENTITY_UPDATED = "Entity updated";
+  public static final int EXPORT_PAGE_SIZE = 1000; // Number of entities read from the database at a time for export
   private final String entityType;
   private final List<CsvHeader> csvHeaders;
   private final CsvImportResult importResult = new CsvImportResult();
@@ -118,13 +119,26 @@ public abstract class EntityCsv<T extends EntityInterface> {
   protected abstract T toEntity(CSVPrinter resultsPrinter, CSVRecord csvRecord) throws IOException;
 
   public final String exportCsv(List<T> entities) throws IOException {
-    CsvFile csvFile = new CsvFile().withHeaders(csvHeaders);
-    List<List<String>> records = new ArrayList<>();
-    for (T entity : entities) {
-      records.add(toRecord(entity));
+    StringWriter writer = new StringWriter();
+    try (CSVPrinter printer = exportHeaders(writer)) {
+      for (T entity : entities) {
+        exportRecord(printer, entity);
+      }
     }
-    csvFile.withRecords(records);
-    return CsvUtil.formatCsv(csvFile);
+    return writer.toString();
+  }
+
+  /**
+   * Start a CSV export by writing the headers to the writer. The returned printer is used with {@link #exportRecord} to
+   * write records one at a time as the entities are read, without building the whole CSV in memory.
+   */
+  public final CSVPrinter exportHeaders(Writer writer) throws IOException {
+    return CsvUtil.getCsvPrinter(csvHeaders, writer);
+  }
+
+  /** Write a single entity as a CSV record */
+  public final void exportRecord(CSVPrinter printer, T entity) throws IOException {
+    printer.printRecord(toRecord(entity));
   }
 
   public static CsvDocumentation getCsvDocumentation(String entityType) {
@@ -44,6 +44,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.naming.ConfigurationException;
 import javax.servlet.DispatcherType;
 import javax.servlet.FilterRegistration;
@@ -72,9 +73,18 @@ import org.openmetadata.schema.api.configuration.extension.ExtensionConfiguratio
 import org.openmetadata.schema.api.security.AuthenticationConfiguration;
 import org.openmetadata.schema.api.security.AuthorizerConfiguration;
 import org.openmetadata.schema.auth.SSOAuthMechanism;
+import org.openmetadata.service.cache.CacheConfiguration;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.Caches;
+import org.openmetadata.service.cache.DatabaseCacheInvalidationLog;
 import org.openmetadata.service.elasticsearch.ElasticSearchEventPublisher;
 import org.openmetadata.service.events.EventFilter;
 import org.openmetadata.service.events.EventPubSub;
+import org.openmetadata.service.events.WebAnalyticEventBuffer;
+import org.openmetadata.service.events.WebAnalyticEventBufferConfiguration;
+import org.openmetadata.service.events.retention.ChangeEventChunks;
+import org.openmetadata.service.events.retention.ChangeEventCompactor;
+import org.openmetadata.service.events.retention.ChangeEventRetentionConfiguration;
 import org.openmetadata.service.events.scheduled.ReportsHandler;
 import org.openmetadata.service.exception.CatalogGenericExceptionMapper;
 import org.openmetadata.service.exception.ConstraintViolationExceptionMapper;
@@ -82,7 +92,12 @@ import org.openmetadata.service.exception.JsonMappingExceptionMapper;
 import org.openmetadata.service.extension.OpenMetadataExtension;
 import org.openmetadata.service.fernet.Fernet;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.CacheInvalidationDAO;
+import org.openmetadata.service.jdbi3.CompactEntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.EntityCounters;
+import org.openmetadata.service.jdbi3.FqnRenamer;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareAnnotationSqlLocator;
+import org.openmetadata.service.jdbi3.locator.ConnectionType;
 import org.openmetadata.service.migration.Migration;
 import org.openmetadata.service.migration.MigrationConfiguration;
 import org.openmetadata.service.monitoring.EventMonitor;
@@ -102,6 +117,7 @@ import org.openmetadata.service.security.auth.AuthenticatorHandler;
 import org.openmetadata.service.security.auth.BasicAuthenticator;
 import org.openmetadata.service.security.auth.LdapAuthenticator;
 import org.openmetadata.service.security.auth.NoopAuthenticator;
+import org.openmetadata.service.security.auth.PasswordHasher;
 import org.openmetadata.service.security.jwt.JWTTokenGenerator;
 import org.openmetadata.service.security.saml.OMMicrometerHttpFilter;
 import org.openmetadata.service.security.saml.SamlAssertionConsumerServlet;
@@ -130,6 +146,10 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     validateConfiguration(catalogConfig);
 
     ChangeEventConfig.initialize(catalogConfig);
+    CompactEntityRelationshipDAO.initialize(catalogConfig.getRelationshipLayout());
+
+    // Size and metrics of the caches
+    Caches.initialize(catalogConfig.getCacheConfiguration(), MicrometerBundleSingleton.prometheusMeterRegistry);
     final Jdbi jdbi = createAndSetupJDBI(environment, catalogConfig.getDataSourceFactory());
 
     // Configure the Fernet instance
@@ -156,6 +176,31 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     // Validate flyway Migrations
     validateMigrations(jdbi, catalogConfig.getMigrationConfiguration());
 
+    // Propagate cache invalidations to the other servers
+    startCacheInvalidation(catalogConfig, jdbi);
+
+    // Create the chunks of change events and drop the ones past the retention
+    startChangeEventCompaction(catalogConfig, jdbi);
+
+    // Buffer the web analytic events sent by the UI and write them in batches
+    WebAnalyticEventBufferConfiguration bufferConfiguration = catalogConfig.getWebAnalyticEventBuffer();
+    if (bufferConfiguration != null && bufferConfiguration.isEnabled()) {
+      WebAnalyticEventBuffer.start(
+          new WebAnalyticEventBuffer(
+              bufferConfiguration,
+              jdbi.onDemand(CollectionDAO.class).entityExtensionTimeSeriesDao(),
+              MicrometerBundleSingleton.prometheusMeterRegistry));
+    }
+
+    // Hash and verify the passwords of basic authentication on a bounded pool of threads
+    PasswordHasher.start(
+        new PasswordHasher(catalogConfig.getPasswordVerification(), MicrometerBundleSingleton.prometheusMeterRegistry));
+
+    // Verify and fill the compact layout of the relationships in the background before they are read from it
+    if (CompactEntityRelationshipDAO.isEnabled()) {
+      CompactEntityRelationshipDAO.start(jdbi.onDemand(CollectionDAO.class).compactRelationshipDAO());
+    }
+
     // Register Authorizer
     registerAuthorizer(catalogConfig, environment);
 
@@ -185,6 +230,13 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
 
     registerResources(catalogConfig, environment, jdbi);
 
+    // Count the entities of the registered entity types and correct the counts periodically
+    EntityCounters.start(
+        jdbi.onDemand(CollectionDAO.class), catalogConfig.getEntityCounters().getReconciliationIntervalMinutes());
+
+    // Complete the renames of glossaries and classifications that were interrupted by a restart
+    new FqnRenamer(jdbi.onDemand(CollectionDAO.class)).resumeIncomplete();
+
     // Register Event Handler
     registerEventFilter(catalogConfig, environment, jdbi);
     environment.lifecycle().manage(new ManagedShutdown());
@@ -217,6 +269,29 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     registerExtensions(catalogConfig, environment, jdbi);
   }
 
+  private void startCacheInvalidation(OpenMetadataApplicationConfig catalogConfig, Jdbi jdbi) {
+    CacheConfiguration cacheConfiguration = catalogConfig.getCacheConfiguration();
+    if (cacheConfiguration != null && cacheConfiguration.isDistributedInvalidation()) {
+      CacheInvalidationDAO dao = jdbi.onDemand(CollectionDAO.class).cacheInvalidationDAO();
+      long retentionMillis = TimeUnit.SECONDS.toMillis(cacheConfiguration.getInvalidationRetentionSeconds());
+      CacheInvalidator.start(
+          new DatabaseCacheInvalidationLog(dao, retentionMillis),
+          cacheConfiguration.getInvalidationPollIntervalSeconds());
+    }
+  }
+
+  private void startChangeEventCompaction(OpenMetadataApplicationConfig catalogConfig, Jdbi jdbi) {
+    ChangeEventRetentionConfiguration retention = catalogConfig.getChangeEventRetention();
+    if (retention != null && retention.isEnabled()) {
+      ConnectionType connectionType = ConnectionType.from(catalogConfig.getDataSourceFactory().getDriverClass());
+      ChangeEventChunks chunks =
+          ChangeEventChunks.create(connectionType, jdbi.onDemand(CollectionDAO.class).changeEventDAO());
+      ChangeEventCompactor.start(
+          new ChangeEventCompactor(chunks, retention, MicrometerBundleSingleton.prometheusMeterRegistry),
+          retention.getCompactionIntervalMinutes());
+    }
+  }
+
   private void registerExtensions(OpenMetadataApplicationConfig catalogConfig, Environment environment, Jdbi jdbi) {
     ExtensionConfiguration extensionConfiguration = catalogConfig.getExtensionConfiguration();
     if (extensionConfiguration != null) {
@@ -479,6 +554,11 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     public void stop() throws InterruptedException, SchedulerException {
       EventPubSub.shutdown();
       ReportsHandler.shutDown();
+      CacheInvalidator.stop();
+      ChangeEventCompactor.stop();
+      WebAnalyticEventBuffer.stop();
+      EntityCounters.stop();
+      PasswordHasher.stop();
       LOG.info("Stopping the application");
     }
   }
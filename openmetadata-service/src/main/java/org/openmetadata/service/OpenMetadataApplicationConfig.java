@@ -35,8 +35,14 @@ import org.openmetadata.schema.api.security.jwt.JWTTokenConfiguration;
 import org.openmetadata.schema.email.SmtpSettings;
 import org.openmetadata.schema.security.secrets.SecretsManagerConfiguration;
 import org.openmetadata.schema.service.configuration.elasticsearch.ElasticSearchConfiguration;
+import org.openmetadata.service.cache.CacheConfiguration;
+import org.openmetadata.service.events.WebAnalyticEventBufferConfiguration;
+import org.openmetadata.service.events.retention.ChangeEventRetentionConfiguration;
+import org.openmetadata.service.jdbi3.EntityCounterConfiguration;
+import org.openmetadata.service.jdbi3.RelationshipLayout;
 import org.openmetadata.service.migration.MigrationConfiguration;
 import org.openmetadata.service.monitoring.EventMonitorConfiguration;
+import org.openmetadata.service.security.auth.PasswordVerificationConfiguration;
 
 @Getter
 @Setter
@@ -105,6 +111,24 @@ public class OpenMetadataApplicationConfig extends Configuration {
   @JsonProperty("changeEventConfig")
   private ChangeEventConfiguration changeEventConfiguration;
 
+  @JsonProperty("cacheConfiguration")
+  private CacheConfiguration cacheConfiguration = new CacheConfiguration();
+
+  @JsonProperty("changeEventRetention")
+  private ChangeEventRetentionConfiguration changeEventRetention = new ChangeEventRetentionConfiguration();
+
+  @JsonProperty("webAnalyticEventBuffer")
+  private WebAnalyticEventBufferConfiguration webAnalyticEventBuffer = new WebAnalyticEventBufferConfiguration();
+
+  @JsonProperty("entityCounters")
+  private EntityCounterConfiguration entityCounters = new EntityCounterConfiguration();
+
+  @JsonProperty("passwordVerification")
+  private PasswordVerificationConfiguration passwordVerification = new PasswordVerificationConfiguration();
+
+  @JsonProperty("relationshipLayout")
+  private RelationshipLayout relationshipLayout = RelationshipLayout.STRING;
+
   @Override
   public String toString() {
     return "catalogConfig{"
@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CacheConfiguration {
+  /** Size and expiry of the caches by cache name. Caches that are not listed use their defaults. */
+  private Map<String, CacheSettings> caches = new HashMap<>();
+
+  /** Propagate cache invalidations to the other servers through the database */
+  private boolean distributedInvalidation = true;
+
+  /** Interval at which the cache invalidations made by the other servers are read */
+  private int invalidationPollIntervalSeconds = 10;
+
+  /** Time for which the cache invalidations are kept in the database */
+  private int invalidationRetentionSeconds = 3600;
+
+  @Getter
+  @Setter
+  public static class CacheSettings {
+    private Long maximumSize;
+    private Long expireAfterWriteSeconds;
+  }
+}
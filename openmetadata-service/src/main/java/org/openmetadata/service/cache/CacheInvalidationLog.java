@@ -0,0 +1,35 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Log of the cache invalidations shared by the servers of a deployment */
+public interface CacheInvalidationLog {
+  /** Record that this server invalidated entry {@code key} of cache {@code cacheName} */
+  void append(String cacheName, String key);
+
+  /** Return the invalidations recorded by the other servers since the previous read */
+  List<Invalidation> readNew();
+
+  @Getter
+  @AllArgsConstructor
+  class Invalidation {
+    private final long id;
+    private final String cacheName;
+    private final String key;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.cache.CacheInvalidationLog.Invalidation;
+
+/**
+ * Propagates cache invalidations between the servers of a deployment. A cache invalidating an entry publishes the
+ * invalidation to the log, and the other servers periodically read the log and invalidate the entry in their cache
+ * using the handler registered for the cache.
+ */
+@Slf4j
+public final class CacheInvalidator {
+  private static final Map<String, Consumer<String>> HANDLERS = new ConcurrentHashMap<>();
+  private static volatile CacheInvalidationLog invalidationLog = new LocalCacheInvalidationLog();
+  private static ScheduledExecutorService executor;
+
+  private CacheInvalidator() {}
+
+  /** Register the handler that invalidates an entry of the cache {@code cacheName} on this server */
+  public static void register(String cacheName, Consumer<String> handler) {
+    HANDLERS.put(cacheName, handler);
+  }
+
+  /** Publish the invalidation of entry {@code key} of the cache {@code cacheName} to the other servers */
+  public static void publish(String cacheName, String key) {
+    try {
+      invalidationLog.append(cacheName, key);
+    } catch (Exception ex) {
+      LOG.error("Failed to publish invalidation of {} in cache {}", key, cacheName, ex);
+    }
+  }
+
+  /** Apply the invalidations published by the other servers to the caches on this server */
+  public static void poll() {
+    for (Invalidation invalidation : invalidationLog.readNew()) {
+      Consumer<String> handler = HANDLERS.get(invalidation.getCacheName());
+      if (handler != null) {
+        handler.accept(invalidation.getKey());
+      }
+    }
+  }
+
+  public static void setInvalidationLog(CacheInvalidationLog log) {
+    invalidationLog = log;
+  }
+
+  /** To be called during application startup to read the invalidations published by the other servers */
+  public static synchronized void start(CacheInvalidationLog log, int pollIntervalSeconds) {
+    stop();
+    invalidationLog = log;
+    executor = Executors.newSingleThreadScheduledExecutor();
+    executor.scheduleWithFixedDelay(
+        () -> {
+          try {
+            poll();
+          } catch (Exception ex) {
+            LOG.error("Failed to read cache invalidations", ex);
+          }
+        },
+        pollIntervalSeconds,
+        pollIntervalSeconds,
+        TimeUnit.SECONDS);
+    LOG.info("Reading cache invalidations every {} seconds", pollIntervalSeconds);
+  }
+
+  public static synchronized void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    invalidationLog = new LocalCacheInvalidationLog();
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.cache.CacheConfiguration.CacheSettings;
+
+/**
+ * Builds the caches of the server. Size and expiry of each cache can be overridden in the configuration, and hit, miss
+ * and eviction metrics of each cache are exported to the meter registry.
+ */
+@Slf4j
+public final class Caches {
+  private static CacheConfiguration configuration = new CacheConfiguration();
+  private static MeterRegistry meterRegistry;
+
+  private Caches() {}
+
+  /** To be called during application startup before the caches are built */
+  public static void initialize(CacheConfiguration cacheConfiguration, MeterRegistry registry) {
+    configuration = cacheConfiguration != null ? cacheConfiguration : new CacheConfiguration();
+    meterRegistry = registry;
+  }
+
+  public static CacheConfiguration getConfiguration() {
+    return configuration;
+  }
+
+  public static <K, V> LoadingCache<K, V> newCache(
+      String name, long maximumSize, long expireAfterWrite, TimeUnit unit, CacheLoader<K, V> loader) {
+    return monitor(name, newBuilder(name, maximumSize, expireAfterWrite, unit).build(loader));
+  }
+
+  /** Cache to which the entries are put by the callers, instead of being loaded on a miss */
+  public static <K, V> Cache<K, V> newCache(String name, long maximumSize, long expireAfterWrite, TimeUnit unit) {
+    return monitor(name, newBuilder(name, maximumSize, expireAfterWrite, unit).build());
+  }
+
+  private static CacheBuilder<Object, Object> newBuilder(
+      String name, long maximumSize, long expireAfterWrite, TimeUnit unit) {
+    CacheSettings settings = configuration.getCaches().get(name);
+    long size = settings != null && settings.getMaximumSize() != null ? settings.getMaximumSize() : maximumSize;
+    long expirySeconds =
+        settings != null && settings.getExpireAfterWriteSeconds() != null
+            ? settings.getExpireAfterWriteSeconds()
+            : unit.toSeconds(expireAfterWrite);
+    LOG.info("Created cache {} with maximum size {} and expiry of {} seconds", name, size, expirySeconds);
+    return CacheBuilder.newBuilder().maximumSize(size).expireAfterWrite(expirySeconds, TimeUnit.SECONDS).recordStats();
+  }
+
+  private static <K, V, C extends Cache<K, V>> C monitor(String name, C cache) {
+    if (meterRegistry != null) {
+      GuavaCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+    return cache;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openmetadata.service.jdbi3.CollectionDAO.CacheInvalidationDAO;
+
+/** Cache invalidation log stored in the {@code cache_invalidation_log} table shared by all the servers */
+public class DatabaseCacheInvalidationLog implements CacheInvalidationLog {
+  // Each read looks back further than the previous read to pick up invalidations from transactions that committed
+  // late and from servers with a clock behind this server
+  private static final long OVERLAP_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final CacheInvalidationDAO dao;
+  private final String serverId = UUID.randomUUID().toString();
+  private final long retentionMillis;
+  private long lastRead = System.currentTimeMillis();
+  private Set<Long> lastReadIds = Collections.emptySet();
+
+  public DatabaseCacheInvalidationLog(CacheInvalidationDAO dao, long retentionMillis) {
+    this.dao = dao;
+    this.retentionMillis = retentionMillis;
+  }
+
+  @Override
+  public void append(String cacheName, String key) {
+    dao.insert(serverId, cacheName, key, System.currentTimeMillis());
+  }
+
+  @Override
+  public synchronized List<Invalidation> readNew() {
+    long now = System.currentTimeMillis();
+    List<Invalidation> invalidations = dao.listSince(serverId, lastRead - OVERLAP_MILLIS);
+
+    // Skip the invalidations already returned by the previous read that overlaps with this read
+    List<Invalidation> newInvalidations = new ArrayList<>();
+    Set<Long> ids = new HashSet<>();
+    for (Invalidation invalidation : invalidations) {
+      ids.add(invalidation.getId());
+      if (!lastReadIds.contains(invalidation.getId())) {
+        newInvalidations.add(invalidation);
+      }
+    }
+    lastReadIds = ids;
+    lastRead = now;
+    dao.deleteBefore(now - retentionMillis);
+    return newInvalidations;
+  }
+}
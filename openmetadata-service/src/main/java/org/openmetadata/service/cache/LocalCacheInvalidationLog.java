@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+
+/**
+ * Cache invalidation log kept in memory, used when invalidations are not propagated through the database and in tests.
+ * Logs returned by {@link #otherServer()} share the invalidations with this log, like the servers sharing a database.
+ * Invalidations are only kept while another server shares the log, and only until every server has read them.
+ */
+public class LocalCacheInvalidationLog implements CacheInvalidationLog {
+  private final Servers servers;
+  private long nextEntry;
+
+  public LocalCacheInvalidationLog() {
+    this(new Servers());
+  }
+
+  private LocalCacheInvalidationLog(Servers servers) {
+    this.servers = servers;
+    this.nextEntry = servers.firstEntry + servers.entries.size();
+    servers.logs.add(this);
+  }
+
+  /** Return the log of another server that shares the invalidations with this log */
+  public LocalCacheInvalidationLog otherServer() {
+    synchronized (servers) {
+      return new LocalCacheInvalidationLog(servers);
+    }
+  }
+
+  @Override
+  public void append(String cacheName, String key) {
+    synchronized (servers) {
+      if (servers.logs.size() > 1) {
+        long id = servers.firstEntry + servers.entries.size();
+        servers.entries.add(new Entry(this, new Invalidation(id, cacheName, key)));
+      }
+    }
+  }
+
+  @Override
+  public List<Invalidation> readNew() {
+    List<Invalidation> invalidations = new ArrayList<>();
+    synchronized (servers) {
+      int from = (int) (nextEntry - servers.firstEntry);
+      for (Entry entry : servers.entries.subList(from, servers.entries.size())) {
+        if (entry.server != this) {
+          invalidations.add(entry.invalidation);
+        }
+      }
+      nextEntry = servers.firstEntry + servers.entries.size();
+      servers.removeRead();
+    }
+    return invalidations;
+  }
+
+  /** Invalidations shared by the logs of the servers */
+  private static class Servers {
+    private final List<LocalCacheInvalidationLog> logs = new ArrayList<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private long firstEntry;
+
+    private void removeRead() {
+      long read = logs.stream().mapToLong(log -> log.nextEntry).min().orElse(firstEntry);
+      entries.subList(0, (int) (read - firstEntry)).clear();
+      firstEntry = read;
+    }
+  }
+
+  @AllArgsConstructor
+  private static class Entry {
+    private final LocalCacheInvalidationLog server;
+    private final Invalidation invalidation;
+  }
+}
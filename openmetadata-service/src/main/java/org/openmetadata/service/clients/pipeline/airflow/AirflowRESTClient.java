@@ -14,6 +14,8 @@
 package org.openmetadata.service.clients.pipeline.airflow;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
@@ -22,8 +24,17 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.security.KeyStoreException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import javax.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +50,13 @@ import org.openmetadata.service.exception.IngestionPipelineDeploymentException;
 import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.SSLUtil;
 
+/**
+ * Client of the OpenMetadata REST APIs of Airflow. The requests are sent asynchronously, with at most maxConnections
+ * requests in flight and the other requests queued, and with the timeout of the configuration applied to each request.
+ * After circuitBreakerFailures consecutive failures the requests fail without calling Airflow for
+ * circuitBreakerOpenSeconds. The queued runs of the pipelines are cached for statusCacheSeconds, and the runs of many
+ * pipelines are fetched concurrently.
+ */
 @Slf4j
 public class AirflowRESTClient extends PipelineServiceClient {
 
@@ -47,11 +65,20 @@ public class AirflowRESTClient extends PipelineServiceClient {
   private static final String TIMEOUT_KEY = "timeout";
   private static final String TRUSTSTORE_PATH_KEY = "truststorePath";
   private static final String TRUSTSTORE_PASSWORD_KEY = "truststorePassword";
+  private static final String MAX_CONNECTIONS_KEY = "maxConnections";
+  private static final String STATUS_CACHE_SECONDS_KEY = "statusCacheSeconds";
+  private static final String CIRCUIT_BREAKER_FAILURES_KEY = "circuitBreakerFailures";
+  private static final String CIRCUIT_BREAKER_OPEN_SECONDS_KEY = "circuitBreakerOpenSeconds";
 
   protected final String username;
   protected final String password;
   protected final HttpClient client;
   protected final URL serviceURL;
+  protected final Duration requestTimeout;
+  private final Semaphore connections;
+  private final Queue<Runnable> waitingRequests = new ConcurrentLinkedQueue<>();
+  private final CircuitBreaker circuitBreaker;
+  private final Cache<String, List<PipelineStatus>> queuedStatusCache;
   private static final String API_ENDPOINT = "api/v1/openmetadata";
   private static final String DAG_ID = "dag_id";
 
@@ -63,13 +90,23 @@ public class AirflowRESTClient extends PipelineServiceClient {
     this.password = (String) config.getParameters().getAdditionalProperties().get(PASSWORD_KEY);
     this.serviceURL = validateServiceURL(config.getApiEndpoint());
 
+    this.requestTimeout = Duration.ofSeconds(getIntParameter(config, TIMEOUT_KEY, 10));
+    this.connections = new Semaphore(getIntParameter(config, MAX_CONNECTIONS_KEY, 10));
+    this.circuitBreaker =
+        new CircuitBreaker(
+            getIntParameter(config, CIRCUIT_BREAKER_FAILURES_KEY, 5),
+            getIntParameter(config, CIRCUIT_BREAKER_OPEN_SECONDS_KEY, 30),
+            TimeUnit.SECONDS);
+    this.queuedStatusCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(getIntParameter(config, STATUS_CACHE_SECONDS_KEY, 10), TimeUnit.SECONDS)
+            .build();
+
     SSLContext sslContext = createAirflowSSLContext(config);
 
     HttpClient.Builder clientBuilder =
-        HttpClient.newBuilder()
-            .version(HttpClient.Version.HTTP_1_1)
-            .connectTimeout(
-                Duration.ofSeconds((Integer) config.getParameters().getAdditionalProperties().get(TIMEOUT_KEY)));
+        HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(requestTimeout);
 
     if (sslContext == null) {
       this.client = clientBuilder.build();
@@ -87,16 +124,97 @@ public class AirflowRESTClient extends PipelineServiceClient {
     return SSLUtil.createSSLContext(truststorePath, truststorePassword, "Airflow");
   }
 
+  private static int getIntParameter(PipelineServiceClientConfiguration config, String key, int defaultValue) {
+    Object value = config.getParameters().getAdditionalProperties().get(key);
+    if (value instanceof Number) {
+      return ((Number) value).intValue();
+    }
+    return value == null || value.toString().isBlank() ? defaultValue : Integer.parseInt(value.toString());
+  }
+
+  /**
+   * Send the request once a connection is available and the circuit breaker is closed. The caller is never blocked:
+   * when all the connections are in use the request is queued, and it is sent when a request in flight completes.
+   * Failures to reach Airflow and server errors of Airflow are counted by the circuit breaker.
+   */
+  protected final CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+    if (!circuitBreaker.allowRequest()) {
+      return CompletableFuture.failedFuture(
+          new PipelineServiceClientException("Airflow is unavailable after repeated failures to reach it"));
+    }
+    CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+    waitingRequests.add(() -> sendWithConnection(request, result));
+    sendWaitingRequests();
+    return result;
+  }
+
+  /**
+   * Send the queued requests while connections are available. A request is queued before a connection is tried and a
+   * connection is released before the queue is checked, so that a queued request is always sent by either.
+   */
+  private void sendWaitingRequests() {
+    while (!waitingRequests.isEmpty() && connections.tryAcquire()) {
+      Runnable next = waitingRequests.poll();
+      if (next == null) {
+        connections.release();
+      } else {
+        next.run();
+      }
+    }
+  }
+
+  private void sendWithConnection(HttpRequest request, CompletableFuture<HttpResponse<String>> result) {
+    CompletableFuture<HttpResponse<String>> response;
+    try {
+      response = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    } catch (RuntimeException e) {
+      connections.release();
+      result.completeExceptionally(e);
+      sendWaitingRequests();
+      return;
+    }
+    response.whenComplete(
+        (r, error) -> {
+          connections.release();
+          if (error != null || r.statusCode() >= 500) {
+            circuitBreaker.recordFailure();
+          } else {
+            circuitBreaker.recordSuccess();
+          }
+          if (error != null) {
+            result.completeExceptionally(error);
+          } else {
+            result.complete(r);
+          }
+          sendWaitingRequests();
+        });
+  }
+
+  protected final HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+    try {
+      return sendAsync(request).get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
   public final HttpResponse<String> post(String endpoint, String payload, boolean authenticate)
       throws IOException, InterruptedException {
     HttpRequest.Builder requestBuilder =
         HttpRequest.newBuilder(URI.create(endpoint))
+            .timeout(requestTimeout)
             .header(CONTENT_HEADER, CONTENT_TYPE)
             .POST(HttpRequest.BodyPublishers.ofString(payload));
     if (authenticate) {
       requestBuilder.header(AUTH_HEADER, getBasicAuthenticationHeader(username, password));
     }
-    return client.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofString());
+    return send(requestBuilder.build());
   }
 
   public final HttpResponse<String> post(String endpoint, String payload) throws IOException, InterruptedException {
@@ -110,6 +228,7 @@ public class AirflowRESTClient extends PipelineServiceClient {
       String deployEndpoint = "%s/%s/deploy";
       String deployUrl = String.format(deployEndpoint, serviceURL, API_ENDPOINT);
       String pipelinePayload = JsonUtils.pojoToJson(ingestionPipeline);
+      queuedStatusCache.invalidate(ingestionPipeline.getName());
       response = post(deployUrl, pipelinePayload);
       if (response.statusCode() == 200) {
         ingestionPipeline.setDeployed(true);
@@ -128,6 +247,7 @@ public class AirflowRESTClient extends PipelineServiceClient {
   @Override
   public String deletePipeline(IngestionPipeline ingestionPipeline) {
     String pipelineName = ingestionPipeline.getName();
+    queuedStatusCache.invalidate(pipelineName);
     try {
       String deleteEndpoint = "%s/%s/delete?dag_id=%s";
       HttpResponse<String> response =
@@ -142,6 +262,7 @@ public class AirflowRESTClient extends PipelineServiceClient {
   @Override
   public String runPipeline(IngestionPipeline ingestionPipeline, ServiceEntityInterface service) {
     String pipelineName = ingestionPipeline.getName();
+    queuedStatusCache.invalidate(pipelineName);
     HttpResponse<String> response;
     try {
       String triggerEndPoint = "%s/%s/trigger";
@@ -204,21 +325,67 @@ public class AirflowRESTClient extends PipelineServiceClient {
 
   @Override
   public List<PipelineStatus> getQueuedPipelineStatus(IngestionPipeline ingestionPipeline) {
-    HttpResponse<String> response;
     try {
-      String statusEndPoint = "%s/%s/status?dag_id=%s&only_queued=true";
-      response =
-          getRequestAuthenticatedForJsonContent(statusEndPoint, serviceURL, API_ENDPOINT, ingestionPipeline.getName());
-      if (response.statusCode() == 200) {
-        return JsonUtils.readObjects(response.body(), PipelineStatus.class);
+      return getQueuedPipelineStatusAsync(ingestionPipeline).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof PipelineServiceClientException) {
+        throw (PipelineServiceClientException) e.getCause();
       }
-    } catch (Exception e) {
-      throw PipelineServiceClientException.byMessage(ingestionPipeline.getName(), e.getMessage());
+      throw PipelineServiceClientException.byMessage(ingestionPipeline.getName(), e.getCause().getMessage());
     }
-    throw PipelineServiceClientException.byMessage(
-        ingestionPipeline.getName(),
-        "Failed to fetch ingestion pipeline runs",
-        Response.Status.fromStatusCode(response.statusCode()));
+  }
+
+  /**
+   * The runs of the pipelines are fetched concurrently. The runs of a pipeline that could not be fetched are logged and
+   * returned as an empty list, so that a pipeline that is not deployed does not fail the other pipelines.
+   */
+  @Override
+  public Map<String, List<PipelineStatus>> getQueuedPipelineStatus(List<IngestionPipeline> ingestionPipelines) {
+    Map<String, CompletableFuture<List<PipelineStatus>>> futures = new LinkedHashMap<>();
+    for (IngestionPipeline ingestionPipeline : ingestionPipelines) {
+      futures.put(ingestionPipeline.getName(), getQueuedPipelineStatusAsync(ingestionPipeline));
+    }
+    Map<String, List<PipelineStatus>> statuses = new LinkedHashMap<>();
+    futures.forEach(
+        (pipelineName, future) -> {
+          try {
+            statuses.put(pipelineName, future.join());
+          } catch (CompletionException e) {
+            LOG.warn("Failed to fetch the runs of ingestion pipeline {}: {}", pipelineName, e.getCause().getMessage());
+            statuses.put(pipelineName, new ArrayList<>());
+          }
+        });
+    return statuses;
+  }
+
+  private CompletableFuture<List<PipelineStatus>> getQueuedPipelineStatusAsync(IngestionPipeline ingestionPipeline) {
+    String pipelineName = ingestionPipeline.getName();
+    List<PipelineStatus> cached = queuedStatusCache.getIfPresent(pipelineName);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(new ArrayList<>(cached));
+    }
+    HttpRequest request =
+        authenticatedRequestBuilder("%s/%s/status?dag_id=%s&only_queued=true", serviceURL, API_ENDPOINT, pipelineName)
+            .GET()
+            .build();
+    return sendAsync(request)
+        .thenApply(
+            response -> {
+              if (response.statusCode() != 200) {
+                throw PipelineServiceClientException.byMessage(
+                    pipelineName,
+                    "Failed to fetch ingestion pipeline runs",
+                    Response.Status.fromStatusCode(response.statusCode()));
+              }
+              try {
+                List<PipelineStatus> statuses = JsonUtils.readObjects(response.body(), PipelineStatus.class);
+                queuedStatusCache.put(pipelineName, statuses);
+                // The caller adds to the list, which must not change the cached list
+                return new ArrayList<>(statuses);
+              } catch (IOException e) {
+                throw PipelineServiceClientException.byMessage(pipelineName, e.getMessage());
+              }
+            });
   }
 
   @Override
@@ -279,6 +446,7 @@ public class AirflowRESTClient extends PipelineServiceClient {
       String killUrl = String.format(killEndPoint, serviceURL, API_ENDPOINT);
       JSONObject requestPayload = new JSONObject();
       requestPayload.put(DAG_ID, ingestionPipeline.getName());
+      queuedStatusCache.invalidate(ingestionPipeline.getName());
       response = post(killUrl, requestPayload.toString());
       if (response.statusCode() == 200) {
         return Response.status(200, response.body()).build();
@@ -332,18 +500,19 @@ public class AirflowRESTClient extends PipelineServiceClient {
   private HttpResponse<String> getRequestAuthenticatedForJsonContent(
       String stringUrlFormat, Object... stringReplacement) throws IOException, InterruptedException {
     HttpRequest request = authenticatedRequestBuilder(stringUrlFormat, stringReplacement).GET().build();
-    return client.send(request, HttpResponse.BodyHandlers.ofString());
+    return send(request);
   }
 
   private HttpResponse<String> deleteRequestAuthenticatedForJsonContent(
       String stringUrlFormat, Object... stringReplacement) throws IOException, InterruptedException {
     HttpRequest request = authenticatedRequestBuilder(stringUrlFormat, stringReplacement).DELETE().build();
-    return client.send(request, HttpResponse.BodyHandlers.ofString());
+    return send(request);
   }
 
   private HttpRequest.Builder authenticatedRequestBuilder(String stringUrlFormat, Object... stringReplacement) {
     String url = String.format(stringUrlFormat, stringReplacement);
     return HttpRequest.newBuilder(URI.create(url))
+        .timeout(requestTimeout)
         .header(CONTENT_HEADER, CONTENT_TYPE)
         .header(AUTH_HEADER, getBasicAuthenticationHeader(username, password));
   }
@@ -351,7 +520,12 @@ public class AirflowRESTClient extends PipelineServiceClient {
   private HttpResponse<String> getRequestNoAuthForJsonContent(Object... stringReplacement)
       throws IOException, InterruptedException {
     String url = String.format("%s/%s/health", stringReplacement);
-    HttpRequest request = HttpRequest.newBuilder(URI.create(url)).header(CONTENT_HEADER, CONTENT_TYPE).GET().build();
-    return client.send(request, HttpResponse.BodyHandlers.ofString());
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(url))
+            .timeout(requestTimeout)
+            .header(CONTENT_HEADER, CONTENT_TYPE)
+            .GET()
+            .build();
+    return send(request);
   }
 }
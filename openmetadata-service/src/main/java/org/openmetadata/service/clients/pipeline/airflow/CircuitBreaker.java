@@ -0,0 +1,63 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.clients.pipeline.airflow;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops the calls to the pipeline service after a number of consecutive failures, so that the requests that need the
+ * pipeline service fail fast instead of waiting for the timeout while it is down. Once the breaker has been open for
+ * the open duration, a single call is let through, which closes the breaker when it succeeds and opens it again when it
+ * fails.
+ */
+public class CircuitBreaker {
+  private enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private State state = State.CLOSED;
+  private int failures;
+  private long openedAt;
+
+  public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+    this.failureThreshold = failureThreshold;
+    this.openNanos = unit.toNanos(openDuration);
+  }
+
+  /** Returns true when the call is to be made, and false when it is to fail without calling the pipeline service */
+  public synchronized boolean allowRequest() {
+    if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+      state = State.HALF_OPEN;
+      return true;
+    }
+    return state == State.CLOSED;
+  }
+
+  public synchronized void recordSuccess() {
+    state = State.CLOSED;
+    failures = 0;
+  }
+
+  public synchronized void recordFailure() {
+    failures++;
+    if (state == State.HALF_OPEN || failures >= failureThreshold) {
+      state = State.OPEN;
+      openedAt = System.nanoTime();
+    }
+  }
+}
@@ -35,31 +35,29 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.elasticsearch.ElasticsearchException;
-import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.delete.DeleteRequest;
-import org.elasticsearch.action.search.SearchRequest;
-import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.support.WriteRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
-import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.engine.DocumentMissingException;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.TermQueryBuilder;
 import org.elasticsearch.index.query.WildcardQueryBuilder;
+import org.elasticsearch.index.reindex.AbstractBulkByScrollRequest;
+import org.elasticsearch.index.reindex.BulkByScrollResponse;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
+import org.elasticsearch.index.reindex.UpdateByQueryRequest;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
-import org.elasticsearch.search.SearchHit;
-import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.api.CreateEventPublisherJob;
 import org.openmetadata.schema.entity.classification.Classification;
 import org.openmetadata.schema.entity.classification.Tag;
@@ -85,7 +83,6 @@ import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.EventType;
 import org.openmetadata.schema.type.FieldChange;
-import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.schema.type.UsageDetails;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
@@ -94,6 +91,7 @@ import org.openmetadata.service.events.errors.EventPublisherException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.resources.events.EventResource.EventList;
 import org.openmetadata.service.util.ElasticSearchClientUtils;
+import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
 
 @Slf4j
@@ -103,6 +101,18 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
   private final CollectionDAO dao;
   private static final String SERVICE_NAME = "service.name";
   private static final String DATABASE_NAME = "database.name";
+  private static final String TAG_FQN = "tags.tagFQN";
+  private static final int BY_QUERY_BATCH_SIZE = 1000;
+  private static final String[] TAGGED_INDEXES = {
+    ElasticSearchIndexType.TABLE_SEARCH_INDEX.indexName,
+    ElasticSearchIndexType.TOPIC_SEARCH_INDEX.indexName,
+    ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX.indexName,
+    ElasticSearchIndexType.PIPELINE_SEARCH_INDEX.indexName,
+    ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName,
+    ElasticSearchIndexType.MLMODEL_SEARCH_INDEX.indexName,
+    ElasticSearchIndexType.CONTAINER_SEARCH_INDEX.indexName,
+    ElasticSearchIndexType.QUERY_SEARCH_INDEX.indexName
+  };
 
   public ElasticSearchEventPublisher(ElasticSearchConfiguration esConfig, CollectionDAO dao) {
     super(esConfig.getBatchSize());
@@ -311,7 +321,25 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
           updateRequest = applyChangeEvent(event);
         } else {
           index = ElasticSearchIndexFactory.buildIndex(entityType, event.getEntity());
-          scriptedUpsert(index.buildESDoc(), updateRequest);
+          Map<String, Object> doc = index.buildESDoc();
+          Map<String, Object> partialDoc = ElasticSearchIndexUtils.getPartialDoc(event.getChangeDescription(), doc);
+          if (partialDoc != null) {
+            // Send only the changed fields, instead of the whole document as script params
+            partialUpdate(partialDoc, updateRequest);
+            try {
+              updateElasticSearch(updateRequest);
+            } catch (ElasticsearchException e) {
+              if (e.status() != RestStatus.NOT_FOUND) {
+                throw e;
+              }
+              // Document is not indexed yet, index all of it
+              UpdateRequest upsertRequest = new UpdateRequest(indexType.indexName, event.getEntityId().toString());
+              scriptedUpsert(doc, upsertRequest);
+              updateElasticSearch(upsertRequest);
+            }
+            break;
+          }
+          scriptedUpsert(doc, updateRequest);
         }
         updateElasticSearch(updateRequest);
         break;
@@ -399,6 +427,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         glossaryTermIndex = new GlossaryTermIndex((GlossaryTerm) event.getEntity());
         scriptedUpsert(glossaryTermIndex.buildESDoc(), updateRequest);
         updateElasticSearch(updateRequest);
+        renameTags(event, ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -413,17 +442,22 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
                 .should(QueryBuilders.matchQuery("id", glossaryTerm.getId().toString()))
                 .should(QueryBuilders.matchQuery("parent.id", glossaryTerm.getId().toString())));
         deleteEntityFromElasticSearchByQuery(request);
+        removeTagLabels(glossaryTerm.getFullyQualifiedName());
         break;
     }
   }
 
   private void updateGlossary(ChangeEvent event) throws IOException {
+    if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      renameTags(event, ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName);
+    }
     if (event.getEventType() == EventType.ENTITY_DELETED) {
       Glossary glossary = (Glossary) event.getEntity();
       DeleteByQueryRequest request = new DeleteByQueryRequest(ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName);
       request.setQuery(
           QueryBuilders.boolQuery().should(QueryBuilders.matchQuery("glossary.id", glossary.getId().toString())));
       deleteEntityFromElasticSearchByQuery(request);
+      removeTagLabels(glossary.getFullyQualifiedName());
     }
   }
 
@@ -447,6 +481,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
           scriptedUpsert(tagIndex.buildESDoc(), updateRequest);
         }
         updateElasticSearch(updateRequest);
+        renameTags(event, ElasticSearchIndexType.TAG_SEARCH_INDEX.indexName);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -456,69 +491,32 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.TAG_SEARCH_INDEX.indexName, event.getEntityId().toString());
         deleteEntityFromElasticSearch(deleteRequest);
-
-        String[] indexes =
-            new String[] {
-              ElasticSearchIndexType.TABLE_SEARCH_INDEX.indexName,
-              ElasticSearchIndexType.TOPIC_SEARCH_INDEX.indexName,
-              ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX.indexName,
-              ElasticSearchIndexType.PIPELINE_SEARCH_INDEX.indexName,
-              ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName,
-              ElasticSearchIndexType.MLMODEL_SEARCH_INDEX.indexName
-            };
-        BulkRequest request = new BulkRequest();
-        SearchRequest searchRequest;
-        SearchResponse response;
-        int batchSize = 50;
-        int totalHits;
-        int currentHits = 0;
-
-        do {
-          searchRequest =
-              searchRequest(indexes, "tags.tagFQN", event.getEntityFullyQualifiedName(), batchSize, currentHits);
-          response = client.search(searchRequest, RequestOptions.DEFAULT);
-          totalHits = (int) response.getHits().getTotalHits().value;
-          for (SearchHit hit : response.getHits()) {
-            Map<String, Object> sourceAsMap = hit.getSourceAsMap();
-            List<TagLabel> listTags = (List<TagLabel>) sourceAsMap.get("tags");
-            Script script = generateTagScript(listTags);
-            if (!script.toString().isEmpty()) {
-              request.add(
-                  updateRequests(sourceAsMap.get("entityType").toString(), sourceAsMap.get("id").toString(), script));
-            }
-          }
-          currentHits += response.getHits().getHits().length;
-        } while (currentHits < totalHits);
-        if (request.numberOfActions() > 0) {
-          client.bulk(request, RequestOptions.DEFAULT);
-        }
+        removeTagLabels(event.getEntityFullyQualifiedName());
+        break;
     }
   }
 
-  private SearchRequest searchRequest(String[] indexes, String field, String value, int batchSize, int from) {
-    SearchRequest searchRequest = new SearchRequest(indexes);
-    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-    searchSourceBuilder.query(QueryBuilders.matchQuery(field, value));
-    searchSourceBuilder.from(from);
-    searchSourceBuilder.size(batchSize);
-    searchSourceBuilder.timeout(new TimeValue(60, TimeUnit.SECONDS));
-    searchRequest.source(searchSourceBuilder);
-    return searchRequest;
-  }
-
-  private Script generateTagScript(List<TagLabel> listTags) {
-    StringBuilder scriptTxt = new StringBuilder();
-    Map<String, Object> fieldRemoveParams = new HashMap<>();
-    fieldRemoveParams.put("tags", listTags);
-    scriptTxt.append("ctx._source.tags=params.tags;");
-    scriptTxt.append("ctx._source.tags.removeAll(params.tags);");
-    fieldRemoveParams.put("tags", listTags);
-    return new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptTxt.toString(), fieldRemoveParams);
-  }
-
-  private UpdateRequest updateRequests(String entityType, String entityId, Script script) {
-    return new UpdateRequest(ElasticSearchIndexDefinition.ENTITY_TYPE_TO_INDEX_MAP.get(entityType), entityId)
-        .script(script);
+  /**
+   * Remove the labels of a deleted tag or glossary term, and of the ones under it, from all the tagged documents. The
+   * documents are updated by ElasticSearch in the background, so that the event thread is not blocked by tags applied
+   * to a large number of entities.
+   */
+  private void removeTagLabels(String fqn) {
+    UpdateByQueryRequest request = new UpdateByQueryRequest(TAGGED_INDEXES);
+    request.setQuery(
+        QueryBuilders.boolQuery()
+            .should(QueryBuilders.termQuery(TAG_FQN, fqn))
+            .should(QueryBuilders.prefixQuery(TAG_FQN, fqn + Entity.SEPARATOR)));
+    Map<String, Object> params = new HashMap<>();
+    params.put("fqn", fqn);
+    params.put("fqnPrefix", fqn + Entity.SEPARATOR);
+    request.setScript(
+        new Script(
+            ScriptType.INLINE,
+            Script.DEFAULT_SCRIPT_LANG,
+            "ctx._source.tags.removeIf(tag -> tag.tagFQN == params.fqn || tag.tagFQN.startsWith(params.fqnPrefix))",
+            params));
+    updateElasticSearchByQuery(request);
   }
 
   private void updateDatabase(ChangeEvent event) throws IOException {
@@ -600,15 +598,81 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
   }
 
   private void updateClassification(ChangeEvent event) throws IOException {
+    if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      renameTags(event, ElasticSearchIndexType.TAG_SEARCH_INDEX.indexName);
+    }
     if (event.getEventType() == EventType.ENTITY_DELETED) {
       Classification classification = (Classification) event.getEntity();
       DeleteByQueryRequest request = new DeleteByQueryRequest(ElasticSearchIndexType.TAG_SEARCH_INDEX.indexName);
       String fqnMatch = classification.getName() + ".*";
       request.setQuery(new WildcardQueryBuilder("fullyQualifiedName", fqnMatch));
       deleteEntityFromElasticSearchByQuery(request);
+      removeTagLabels(classification.getFullyQualifiedName());
+    }
+  }
+
+  /**
+   * When a glossary, glossary term, classification or tag is renamed, rename its descendants in the given index and the
+   * labels of it and its descendants in all the tagged documents. The documents are updated by ElasticSearch in the
+   * background, as the descendants and their tag usages are renamed in chunks in the database.
+   */
+  private void renameTags(ChangeEvent event, String indexName) {
+    if (event.getChangeDescription() == null) {
+      return;
+    }
+    for (FieldChange fieldChange : event.getChangeDescription().getFieldsUpdated()) {
+      if (fieldChange.getName().equals("name")) {
+        // Only the last name of the FQN changes when the entity is renamed
+        String newFqn = ((EntityInterface) event.getEntity()).getFullyQualifiedName();
+        String newName = FullyQualifiedName.quoteName(fieldChange.getNewValue().toString());
+        String oldName = FullyQualifiedName.quoteName(fieldChange.getOldValue().toString());
+        String oldFqn = newFqn.substring(0, newFqn.length() - newName.length()) + oldName;
+        renameDescendants(indexName, oldFqn, newFqn);
+        renameTagLabels(oldFqn, newFqn);
+      }
     }
   }
 
+  private void renameDescendants(String indexName, String oldFqn, String newFqn) {
+    UpdateByQueryRequest request = new UpdateByQueryRequest(indexName);
+    request.setQuery(QueryBuilders.prefixQuery("fullyQualifiedName", oldFqn + Entity.SEPARATOR));
+    Map<String, Object> params = new HashMap<>();
+    params.put("oldPrefix", oldFqn + Entity.SEPARATOR);
+    params.put("newPrefix", newFqn + Entity.SEPARATOR);
+    // The prefix query ignores the case of the FQN, which is normalized to lowercase in the index
+    request.setScript(
+        new Script(
+            ScriptType.INLINE,
+            Script.DEFAULT_SCRIPT_LANG,
+            "if (ctx._source.fullyQualifiedName.startsWith(params.oldPrefix)) { ctx._source.fullyQualifiedName = "
+                + "params.newPrefix + ctx._source.fullyQualifiedName.substring(params.oldPrefix.length()) } "
+                + "else { ctx.op = 'noop' }",
+            params));
+    updateElasticSearchByQuery(request);
+  }
+
+  private void renameTagLabels(String oldFqn, String newFqn) {
+    UpdateByQueryRequest request = new UpdateByQueryRequest(TAGGED_INDEXES);
+    request.setQuery(
+        QueryBuilders.boolQuery()
+            .should(QueryBuilders.termQuery(TAG_FQN, oldFqn))
+            .should(QueryBuilders.prefixQuery(TAG_FQN, oldFqn + Entity.SEPARATOR)));
+    Map<String, Object> params = new HashMap<>();
+    params.put("oldFqn", oldFqn);
+    params.put("newFqn", newFqn);
+    params.put("oldPrefix", oldFqn + Entity.SEPARATOR);
+    params.put("newPrefix", newFqn + Entity.SEPARATOR);
+    request.setScript(
+        new Script(
+            ScriptType.INLINE,
+            Script.DEFAULT_SCRIPT_LANG,
+            "for (tag in ctx._source.tags) { if (tag.tagFQN == params.oldFqn) { tag.tagFQN = params.newFqn } "
+                + "else if (tag.tagFQN.startsWith(params.oldPrefix)) { "
+                + "tag.tagFQN = params.newPrefix + tag.tagFQN.substring(params.oldPrefix.length()) } }",
+            params));
+    updateElasticSearchByQuery(request);
+  }
+
   private void scriptedUpsert(Object doc, UpdateRequest updateRequest) {
     String scriptTxt = "for (k in params.keySet()) { ctx._source.put(k, params.get(k)) }";
     Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptTxt, JsonUtils.getMap(doc));
@@ -617,6 +681,17 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     updateRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
   }
 
+  /**
+   * Replace the given fields of an existing document. Unlike a partial doc update, which merges objects, the keys
+   * removed from an object such as extension, owner or votes do not linger in the document.
+   */
+  private void partialUpdate(Map<String, Object> partialDoc, UpdateRequest updateRequest) {
+    String scriptTxt = "for (k in params.keySet()) { ctx._source.put(k, params.get(k)) }";
+    Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptTxt, partialDoc);
+    updateRequest.script(script);
+    updateRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+  }
+
   private void scriptedUserUpsert(Object index, UpdateRequest updateRequest) {
     String scriptTxt = "for (k in params.keySet()) {ctx._source.put(k, params.get(k)) }";
     Map<String, Object> doc = JsonUtils.getMap(index);
@@ -654,14 +729,63 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     }
   }
 
-  private void deleteEntityFromElasticSearchByQuery(DeleteByQueryRequest deleteRequest) throws IOException {
+  /**
+   * Deletes by query run in the background using parallel sliced scrolls, since a service or a glossary can have a
+   * large number of documents under it. Failures are recorded in the status of the ElasticSearch stream job.
+   */
+  private void deleteEntityFromElasticSearchByQuery(DeleteByQueryRequest deleteRequest) {
     if (deleteRequest != null) {
       LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, deleteRequest);
       deleteRequest.setRefresh(true);
-      client.deleteByQuery(deleteRequest, RequestOptions.DEFAULT);
+      deleteRequest.setSlices(AbstractBulkByScrollRequest.AUTO_SLICES);
+      deleteRequest.setBatchSize(BY_QUERY_BATCH_SIZE);
+      deleteRequest.setAbortOnVersionConflict(false);
+      client.deleteByQueryAsync(deleteRequest, RequestOptions.DEFAULT, byQueryListener(deleteRequest.toString()));
     }
   }
 
+  private void updateElasticSearchByQuery(UpdateByQueryRequest updateRequest) {
+    LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, updateRequest);
+    updateRequest.setRefresh(true);
+    updateRequest.setSlices(AbstractBulkByScrollRequest.AUTO_SLICES);
+    updateRequest.setBatchSize(BY_QUERY_BATCH_SIZE);
+    updateRequest.setAbortOnVersionConflict(false);
+    client.updateByQueryAsync(updateRequest, RequestOptions.DEFAULT, byQueryListener(updateRequest.toString()));
+  }
+
+  private ActionListener<BulkByScrollResponse> byQueryListener(String context) {
+    return new ActionListener<>() {
+      @Override
+      public void onResponse(BulkByScrollResponse response) {
+        LOG.debug(
+            "Completed {} in {}, updated: {} deleted: {}",
+            context,
+            response.getTook(),
+            response.getUpdated(),
+            response.getDeleted());
+        if (!response.getBulkFailures().isEmpty() || !response.getSearchFailures().isEmpty()) {
+          updateElasticSearchFailureStatus(
+              context,
+              Status.ACTIVE_WITH_ERROR,
+              String.format(
+                  "Failures while updating ES by query. Bulk Failures[%s], Search Failures[%s]",
+                  response.getBulkFailures(), response.getSearchFailures()));
+        }
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        LOG.error("Failed to run {}", context, e);
+        updateElasticSearchFailureStatus(
+            context,
+            Status.ACTIVE_WITH_ERROR,
+            String.format(
+                "Failed while updating ES by query. Reason[%s], Cause[%s], Stack [%s]",
+                e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e)));
+      }
+    };
+  }
+
   public void registerElasticSearchJobs() {
     try {
       dao.entityExtensionTimeSeriesDao().delete(ELASTIC_SEARCH_ENTITY_FQN_STREAM, ELASTIC_SEARCH_EXTENSION);
@@ -8,9 +8,12 @@ import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -20,7 +23,14 @@ import lombok.SneakyThrows;
 import lombok.extern.jackson.Jacksonized;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.exception.ExceptionUtils;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
@@ -28,6 +38,7 @@ import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
 import org.elasticsearch.client.indices.PutMappingRequest;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.json.JSONObject;
 import org.openmetadata.schema.service.configuration.elasticsearch.ElasticSearchConfiguration;
@@ -49,6 +60,8 @@ public class ElasticSearchIndexDefinition {
   private static final String MAPPINGS_KEY = "mappings";
   private static final String PROPERTIES_KEY = "properties";
   private static final String REASON_TRACE = "Reason: [%s] , Trace : [%s]";
+  private static final String REFRESH_INTERVAL = "index.refresh_interval";
+  private static final String NUMBER_OF_REPLICAS = "index.number_of_replicas";
   public static final String ENTITY_REPORT_DATA = "entityReportData";
   public static final String WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA = "webAnalyticEntityViewReportData";
   public static final String WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA = "webAnalyticUserActivityReportData";
@@ -194,11 +207,10 @@ public class ElasticSearchIndexDefinition {
 
   public void deleteIndex(ElasticSearchIndexType elasticSearchIndexType) {
     try {
-      GetIndexRequest gRequest = new GetIndexRequest(elasticSearchIndexType.indexName);
-      gRequest.local(false);
-      boolean exists = client.indices().exists(gRequest, RequestOptions.DEFAULT);
-      if (exists) {
-        DeleteIndexRequest request = new DeleteIndexRequest(elasticSearchIndexType.indexName);
+      // Index name may be an alias after an alias swap reindex. Delete the indexes behind it.
+      Set<String> indexes = getConcreteIndexes(elasticSearchIndexType.indexName);
+      if (!indexes.isEmpty()) {
+        DeleteIndexRequest request = new DeleteIndexRequest(indexes.toArray(new String[0]));
         AcknowledgedResponse deleteIndexResponse = client.indices().delete(request, RequestOptions.DEFAULT);
         LOG.info("{} Deleted {}", elasticSearchIndexType.indexName, deleteIndexResponse.isAcknowledged());
       }
@@ -210,6 +222,78 @@ public class ElasticSearchIndexDefinition {
     }
   }
 
+  /**
+   * Create a new versioned index to bulk-load into while the live index keeps serving searches. Refresh is disabled and
+   * replicas are dropped for the duration of the load. These settings are restored when the index is swapped in.
+   */
+  public String createStagingIndex(ElasticSearchIndexType elasticSearchIndexType, String lang) throws IOException {
+    String stagingIndex = String.format("%s_%d", elasticSearchIndexType.indexName, System.currentTimeMillis());
+    CreateIndexRequest request = new CreateIndexRequest(stagingIndex);
+    request.source(getIndexMapping(elasticSearchIndexType, lang), XContentType.JSON);
+    client.indices().create(request, RequestOptions.DEFAULT);
+    Settings bulkLoadSettings = Settings.builder().put(REFRESH_INTERVAL, "-1").put(NUMBER_OF_REPLICAS, 0).build();
+    UpdateSettingsRequest settingsRequest = new UpdateSettingsRequest(stagingIndex).settings(bulkLoadSettings);
+    client.indices().putSettings(settingsRequest, RequestOptions.DEFAULT);
+    LOG.info("{} Created staging index {}", elasticSearchIndexType.indexName, stagingIndex);
+    return stagingIndex;
+  }
+
+  /**
+   * Make a fully loaded staging index live. The refresh interval and replicas of the current live index are restored on
+   * the staging index, it is force merged, and then the alias is atomically moved to it. The indexes that were serving
+   * searches until then are removed in the same alias update.
+   */
+  public void swapIndex(ElasticSearchIndexType elasticSearchIndexType, String stagingIndex) throws IOException {
+    String alias = elasticSearchIndexType.indexName;
+    Set<String> liveIndexes = getConcreteIndexes(alias);
+    Settings.Builder liveSettings = Settings.builder().putNull(REFRESH_INTERVAL).putNull(NUMBER_OF_REPLICAS);
+    if (!liveIndexes.isEmpty()) {
+      String liveIndex = liveIndexes.iterator().next();
+      GetSettingsResponse response =
+          client.indices().getSettings(new GetSettingsRequest().indices(liveIndex), RequestOptions.DEFAULT);
+      String refreshInterval = response.getSetting(liveIndex, REFRESH_INTERVAL);
+      String replicas = response.getSetting(liveIndex, NUMBER_OF_REPLICAS);
+      if (refreshInterval != null) {
+        liveSettings.put(REFRESH_INTERVAL, refreshInterval);
+      }
+      if (replicas != null) {
+        liveSettings.put(NUMBER_OF_REPLICAS, replicas);
+      }
+    }
+    UpdateSettingsRequest settingsRequest = new UpdateSettingsRequest(stagingIndex).settings(liveSettings);
+    client.indices().putSettings(settingsRequest, RequestOptions.DEFAULT);
+    client.indices().forcemerge(new ForceMergeRequest(stagingIndex).maxNumSegments(1), RequestOptions.DEFAULT);
+    client.indices().refresh(new RefreshRequest(stagingIndex), RequestOptions.DEFAULT);
+
+    IndicesAliasesRequest aliasesRequest = new IndicesAliasesRequest();
+    for (String liveIndex : liveIndexes) {
+      aliasesRequest.addAliasAction(AliasActions.removeIndex().index(liveIndex));
+    }
+    aliasesRequest.addAliasAction(AliasActions.add().index(stagingIndex).alias(alias));
+    AcknowledgedResponse aliasResponse = client.indices().updateAliases(aliasesRequest, RequestOptions.DEFAULT);
+    LOG.info("{} Swapped to {} {}", alias, stagingIndex, aliasResponse.isAcknowledged());
+  }
+
+  /** Delete a staging index that is not going to be swapped in, leaving the live index untouched */
+  public void deleteStagingIndex(String stagingIndex) {
+    try {
+      client.indices().delete(new DeleteIndexRequest(stagingIndex), RequestOptions.DEFAULT);
+      LOG.info("Deleted staging index {}", stagingIndex);
+    } catch (IOException e) {
+      LOG.error("Failed to delete staging index {} due to", stagingIndex, e);
+    }
+  }
+
+  /** Get the concrete indexes for an index name, which is either an index or an alias to one */
+  private Set<String> getConcreteIndexes(String indexName) throws IOException {
+    GetIndexRequest request = new GetIndexRequest(indexName);
+    request.local(false);
+    if (!client.indices().exists(request, RequestOptions.DEFAULT)) {
+      return Collections.emptySet();
+    }
+    return new HashSet<>(Arrays.asList(client.indices().get(request, RequestOptions.DEFAULT).getIndices()));
+  }
+
   private void setIndexStatus(ElasticSearchIndexType indexType, ElasticSearchIndexStatus elasticSearchIndexStatus) {
     elasticSearchIndexes.put(indexType, elasticSearchIndexStatus);
   }
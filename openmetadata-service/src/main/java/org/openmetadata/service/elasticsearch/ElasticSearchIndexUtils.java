@@ -1,13 +1,44 @@
 package org.openmetadata.service.elasticsearch;
 
+import static org.openmetadata.service.Entity.FIELD_DESCRIPTION;
+import static org.openmetadata.service.Entity.FIELD_DISPLAY_NAME;
+import static org.openmetadata.service.Entity.FIELD_EXTENSION;
+import static org.openmetadata.service.Entity.FIELD_FOLLOWERS;
+import static org.openmetadata.service.Entity.FIELD_NAME;
+import static org.openmetadata.service.Entity.FIELD_OWNER;
+import static org.openmetadata.service.Entity.FIELD_TAGS;
+import static org.openmetadata.service.Entity.FIELD_VOTES;
+
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openmetadata.schema.type.ChangeDescription;
 import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.FieldChange;
 import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.service.Entity;
 
 public final class ElasticSearchIndexUtils {
+  /** Document fields that are always updated along with the changed ones */
+  private static final List<String> COMMON_DOC_FIELDS = List.of("version", "updatedAt", "updatedBy");
+
+  /**
+   * Entity fields that can be updated in the search document without reindexing all of it, and the document fields
+   * derived from each of them, such as the suggest inputs and the name of some indexes built from the displayName.
+   * Changes to other fields, such as columns, need the whole document to be rebuilt.
+   */
+  private static final Map<String, List<String>> PARTIAL_UPDATE_FIELDS =
+      Map.of(
+          FIELD_DESCRIPTION, List.of(FIELD_DESCRIPTION),
+          FIELD_DISPLAY_NAME, List.of(FIELD_DISPLAY_NAME, FIELD_NAME, "suggest"),
+          FIELD_TAGS, List.of(FIELD_TAGS, "tier"),
+          FIELD_OWNER, List.of(FIELD_OWNER),
+          FIELD_FOLLOWERS, List.of(FIELD_FOLLOWERS),
+          FIELD_EXTENSION, List.of(FIELD_EXTENSION),
+          FIELD_VOTES, List.of(FIELD_VOTES));
 
   private ElasticSearchIndexUtils() {}
 
@@ -30,4 +61,39 @@ public final class ElasticSearchIndexUtils {
     }
     return tags;
   }
+
+  /**
+   * Returns the part of the search document covering only the fields touched by the change, or null when the change is
+   * structural and the whole document must be reindexed. Fields removed from the entity are set to null. Each field
+   * replaces the value in the document as a whole.
+   */
+  public static Map<String, Object> getPartialDoc(ChangeDescription changeDescription, Map<String, Object> doc) {
+    if (changeDescription == null) {
+      return null;
+    }
+    Map<String, Object> partialDoc = new HashMap<>();
+    List<FieldChange> fieldChanges =
+        Stream.of(
+                changeDescription.getFieldsAdded(),
+                changeDescription.getFieldsUpdated(),
+                changeDescription.getFieldsDeleted())
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+    for (FieldChange fieldChange : fieldChanges) {
+      // Nested changes such as columns.c1.description are named after the top level field
+      String field = fieldChange.getName().split("\\" + Entity.SEPARATOR, 2)[0];
+      List<String> docFields = PARTIAL_UPDATE_FIELDS.get(field);
+      if (docFields == null) {
+        return null;
+      }
+      partialDoc.put(docFields.get(0), doc.get(docFields.get(0)));
+      // Derived fields are only sent for the indexes that have them
+      docFields.stream()
+          .skip(1)
+          .filter(doc::containsKey)
+          .forEach(docField -> partialDoc.put(docField, doc.get(docField)));
+    }
+    COMMON_DOC_FIELDS.forEach(docField -> partialDoc.put(docField, doc.get(docField)));
+    return partialDoc;
+  }
 }
@@ -15,8 +15,10 @@ package org.openmetadata.service.events;
 
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 import static org.openmetadata.service.formatter.util.FormatterUtil.getChangeEventFromResponseContext;
+import static org.openmetadata.service.formatter.util.FormatterUtil.getChangeEventsFromBulkOperationResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.util.List;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
@@ -27,6 +29,7 @@ import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.entity.feed.Thread;
 import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.schema.type.EventType;
+import org.openmetadata.schema.type.api.BulkOperationResult;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.events.subscription.AlertUtil;
@@ -57,46 +60,58 @@ public class ChangeEventHandler implements EventHandler {
     String loggedInUserName = securityContext.getUserPrincipal().getName();
     try {
       notificationHandler.processNotifications(responseContext);
+      if (responseContext.getEntity() instanceof BulkOperationResult) {
+        // Record a change event for each of the entities created or updated by the bulk operation
+        BulkOperationResult result = (BulkOperationResult) responseContext.getEntity();
+        for (ChangeEvent changeEvent : getChangeEventsFromBulkOperationResult(result, loggedInUserName)) {
+          recordChangeEvent(changeEvent, loggedInUserName);
+        }
+        return null;
+      }
       ChangeEvent changeEvent = getChangeEventFromResponseContext(responseContext, loggedInUserName, method);
       if (changeEvent == null) {
         return null;
       }
-      // Always set the Change Event Username as context Principal, the one creating the CE
-      changeEvent.setUserName(loggedInUserName);
-      LOG.info(
-          "Recording change event {}:{}:{}:{}",
-          changeEvent.getTimestamp(),
-          changeEvent.getEntityId(),
-          changeEvent.getEventType(),
-          changeEvent.getEntityType());
-      EventPubSub.publish(changeEvent);
-      if (changeEvent.getEntity() != null) {
-        Object entity = changeEvent.getEntity();
-        changeEvent = copyChangeEvent(changeEvent);
-        changeEvent.setEntity(JsonUtils.pojoToMaskedJson(entity));
-      }
-      dao.changeEventDAO().insert(JsonUtils.pojoToJson(changeEvent));
+      recordChangeEvent(changeEvent, loggedInUserName);
+    } catch (Exception e) {
+      LOG.error("Failed to capture change event for method {} due to ", method, e);
+    }
+    return null;
+  }
+
+  private void recordChangeEvent(ChangeEvent changeEvent, String loggedInUserName) throws IOException {
+    // Always set the Change Event Username as context Principal, the one creating the CE
+    changeEvent.setUserName(loggedInUserName);
+    LOG.info(
+        "Recording change event {}:{}:{}:{}",
+        changeEvent.getTimestamp(),
+        changeEvent.getEntityId(),
+        changeEvent.getEventType(),
+        changeEvent.getEntityType());
+    EventPubSub.publish(changeEvent);
+    if (changeEvent.getEntity() != null) {
+      Object entity = changeEvent.getEntity();
+      changeEvent = copyChangeEvent(changeEvent);
+      changeEvent.setEntity(JsonUtils.pojoToMaskedJson(entity));
+    }
+    dao.changeEventDAO().insert(JsonUtils.pojoToJson(changeEvent));
 
-      // Add a new thread to the entity for every change event
-      // for the event to appear in activity feeds
-      if (Entity.shouldDisplayEntityChangeOnFeed(changeEvent.getEntityType())
-          && (AlertUtil.shouldProcessActivityFeedRequest(changeEvent))) {
-        for (Thread thread : listOrEmpty(FeedUtils.getThreads(changeEvent, loggedInUserName))) {
-          // Don't create a thread if there is no message
-          if (thread.getMessage() != null && !thread.getMessage().isEmpty()) {
-            feedDao.create(thread);
-            String jsonThread = mapper.writeValueAsString(thread);
-            WebSocketManager.getInstance().broadCastMessageToAll(WebSocketManager.FEED_BROADCAST_CHANNEL, jsonThread);
-            if (changeEvent.getEventType().equals(EventType.ENTITY_DELETED)) {
-              deleteAllConversationsRelatedToEntity((EntityInterface) changeEvent.getEntity());
-            }
+    // Add a new thread to the entity for every change event
+    // for the event to appear in activity feeds
+    if (Entity.shouldDisplayEntityChangeOnFeed(changeEvent.getEntityType())
+        && (AlertUtil.shouldProcessActivityFeedRequest(changeEvent))) {
+      for (Thread thread : listOrEmpty(FeedUtils.getThreads(changeEvent, loggedInUserName))) {
+        // Don't create a thread if there is no message
+        if (thread.getMessage() != null && !thread.getMessage().isEmpty()) {
+          feedDao.create(thread);
+          String jsonThread = mapper.writeValueAsString(thread);
+          WebSocketManager.getInstance().broadCastMessageToAll(WebSocketManager.FEED_BROADCAST_CHANNEL, jsonThread);
+          if (changeEvent.getEventType().equals(EventType.ENTITY_DELETED)) {
+            deleteAllConversationsRelatedToEntity((EntityInterface) changeEvent.getEntity());
           }
         }
       }
-    } catch (Exception e) {
-      LOG.error("Failed to capture change event for method {} due to ", method, e);
     }
-    return null;
   }
 
   private static ChangeEvent copyChangeEvent(ChangeEvent changeEvent) {
@@ -0,0 +1,291 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.events.WebAnalyticEventBufferConfiguration.OverflowPolicy;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ExtensionTimeSeriesObject;
+
+/**
+ * Write-behind buffer of the web analytic events sent by the UI. Events are added to a bounded queue without blocking
+ * and are written to entity_extension_time_series with multi-row inserts, once {@code batchSize} events are buffered or
+ * at most {@code flushIntervalMillis} after they are buffered, so that the page views and clicks of the UI do not take
+ * a connection for every event. When the buffer is full the overflow policy decides whether the oldest event is
+ * dropped, the new event is rejected or the new event is spilled to a local file.
+ */
+@Slf4j
+public class WebAnalyticEventBuffer {
+  private static final String SEPARATOR = "\t";
+  private static volatile WebAnalyticEventBuffer instance;
+
+  private final WebAnalyticEventBufferConfiguration configuration;
+  private final EntityExtensionTimeSeriesDAO dao;
+  private final BlockingQueue<ExtensionTimeSeriesObject> queue;
+  private final Path spillFile;
+  private final Path replayFile;
+  private final Path unwrittenFile;
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final Timer flushTimer;
+  private final Counter overflowCounter;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+  public WebAnalyticEventBuffer(
+      WebAnalyticEventBufferConfiguration configuration, EntityExtensionTimeSeriesDAO dao, MeterRegistry registry) {
+    this.configuration = configuration;
+    this.dao = dao;
+    this.queue = new ArrayBlockingQueue<>(configuration.getCapacity());
+    this.spillFile = Paths.get(configuration.getSpillFile());
+    this.replayFile = Paths.get(configuration.getSpillFile() + ".replay");
+    this.unwrittenFile = Paths.get(configuration.getSpillFile() + ".unwritten");
+    Gauge.builder("web_analytic_event_buffer_depth", queue, BlockingQueue::size)
+        .description("Web analytic events waiting in the buffer.")
+        .register(registry);
+    this.flushTimer =
+        Timer.builder("web_analytic_event_buffer_flush")
+            .description("Time taken to write a batch of web analytic events.")
+            .register(registry);
+    this.overflowCounter =
+        Counter.builder("web_analytic_event_buffer_overflow")
+            .description("Web analytic events that did not fit in the buffer.")
+            .tags("policy", configuration.getOverflowPolicy().name())
+            .register(registry);
+  }
+
+  /** Buffer the event and return false when it is rejected because the buffer is full */
+  public boolean add(ExtensionTimeSeriesObject event) {
+    if (!queue.offer(event)) {
+      overflowCounter.increment();
+      switch (configuration.getOverflowPolicy()) {
+        case REJECT:
+          return false;
+        case SPILL:
+          spill(List.of(event));
+          break;
+        case DROP_OLDEST:
+        default:
+          while (!queue.offer(event)) {
+            queue.poll();
+          }
+      }
+    }
+    if (queue.size() >= configuration.getBatchSize() && flushScheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::scheduledFlush);
+      } catch (RejectedExecutionException ex) {
+        flushScheduled.set(false); // Buffer is stopping and writes the events when it stops
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Write the buffered and spilled events in the calling thread. Called before the events are read so that the events
+   * that are already received are returned.
+   */
+  public synchronized void flush() {
+    List<ExtensionTimeSeriesObject> batch = new ArrayList<>(configuration.getBatchSize());
+    while (queue.drainTo(batch, configuration.getBatchSize()) > 0) {
+      write(batch);
+      batch.clear();
+    }
+    replaySpilled();
+  }
+
+  public int size() {
+    return queue.size();
+  }
+
+  private void scheduledFlush() {
+    flushScheduled.set(false);
+    try {
+      flush();
+    } catch (Exception ex) {
+      LOG.error("Failed to write web analytic events", ex);
+    }
+  }
+
+  private void write(List<ExtensionTimeSeriesObject> batch) {
+    try {
+      flushTimer.record(() -> dao.insertMany(batch));
+    } catch (Exception ex) {
+      if (configuration.getOverflowPolicy() == OverflowPolicy.SPILL) {
+        LOG.warn("Failed to write {} web analytic events, spilling them to {}", batch.size(), spillFile, ex);
+        spill(batch);
+      } else {
+        LOG.error("Failed to write {} web analytic events", batch.size(), ex);
+      }
+    }
+  }
+
+  /** Append the events to the spill file, one event per line with the columns separated by tabs */
+  private void spill(List<ExtensionTimeSeriesObject> events) {
+    synchronized (spillFile) {
+      try (BufferedWriter writer =
+          Files.newBufferedWriter(
+              spillFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        for (ExtensionTimeSeriesObject event : events) {
+          writer.write(
+              String.join(
+                  SEPARATOR, event.getEntityFQN(), event.getExtension(), event.getJsonSchema(), event.getJson()));
+          writer.newLine();
+        }
+      } catch (IOException ex) {
+        LOG.error("Failed to spill {} web analytic events to {}", events.size(), spillFile, ex);
+      }
+    }
+  }
+
+  /**
+   * Write the spilled events to the database. The spill file is moved aside first so that events spilled in the
+   * meantime are written on the next flush. When a batch fails to be written, the moved file is replaced with the
+   * events from that batch on, so that the batches already written are not written again on the retry.
+   */
+  private void replaySpilled() {
+    try {
+      synchronized (spillFile) {
+        if (!Files.exists(replayFile) && Files.exists(spillFile)) {
+          Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+      }
+      if (!Files.exists(replayFile)) {
+        return;
+      }
+      boolean replayed = true;
+      try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+        List<String> lines = new ArrayList<>(configuration.getBatchSize());
+        String line = reader.readLine();
+        while (line != null) {
+          lines.add(line);
+          line = reader.readLine();
+          if (lines.size() >= configuration.getBatchSize() || line == null) {
+            if (!writeSpilled(lines)) {
+              keepUnwritten(lines, line, reader);
+              replayed = false;
+              break;
+            }
+            lines.clear();
+          }
+        }
+      }
+      if (replayed) {
+        Files.delete(replayFile);
+      } else {
+        Files.move(unwrittenFile, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      }
+    } catch (Exception ex) {
+      LOG.error("Failed to write the web analytic events spilled to {}", replayFile, ex);
+    }
+  }
+
+  private boolean writeSpilled(List<String> lines) {
+    List<ExtensionTimeSeriesObject> batch = new ArrayList<>(lines.size());
+    for (String line : lines) {
+      String[] columns = line.split(SEPARATOR, 4);
+      batch.add(
+          ExtensionTimeSeriesObject.builder()
+              .entityFQN(columns[0])
+              .extension(columns[1])
+              .jsonSchema(columns[2])
+              .json(columns[3])
+              .build());
+    }
+    try {
+      dao.insertMany(batch);
+      return true;
+    } catch (Exception ex) {
+      LOG.error("Failed to write {} web analytic events spilled to {}", batch.size(), replayFile, ex);
+      return false;
+    }
+  }
+
+  /** Write the lines of the failed batch, the next line and the lines not read yet to the unwritten file */
+  private void keepUnwritten(List<String> lines, String nextLine, BufferedReader reader) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(unwrittenFile, StandardCharsets.UTF_8)) {
+      for (String line : lines) {
+        writer.write(line);
+        writer.newLine();
+      }
+      for (String line = nextLine; line != null; line = reader.readLine()) {
+        writer.write(line);
+        writer.newLine();
+      }
+    }
+  }
+
+  private void startFlushing() {
+    executor.scheduleWithFixedDelay(
+        this::scheduledFlush,
+        configuration.getFlushIntervalMillis(),
+        configuration.getFlushIntervalMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void close() {
+    executor.shutdown();
+    try {
+      executor.awaitTermination(configuration.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+
+  /** Buffer started for the server, or null when the events are written as they are received */
+  public static WebAnalyticEventBuffer getInstance() {
+    return instance;
+  }
+
+  /** To be called during application startup to buffer the web analytic events */
+  public static synchronized void start(WebAnalyticEventBuffer buffer) {
+    stop();
+    buffer.startFlushing();
+    instance = buffer;
+    LOG.info(
+        "Buffering up to {} web analytic events, written every {} ms",
+        buffer.configuration.getCapacity(),
+        buffer.configuration.getFlushIntervalMillis());
+  }
+
+  /** Write the buffered events and stop buffering */
+  public static synchronized void stop() {
+    if (instance != null) {
+      WebAnalyticEventBuffer buffer = instance;
+      instance = null;
+      buffer.close();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import java.nio.file.Paths;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class WebAnalyticEventBufferConfiguration {
+  public enum OverflowPolicy {
+    /** Discard the oldest buffered event to make room for the new one */
+    DROP_OLDEST,
+    /** Reject the new event with 429 Too Many Requests */
+    REJECT,
+    /** Append the new event to the spill file, which is written to the database once the buffer drains */
+    SPILL
+  }
+
+  /** Buffer the web analytic events and write them in batches instead of writing each event as it is received */
+  private boolean enabled = true;
+
+  /** Maximum number of events in the buffer */
+  private int capacity = 10000;
+
+  /** Events are written once this many are buffered */
+  private int batchSize = 500;
+
+  /** Events are written at most this long after they are buffered */
+  private int flushIntervalMillis = 1000;
+
+  private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+  /** File the events are spilled to with the SPILL overflow policy */
+  private String spillFile =
+      Paths.get(System.getProperty("java.io.tmpdir"), "openmetadata-web-analytic-events.spill").toString();
+}
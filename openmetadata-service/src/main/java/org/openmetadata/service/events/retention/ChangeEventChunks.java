@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events.retention;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.service.jdbi3.locator.ConnectionType;
+
+/**
+ * Chunks of the change_event table. The change events of each event type are stored in chunks of a day by event time,
+ * which are partitions of change_event named after the day they start on. Chunks are created ahead of time, and a chunk
+ * is dropped as a whole once all of its events are older than the retention of the event type, instead of deleting the
+ * events row by row.
+ */
+@Slf4j
+public abstract class ChangeEventChunks {
+  public static final long CHUNK_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  protected final ChangeEventDAO dao;
+
+  protected ChangeEventChunks(ChangeEventDAO dao) {
+    this.dao = dao;
+  }
+
+  public static ChangeEventChunks create(ConnectionType connectionType, ChangeEventDAO dao) {
+    return connectionType == ConnectionType.POSTGRES
+        ? new PostgresChangeEventChunks(dao)
+        : new MySqlChangeEventChunks(dao);
+  }
+
+  /**
+   * Create the chunks of the event type that start before {@code until}. Chunks are created after the last chunk and
+   * from the next day at the earliest, so that the chunks never cover the events already written when the compaction
+   * has fallen behind, which remain in the partition above the chunks until they are past the retention.
+   */
+  public final void createChunks(String eventType, long now, long until) {
+    List<String> partitions = dao.listPartitions();
+    if (!partitions.contains(getEventTypePartition(eventType))) {
+      return; // Change events of the event type are not partitioned
+    }
+    List<Long> starts = listChunkStarts(partitions, eventType);
+    long next = startOfChunk(now) + CHUNK_MILLIS;
+    if (!starts.isEmpty()) {
+      next = Math.max(next, starts.get(starts.size() - 1) + CHUNK_MILLIS);
+    }
+    List<Long> newStarts = new ArrayList<>();
+    for (long start = next; start < until; start += CHUNK_MILLIS) {
+      newStarts.add(start);
+    }
+    if (!newStarts.isEmpty()) {
+      createChunks(eventType, newStarts);
+      LOG.info("Created {} chunks of {} change events", newStarts.size(), eventType);
+    }
+  }
+
+  /**
+   * Drop the chunks of the event type that only have events before {@code before} and return the rows dropped, which
+   * are taken from the table statistics rather than counted.
+   */
+  public final long dropChunks(String eventType, long before) {
+    List<String> partitions = dao.listPartitions();
+    List<String> expired = new ArrayList<>();
+    long rows = 0;
+    for (long start : listChunkStarts(partitions, eventType)) {
+      if (start + CHUNK_MILLIS <= before) {
+        String chunk = getChunkName(eventType, start);
+        rows += dao.getPartitionRows(chunk);
+        expired.add(chunk);
+      }
+    }
+    if (!expired.isEmpty()) {
+      dropChunks(expired);
+      LOG.info("Dropped {} chunks with {} {} change events", expired.size(), rows, eventType);
+    }
+    return rows + dropUnchunked(eventType, partitions, before);
+  }
+
+  /** Partition of the event type from which the chunks are created */
+  protected abstract String getEventTypePartition(String eventType);
+
+  protected abstract String getChunkPrefix(String eventType);
+
+  protected abstract void createChunks(String eventType, List<Long> starts);
+
+  protected abstract void dropChunks(List<String> chunks);
+
+  /** Drop the events of the event type written before the first chunk, once all of them are before {@code before} */
+  protected long dropUnchunked(String eventType, List<String> partitions, long before) {
+    return 0;
+  }
+
+  protected final String getChunkName(String eventType, long start) {
+    return getChunkPrefix(eventType)
+        + DateTimeFormatter.BASIC_ISO_DATE.format(Instant.ofEpochMilli(start).atZone(ZoneOffset.UTC).toLocalDate());
+  }
+
+  protected static String lowerCase(String eventType) {
+    return eventType.toLowerCase(Locale.ROOT);
+  }
+
+  static long startOfChunk(long time) {
+    return time - Math.floorMod(time, CHUNK_MILLIS);
+  }
+
+  /** Start times of the chunks of the event type, in ascending order */
+  final List<Long> listChunkStarts(List<String> partitions, String eventType) {
+    String prefix = getChunkPrefix(eventType);
+    List<Long> starts = new ArrayList<>();
+    for (String partition : partitions) {
+      String name = partition.toLowerCase(Locale.ROOT);
+      if (name.startsWith(prefix)) {
+        try {
+          LocalDate day = LocalDate.parse(name.substring(prefix.length()), DateTimeFormatter.BASIC_ISO_DATE);
+          starts.add(day.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+        } catch (DateTimeParseException e) {
+          // Not a chunk, such as the partition above the chunks
+        }
+      }
+    }
+    Collections.sort(starts);
+    return starts;
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events.retention;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.type.EventType;
+
+/**
+ * Keeps the change events of each event type for the retention configured for it. The compactor periodically creates
+ * the chunks of change events ahead of time and drops the chunks that are past the retention, which takes the same time
+ * regardless of the number of events dropped. Event types without a retention are not chunked. The rows reclaimed and
+ * the time taken are reported as metrics.
+ */
+@Slf4j
+public class ChangeEventCompactor {
+  /** Chunks are created up to this time ahead so that the events of the next run always have a chunk */
+  private static final long LOOKAHEAD_MILLIS = TimeUnit.DAYS.toMillis(2);
+
+  private static ScheduledExecutorService executor;
+
+  private final ChangeEventChunks chunks;
+  private final ChangeEventRetentionConfiguration configuration;
+  private final MeterRegistry registry;
+  private final Timer timer;
+
+  public ChangeEventCompactor(
+      ChangeEventChunks chunks, ChangeEventRetentionConfiguration configuration, MeterRegistry registry) {
+    this.chunks = chunks;
+    this.configuration = configuration;
+    this.registry = registry;
+    this.timer =
+        Timer.builder("change_event_compaction")
+            .description("Time taken to create and drop the chunks of change events.")
+            .register(registry);
+  }
+
+  /** Create the chunks of each event type and drop the ones past the retention of the event type */
+  public void compact(long now) {
+    timer.record(
+        () -> {
+          for (EventType eventType : EventType.values()) {
+            String type = eventType.value();
+            int retentionDays = configuration.retentionDaysOf(type);
+            if (retentionDays <= 0) {
+              continue; // Change events of the event type are kept forever and are not chunked
+            }
+            // Chunks are dropped even when they could not be created, so that the retention is kept regardless
+            try {
+              chunks.createChunks(type, now, now + LOOKAHEAD_MILLIS);
+            } catch (Exception ex) {
+              // Another server may have created the chunks at the same time, which is retried on the next run
+              LOG.error("Failed to create the chunks of {} change events", type, ex);
+            }
+            try {
+              long rows = chunks.dropChunks(type, now - TimeUnit.DAYS.toMillis(retentionDays));
+              Counter.builder("change_event_compaction_rows_reclaimed")
+                  .description("Change events dropped past the retention.")
+                  .tags("eventType", type)
+                  .register(registry)
+                  .increment(rows);
+            } catch (Exception ex) {
+              LOG.error("Failed to drop the chunks of {} change events", type, ex);
+            }
+          }
+        });
+  }
+
+  /** To be called during application startup to compact the change events periodically */
+  public static synchronized void start(ChangeEventCompactor compactor, int intervalMinutes) {
+    stop();
+    executor = Executors.newSingleThreadScheduledExecutor();
+    executor.scheduleWithFixedDelay(
+        () -> {
+          try {
+            compactor.compact(System.currentTimeMillis());
+          } catch (Exception ex) {
+            LOG.error("Failed to compact change events", ex);
+          }
+        },
+        0,
+        intervalMinutes,
+        TimeUnit.MINUTES);
+    LOG.info("Compacting change events every {} minutes", intervalMinutes);
+  }
+
+  public static synchronized void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+}
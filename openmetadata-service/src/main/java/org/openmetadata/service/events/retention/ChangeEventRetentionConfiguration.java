@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events.retention;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ChangeEventRetentionConfiguration {
+  /** Create the chunks of the change events ahead of time and drop the chunks older than the retention */
+  private boolean enabled = true;
+
+  /** Interval at which the chunks are created and dropped */
+  private int compactionIntervalMinutes = 60;
+
+  /**
+   * Days for which the change events of the event types not listed in retentionDays are kept. 0 keeps them forever, and
+   * the change events of the event types kept forever are not chunked
+   */
+  private int defaultRetentionDays = 0;
+
+  /** Days for which the change events are kept by event type, such as entityCreated. 0 keeps them forever */
+  private Map<String, Integer> retentionDays = new HashMap<>();
+
+  public int retentionDaysOf(String eventType) {
+    return retentionDays.getOrDefault(eventType, defaultRetentionDays);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events.retention;
+
+import java.util.List;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+
+/**
+ * Chunks of change events on MySQL, which are partitions of change_event partitioned by range of event type and event
+ * time. Partition {@code p_<eventType>_max} has the events after the last chunk of the event type, and chunks are split
+ * from it when they are created. The first chunk of an event type also has the events from before the chunks.
+ */
+public class MySqlChangeEventChunks extends ChangeEventChunks {
+  public MySqlChangeEventChunks(ChangeEventDAO dao) {
+    super(dao);
+  }
+
+  @Override
+  protected String getEventTypePartition(String eventType) {
+    return getChunkPrefix(eventType) + "max";
+  }
+
+  @Override
+  protected String getChunkPrefix(String eventType) {
+    return "p_" + lowerCase(eventType) + "_";
+  }
+
+  @Override
+  protected void createChunks(String eventType, List<Long> starts) {
+    String last = getEventTypePartition(eventType);
+    StringBuilder chunks = new StringBuilder();
+    for (long start : starts) {
+      chunks.append(
+          String.format(
+              "PARTITION %s VALUES LESS THAN ('%s', %d), ",
+              getChunkName(eventType, start), eventType, start + CHUNK_MILLIS));
+    }
+    dao.alterPartitions(
+        String.format(
+            "ALTER TABLE change_event REORGANIZE PARTITION %s INTO (%sPARTITION %s VALUES LESS THAN ('%s', MAXVALUE))",
+            last, chunks, last, eventType));
+  }
+
+  @Override
+  protected void dropChunks(List<String> chunks) {
+    dao.alterPartitions("ALTER TABLE change_event DROP PARTITION " + String.join(", ", chunks));
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events.retention;
+
+import java.util.List;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+
+/**
+ * Chunks of change events on Postgres. change_event is partitioned by list of event types into {@code
+ * change_event_<eventType>}, which is partitioned by range of event time into the chunks. The default partition {@code
+ * change_event_<eventType>_default} has the events from before the first chunk and is truncated once all of its events
+ * are expired.
+ */
+public class PostgresChangeEventChunks extends ChangeEventChunks {
+  public PostgresChangeEventChunks(ChangeEventDAO dao) {
+    super(dao);
+  }
+
+  @Override
+  protected String getEventTypePartition(String eventType) {
+    return "change_event_" + lowerCase(eventType);
+  }
+
+  @Override
+  protected String getChunkPrefix(String eventType) {
+    return getEventTypePartition(eventType) + "_";
+  }
+
+  /**
+   * Each chunk is created as a table with a CHECK constraint on its range, so that attaching it does not scan the
+   * chunk, and the events of its range are moved into it from the default partition before it is attached. The default
+   * partition is locked so that no events of the range are written to it until the chunk is attached.
+   */
+  @Override
+  protected void createChunks(String eventType, List<Long> starts) {
+    String parent = getEventTypePartition(eventType);
+    String unchunked = getChunkPrefix(eventType) + "default";
+    for (long start : starts) {
+      String chunk = getChunkName(eventType, start);
+      long end = start + CHUNK_MILLIS;
+      dao.alterPartitions(
+          String.format(
+              "DO $$ BEGIN "
+                  + "LOCK TABLE %5$s IN EXCLUSIVE MODE; "
+                  + "CREATE TABLE %1$s (LIKE %2$s INCLUDING ALL); "
+                  + "ALTER TABLE %1$s ADD CONSTRAINT %1$s_range "
+                  + "CHECK (eventType = '%6$s' AND eventTime >= %3$d AND eventTime < %4$d); "
+                  + "WITH moved AS (DELETE FROM %5$s WHERE eventTime >= %3$d AND eventTime < %4$d "
+                  + "RETURNING eventType, eventTime, json) "
+                  + "INSERT INTO %1$s (eventType, eventTime, json) SELECT eventType, eventTime, json FROM moved; "
+                  + "ALTER TABLE %2$s ATTACH PARTITION %1$s FOR VALUES FROM (%3$d) TO (%4$d); "
+                  + "END $$",
+              chunk, parent, start, end, unchunked, eventType));
+    }
+  }
+
+  @Override
+  protected void dropChunks(List<String> chunks) {
+    dao.alterPartitions("DROP TABLE IF EXISTS " + String.join(", ", chunks));
+  }
+
+  @Override
+  protected long dropUnchunked(String eventType, List<String> partitions, long before) {
+    String unchunked = getChunkPrefix(eventType) + "default";
+    if (!partitions.contains(unchunked)) {
+      return 0;
+    }
+    if (dao.hasEventsSince(unchunked, before)) {
+      return 0;
+    }
+    long rows = dao.getPartitionRows(unchunked);
+    dao.alterPartitions("TRUNCATE TABLE " + unchunked);
+    return rows;
+  }
+}
@@ -32,6 +32,7 @@ public final class CatalogExceptionMessage {
   public static final String MAX_FAILED_LOGIN_ATTEMPT = "Failed Login Attempts Exceeded. Please try after some time.";
   public static final String INVALID_USERNAME_PASSWORD = "You have entered an invalid username or password.";
   public static final String ENTITY_ALREADY_EXISTS = "Entity already exists";
+  public static final String DUPLICATE_ENTITY_IN_REQUEST = "Entity is repeated in the request";
   public static final String FERNET_KEY_NULL = "Fernet key is null";
   public static final String FIELD_NOT_TOKENIZED = "Field is not tokenized";
   public static final String FIELD_ALREADY_TOKENIZED = "Field is already tokenized";
@@ -42,6 +42,8 @@ import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.EventType;
 import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.schema.type.api.BulkOperationResult;
+import org.openmetadata.schema.type.api.BulkResponse;
 import org.openmetadata.service.formatter.decorators.MessageDecorator;
 import org.openmetadata.service.formatter.factory.ParserFactory;
 import org.openmetadata.service.formatter.field.DefaultFieldFormatter;
@@ -254,12 +256,29 @@ public class FormatterUtil {
 
     int responseCode = responseContext.getStatus();
     String changeType = responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER);
+    return getChangeEventFromEntity(responseContext.getEntity(), responseCode, changeType, updateBy);
+  }
+
+  /** Get the change events for the entities created or updated by a bulk create or update operation */
+  public static List<ChangeEvent> getChangeEventsFromBulkOperationResult(BulkOperationResult result, String updateBy) {
+    List<ChangeEvent> changeEvents = new ArrayList<>();
+    for (BulkResponse response : CommonUtil.listOrEmpty(result.getSuccessRequest())) {
+      ChangeEvent changeEvent =
+          getChangeEventFromEntity(response.getEntity(), response.getStatus(), response.getMessage(), updateBy);
+      if (changeEvent != null) {
+        changeEvents.add(changeEvent);
+      }
+    }
+    return changeEvents;
+  }
 
+  private static ChangeEvent getChangeEventFromEntity(
+      Object entity, int responseCode, String changeType, String updateBy) {
     // Entity was created by either POST .../entities or PUT .../entities
     if (responseCode == Response.Status.CREATED.getStatusCode()
         && !RestUtil.ENTITY_FIELDS_CHANGED.equals(changeType)
-        && !responseContext.getEntity().getClass().equals(Thread.class)) {
-      EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+        && !entity.getClass().equals(Thread.class)) {
+      EntityInterface entityInterface = (EntityInterface) entity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -276,7 +295,7 @@ public class FormatterUtil {
     // Entity was updated by either PUT .../entities or PATCH .../entities
     // Entity was soft deleted by DELETE .../entities/{id} that updated the attribute `deleted` to true
     if (changeType.equals(RestUtil.ENTITY_UPDATED) || changeType.equals(RestUtil.ENTITY_SOFT_DELETED)) {
-      EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+      EntityInterface entityInterface = (EntityInterface) entity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -289,12 +308,12 @@ public class FormatterUtil {
 
     // Entity field was updated by PUT .../entities/{id}/fieldName - Example PUT ../tables/{id}/follower
     if (changeType.equals(RestUtil.ENTITY_FIELDS_CHANGED)) {
-      return (ChangeEvent) responseContext.getEntity();
+      return (ChangeEvent) entity;
     }
 
     // Entity was hard deleted by DELETE ../entities/{id}?hardDelete=true
     if (changeType.equals(RestUtil.ENTITY_DELETED)) {
-      EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+      EntityInterface entityInterface = (EntityInterface) entity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
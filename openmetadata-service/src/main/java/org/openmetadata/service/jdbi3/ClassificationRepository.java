@@ -29,6 +29,7 @@ import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.resources.tags.ClassificationResource;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
 
@@ -115,6 +116,15 @@ public class ClassificationRepository extends EntityRepository<Classification> {
       updateName(original, updated);
     }
 
+    @Override
+    protected void postStoreUpdate() {
+      if (!original.getName().equals(updated.getName())) {
+        // Rename the tags and their usages once the renamed classification is stored
+        new FqnRenamer(daoCollection).rename(entityType, original.getName(), updated.getName());
+        TagLabelCache.getInstance().invalidateTag(original.getFullyQualifiedName());
+      }
+    }
+
     public void updateName(Classification original, Classification updated) throws IOException {
       if (!original.getName().equals(updated.getName())) {
         if (ProviderType.SYSTEM.equals(original.getProvider())) {
@@ -123,10 +133,6 @@ public class ClassificationRepository extends EntityRepository<Classification> {
         }
         // Category name changed - update tag names starting from classification and all the children tags
         LOG.info("Classification name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.tagDAO().updateFqn(original.getName(), updated.getName());
-        daoCollection
-            .tagUsageDAO()
-            .updateTagPrefix(TagSource.CLASSIFICATION.ordinal(), original.getName(), updated.getName());
         recordChange("name", original.getName(), updated.getName());
       }
     }
@@ -17,24 +17,31 @@ import static org.openmetadata.schema.type.Relationship.CONTAINS;
 import static org.openmetadata.schema.type.Relationship.MENTIONED_IN;
 import static org.openmetadata.service.Entity.ORGANIZATION_NAME;
 import static org.openmetadata.service.Entity.QUERY;
-import static org.openmetadata.service.jdbi3.ListFilter.escape;
-import static org.openmetadata.service.jdbi3.ListFilter.escapeApostrophe;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
+import static org.openmetadata.service.util.FullyQualifiedName.buildHash;
+import static org.openmetadata.service.util.FullyQualifiedName.buildParentHashes;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
@@ -48,6 +55,7 @@ import org.jdbi.v3.sqlobject.customizer.BindMap;
 import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.api.configuration.LogoConfiguration;
 import org.openmetadata.common.utils.CommonUtil;
 import org.openmetadata.schema.TokenInterface;
@@ -100,15 +108,15 @@ import org.openmetadata.schema.settings.SettingsType;
 import org.openmetadata.schema.tests.TestCase;
 import org.openmetadata.schema.tests.TestDefinition;
 import org.openmetadata.schema.tests.TestSuite;
+import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.schema.type.TaskStatus;
 import org.openmetadata.schema.type.ThreadType;
 import org.openmetadata.schema.type.UsageDetails;
 import org.openmetadata.schema.type.UsageStats;
-import org.openmetadata.schema.util.EntitiesCount;
-import org.openmetadata.schema.util.ServicesCount;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.CacheInvalidationLog.Invalidation;
 import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO.TagLabelMapper;
 import org.openmetadata.service.jdbi3.CollectionDAO.UsageDAO.UsageDetailsMapper;
 import org.openmetadata.service.jdbi3.FeedRepository.FilterType;
@@ -116,6 +124,7 @@ import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQuery;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
 import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
 import org.openmetadata.service.resources.tags.TagLabelCache;
+import org.openmetadata.service.util.EntityReferenceCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
@@ -128,7 +137,17 @@ public interface CollectionDAO {
   DatabaseSchemaDAO databaseSchemaDAO();
 
   @CreateSqlObject
-  EntityRelationshipDAO relationshipDAO();
+  EntityRelationshipDAO entityRelationshipDAO();
+
+  @CreateSqlObject
+  CompactRelationshipDAO compactRelationshipDAO();
+
+  /** Relationships are read from the compact layout when it is enabled, see {@link CompactEntityRelationshipDAO} */
+  default EntityRelationshipDAO relationshipDAO() {
+    return CompactEntityRelationshipDAO.isEnabled()
+        ? new CompactEntityRelationshipDAO(entityRelationshipDAO(), compactRelationshipDAO())
+        : entityRelationshipDAO();
+  }
 
   @CreateSqlObject
   FieldRelationshipDAO fieldRelationshipDAO();
@@ -271,6 +290,15 @@ public interface CollectionDAO {
   @CreateSqlObject
   DataModelDAO dashboardDataModelDAO();
 
+  @CreateSqlObject
+  CacheInvalidationDAO cacheInvalidationDAO();
+
+  @CreateSqlObject
+  EntityCounterDAO entityCounterDAO();
+
+  @CreateSqlObject
+  FqnRenameJobDAO fqnRenameJobDAO();
+
   interface DashboardDAO extends EntityDAO<Dashboard> {
     @Override
     default String getTableName() {
@@ -602,6 +630,73 @@ public interface CollectionDAO {
     private String fromEntity;
     private String toEntity;
     private int relation;
+    private String json;
+  }
+
+  @Getter
+  @Builder
+  class ExtensionTimeSeriesObject {
+    private String entityFQN;
+    private String extension;
+    private String jsonSchema;
+    private String json;
+  }
+
+  @Getter
+  @Builder
+  class CompactRelationshipObject {
+    private byte[] fromId;
+    private byte[] toId;
+    private int fromEntity;
+    private int toEntity;
+    private int relation;
+    private String json;
+
+    public static CompactRelationshipObject of(EntityRelationshipObject relationship) {
+      return CompactRelationshipObject.builder()
+          .fromId(EntityTypeCode.toBytes(relationship.getFromId()))
+          .toId(EntityTypeCode.toBytes(relationship.getToId()))
+          .fromEntity(EntityTypeCode.getCode(relationship.getFromEntity()))
+          .toEntity(EntityTypeCode.getCode(relationship.getToEntity()))
+          .relation(relationship.getRelation())
+          .json(relationship.getJson())
+          .build();
+    }
+  }
+
+  @Getter
+  @Builder
+  class TagUsageObject {
+    private int source;
+    private String tagFQN;
+    private String targetFQN;
+    private int labelType;
+    private int state;
+
+    public String getTagFQNHash() {
+      return buildHash(tagFQN);
+    }
+
+    public String getTargetFQNHash() {
+      return buildHash(targetFQN);
+    }
+  }
+
+  /** Parent path of an FQN, by whose hash the FQN is looked up as a descendant of the parent path */
+  @Getter
+  @AllArgsConstructor
+  class FqnParentPath {
+    private final String parentHash;
+    private final String fqnHash;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  class TagCount {
+    private final int source;
+    private final String tagFQN;
+    private final String tagFQNHash;
+    private final long count;
   }
 
   @Getter
@@ -673,6 +768,24 @@ public interface CollectionDAO {
                 propertyNames = {"fromId", "toId", "fromEntity", "toEntity", "relation"})
             List<EntityRelationshipObject> values);
 
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation, json) VALUES <values> "
+                + "ON DUPLICATE KEY UPDATE json = VALUES(json)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation, json) "
+                + "SELECT v.fromId, v.toId, v.fromEntity, v.toEntity, v.relation, CAST(v.json AS jsonb) "
+                + "FROM (VALUES <values>) AS v(fromId, toId, fromEntity, toEntity, relation, json) "
+                + "ON CONFLICT (fromId, toId, relation) DO UPDATE SET json = EXCLUDED.json",
+        connectionType = POSTGRES)
+    void insertMany(
+        @BindBeanList(
+                value = "values",
+                propertyNames = {"fromId", "toId", "fromEntity", "toEntity", "relation", "json"})
+            List<EntityRelationshipObject> values);
+
     //
     // Find to operations
     //
@@ -823,24 +936,282 @@ public interface CollectionDAO {
     }
   }
 
+  interface CompactRelationshipDAO {
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_relationship_compact(fromId, toId, fromEntity, toEntity, relation, json) "
+                + "VALUES (:fromId, :toId, :fromEntity, :toEntity, :relation, :json) "
+                + "ON DUPLICATE KEY UPDATE json = :json",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_relationship_compact(fromId, toId, fromEntity, toEntity, relation, json) VALUES "
+                + "(:fromId, :toId, :fromEntity, :toEntity, :relation, (:json :: jsonb)) "
+                + "ON CONFLICT (fromId, toId, relation) DO UPDATE SET json = EXCLUDED.json",
+        connectionType = POSTGRES)
+    void insert(
+        @Bind("fromId") byte[] fromId,
+        @Bind("toId") byte[] toId,
+        @Bind("fromEntity") int fromEntity,
+        @Bind("toEntity") int toEntity,
+        @Bind("relation") int relation,
+        @Bind("json") String json);
+
+    @SqlUpdate("INSERT INTO entity_relationship_compact(fromId, toId, fromEntity, toEntity, relation) VALUES <values>")
+    void bulkInsertTo(
+        @BindBeanList(
+                value = "values",
+                propertyNames = {"fromId", "toId", "fromEntity", "toEntity", "relation"})
+            List<CompactRelationshipObject> values);
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_relationship_compact(fromId, toId, fromEntity, toEntity, relation, json) "
+                + "VALUES <values> ON DUPLICATE KEY UPDATE json = VALUES(json)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_relationship_compact(fromId, toId, fromEntity, toEntity, relation, json) "
+                + "SELECT v.fromId, v.toId, v.fromEntity, v.toEntity, v.relation, CAST(v.json AS jsonb) "
+                + "FROM (VALUES <values>) AS v(fromId, toId, fromEntity, toEntity, relation, json) "
+                + "ON CONFLICT (fromId, toId, relation) DO UPDATE SET json = EXCLUDED.json",
+        connectionType = POSTGRES)
+    void insertMany(
+        @BindBeanList(
+                value = "values",
+                propertyNames = {"fromId", "toId", "fromEntity", "toEntity", "relation", "json"})
+            List<CompactRelationshipObject> values);
+
+    @SqlQuery(
+        "SELECT toId, toEntity, json FROM entity_relationship_compact "
+            + "WHERE fromId = :fromId AND fromEntity = :fromEntity AND relation IN (<relation>) "
+            + "ORDER BY toId")
+    @RegisterRowMapper(ToRelationshipMapper.class)
+    List<EntityRelationshipRecord> findTo(
+        @Bind("fromId") byte[] fromId,
+        @Bind("fromEntity") int fromEntity,
+        @BindList("relation") List<Integer> relation);
+
+    @SqlQuery(
+        "SELECT toId, toEntity, json FROM entity_relationship_compact "
+            + "WHERE fromId = :fromId AND fromEntity = :fromEntity AND relation = :relation AND toEntity = :toEntity "
+            + "ORDER BY toId")
+    @RegisterRowMapper(ToRelationshipMapper.class)
+    List<EntityRelationshipRecord> findTo(
+        @Bind("fromId") byte[] fromId,
+        @Bind("fromEntity") int fromEntity,
+        @Bind("relation") int relation,
+        @Bind("toEntity") int toEntity);
+
+    @SqlQuery(
+        "SELECT fromId, fromEntity, json FROM entity_relationship_compact "
+            + "WHERE toId = :toId AND toEntity = :toEntity AND relation = :relation AND fromEntity = :fromEntity "
+            + "ORDER BY fromId")
+    @RegisterRowMapper(FromRelationshipMapper.class)
+    List<EntityRelationshipRecord> findFrom(
+        @Bind("toId") byte[] toId,
+        @Bind("toEntity") int toEntity,
+        @Bind("relation") int relation,
+        @Bind("fromEntity") int fromEntity);
+
+    @SqlQuery(
+        "SELECT fromId, fromEntity, json FROM entity_relationship_compact "
+            + "WHERE toId = :toId AND toEntity = :toEntity AND relation = :relation "
+            + "ORDER BY fromId")
+    @RegisterRowMapper(FromRelationshipMapper.class)
+    List<EntityRelationshipRecord> findFrom(
+        @Bind("toId") byte[] toId, @Bind("toEntity") int toEntity, @Bind("relation") int relation);
+
+    @SqlQuery("SELECT fromId, fromEntity, json FROM entity_relationship_compact WHERE toId = :toId ORDER BY fromId")
+    @RegisterRowMapper(FromRelationshipMapper.class)
+    List<EntityRelationshipRecord> findFrom(@Bind("toId") byte[] toId);
+
+    @SqlQuery(
+        "SELECT count(*) FROM entity_relationship_compact WHERE fromEntity = :fromEntity AND toEntity = :toEntity")
+    int findIfAnyRelationExist(@Bind("fromEntity") int fromEntity, @Bind("toEntity") int toEntity);
+
+    @SqlUpdate(
+        "DELETE from entity_relationship_compact WHERE fromId = :fromId "
+            + "AND fromEntity = :fromEntity AND toId = :toId AND toEntity = :toEntity "
+            + "AND relation = :relation")
+    int delete(
+        @Bind("fromId") byte[] fromId,
+        @Bind("fromEntity") int fromEntity,
+        @Bind("toId") byte[] toId,
+        @Bind("toEntity") int toEntity,
+        @Bind("relation") int relation);
+
+    @SqlUpdate(
+        "DELETE from entity_relationship_compact WHERE fromId = :fromId AND fromEntity = :fromEntity "
+            + "AND relation = :relation AND toEntity = :toEntity")
+    void deleteFrom(
+        @Bind("fromId") byte[] fromId,
+        @Bind("fromEntity") int fromEntity,
+        @Bind("relation") int relation,
+        @Bind("toEntity") int toEntity);
+
+    @SqlUpdate(
+        "DELETE from entity_relationship_compact WHERE toId = :toId AND toEntity = :toEntity "
+            + "AND relation = :relation AND fromEntity = :fromEntity")
+    void deleteTo(
+        @Bind("toId") byte[] toId,
+        @Bind("toEntity") int toEntity,
+        @Bind("relation") int relation,
+        @Bind("fromEntity") int fromEntity);
+
+    @SqlUpdate(
+        "DELETE from entity_relationship_compact WHERE (toId = :id AND toEntity = :entity) OR "
+            + "(fromId = :id AND fromEntity = :entity)")
+    void deleteAll(@Bind("id") byte[] id, @Bind("entity") int entity);
+
+    //
+    // Operations to fill the compact layout from entity_relationship
+    //
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT COALESCE(SUM(CRC32(CONCAT(LOWER(HEX(fromId)), LOWER(HEX(toId)), relation))), 0) "
+                + "FROM entity_relationship_compact",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT COALESCE(SUM(CAST(CAST('x' || SUBSTR(MD5(ENCODE(fromId, 'hex') || ENCODE(toId, 'hex') || relation), "
+                + "1, 8) AS BIT(32)) AS BIGINT)), 0) FROM entity_relationship_compact",
+        connectionType = POSTGRES)
+    long checksum();
+
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT COALESCE(SUM(CRC32(CONCAT(LOWER(REPLACE(fromId, '-', '')), LOWER(REPLACE(toId, '-', '')), "
+                + "relation))), 0) FROM entity_relationship",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT COALESCE(SUM(CAST(CAST('x' || SUBSTR(MD5(LOWER(REPLACE(fromId, '-', '')) || "
+                + "LOWER(REPLACE(toId, '-', '')) || relation), 1, 8) AS BIT(32)) AS BIGINT)), 0) "
+                + "FROM entity_relationship",
+        connectionType = POSTGRES)
+    long checksumSource();
+
+    @SqlQuery("SELECT count(*) FROM entity_relationship_compact")
+    long count();
+
+    @SqlQuery("SELECT fromEntity FROM entity_relationship UNION SELECT toEntity FROM entity_relationship")
+    List<String> listSourceEntityTypes();
+
+    @SqlUpdate("DROP TABLE IF EXISTS entity_relationship_compact_shadow")
+    void dropShadow();
+
+    @ConnectionAwareSqlUpdate(
+        value = "CREATE TABLE entity_relationship_compact_shadow LIKE entity_relationship_compact",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value = "CREATE TABLE entity_relationship_compact_shadow (LIKE entity_relationship_compact INCLUDING ALL)",
+        connectionType = POSTGRES)
+    void createShadow();
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_relationship_compact_shadow(fromId, toId, fromEntity, toEntity, relation, json) "
+                + "SELECT UNHEX(REPLACE(fromId, '-', '')), UNHEX(REPLACE(toId, '-', '')), <fromEntityCode>, "
+                + "<toEntityCode>, relation, json FROM entity_relationship",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_relationship_compact_shadow(fromId, toId, fromEntity, toEntity, relation, json) "
+                + "SELECT DECODE(REPLACE(fromId, '-', ''), 'hex'), DECODE(REPLACE(toId, '-', ''), 'hex'), "
+                + "<fromEntityCode>, <toEntityCode>, relation, json FROM entity_relationship",
+        connectionType = POSTGRES)
+    void copyFromSource(@Define("fromEntityCode") String fromEntityCode, @Define("toEntityCode") String toEntityCode);
+
+    /** Replace the compact table with the shadow table in one statement, so that readers never see a partial table */
+    @ConnectionAwareSqlUpdate(
+        value =
+            "RENAME TABLE entity_relationship_compact TO entity_relationship_compact_old, "
+                + "entity_relationship_compact_shadow TO entity_relationship_compact",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "DO $$ BEGIN "
+                + "ALTER TABLE entity_relationship_compact RENAME TO entity_relationship_compact_old; "
+                + "ALTER TABLE entity_relationship_compact_shadow RENAME TO entity_relationship_compact; "
+                + "END $$",
+        connectionType = POSTGRES)
+    void swapShadow();
+
+    @SqlUpdate("DROP TABLE IF EXISTS entity_relationship_compact_old")
+    void dropOld();
+
+    class FromRelationshipMapper implements RowMapper<EntityRelationshipRecord> {
+      @Override
+      public EntityRelationshipRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return EntityRelationshipRecord.builder()
+            .id(EntityTypeCode.toUUID(rs.getBytes("fromId")))
+            .type(EntityTypeCode.getEntityType(rs.getInt("fromEntity")))
+            .json(rs.getString("json"))
+            .build();
+      }
+    }
+
+    class ToRelationshipMapper implements RowMapper<EntityRelationshipRecord> {
+      @Override
+      public EntityRelationshipRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return EntityRelationshipRecord.builder()
+            .id(EntityTypeCode.toUUID(rs.getBytes("toId")))
+            .type(EntityTypeCode.getEntityType(rs.getInt("toEntity")))
+            .json(rs.getString("json"))
+            .build();
+      }
+    }
+  }
+
+  /**
+   * Threads are stored in thread_entity. Listing and counting of threads uses the read model in thread_feed, which has
+   * indexed columns for the entity link the thread is about, thread type, task status and timestamps. The read model is
+   * written in the same transaction as the thread.
+   */
   interface FeedDAO {
+    @Transaction
+    default void insert(String id, String json, EntityLink about) {
+      insertThread(json);
+      insertFeed(id, about.getFullyQualifiedFieldValue(), about.getFullyQualifiedFieldType());
+    }
+
     @ConnectionAwareSqlUpdate(value = "INSERT INTO thread_entity(json) VALUES (:json)", connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
         value = "INSERT INTO thread_entity(json) VALUES (:json :: jsonb)",
         connectionType = POSTGRES)
-    void insert(@Bind("json") String json);
+    void insertThread(@Bind("json") String json);
+
+    @SqlUpdate(
+        "INSERT INTO thread_feed(id, entityId, entityLink, aboutFqn, aboutType, type, taskStatus, taskAssignees, "
+            + "resolved, createdAt, createdBy, updatedAt, announcementStart, announcementEnd) "
+            + "SELECT id, entityId, entityLink, :aboutFqn, :aboutType, type, taskStatus, taskAssignees, "
+            + "resolved, createdAt, createdBy, updatedAt, announcementStart, announcementEnd "
+            + "FROM thread_entity WHERE id = :id")
+    void insertFeed(@Bind("id") String id, @Bind("aboutFqn") String aboutFqn, @Bind("aboutType") String aboutType);
 
     @SqlQuery("SELECT json FROM thread_entity WHERE id = :id")
     String findById(@Bind("id") String id);
 
-    @SqlQuery("SELECT json FROM thread_entity ORDER BY createdAt DESC")
-    List<String> list();
+    @SqlQuery(
+        "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> "
+            + "ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id ORDER BY tf.updatedAt DESC")
+    List<String> list(@Bind("limit") int limit, @Define("condition") String condition);
 
-    @SqlQuery("SELECT count(id) FROM thread_entity <condition>")
+    @SqlQuery("SELECT count(id) FROM thread_feed <condition>")
     int listCount(@Define("condition") String condition);
 
+    @Transaction
+    default void delete(String id) {
+      deleteFeed(id);
+      deleteThread(id);
+    }
+
     @SqlUpdate("DELETE FROM thread_entity WHERE id = :id")
-    void delete(@Bind("id") String id);
+    void deleteThread(@Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM thread_feed WHERE id = :id")
+    void deleteFeed(@Bind("id") String id);
 
     @ConnectionAwareSqlUpdate(value = "UPDATE task_sequence SET id=LAST_INSERT_ID(id+1)", connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(value = "UPDATE task_sequence SET id=(id+1) RETURNING id", connectionType = POSTGRES)
@@ -852,9 +1223,6 @@ public interface CollectionDAO {
     @SqlQuery("SELECT json FROM thread_entity WHERE taskId = :id")
     String findByTaskId(@Bind("id") int id);
 
-    @SqlQuery("SELECT json FROM thread_entity <condition> ORDER BY createdAt DESC LIMIT :limit")
-    List<String> list(@Bind("limit") int limit, @Define("condition") String condition);
-
     @SqlQuery(
         "SELECT json FROM thread_entity "
             + "WHERE type='Announcement' AND (:threadId IS NULL OR id != :threadId) "
@@ -870,17 +1238,15 @@ public interface CollectionDAO {
 
     @ConnectionAwareSqlQuery(
         value =
-            "SELECT json FROM thread_entity <condition> AND "
+            "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> AND "
                 + "taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[]) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
+                + "ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id ORDER BY tf.updatedAt DESC",
         connectionType = POSTGRES)
     @ConnectionAwareSqlQuery(
         value =
-            "SELECT json FROM thread_entity <condition> AND "
+            "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> AND "
                 + "JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
+                + "ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id ORDER BY tf.updatedAt DESC",
         connectionType = MYSQL)
     List<String> listTasksAssigned(
         @BindList("userTeamJsonPostgres") List<String> userTeamJsonPostgres,
@@ -890,13 +1256,11 @@ public interface CollectionDAO {
 
     @ConnectionAwareSqlQuery(
         value =
-            "SELECT count(id) FROM thread_entity <condition> AND "
+            "SELECT count(id) FROM thread_feed <condition> AND "
                 + "taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[])",
         connectionType = POSTGRES)
     @ConnectionAwareSqlQuery(
-        value =
-            "SELECT count(id) FROM thread_entity <condition> AND "
-                + "JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) ",
+        value = "SELECT count(id) FROM thread_feed <condition> AND JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) ",
         connectionType = MYSQL)
     int listCountTasksAssignedTo(
         @BindList("userTeamJsonPostgres") List<String> userTeamJsonPostgres,
@@ -905,17 +1269,15 @@ public interface CollectionDAO {
 
     @ConnectionAwareSqlQuery(
         value =
-            "SELECT json FROM thread_entity <condition> "
+            "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> "
                 + "AND (taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[]) OR createdBy = :username) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
+                + "ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id ORDER BY tf.updatedAt DESC",
         connectionType = POSTGRES)
     @ConnectionAwareSqlQuery(
         value =
-            "SELECT json FROM thread_entity <condition> "
+            "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> "
                 + "AND (JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) OR createdBy = :username) "
-                + "ORDER BY createdAt DESC "
-                + "LIMIT :limit",
+                + "ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id ORDER BY tf.updatedAt DESC",
         connectionType = MYSQL)
     List<String> listTasksOfUser(
         @BindList("userTeamJsonPostgres") List<String> userTeamJsonPostgres,
@@ -926,12 +1288,12 @@ public interface CollectionDAO {
 
     @ConnectionAwareSqlQuery(
         value =
-            "SELECT count(id) FROM thread_entity <condition> "
+            "SELECT count(id) FROM thread_feed <condition> "
                 + "AND (taskAssignees @> ANY (ARRAY[<userTeamJsonPostgres>]::jsonb[]) OR createdBy = :username) ",
         connectionType = POSTGRES)
     @ConnectionAwareSqlQuery(
         value =
-            "SELECT count(id) FROM thread_entity <condition> "
+            "SELECT count(id) FROM thread_feed <condition> "
                 + "AND (JSON_OVERLAPS(taskAssignees, :userTeamJsonMysql) OR createdBy = :username) ",
         connectionType = MYSQL)
     int listCountTasksOfUser(
@@ -941,22 +1303,23 @@ public interface CollectionDAO {
         @Define("condition") String condition);
 
     @SqlQuery(
-        "SELECT json FROM thread_entity <condition> AND createdBy = :username ORDER BY createdAt DESC LIMIT :limit")
+        "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> "
+            + "AND createdBy = :username ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id "
+            + "ORDER BY tf.updatedAt DESC")
     List<String> listTasksAssigned(
         @Bind("username") String username, @Bind("limit") int limit, @Define("condition") String condition);
 
-    @SqlQuery("SELECT count(id) FROM thread_entity <condition> AND createdBy = :username")
+    @SqlQuery("SELECT count(id) FROM thread_feed <condition> AND createdBy = :username")
     int listCountTasksAssignedBy(@Bind("username") String username, @Define("condition") String condition);
 
     @SqlQuery(
-        "SELECT json FROM thread_entity <condition> AND "
+        "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> AND "
             // Entity for which the thread is about is owned by the user or his teams
             + "(entityId in (SELECT toId FROM entity_relationship WHERE "
             + "((fromEntity='user' AND fromId= :userId) OR "
             + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation=8) OR "
             + "id in (SELECT toId FROM entity_relationship WHERE (fromEntity='user' AND fromId= :userId AND toEntity='THREAD' AND relation IN (1,2)))) "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
+            + "ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id ORDER BY tf.updatedAt DESC")
     List<String> listThreadsByOwner(
         @Bind("userId") String userId,
         @BindList("teamIds") List<String> teamIds,
@@ -964,7 +1327,7 @@ public interface CollectionDAO {
         @Define("condition") String condition);
 
     @SqlQuery(
-        "SELECT count(id) FROM thread_entity <condition> AND "
+        "SELECT count(id) FROM thread_feed <condition> AND "
             + "(entityId in (SELECT toId FROM entity_relationship WHERE "
             + "((fromEntity='user' AND fromId= :userId) OR "
             + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation=8) OR "
@@ -975,7 +1338,7 @@ public interface CollectionDAO {
         @Define("condition") String condition);
 
     default List<String> listThreadsByEntityLink(
-        FeedFilter filter, EntityLink entityLink, int limit, int relation, String userName, List<String> teamNames) {
+        FeedFilter filter, EntityLink entityLink, int limit, String userName, List<String> teamNames) {
       int filterRelation = -1;
       if (userName != null && filter.getFilterType() == FilterType.MENTIONS) {
         filterRelation = MENTIONED_IN.ordinal();
@@ -984,35 +1347,32 @@ public interface CollectionDAO {
           entityLink.getFullyQualifiedFieldValue(),
           entityLink.getFullyQualifiedFieldType(),
           limit,
-          relation,
-          userName,
-          teamNames,
+          buildHash(userName),
+          buildHash(teamNames),
           filterRelation,
           filter.getCondition());
     }
 
     @SqlQuery(
-        "SELECT json FROM thread_entity <condition> "
-            + "AND id in (SELECT fromFQN FROM field_relationship WHERE "
-            + "(:fqnPrefix IS NULL OR toFQN LIKE CONCAT(:fqnPrefix, '.%') OR toFQN=:fqnPrefix) AND fromType='THREAD' AND "
-            + "(:toType IS NULL OR toType LIKE CONCAT(:toType, '.%') OR toType=:toType) AND relation= :relation) "
-            + "AND (:userName IS NULL OR id in (SELECT toFQN FROM field_relationship WHERE "
-            + " ((fromType='user' AND fromFQN= :userName) OR"
-            + " (fromType='team' AND fromFQN IN (<teamNames>))) AND toType='THREAD' AND relation= :filterRelation) )"
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
+        "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> "
+            + "AND (:fqnPrefix IS NULL OR aboutFqn LIKE CONCAT(:fqnPrefix, '.%') OR aboutFqn=:fqnPrefix) "
+            + "AND (:toType IS NULL OR aboutType LIKE CONCAT(:toType, '.%') OR aboutType=:toType) "
+            + "AND (:userNameHash IS NULL OR id in (SELECT toFQN FROM field_relationship WHERE "
+            + " ((fromType='user' AND fromFQNHash = :userNameHash) OR"
+            + " (fromType='team' AND fromFQNHash IN (<teamNameHashes>))) AND toType='THREAD' "
+            + "AND relation= :filterRelation) )"
+            + "ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id ORDER BY tf.updatedAt DESC")
     List<String> listThreadsByEntityLink(
         @Bind("fqnPrefix") String fqnPrefix,
         @Bind("toType") String toType,
         @Bind("limit") int limit,
-        @Bind("relation") int relation,
-        @Bind("userName") String userName,
-        @BindList("teamNames") List<String> teamNames,
+        @Bind("userNameHash") String userNameHash,
+        @BindList("teamNameHashes") List<String> teamNameHashes,
         @Bind("filterRelation") int filterRelation,
         @Define("condition") String condition);
 
     default int listCountThreadsByEntityLink(
-        FeedFilter filter, EntityLink entityLink, int relation, String userName, List<String> teamNames) {
+        FeedFilter filter, EntityLink entityLink, String userName, List<String> teamNames) {
       int filterRelation = -1;
       if (userName != null && filter.getFilterType() == FilterType.MENTIONS) {
         filterRelation = MENTIONED_IN.ordinal();
@@ -1020,55 +1380,73 @@ public interface CollectionDAO {
       return listCountThreadsByEntityLink(
           entityLink.getFullyQualifiedFieldValue(),
           entityLink.getFullyQualifiedFieldType(),
-          relation,
-          userName,
-          teamNames,
+          buildHash(userName),
+          buildHash(teamNames),
           filterRelation,
           filter.getCondition(false));
     }
 
     @SqlQuery(
-        "SELECT count(id) FROM thread_entity <condition> "
-            + "AND id in (SELECT fromFQN FROM field_relationship WHERE "
-            + "(:fqnPrefix IS NULL OR toFQN LIKE CONCAT(:fqnPrefix, '.%') OR toFQN=:fqnPrefix) AND fromType='THREAD' AND "
-            + "(:toType IS NULL OR toType LIKE CONCAT(:toType, '.%') OR toType=:toType) AND relation= :relation) "
-            + "AND (:userName IS NULL OR id in (SELECT toFQN FROM field_relationship WHERE "
-            + " ((fromType='user' AND fromFQN= :userName) OR"
-            + " (fromType='team' AND fromFQN IN (<teamNames>))) AND toType='THREAD' AND relation= :filterRelation) )")
+        "SELECT count(id) FROM thread_feed <condition> "
+            + "AND (:fqnPrefix IS NULL OR aboutFqn LIKE CONCAT(:fqnPrefix, '.%') OR aboutFqn=:fqnPrefix) "
+            + "AND (:toType IS NULL OR aboutType LIKE CONCAT(:toType, '.%') OR aboutType=:toType) "
+            + "AND (:userNameHash IS NULL OR id in (SELECT toFQN FROM field_relationship WHERE "
+            + " ((fromType='user' AND fromFQNHash = :userNameHash) OR"
+            + " (fromType='team' AND fromFQNHash IN (<teamNameHashes>))) AND toType='THREAD' "
+            + "AND relation= :filterRelation) )")
     int listCountThreadsByEntityLink(
         @Bind("fqnPrefix") String fqnPrefix,
         @Bind("toType") String toType,
-        @Bind("relation") int relation,
-        @Bind("userName") String userName,
-        @BindList("teamNames") List<String> teamNames,
+        @Bind("userNameHash") String userNameHash,
+        @BindList("teamNameHashes") List<String> teamNameHashes,
         @Bind("filterRelation") int filterRelation,
         @Define("condition") String condition);
 
+    @Transaction
+    default void update(String id, String json) {
+      updateThread(id, json);
+      updateFeed(id);
+    }
+
     @ConnectionAwareSqlUpdate(value = "UPDATE thread_entity SET json = :json where id = :id", connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
         value = "UPDATE thread_entity SET json = (:json :: jsonb) where id = :id",
         connectionType = POSTGRES)
-    void update(@Bind("id") String id, @Bind("json") String json);
+    void updateThread(@Bind("id") String id, @Bind("json") String json);
+
+    // The entity link a thread is about does not change and is not updated
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE thread_feed tf JOIN thread_entity te ON te.id = tf.id SET tf.type = te.type, "
+                + "tf.taskStatus = te.taskStatus, tf.taskAssignees = te.taskAssignees, tf.resolved = te.resolved, "
+                + "tf.updatedAt = te.updatedAt, tf.announcementStart = te.announcementStart, "
+                + "tf.announcementEnd = te.announcementEnd WHERE tf.id = :id",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE thread_feed tf SET type = te.type, taskStatus = te.taskStatus, taskAssignees = te.taskAssignees, "
+                + "resolved = te.resolved, updatedAt = te.updatedAt, announcementStart = te.announcementStart, "
+                + "announcementEnd = te.announcementEnd FROM thread_entity te WHERE te.id = tf.id AND tf.id = :id",
+        connectionType = POSTGRES)
+    void updateFeed(@Bind("id") String id);
 
     @SqlQuery(
-        "SELECT entityLink, COUNT(id) count FROM field_relationship fr INNER JOIN thread_entity te ON fr.fromFQN=te.id "
-            + "WHERE (:fqnPrefix IS NULL OR fr.toFQN LIKE CONCAT(:fqnPrefix, '.%') OR fr.toFQN=:fqnPrefix) AND "
-            + "(:toType IS NULL OR fr.toType like concat(:toType, '.%') OR fr.toType=:toType) AND fr.fromType = :fromType "
-            + "AND fr.relation = :relation AND te.resolved= :isResolved AND (:status IS NULL OR te.taskStatus = :status) "
-            + "AND (:type IS NULL OR te.type = :type) "
+        "SELECT entityLink, COUNT(id) count FROM thread_feed "
+            + "WHERE (:fqnPrefix IS NULL OR aboutFqn LIKE CONCAT(:fqnPrefix, '.%') OR aboutFqn=:fqnPrefix) AND "
+            + "(:toType IS NULL OR aboutType LIKE CONCAT(:toType, '.%') OR aboutType=:toType) "
+            + "AND resolved= :isResolved AND (:status IS NULL OR taskStatus = :status) "
+            + "AND (:type IS NULL OR type = :type) "
             + "GROUP BY entityLink")
     @RegisterRowMapper(CountFieldMapper.class)
     List<List<String>> listCountByEntityLink(
         @Bind("fqnPrefix") String fqnPrefix,
-        @Bind("fromType") String fromType,
         @Bind("toType") String toType,
-        @Bind("relation") int relation,
         @Bind("type") ThreadType type,
         @Bind("status") TaskStatus status,
         @Bind("isResolved") boolean isResolved);
 
     @SqlQuery(
-        "SELECT entityLink, COUNT(id) count FROM thread_entity <condition> AND "
+        "SELECT entityLink, COUNT(id) count FROM thread_feed <condition> AND "
             + "(entityId in (SELECT toId FROM entity_relationship WHERE "
             + "((fromEntity='user' AND fromId= :userId) OR "
             + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation=8) OR "
@@ -1081,13 +1459,12 @@ public interface CollectionDAO {
         @Define("condition") String condition);
 
     @SqlQuery(
-        "SELECT json FROM thread_entity <condition> AND "
+        "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> AND "
             + "entityId in ("
             + "SELECT toId FROM entity_relationship WHERE "
             + "((fromEntity='user' AND fromId= :userId) OR "
             + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation= :relation) "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
+            + "ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id ORDER BY tf.updatedAt DESC")
     List<String> listThreadsByFollows(
         @Bind("userId") String userId,
         @BindList("teamIds") List<String> teamIds,
@@ -1096,7 +1473,7 @@ public interface CollectionDAO {
         @Define("condition") String condition);
 
     @SqlQuery(
-        "SELECT count(id) FROM thread_entity <condition> AND "
+        "SELECT count(id) FROM thread_feed <condition> AND "
             + "entityId in ("
             + "SELECT toId FROM entity_relationship WHERE "
             + "((fromEntity='user' AND fromId= :userId) OR "
@@ -1107,34 +1484,42 @@ public interface CollectionDAO {
         @Bind("relation") int relation,
         @Define("condition") String condition);
 
+    default List<String> listThreadsByMentions(
+        String userName, List<String> teamNames, int limit, int relation, String condition) {
+      return listThreadsByMentionsInternal(buildHash(userName), buildHash(teamNames), limit, relation, condition);
+    }
+
     @SqlQuery(
-        "SELECT json FROM thread_entity <condition> AND "
+        "SELECT te.json FROM thread_entity te JOIN (SELECT id, updatedAt FROM thread_feed <condition> AND "
             + "id in ("
             + "SELECT toFQN FROM field_relationship WHERE "
-            + "((fromType='user' AND fromFQN= :userName) OR "
-            + "(fromType='team' AND fromFQN IN (<teamNames>)))  AND toType='THREAD' AND relation= :relation) "
-            + "ORDER BY createdAt DESC "
-            + "LIMIT :limit")
-    List<String> listThreadsByMentions(
-        @Bind("userName") String userName,
-        @BindList("teamNames") List<String> teamNames,
+            + "((fromType='user' AND fromFQNHash = :userNameHash) OR "
+            + "(fromType='team' AND fromFQNHash IN (<teamNameHashes>)))  AND toType='THREAD' AND relation= :relation) "
+            + "ORDER BY updatedAt DESC LIMIT :limit) tf ON te.id = tf.id ORDER BY tf.updatedAt DESC")
+    List<String> listThreadsByMentionsInternal(
+        @Bind("userNameHash") String userNameHash,
+        @BindList("teamNameHashes") List<String> teamNameHashes,
         @Bind("limit") int limit,
         @Bind("relation") int relation,
         @Define("condition") String condition);
 
+    default int listCountThreadsByMentions(String userName, List<String> teamNames, int relation, String condition) {
+      return listCountThreadsByMentionsInternal(buildHash(userName), buildHash(teamNames), relation, condition);
+    }
+
     @SqlQuery(
-        "SELECT count(id) FROM thread_entity <condition> AND "
+        "SELECT count(id) FROM thread_feed <condition> AND "
             + "id in ("
             + "SELECT toFQN FROM field_relationship WHERE "
-            + "((fromType='user' AND fromFQN= :userName) OR "
-            + "(fromType='team' AND fromFQN IN (<teamNames>)))  AND toType='THREAD' AND relation= :relation) ")
-    int listCountThreadsByMentions(
-        @Bind("userName") String userName,
-        @BindList("teamNames") List<String> teamNames,
+            + "((fromType='user' AND fromFQNHash = :userNameHash) OR "
+            + "(fromType='team' AND fromFQNHash IN (<teamNameHashes>)))  AND toType='THREAD' AND relation= :relation) ")
+    int listCountThreadsByMentionsInternal(
+        @Bind("userNameHash") String userNameHash,
+        @BindList("teamNameHashes") List<String> teamNameHashes,
         @Bind("relation") int relation,
         @Define("condition") String condition);
 
-    @SqlQuery("select id from thread_entity where entityId = :entityId")
+    @SqlQuery("select id from thread_feed where entityId = :entityId")
     List<String> findByEntityId(@Bind("entityId") String entityId);
 
     class CountFieldMapper implements RowMapper<List<String>> {
@@ -1145,112 +1530,185 @@ public interface CollectionDAO {
     }
   }
 
-  interface FieldRelationshipDAO {
+  /**
+   * Parent paths of the FQNs in tag_usage and field_relationship, which are joined by the hash of the FQN to look up
+   * the descendants of an FQN at any depth by the hash of the FQN. A parent path only depends on the FQN, and the
+   * parent paths of the FQNs that are renamed or deleted are left in place.
+   */
+  interface FqnParentPathDAO {
+    default void insertParentPaths(Collection<String> fqns) {
+      List<FqnParentPath> paths = new ArrayList<>();
+      for (String fqn : new HashSet<>(fqns)) {
+        String fqnHash = buildHash(fqn);
+        for (String parentHash : buildParentHashes(fqn)) {
+          paths.add(new FqnParentPath(parentHash, fqnHash));
+        }
+      }
+      for (List<FqnParentPath> rows : Lists.partition(paths, EntityBatch.MAX_ROWS)) {
+        insertParentPathsInternal(rows);
+      }
+    }
+
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT IGNORE INTO fqn_parent_path (parentHash, fqnHash) VALUES <paths>",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO fqn_parent_path (parentHash, fqnHash) VALUES <paths> ON CONFLICT DO NOTHING",
+        connectionType = POSTGRES)
+    void insertParentPathsInternal(
+        @BindBeanList(
+                value = "paths",
+                propertyNames = {"parentHash", "fqnHash"})
+            List<FqnParentPath> paths);
+  }
+
+  interface FieldRelationshipDAO extends FqnParentPathDAO {
+    default void insert(String fromFQN, String toFQN, String fromType, String toType, int relation, String json) {
+      insert(fromFQN, buildHash(fromFQN), toFQN, buildHash(toFQN), fromType, toType, relation, json);
+      insertParentPaths(List.of(fromFQN, toFQN));
+    }
+
     @ConnectionAwareSqlUpdate(
         value =
-            "INSERT IGNORE INTO field_relationship(fromFQN, toFQN, fromType, toType, relation, json) "
-                + "VALUES (:fromFQN, :toFQN, :fromType, :toType, :relation, :json)",
+            "INSERT IGNORE INTO field_relationship(fromFQN, fromFQNHash, toFQN, toFQNHash, fromType, toType, relation, "
+                + "json) VALUES (:fromFQN, :fromFQNHash, :toFQN, :toFQNHash, :fromType, :toType, :relation, :json)",
         connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
         value =
-            "INSERT INTO field_relationship(fromFQN, toFQN, fromType, toType, relation, json) "
-                + "VALUES (:fromFQN, :toFQN, :fromType, :toType, :relation, (:json :: jsonb)) "
-                + "ON CONFLICT (fromFQN, toFQN, relation) DO NOTHING",
+            "INSERT INTO field_relationship(fromFQN, fromFQNHash, toFQN, toFQNHash, fromType, toType, relation, json) "
+                + "VALUES (:fromFQN, :fromFQNHash, :toFQN, :toFQNHash, :fromType, :toType, :relation, "
+                + "(:json :: jsonb)) ON CONFLICT (fromFQNHash, toFQNHash, relation) DO NOTHING",
         connectionType = POSTGRES)
     void insert(
         @Bind("fromFQN") String fromFQN,
+        @Bind("fromFQNHash") String fromFQNHash,
         @Bind("toFQN") String toFQN,
+        @Bind("toFQNHash") String toFQNHash,
         @Bind("fromType") String fromType,
         @Bind("toType") String toType,
         @Bind("relation") int relation,
         @Bind("json") String json);
 
+    default void upsert(
+        String fromFQN, String toFQN, String fromType, String toType, int relation, String jsonSchema, String json) {
+      upsert(fromFQN, buildHash(fromFQN), toFQN, buildHash(toFQN), fromType, toType, relation, jsonSchema, json);
+      insertParentPaths(List.of(fromFQN, toFQN));
+    }
+
     @ConnectionAwareSqlUpdate(
         value =
-            "INSERT INTO field_relationship(fromFQN, toFQN, fromType, toType, relation, jsonSchema, json) "
-                + "VALUES (:fromFQN, :toFQN, :fromType, :toType, :relation, :jsonSchema, :json) "
-                + "ON DUPLICATE KEY UPDATE json = :json",
+            "INSERT INTO field_relationship(fromFQN, fromFQNHash, toFQN, toFQNHash, fromType, toType, relation, "
+                + "jsonSchema, json) VALUES (:fromFQN, :fromFQNHash, :toFQN, :toFQNHash, :fromType, :toType, "
+                + ":relation, :jsonSchema, :json) ON DUPLICATE KEY UPDATE json = :json",
         connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
         value =
-            "INSERT INTO field_relationship(fromFQN, toFQN, fromType, toType, relation, jsonSchema, json) "
-                + "VALUES (:fromFQN, :toFQN, :fromType, :toType, :relation, :jsonSchema, (:json :: jsonb)) "
-                + "ON CONFLICT (fromFQN, toFQN, relation) DO UPDATE SET json = EXCLUDED.json",
+            "INSERT INTO field_relationship(fromFQN, fromFQNHash, toFQN, toFQNHash, fromType, toType, relation, "
+                + "jsonSchema, json) VALUES (:fromFQN, :fromFQNHash, :toFQN, :toFQNHash, :fromType, :toType, "
+                + ":relation, :jsonSchema, (:json :: jsonb)) "
+                + "ON CONFLICT (fromFQNHash, toFQNHash, relation) DO UPDATE SET json = EXCLUDED.json",
         connectionType = POSTGRES)
     void upsert(
         @Bind("fromFQN") String fromFQN,
+        @Bind("fromFQNHash") String fromFQNHash,
         @Bind("toFQN") String toFQN,
+        @Bind("toFQNHash") String toFQNHash,
         @Bind("fromType") String fromType,
         @Bind("toType") String toType,
         @Bind("relation") int relation,
         @Bind("jsonSchema") String jsonSchema,
         @Bind("json") String json);
 
+    default String find(String fromFQN, String toFQN, String fromType, String toType, int relation) {
+      return findInternal(buildHash(fromFQN), buildHash(toFQN), fromType, toType, relation);
+    }
+
     @SqlQuery(
         "SELECT json FROM field_relationship WHERE "
-            + "fromFQN = :fromFQN AND toFQN = :toFQN AND fromType = :fromType "
+            + "fromFQNHash = :fromFQNHash AND toFQNHash = :toFQNHash AND fromType = :fromType "
             + "AND toType = :toType AND relation = :relation")
-    String find(
-        @Bind("fromFQN") String fromFQN,
-        @Bind("toFQN") String toFQN,
+    String findInternal(
+        @Bind("fromFQNHash") String fromFQNHash,
+        @Bind("toFQNHash") String toFQNHash,
         @Bind("fromType") String fromType,
         @Bind("toType") String toType,
         @Bind("relation") int relation);
 
+    /** List the relationships from the fields identified by the FQN prefix, such as the custom properties of a type */
+    default List<Triple<String, String, String>> listToByPrefix(
+        String fqnPrefix, String fromType, String toType, int relation) {
+      return listToByPrefixInternal(buildHash(fqnPrefix), fromType, toType, relation);
+    }
+
     @SqlQuery(
-        "SELECT fromFQN, toFQN, json FROM field_relationship WHERE "
-            + "fromFQN LIKE CONCAT(:fqnPrefix, '%') AND fromType = :fromType AND toType = :toType "
-            + "AND relation = :relation")
+        "SELECT fr.fromFQN, fr.toFQN, fr.json FROM fqn_parent_path p "
+            + "JOIN field_relationship fr ON fr.fromFQNHash = p.fqnHash WHERE p.parentHash = :fqnPrefixHash "
+            + "AND fr.fromType = :fromType AND fr.toType = :toType AND fr.relation = :relation")
     @RegisterRowMapper(ToFieldMapper.class)
-    List<Triple<String, String, String>> listToByPrefix(
-        @Bind("fqnPrefix") String fqnPrefix,
+    List<Triple<String, String, String>> listToByPrefixInternal(
+        @Bind("fqnPrefixHash") String fqnPrefixHash,
         @Bind("fromType") String fromType,
         @Bind("toType") String toType,
         @Bind("relation") int relation);
 
+    default List<Triple<String, String, String>> listBidirectional(
+        String fqn, String type, String otherType, int relation) {
+      return listBidirectionalInternal(buildHash(fqn), type, otherType, relation);
+    }
+
     @SqlQuery(
         "SELECT fromFQN, toFQN, json FROM field_relationship WHERE "
-            + "fromFQN = :fqn AND fromType = :type AND toType = :otherType AND relation = :relation "
+            + "fromFQNHash = :fqnHash AND fromType = :type AND toType = :otherType AND relation = :relation "
             + "UNION "
             + "SELECT toFQN, fromFQN, json FROM field_relationship WHERE "
-            + "toFQN = :fqn AND toType = :type AND fromType = :otherType AND relation = :relation")
+            + "toFQNHash = :fqnHash AND toType = :type AND fromType = :otherType AND relation = :relation")
     @RegisterRowMapper(ToFieldMapper.class)
-    List<Triple<String, String, String>> listBidirectional(
-        @Bind("fqn") String fqn,
+    List<Triple<String, String, String>> listBidirectionalInternal(
+        @Bind("fqnHash") String fqnHash,
         @Bind("type") String type,
         @Bind("otherType") String otherType,
         @Bind("relation") int relation);
 
+    default List<Triple<String, String, String>> listBidirectionalByPrefix(
+        String fqnPrefix, String type, String otherType, int relation) {
+      return listBidirectionalByPrefixInternal(buildHash(fqnPrefix), type, otherType, relation);
+    }
+
     @SqlQuery(
-        "SELECT fromFQN, toFQN, json FROM field_relationship WHERE "
-            + "fromFQN LIKE CONCAT(:fqnPrefix, '%') AND fromType = :type AND toType = :otherType AND relation = :relation "
+        "SELECT fr.fromFQN, fr.toFQN, fr.json FROM fqn_parent_path p "
+            + "JOIN field_relationship fr ON fr.fromFQNHash = p.fqnHash WHERE p.parentHash = :fqnPrefixHash "
+            + "AND fr.fromType = :type AND fr.toType = :otherType AND fr.relation = :relation "
             + "UNION "
-            + "SELECT toFQN, fromFQN, json FROM field_relationship WHERE "
-            + "toFQN LIKE CONCAT(:fqnPrefix, '%') AND toType = :type AND fromType = :otherType AND relation = :relation")
+            + "SELECT fr.toFQN, fr.fromFQN, fr.json FROM fqn_parent_path p "
+            + "JOIN field_relationship fr ON fr.toFQNHash = p.fqnHash WHERE p.parentHash = :fqnPrefixHash "
+            + "AND fr.toType = :type AND fr.fromType = :otherType AND fr.relation = :relation")
     @RegisterRowMapper(ToFieldMapper.class)
-    List<Triple<String, String, String>> listBidirectionalByPrefix(
-        @Bind("fqnPrefix") String fqnPrefix,
+    List<Triple<String, String, String>> listBidirectionalByPrefixInternal(
+        @Bind("fqnPrefixHash") String fqnPrefixHash,
         @Bind("type") String type,
         @Bind("otherType") String otherType,
         @Bind("relation") int relation);
 
     default void deleteAllByPrefix(String fqnPrefix) {
-      String prefix = String.format("%s%s%%", fqnPrefix, Entity.SEPARATOR);
-      String condition = "WHERE (toFQN LIKE :prefix OR fromFQN LIKE :prefix)";
-      Map<String, String> bindMap = new HashMap<>();
-      bindMap.put("prefix", prefix);
-      deleteAllByPrefixInternal(condition, bindMap);
+      deleteAllByPrefixInternal(buildHash(fqnPrefix));
     }
 
-    @SqlUpdate("DELETE from field_relationship <cond>")
-    void deleteAllByPrefixInternal(@Define("cond") String cond, @BindMap Map<String, String> bindings);
+    @SqlUpdate(
+        "DELETE from field_relationship WHERE "
+            + "toFQNHash IN (SELECT fqnHash FROM fqn_parent_path WHERE parentHash = :fqnPrefixHash) "
+            + "OR fromFQNHash IN (SELECT fqnHash FROM fqn_parent_path WHERE parentHash = :fqnPrefixHash)")
+    void deleteAllByPrefixInternal(@Bind("fqnPrefixHash") String fqnPrefixHash);
+
+    default void delete(String fromFQN, String toFQN, String fromType, String toType, int relation) {
+      deleteInternal(buildHash(fromFQN), buildHash(toFQN), fromType, toType, relation);
+    }
 
     @SqlUpdate(
-        "DELETE from field_relationship WHERE fromFQN = :fromFQN AND toFQN = :toFQN AND fromType = :fromType "
-            + "AND toType = :toType AND relation = :relation")
-    void delete(
-        @Bind("fromFQN") String fromFQN,
-        @Bind("toFQN") String toFQN,
+        "DELETE from field_relationship WHERE fromFQNHash = :fromFQNHash AND toFQNHash = :toFQNHash "
+            + "AND fromType = :fromType AND toType = :toType AND relation = :relation")
+    void deleteInternal(
+        @Bind("fromFQNHash") String fromFQNHash,
+        @Bind("toFQNHash") String toFQNHash,
         @Bind("fromType") String fromType,
         @Bind("toType") String toType,
         @Bind("relation") int relation);
@@ -1735,77 +2193,338 @@ public interface CollectionDAO {
       return "fullyQualifiedName";
     }
 
+    default void deleteTagsByPrefix(String fqnPrefix) {
+      deleteTagsByPrefixInternal(fqnPrefix);
+      EntityReferenceCache.getInstance().invalidateAll(Entity.TAG);
+    }
+
     @SqlUpdate("DELETE FROM tag where fullyQualifiedName LIKE CONCAT(:fqnPrefix, '.%')")
-    void deleteTagsByPrefix(@Bind("fqnPrefix") String fqnPrefix);
+    void deleteTagsByPrefixInternal(@Bind("fqnPrefix") String fqnPrefix);
   }
 
+  /**
+   * Tag labels applied to entities and their fields. The number of usages of each tag is kept in tag_usage_counter,
+   * which is updated along with tag_usage so that usage counts are read without counting the usages.
+   */
   @RegisterRowMapper(TagLabelMapper.class)
-  interface TagUsageDAO {
+  interface TagUsageDAO extends FqnParentPathDAO {
+    default void applyTag(int source, String tagFQN, String targetFQN, int labelType, int state) {
+      String tagFQNHash = buildHash(tagFQN);
+      if (applyTag(source, tagFQN, tagFQNHash, targetFQN, buildHash(targetFQN), labelType, state) > 0) {
+        insertParentPaths(List.of(tagFQN, targetFQN));
+        addTagCount(source, tagFQN, tagFQNHash, 1);
+      }
+    }
+
     @ConnectionAwareSqlUpdate(
         value =
-            "INSERT IGNORE INTO tag_usage (source, tagFQN, targetFQN, labelType, state) VALUES (:source, :tagFQN, :targetFQN, :labelType, :state)",
+            "INSERT IGNORE INTO tag_usage (source, tagFQN, tagFQNHash, targetFQN, targetFQNHash, labelType, state) "
+                + "VALUES (:source, :tagFQN, :tagFQNHash, :targetFQN, :targetFQNHash, :labelType, :state)",
         connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
         value =
-            "INSERT INTO tag_usage (source, tagFQN, targetFQN, labelType, state) VALUES (:source, :tagFQN, :targetFQN, :labelType, :state) ON CONFLICT (source, tagFQN, targetFQN) DO NOTHING",
+            "INSERT INTO tag_usage (source, tagFQN, tagFQNHash, targetFQN, targetFQNHash, labelType, state) "
+                + "VALUES (:source, :tagFQN, :tagFQNHash, :targetFQN, :targetFQNHash, :labelType, :state) "
+                + "ON CONFLICT (source, tagFQNHash, targetFQNHash) DO NOTHING",
         connectionType = POSTGRES)
-    void applyTag(
+    int applyTag(
         @Bind("source") int source,
         @Bind("tagFQN") String tagFQN,
+        @Bind("tagFQNHash") String tagFQNHash,
         @Bind("targetFQN") String targetFQN,
+        @Bind("targetFQNHash") String targetFQNHash,
         @Bind("labelType") int labelType,
         @Bind("state") int state);
 
-    @SqlQuery("SELECT targetFQN FROM tag_usage WHERE source = :source AND tagFQN = :tagFQN")
-    List<String> getTargetFQNs(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT IGNORE INTO tag_usage (source, tagFQN, tagFQNHash, targetFQN, targetFQNHash, labelType, state) "
+                + "VALUES <values>",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO tag_usage (source, tagFQN, tagFQNHash, targetFQN, targetFQNHash, labelType, state) "
+                + "VALUES <values> ON CONFLICT (source, tagFQNHash, targetFQNHash) DO NOTHING",
+        connectionType = POSTGRES)
+    int applyTagsInternal(
+        @BindBeanList(
+                value = "values",
+                propertyNames = {"source", "tagFQN", "tagFQNHash", "targetFQN", "targetFQNHash", "labelType", "state"})
+            List<TagUsageObject> tagUsages);
+
+    /**
+     * Apply the given tag labels with multi-row inserts instead of one insert per tag label. The usage counts of the
+     * tags are incremented when all the rows are inserted, and are otherwise counted again as some of the tag labels
+     * were already applied.
+     */
+    default void applyTags(List<TagUsageObject> tagUsages) {
+      for (List<TagUsageObject> rows : Lists.partition(tagUsages, EntityBatch.MAX_ROWS)) {
+        int inserted = applyTagsInternal(rows);
+        Set<String> fqns = new HashSet<>();
+        rows.forEach(r -> fqns.addAll(List.of(r.getTagFQN(), r.getTargetFQN())));
+        insertParentPaths(fqns);
+        Map<Pair<Integer, String>, Long> counts =
+            rows.stream()
+                .collect(Collectors.groupingBy(r -> Pair.of(r.getSource(), r.getTagFQN()), Collectors.counting()));
+        if (inserted == rows.size()) {
+          counts.forEach((tag, count) -> addTagCount(tag.getLeft(), tag.getRight(), buildHash(tag.getRight()), count));
+        } else {
+          counts.keySet().forEach(tag -> recountTag(tag.getLeft(), tag.getRight(), buildHash(tag.getRight())));
+        }
+      }
+    }
+
+    default List<String> getTargetFQNs(int source, String tagFQN) {
+      return getTargetFQNsInternal(source, buildHash(tagFQN));
+    }
+
+    @SqlQuery("SELECT targetFQN FROM tag_usage WHERE source = :source AND tagFQNHash = :tagFQNHash")
+    List<String> getTargetFQNsInternal(@Bind("source") int source, @Bind("tagFQNHash") String tagFQNHash);
 
     default List<TagLabel> getTags(String targetFQN) {
-      List<TagLabel> tags = getTagsInternal(targetFQN);
+      List<TagLabel> tags = getTagsInternal(buildHash(targetFQN));
       tags.forEach(tagLabel -> tagLabel.setDescription(TagLabelCache.getInstance().getDescription(tagLabel)));
       return tags;
     }
 
-    @SqlQuery("SELECT source, tagFQN, labelType, state FROM tag_usage WHERE targetFQN = :targetFQN ORDER BY tagFQN")
-    List<TagLabel> getTagsInternal(@Bind("targetFQN") String targetFQN);
+    @SqlQuery(
+        "SELECT source, tagFQN, labelType, state FROM tag_usage WHERE targetFQNHash = :targetFQNHash ORDER BY tagFQN")
+    List<TagLabel> getTagsInternal(@Bind("targetFQNHash") String targetFQNHash);
+
+    /** Get the tags of all the fields, such as columns, of the entity or field identified by {@code targetFQNPrefix} */
+    default Map<String, List<TagLabel>> getTagsByPrefix(String targetFQNPrefix) {
+      Map<String, List<TagLabel>> tags = new HashMap<>();
+      for (Pair<String, TagLabel> tag : getTagsByPrefixInternal(buildHash(targetFQNPrefix))) {
+        TagLabel tagLabel = tag.getRight();
+        tagLabel.setDescription(TagLabelCache.getInstance().getDescription(tagLabel));
+        tags.computeIfAbsent(tag.getLeft(), k -> new ArrayList<>()).add(tagLabel);
+      }
+      return tags;
+    }
 
     @SqlQuery(
-        "SELECT COUNT(*) FROM tag_usage "
-            + "WHERE (tagFQN LIKE CONCAT(:tagFqn, '.%') OR tagFQN = :tagFqn) "
-            + "AND source = :source")
-    int getTagCount(@Bind("source") int source, @Bind("tagFqn") String tagFqn);
+        "SELECT tu.source, tu.tagFQN, tu.labelType, tu.state, tu.targetFQN FROM fqn_parent_path p "
+            + "JOIN tag_usage tu ON tu.targetFQNHash = p.fqnHash WHERE p.parentHash = :targetFQNPrefixHash "
+            + "ORDER BY tu.tagFQN")
+    @RegisterRowMapper(TargetTagLabelMapper.class)
+    List<Pair<String, TagLabel>> getTagsByPrefixInternal(@Bind("targetFQNPrefixHash") String targetFQNPrefixHash);
 
-    @SqlUpdate("DELETE FROM tag_usage where targetFQN = :targetFQN")
-    void deleteTagsByTarget(@Bind("targetFQN") String targetFQN);
+    default int getTagCount(int source, String tagFqn) {
+      return getTagCountInternal(source, buildHash(tagFqn));
+    }
 
-    @SqlUpdate("DELETE FROM tag_usage where tagFQN = :tagFQN AND source = :source")
-    void deleteTagLabels(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+    /** Usages of the tag and its descendants, which are read from the counts of the tags */
+    @SqlQuery(
+        "SELECT COALESCE(SUM(count), 0) FROM tag_usage_counter WHERE source = :source AND (tagFQNHash = :tagFqnHash "
+            + "OR tagFQNHash IN (SELECT fqnHash FROM fqn_parent_path WHERE parentHash = :tagFqnHash))")
+    int getTagCountInternal(@Bind("source") int source, @Bind("tagFqnHash") String tagFqnHash);
 
-    @SqlUpdate("DELETE FROM tag_usage where tagFQN LIKE CONCAT(:tagFQN, '.%') AND source = :source")
-    void deleteTagLabelsByPrefix(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO tag_usage_counter (source, tagFQN, tagFQNHash, count) "
+                + "VALUES (:source, :tagFQN, :tagFQNHash, :delta) ON DUPLICATE KEY UPDATE count = count + :delta",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO tag_usage_counter (source, tagFQN, tagFQNHash, count) "
+                + "VALUES (:source, :tagFQN, :tagFQNHash, :delta) "
+                + "ON CONFLICT (source, tagFQNHash) DO UPDATE SET count = tag_usage_counter.count + EXCLUDED.count",
+        connectionType = POSTGRES)
+    void addTagCount(
+        @Bind("source") int source,
+        @Bind("tagFQN") String tagFQN,
+        @Bind("tagFQNHash") String tagFQNHash,
+        @Bind("delta") long delta);
 
-    @SqlUpdate("DELETE FROM tag_usage where targetFQN = :targetFQN OR targetFQN LIKE CONCAT(:targetFQN, '.%')")
-    void deleteTagLabelsByTargetPrefix(@Bind("targetFQN") String targetFQN);
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO tag_usage_counter (source, tagFQN, tagFQNHash, count) "
+                + "SELECT :source, :tagFQN, :tagFQNHash, COUNT(*) FROM tag_usage WHERE source = :source "
+                + "AND tagFQNHash = :tagFQNHash ON DUPLICATE KEY UPDATE count = VALUES(count)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO tag_usage_counter (source, tagFQN, tagFQNHash, count) "
+                + "SELECT :source, :tagFQN, :tagFQNHash, COUNT(*) FROM tag_usage WHERE source = :source "
+                + "AND tagFQNHash = :tagFQNHash ON CONFLICT (source, tagFQNHash) DO UPDATE SET count = EXCLUDED.count",
+        connectionType = POSTGRES)
+    void recountTag(@Bind("source") int source, @Bind("tagFQN") String tagFQN, @Bind("tagFQNHash") String tagFQNHash);
 
-    /** Update all the tagFQN starting with oldPrefix to start with newPrefix due to tag or glossary name change */
+    /** Count the usages of all the tags again, to correct the counts that drifted from tag_usage */
+    @Transaction
+    default void reconcileTagCounts() {
+      deleteTagCounts();
+      countTags();
+    }
+
+    @SqlUpdate("DELETE FROM tag_usage_counter")
+    void deleteTagCounts();
+
+    @SqlUpdate(
+        "INSERT INTO tag_usage_counter (source, tagFQN, tagFQNHash, count) "
+            + "SELECT source, MIN(tagFQN), tagFQNHash, COUNT(*) FROM tag_usage GROUP BY source, tagFQNHash")
+    void countTags();
+
+    /** Count the usages of each tag applied to the target */
+    @SqlQuery(
+        "SELECT source, MIN(tagFQN) AS tagFQN, tagFQNHash, COUNT(*) AS count FROM tag_usage "
+            + "WHERE targetFQNHash = :targetFQNHash GROUP BY source, tagFQNHash")
+    @RegisterRowMapper(TagCountMapper.class)
+    List<TagCount> countTagsByTarget(@Bind("targetFQNHash") String targetFQNHash);
+
+    /** Count the usages of each tag applied to the target and to the descendants of the target */
+    @SqlQuery(
+        "SELECT source, MIN(tagFQN) AS tagFQN, tagFQNHash, COUNT(*) AS count FROM tag_usage "
+            + "WHERE targetFQNHash = :targetFQNHash "
+            + "OR targetFQNHash IN (SELECT fqnHash FROM fqn_parent_path WHERE parentHash = :targetFQNHash) "
+            + "GROUP BY source, tagFQNHash")
+    @RegisterRowMapper(TagCountMapper.class)
+    List<TagCount> countTagsByTargetPrefix(@Bind("targetFQNHash") String targetFQNHash);
+
+    /** Decrement the usage counts of the tags by the given counts of tag labels that are deleted */
+    default void subtractTagCounts(List<TagCount> counts) {
+      for (TagCount count : counts) {
+        addTagCount(count.getSource(), count.getTagFQN(), count.getTagFQNHash(), -count.getCount());
+      }
+    }
+
+    default void deleteTagsByTarget(String targetFQN) {
+      String targetFQNHash = buildHash(targetFQN);
+      List<TagCount> counts = countTagsByTarget(targetFQNHash);
+      deleteTagsByTargetInternal(targetFQNHash);
+      subtractTagCounts(counts);
+    }
+
+    @SqlUpdate("DELETE FROM tag_usage where targetFQNHash = :targetFQNHash")
+    void deleteTagsByTargetInternal(@Bind("targetFQNHash") String targetFQNHash);
+
+    default void deleteTagLabels(int source, String tagFQN) {
+      String tagFQNHash = buildHash(tagFQN);
+      deleteTagLabelsInternal(source, tagFQNHash);
+      deleteTagCountInternal(source, tagFQNHash);
+    }
+
+    @SqlUpdate("DELETE FROM tag_usage_counter where tagFQNHash = :tagFQNHash AND source = :source")
+    void deleteTagCountInternal(@Bind("source") int source, @Bind("tagFQNHash") String tagFQNHash);
+
+    @SqlUpdate("DELETE FROM tag_usage where tagFQNHash = :tagFQNHash AND source = :source")
+    void deleteTagLabelsInternal(@Bind("source") int source, @Bind("tagFQNHash") String tagFQNHash);
+
+    default void deleteTagLabelsByPrefix(int source, String tagFQN) {
+      String tagFQNHash = buildHash(tagFQN);
+      deleteTagLabelsByPrefixInternal(source, tagFQNHash);
+      deleteTagCountsByPrefixInternal(source, tagFQNHash);
+    }
+
+    @SqlUpdate(
+        "DELETE FROM tag_usage_counter WHERE source = :source "
+            + "AND tagFQNHash IN (SELECT fqnHash FROM fqn_parent_path WHERE parentHash = :tagFQNHash)")
+    void deleteTagCountsByPrefixInternal(@Bind("source") int source, @Bind("tagFQNHash") String tagFQNHash);
+
+    @SqlUpdate(
+        "DELETE FROM tag_usage WHERE source = :source "
+            + "AND tagFQNHash IN (SELECT fqnHash FROM fqn_parent_path WHERE parentHash = :tagFQNHash)")
+    void deleteTagLabelsByPrefixInternal(@Bind("source") int source, @Bind("tagFQNHash") String tagFQNHash);
+
+    default void deleteTagLabelsByTargetPrefix(String targetFQN) {
+      String targetFQNHash = buildHash(targetFQN);
+      List<TagCount> counts = countTagsByTargetPrefix(targetFQNHash);
+      deleteTagLabelsByTargetPrefixInternal(targetFQNHash);
+      subtractTagCounts(counts);
+    }
+
+    @SqlUpdate(
+        "DELETE FROM tag_usage WHERE targetFQNHash = :targetFQNHash "
+            + "OR targetFQNHash IN (SELECT fqnHash FROM fqn_parent_path WHERE parentHash = :targetFQNHash)")
+    void deleteTagLabelsByTargetPrefixInternal(@Bind("targetFQNHash") String targetFQNHash);
+
+    /**
+     * Update all the tagFQN starting with oldPrefix to start with newPrefix due to tag or glossary name change. The
+     * tags are renamed in batches, and the tags renamed in a batch are no longer found under the old prefix.
+     */
     default void updateTagPrefix(int source, String oldPrefix, String newPrefix) {
-      String update =
-          String.format(
-              "UPDATE tag_usage set tagFQN = REPLACE(tagFQN, '%s.', '%s.') WHERE source = %s AND tagFQN LIKE '%s.%%'",
-              escapeApostrophe(oldPrefix), escapeApostrophe(newPrefix), source, escape(oldPrefix));
-      updateTagPrefixInternal(update);
+      String oldPrefixHash = buildHash(oldPrefix);
+      List<String> tagFQNs;
+      while (!(tagFQNs = listTagFQNsByPrefix(source, oldPrefixHash, EntityBatch.MAX_ROWS)).isEmpty()) {
+        updateTagPrefix(source, oldPrefix, newPrefix, tagFQNs);
+      }
     }
 
+    @SqlQuery(
+        "SELECT tagFQN FROM tag_usage WHERE source = :source "
+            + "AND tagFQNHash IN (SELECT fqnHash FROM fqn_parent_path WHERE parentHash = :prefixHash) "
+            + "UNION "
+            + "SELECT tagFQN FROM tag_usage_counter WHERE source = :source "
+            + "AND tagFQNHash IN (SELECT fqnHash FROM fqn_parent_path WHERE parentHash = :prefixHash) "
+            + "LIMIT :limit")
+    List<String> listTagFQNsByPrefix(
+        @Bind("source") int source, @Bind("prefixHash") String prefixHash, @Bind("limit") int limit);
+
     default void rename(int source, String oldFQN, String newFQN) {
-      renameInternal(source, oldFQN, newFQN); // First rename tagFQN from oldFQN to newFQN
+      renameTag(source, oldFQN, newFQN); // First rename tagFQN from oldFQN to newFQN
       updateTagPrefix(source, oldFQN, newFQN); // Rename all the tagFQN prefixes starting with the oldFQN to newFQN
     }
 
+    /** Rename the tagFQN from oldFQN to newFQN, without the tagFQN of the tags under it */
+    default void renameTag(int source, String oldFQN, String newFQN) {
+      insertParentPaths(List.of(newFQN));
+      renameInternal(source, buildHash(oldFQN), newFQN, buildHash(newFQN));
+      renameTagCountInternal(source, buildHash(oldFQN), newFQN, buildHash(newFQN));
+    }
+
+    @SqlUpdate(
+        "UPDATE tag_usage_counter SET tagFQN = :newFQN, tagFQNHash = :newFQNHash "
+            + "WHERE source = :source AND tagFQNHash = :oldFQNHash")
+    void renameTagCountInternal(
+        @Bind("source") int source,
+        @Bind("oldFQNHash") String oldFQNHash,
+        @Bind("newFQN") String newFQN,
+        @Bind("newFQNHash") String newFQNHash);
+
     /** Rename the tagFQN */
-    @SqlUpdate("Update tag_usage set tagFQN = :newFQN WHERE source = :source AND tagFQN = :oldFQN")
-    void renameInternal(@Bind("source") int source, @Bind("oldFQN") String oldFQN, @Bind("newFQN") String newFQN);
+    @SqlUpdate(
+        "Update tag_usage set tagFQN = :newFQN, tagFQNHash = :newFQNHash "
+            + "WHERE source = :source AND tagFQNHash = :oldFQNHash")
+    void renameInternal(
+        @Bind("source") int source,
+        @Bind("oldFQNHash") String oldFQNHash,
+        @Bind("newFQN") String newFQN,
+        @Bind("newFQNHash") String newFQNHash);
+
+    /** Replace the oldPrefix of the usages of the given descendants of a tag or glossary term with newPrefix */
+    default void updateTagPrefix(int source, String oldPrefix, String newPrefix, List<String> tagFQNs) {
+      List<String> newTagFQNs = new ArrayList<>(tagFQNs.size());
+      for (String tagFQN : tagFQNs) {
+        newTagFQNs.add(newPrefix + tagFQN.substring(oldPrefix.length()));
+      }
+      insertParentPaths(newTagFQNs);
+      List<String> tagFQNHashes = buildHash(tagFQNs);
+      updateTagPrefixInternal(source, oldPrefix, newPrefix, tagFQNHashes);
+      updateTagCountPrefixInternal(source, oldPrefix, newPrefix, tagFQNHashes);
+    }
+
+    // The hash of a descendant is computed from its renamed FQN. The hash is set before the FQN, as MySQL assigns the
+    // columns in order and the renamed FQN is computed from the old FQN.
+    @SqlUpdate(
+        "UPDATE tag_usage SET tagFQNHash = MD5(CONCAT(:newPrefix, SUBSTR(tagFQN, CHAR_LENGTH(:oldPrefix) + 1))), "
+            + "tagFQN = CONCAT(:newPrefix, SUBSTR(tagFQN, CHAR_LENGTH(:oldPrefix) + 1)) "
+            + "WHERE source = :source AND tagFQNHash IN (<tagFQNHashes>)")
+    void updateTagPrefixInternal(
+        @Bind("source") int source,
+        @Bind("oldPrefix") String oldPrefix,
+        @Bind("newPrefix") String newPrefix,
+        @BindList("tagFQNHashes") List<String> tagFQNHashes);
 
-    @SqlUpdate("<update>")
-    void updateTagPrefixInternal(@Define("update") String update);
+    @SqlUpdate(
+        "UPDATE tag_usage_counter SET "
+            + "tagFQNHash = MD5(CONCAT(:newPrefix, SUBSTR(tagFQN, CHAR_LENGTH(:oldPrefix) + 1))), "
+            + "tagFQN = CONCAT(:newPrefix, SUBSTR(tagFQN, CHAR_LENGTH(:oldPrefix) + 1)) "
+            + "WHERE source = :source AND tagFQNHash IN (<tagFQNHashes>)")
+    void updateTagCountPrefixInternal(
+        @Bind("source") int source,
+        @Bind("oldPrefix") String oldPrefix,
+        @Bind("newPrefix") String newPrefix,
+        @BindList("tagFQNHashes") List<String> tagFQNHashes);
 
     class TagLabelMapper implements RowMapper<TagLabel> {
       @Override
@@ -1817,6 +2536,20 @@ public interface CollectionDAO {
             .withTagFQN(r.getString("tagFQN"));
       }
     }
+
+    class TagCountMapper implements RowMapper<TagCount> {
+      @Override
+      public TagCount map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new TagCount(r.getInt("source"), r.getString("tagFQN"), r.getString("tagFQNHash"), r.getLong("count"));
+      }
+    }
+
+    class TargetTagLabelMapper implements RowMapper<Pair<String, TagLabel>> {
+      @Override
+      public Pair<String, TagLabel> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("targetFQN"), new TagLabelMapper().map(r, ctx));
+      }
+    }
   }
 
   interface RoleDAO extends EntityDAO<Role> {
@@ -1859,7 +2592,7 @@ public interface CollectionDAO {
       String condition = filter.getCondition();
       if (parentTeam != null) {
         // validate parent team
-        Team team = findEntityByName(parentTeam, filter.getInclude());
+        EntityReference team = findEntityReferenceByName(parentTeam, filter.getInclude());
         if (ORGANIZATION_NAME.equals(team.getName())) {
           // All the teams without parents should come under "organization" team
           condition =
@@ -1891,7 +2624,7 @@ public interface CollectionDAO {
       String condition = filter.getCondition();
       if (parentTeam != null) {
         // validate parent team
-        Team team = findEntityByName(parentTeam);
+        EntityReference team = findEntityReferenceByName(parentTeam);
         if (ORGANIZATION_NAME.equals(team.getName())) {
           // All the parentless teams should come under "organization" team
           condition =
@@ -1925,7 +2658,7 @@ public interface CollectionDAO {
       String condition = filter.getCondition();
       if (parentTeam != null) {
         // validate parent team
-        Team team = findEntityByName(parentTeam, filter.getInclude());
+        EntityReference team = findEntityReferenceByName(parentTeam, filter.getInclude());
         if (ORGANIZATION_NAME.equals(team.getName())) {
           // All the parentless teams should come under "organization" team
           condition =
@@ -2450,9 +3183,12 @@ public interface CollectionDAO {
   }
 
   interface ChangeEventDAO {
+    // Partition keys eventType and eventTime are not generated columns on Postgres
     @ConnectionAwareSqlUpdate(value = "INSERT INTO change_event (json) VALUES (:json)", connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
-        value = "INSERT INTO change_event (json) VALUES (:json :: jsonb)",
+        value =
+            "INSERT INTO change_event (eventType, eventTime, json) VALUES ((:json :: jsonb) ->> 'eventType', "
+                + "((:json :: jsonb) ->> 'timestamp') :: bigint, :json :: jsonb)",
         connectionType = POSTGRES)
     void insert(@Bind("json") String json);
 
@@ -2483,6 +3219,40 @@ public interface CollectionDAO {
             + "eventType = :eventType AND eventTime >= :timestamp "
             + "ORDER BY eventTime ASC")
     List<String> listWithoutEntityFilter(@Bind("eventType") String eventType, @Bind("timestamp") long timestamp);
+
+    /** Names of the partitions of change_event, which are the chunks of change events and the partitions above them */
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE() "
+                + "AND TABLE_NAME = 'change_event' AND PARTITION_NAME IS NOT NULL",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT relname FROM pg_class WHERE relname LIKE 'change_event_%' AND relkind IN ('r', 'p') "
+                + "AND pg_table_is_visible(oid)",
+        connectionType = POSTGRES)
+    List<String> listPartitions();
+
+    /** Number of rows of the partition in the table statistics, which is an estimate that is read without a scan */
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT COALESCE(SUM(TABLE_ROWS), 0) FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE() "
+                + "AND TABLE_NAME = 'change_event' AND PARTITION_NAME = :partition",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT COALESCE(SUM(GREATEST(reltuples, 0)), 0)::bigint FROM pg_class "
+                + "WHERE relname = :partition AND pg_table_is_visible(oid)",
+        connectionType = POSTGRES)
+    long getPartitionRows(@Bind("partition") String partition);
+
+    /** Whether the partition has events at or after the time, which is looked up by the index on the event time */
+    @SqlQuery("SELECT EXISTS (SELECT 1 FROM <partition> WHERE eventTime >= :eventTime)")
+    boolean hasEventsSince(@Define("partition") String partition, @Bind("eventTime") long eventTime);
+
+    /** Create, split, drop or truncate the partitions of change_event */
+    @SqlUpdate("<statement>")
+    void alterPartitions(@Define("statement") String statement);
   }
 
   interface TypeEntityDAO extends EntityDAO<Type> {
@@ -2787,6 +3557,21 @@ public interface CollectionDAO {
         @Bind("jsonSchema") String jsonSchema,
         @Bind("json") String json);
 
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO entity_extension_time_series(entityFQN, extension, jsonSchema, json) VALUES <values>",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_extension_time_series(entityFQN, extension, jsonSchema, json) "
+                + "SELECT v.entityFQN, v.extension, v.jsonSchema, CAST(v.json AS jsonb) "
+                + "FROM (VALUES <values>) AS v(entityFQN, extension, jsonSchema, json)",
+        connectionType = POSTGRES)
+    void insertMany(
+        @BindBeanList(
+                value = "values",
+                propertyNames = {"entityFQN", "extension", "jsonSchema", "json"})
+            List<ExtensionTimeSeriesObject> values);
+
     @ConnectionAwareSqlUpdate(
         value =
             "UPDATE entity_extension_time_series set json = :json where entityFQN=:entityFQN and extension=:extension and timestamp=:timestamp",
@@ -2919,6 +3704,32 @@ public interface CollectionDAO {
             + "ORDER BY timestamp DESC LIMIT 1")
     String getLatestExtensionByFQN(@Bind("entityFQN") String entityFQN, @Bind("jsonSchema") String jsonSchema);
 
+    /** Latest json of each of the entities, by the FQN of the entity, for the entities that have one */
+    default Map<String, String> getLatestExtensionByFQNs(List<String> entityFQNs, String jsonSchema) {
+      Map<String, String> latest = new HashMap<>();
+      if (!entityFQNs.isEmpty()) {
+        for (Pair<String, String> json : getLatestExtensionByFQNsInternal(entityFQNs, jsonSchema)) {
+          latest.putIfAbsent(json.getLeft(), json.getRight());
+        }
+      }
+      return latest;
+    }
+
+    @SqlQuery(
+        "SELECT t.entityFQN, t.json FROM entity_extension_time_series t WHERE t.entityFQN IN (<entityFQNs>) "
+            + "AND t.jsonSchema = :jsonSchema AND t.timestamp = (SELECT MAX(l.timestamp) "
+            + "FROM entity_extension_time_series l WHERE l.entityFQN = t.entityFQN AND l.jsonSchema = :jsonSchema)")
+    @RegisterRowMapper(EntityFQNJsonMapper.class)
+    List<Pair<String, String>> getLatestExtensionByFQNsInternal(
+        @BindList("entityFQNs") List<String> entityFQNs, @Bind("jsonSchema") String jsonSchema);
+
+    class EntityFQNJsonMapper implements RowMapper<Pair<String, String>> {
+      @Override
+      public Pair<String, String> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("entityFQN"), r.getString("json"));
+      }
+    }
+
     @SqlQuery(
         "SELECT json FROM entity_extension_time_series where entityFQN = :entityFQN and jsonSchema = :jsonSchema "
             + " AND timestamp >= :startTs and timestamp <= :endTs ORDER BY timestamp DESC")
@@ -3059,94 +3870,7 @@ public interface CollectionDAO {
     }
   }
 
-  class EntitiesCountRowMapper implements RowMapper<EntitiesCount> {
-    @Override
-    public EntitiesCount map(ResultSet rs, StatementContext ctx) throws SQLException {
-      return new EntitiesCount()
-          .withTableCount(rs.getInt("tableCount"))
-          .withTopicCount(rs.getInt("topicCount"))
-          .withDashboardCount(rs.getInt("dashboardCount"))
-          .withPipelineCount(rs.getInt("pipelineCount"))
-          .withMlmodelCount(rs.getInt("mlmodelCount"))
-          .withServicesCount(rs.getInt("servicesCount"))
-          .withUserCount(rs.getInt("userCount"))
-          .withTeamCount(rs.getInt("teamCount"))
-          .withTestSuiteCount(rs.getInt("testSuiteCount"))
-          .withStorageContainerCount(rs.getInt("storageContainerCount"))
-          .withGlossaryCount(rs.getInt("glossaryCount"))
-          .withGlossaryTermCount(rs.getInt("glossaryTermCount"));
-    }
-  }
-
-  class ServicesCountRowMapper implements RowMapper<ServicesCount> {
-    @Override
-    public ServicesCount map(ResultSet rs, StatementContext ctx) throws SQLException {
-      return new ServicesCount()
-          .withDatabaseServiceCount(rs.getInt("databaseServiceCount"))
-          .withMessagingServiceCount(rs.getInt("messagingServiceCount"))
-          .withDashboardServiceCount(rs.getInt("dashboardServiceCount"))
-          .withPipelineServiceCount(rs.getInt("pipelineServiceCount"))
-          .withMlModelServiceCount(rs.getInt("mlModelServiceCount"))
-          .withStorageServiceCount(rs.getInt("storageServiceCount"));
-    }
-  }
-
   interface SystemDAO {
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT (SELECT COUNT(*) FROM table_entity <cond>) as tableCount, "
-                + "(SELECT COUNT(*) FROM topic_entity <cond>) as topicCount, "
-                + "(SELECT COUNT(*) FROM dashboard_entity <cond>) as dashboardCount, "
-                + "(SELECT COUNT(*) FROM pipeline_entity <cond>) as pipelineCount, "
-                + "(SELECT COUNT(*) FROM ml_model_entity <cond>) as mlmodelCount, "
-                + "(SELECT COUNT(*) FROM storage_container_entity <cond>) as storageContainerCount, "
-                + "(SELECT COUNT(*) FROM glossary_entity <cond>) as glossaryCount, "
-                + "(SELECT COUNT(*) FROM glossary_term_entity <cond>) as glossaryTermCount, "
-                + "(SELECT (SELECT COUNT(*) FROM metadata_service_entity <cond>) + "
-                + "(SELECT COUNT(*) FROM dbservice_entity <cond>)+"
-                + "(SELECT COUNT(*) FROM messaging_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM dashboard_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM pipeline_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM mlmodel_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM storage_service_entity <cond>)) as servicesCount, "
-                + "(SELECT COUNT(*) FROM user_entity <cond> AND (JSON_EXTRACT(json, '$.isBot') IS NULL OR JSON_EXTRACT(json, '$.isBot') = FALSE)) as userCount, "
-                + "(SELECT COUNT(*) FROM team_entity <cond>) as teamCount, "
-                + "(SELECT COUNT(*) FROM test_suite <cond>) as testSuiteCount",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT (SELECT COUNT(*) FROM table_entity <cond>) as tableCount, "
-                + "(SELECT COUNT(*) FROM topic_entity <cond>) as topicCount, "
-                + "(SELECT COUNT(*) FROM dashboard_entity <cond>) as dashboardCount, "
-                + "(SELECT COUNT(*) FROM pipeline_entity <cond>) as pipelineCount, "
-                + "(SELECT COUNT(*) FROM ml_model_entity <cond>) as mlmodelCount, "
-                + "(SELECT COUNT(*) FROM storage_container_entity <cond>) as storageContainerCount, "
-                + "(SELECT COUNT(*) FROM glossary_entity <cond>) as glossaryCount, "
-                + "(SELECT COUNT(*) FROM glossary_term_entity <cond>) as glossaryTermCount, "
-                + "(SELECT (SELECT COUNT(*) FROM metadata_service_entity <cond>) + "
-                + "(SELECT COUNT(*) FROM dbservice_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM messaging_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM dashboard_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM pipeline_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM mlmodel_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM storage_service_entity <cond>)) as servicesCount, "
-                + "(SELECT COUNT(*) FROM user_entity <cond> AND (json#>'{isBot}' IS NULL OR ((json#>'{isBot}')::boolean) = FALSE)) as userCount, "
-                + "(SELECT COUNT(*) FROM team_entity <cond>) as teamCount, "
-                + "(SELECT COUNT(*) FROM test_suite <cond>) as testSuiteCount",
-        connectionType = POSTGRES)
-    @RegisterRowMapper(EntitiesCountRowMapper.class)
-    EntitiesCount getAggregatedEntitiesCount(@Define("cond") String cond) throws StatementException;
-
-    @SqlQuery(
-        "SELECT (SELECT COUNT(*) FROM database_entity <cond>) as databaseServiceCount, "
-            + "(SELECT COUNT(*) FROM messaging_service_entity <cond>) as messagingServiceCount, "
-            + "(SELECT COUNT(*) FROM dashboard_service_entity <cond>) as dashboardServiceCount, "
-            + "(SELECT COUNT(*) FROM pipeline_service_entity <cond>) as pipelineServiceCount, "
-            + "(SELECT COUNT(*) FROM mlmodel_service_entity <cond>) as mlModelServiceCount, "
-            + "(SELECT COUNT(*) FROM storage_service_entity <cond>) as storageServiceCount")
-    @RegisterRowMapper(ServicesCountRowMapper.class)
-    ServicesCount getAggregatedServicesCount(@Define("cond") String cond) throws StatementException;
-
     @SqlQuery("SELECT configType,json FROM openmetadata_settings")
     @RegisterRowMapper(SettingsRowMapper.class)
     List<Settings> getAllConfig() throws StatementException;
@@ -3413,6 +4137,198 @@ public interface CollectionDAO {
         @Define("sqlCondition") String sqlCondition);
   }
 
+  interface CacheInvalidationDAO {
+    @SqlUpdate(
+        "INSERT INTO cache_invalidation_log (serverId, cacheName, cacheKey, timestamp) "
+            + "VALUES (:serverId, :cacheName, :cacheKey, :timestamp)")
+    void insert(
+        @Bind("serverId") String serverId,
+        @Bind("cacheName") String cacheName,
+        @Bind("cacheKey") String cacheKey,
+        @Bind("timestamp") long timestamp);
+
+    @SqlQuery(
+        "SELECT id, cacheName, cacheKey FROM cache_invalidation_log "
+            + "WHERE timestamp >= :since AND serverId <> :serverId ORDER BY id")
+    @RegisterRowMapper(InvalidationMapper.class)
+    List<Invalidation> listSince(@Bind("serverId") String serverId, @Bind("since") long since);
+
+    @SqlUpdate("DELETE FROM cache_invalidation_log WHERE timestamp < :before")
+    void deleteBefore(@Bind("before") long before);
+
+    class InvalidationMapper implements RowMapper<Invalidation> {
+      @Override
+      public Invalidation map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return new Invalidation(rs.getLong("id"), rs.getString("cacheName"), rs.getString("cacheKey"));
+      }
+    }
+  }
+
+  /**
+   * Number of entities of each entity type by deleted flag, which is maintained as the entities are created, deleted
+   * and restored.
+   */
+  interface EntityCounterDAO {
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_counter (entityType, deleted, count) "
+                + "VALUES (:entityType, :deleted, :delta) ON DUPLICATE KEY UPDATE count = count + :delta",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_counter (entityType, deleted, count) "
+                + "VALUES (:entityType, :deleted, :delta) ON CONFLICT (entityType, deleted) "
+                + "DO UPDATE SET count = entity_counter.count + EXCLUDED.count",
+        connectionType = POSTGRES)
+    void add(@Bind("entityType") String entityType, @Bind("deleted") boolean deleted, @Bind("delta") long delta);
+
+    @SqlQuery("SELECT entityType, deleted, count FROM entity_counter")
+    @RegisterRowMapper(EntityCountMapper.class)
+    List<EntityCount> listCounts();
+
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT :entityType AS entityType, <deleted> AS deleted, COUNT(*) AS count "
+                + "FROM <table> <mysqlCond> GROUP BY 2",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT :entityType AS entityType, <deleted> AS deleted, COUNT(*) AS count "
+                + "FROM <table> <postgresCond> GROUP BY 2",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(EntityCountMapper.class)
+    List<EntityCount> countEntities(
+        @Bind("entityType") String entityType,
+        @Define("table") String table,
+        @Define("deleted") String deleted,
+        @Define("mysqlCond") String mysqlCond,
+        @Define("postgresCond") String postgresCond);
+
+    /** Replace the counts of the entity type with the given counts */
+    @Transaction
+    default void replaceCounts(String entityType, List<EntityCount> counts) {
+      deleteCounts(entityType);
+      if (!counts.isEmpty()) {
+        insertCounts(counts);
+      }
+    }
+
+    @SqlUpdate("DELETE FROM entity_counter WHERE entityType = :entityType")
+    void deleteCounts(@Bind("entityType") String entityType);
+
+    @SqlUpdate("INSERT INTO entity_counter (entityType, deleted, count) VALUES <values>")
+    void insertCounts(
+        @BindBeanList(
+                value = "values",
+                propertyNames = {"entityType", "deleted", "count"})
+            List<EntityCount> counts);
+
+    class EntityCountMapper implements RowMapper<EntityCount> {
+      @Override
+      public EntityCount map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return new EntityCount(rs.getString("entityType"), rs.getBoolean("deleted"), rs.getLong("count"));
+      }
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  class EntityCount {
+    private final String entityType;
+    private final boolean deleted;
+    private final long count;
+  }
+
+  /** Renames of glossaries, glossary terms, classifications and tags, whose progress is recorded as chunks complete */
+  interface FqnRenameJobDAO {
+    default void insert(FqnRenameJob job) {
+      insert(
+          job.getId().toString(),
+          job.getEntityType(),
+          job.getOldFqn(),
+          job.getNewFqn(),
+          job.getStatus().name(),
+          job.getRenamed(),
+          job.getStartedAt(),
+          job.getUpdatedAt());
+    }
+
+    @SqlUpdate(
+        "INSERT INTO fqn_rename_job (id, entityType, oldFqn, newFqn, status, renamed, startedAt, updatedAt) "
+            + "VALUES (:id, :entityType, :oldFqn, :newFqn, :status, :renamed, :startedAt, :updatedAt)")
+    void insert(
+        @Bind("id") String id,
+        @Bind("entityType") String entityType,
+        @Bind("oldFqn") String oldFqn,
+        @Bind("newFqn") String newFqn,
+        @Bind("status") String status,
+        @Bind("renamed") long renamed,
+        @Bind("startedAt") long startedAt,
+        @Bind("updatedAt") long updatedAt);
+
+    default void update(FqnRenameJob job) {
+      update(job.getId().toString(), job.getStatus().name(), job.getRenamed(), job.getUpdatedAt());
+    }
+
+    @SqlUpdate("UPDATE fqn_rename_job SET status = :status, renamed = :renamed, updatedAt = :updatedAt WHERE id = :id")
+    void update(
+        @Bind("id") String id,
+        @Bind("status") String status,
+        @Bind("renamed") long renamed,
+        @Bind("updatedAt") long updatedAt);
+
+    @SqlQuery("SELECT * FROM fqn_rename_job WHERE id = :id")
+    @RegisterRowMapper(FqnRenameJobMapper.class)
+    FqnRenameJob findById(@Bind("id") String id);
+
+    @SqlQuery("SELECT * FROM fqn_rename_job ORDER BY startedAt DESC LIMIT :limit")
+    @RegisterRowMapper(FqnRenameJobMapper.class)
+    List<FqnRenameJob> listLatest(@Bind("limit") int limit);
+
+    /**
+     * Claim the job by changing its status, provided it still has the status and update time it was read with, and
+     * return true if no other server claimed or updated it in the meantime
+     */
+    default boolean claim(FqnRenameJob job, FqnRenameJob.Status status, long updatedAt) {
+      if (claim(job.getId().toString(), job.getStatus().name(), job.getUpdatedAt(), status.name(), updatedAt) == 0) {
+        return false;
+      }
+      job.setStatus(status);
+      job.setUpdatedAt(updatedAt);
+      return true;
+    }
+
+    @SqlUpdate(
+        "UPDATE fqn_rename_job SET status = :status, updatedAt = :updatedAt "
+            + "WHERE id = :id AND status = :expectedStatus AND updatedAt = :expectedUpdatedAt")
+    int claim(
+        @Bind("id") String id,
+        @Bind("expectedStatus") String expectedStatus,
+        @Bind("expectedUpdatedAt") long expectedUpdatedAt,
+        @Bind("status") String status,
+        @Bind("updatedAt") long updatedAt);
+
+    @SqlQuery("SELECT * FROM fqn_rename_job WHERE status IN ('RUNNING', 'RESUMING') ORDER BY startedAt")
+    @RegisterRowMapper(FqnRenameJobMapper.class)
+    List<FqnRenameJob> listIncomplete();
+
+    class FqnRenameJobMapper implements RowMapper<FqnRenameJob> {
+      @Override
+      public FqnRenameJob map(ResultSet rs, StatementContext ctx) throws SQLException {
+        FqnRenameJob job = new FqnRenameJob();
+        job.setId(UUID.fromString(rs.getString("id")));
+        job.setEntityType(rs.getString("entityType"));
+        job.setOldFqn(rs.getString("oldFqn"));
+        job.setNewFqn(rs.getString("newFqn"));
+        job.setStatus(FqnRenameJob.Status.valueOf(rs.getString("status")));
+        job.setRenamed(rs.getLong("renamed"));
+        job.setStartedAt(rs.getLong("startedAt"));
+        job.setUpdatedAt(rs.getLong("updatedAt"));
+        return job;
+      }
+    }
+  }
+
   interface DataModelDAO extends EntityDAO<DashboardDataModel> {
     @Override
     default String getTableName() {
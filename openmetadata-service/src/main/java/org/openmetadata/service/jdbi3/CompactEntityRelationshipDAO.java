@@ -0,0 +1,256 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import static org.openmetadata.service.jdbi3.EntityTypeCode.getCode;
+import static org.openmetadata.service.jdbi3.EntityTypeCode.toBytes;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.jdbi3.CollectionDAO.CompactRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.CompactRelationshipObject;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
+
+/**
+ * Entity relationships stored in the compact layout of table entity_relationship_compact in addition to
+ * entity_relationship. The compact layout keys relationships on 16 byte ids and {@link EntityTypeCode} instead of UUID
+ * strings and entity type names, which makes its indexes a fraction of the size of the indexes of entity_relationship
+ * and keeps them in memory for large catalogs.
+ *
+ * <p>Relationships are written to both tables and the lookups by from and to entity are served from the compact table
+ * once it is verified to hold the same relationships as entity_relationship. Until then, and for entity types without a
+ * code, they are served from entity_relationship, which remains the source of truth for the queries that join it with
+ * the entity tables.
+ */
+@Slf4j
+public class CompactEntityRelationshipDAO implements EntityRelationshipDAO {
+  private static final int MAX_COPY_ATTEMPTS = 3;
+  private static volatile boolean enabled = false;
+  private static volatile boolean verified = false;
+
+  private final EntityRelationshipDAO dao;
+  private final CompactRelationshipDAO compactDAO;
+
+  public CompactEntityRelationshipDAO(EntityRelationshipDAO dao, CompactRelationshipDAO compactDAO) {
+    this.dao = dao;
+    this.compactDAO = compactDAO;
+  }
+
+  public static void initialize(RelationshipLayout layout) {
+    enabled = layout == RelationshipLayout.COMPACT;
+    verified = false;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /** To be called during application startup to verify and fill the compact table without delaying the startup */
+  public static void start(CompactRelationshipDAO compactDAO) {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.submit(
+        () -> {
+          try {
+            synchronize(compactDAO);
+          } catch (Exception ex) {
+            LOG.error("Failed to synchronize the compact layout of relationships", ex);
+          }
+        });
+    executor.shutdown();
+  }
+
+  /**
+   * Copy entity_relationship to the compact table when the checksums of the keys of both tables differ, such as when
+   * the compact layout is enabled for the first time or after the server ran with the compact layout disabled. The copy
+   * is made into a shadow table that replaces the compact table once it is filled. Relationships written to the compact
+   * table during the copy are missing from the shadow table, so the checksums are compared again after the swap.
+   *
+   * @return true when the compact table holds the same relationships as entity_relationship and is read from
+   */
+  public static boolean synchronize(CompactRelationshipDAO compactDAO) {
+    verified = false;
+    List<String> unknownTypes =
+        compactDAO.listSourceEntityTypes().stream()
+            .filter(type -> !EntityTypeCode.hasCode(type))
+            .collect(Collectors.toList());
+    if (!unknownTypes.isEmpty()) {
+      LOG.warn(
+          "No entity type code for entity types {} in relationships. Relationships are read from entity_relationship",
+          unknownTypes);
+      return false;
+    }
+    for (int attempt = 1; attempt <= MAX_COPY_ATTEMPTS; attempt++) {
+      if (compactDAO.checksum() == compactDAO.checksumSource()) {
+        verified = true;
+        LOG.info("Relationships are read from the compact layout");
+        return true;
+      }
+      LOG.info("Copying relationships to the compact layout, attempt {} of {}", attempt, MAX_COPY_ATTEMPTS);
+      compactDAO.dropShadow();
+      compactDAO.createShadow();
+      compactDAO.copyFromSource(
+          EntityTypeCode.getCodeExpression("fromEntity"), EntityTypeCode.getCodeExpression("toEntity"));
+      compactDAO.swapShadow();
+      compactDAO.dropOld();
+    }
+    LOG.warn("The compact layout of relationships is out of sync. Relationships are read from entity_relationship");
+    return false;
+  }
+
+  @Override
+  public void insert(String fromId, String toId, String fromEntity, String toEntity, int relation, String json) {
+    dao.insert(fromId, toId, fromEntity, toEntity, relation, json);
+    if (hasCodes(fromEntity, toEntity)) {
+      compactDAO.insert(toBytes(fromId), toBytes(toId), getCode(fromEntity), getCode(toEntity), relation, json);
+    }
+  }
+
+  @Override
+  public void bulkInsertTo(List<EntityRelationshipObject> values) {
+    dao.bulkInsertTo(values);
+    List<CompactRelationshipObject> compactValues = toCompact(values);
+    if (!compactValues.isEmpty()) {
+      compactDAO.bulkInsertTo(compactValues);
+    }
+  }
+
+  @Override
+  public void insertMany(List<EntityRelationshipObject> values) {
+    dao.insertMany(values);
+    List<CompactRelationshipObject> compactValues = toCompact(values);
+    if (!compactValues.isEmpty()) {
+      compactDAO.insertMany(compactValues);
+    }
+  }
+
+  @Override
+  public List<EntityRelationshipRecord> findTo(String fromId, String fromEntity, List<Integer> relation) {
+    return isReadable(fromEntity)
+        ? compactDAO.findTo(toBytes(fromId), getCode(fromEntity), relation)
+        : dao.findTo(fromId, fromEntity, relation);
+  }
+
+  @Override
+  public List<EntityRelationshipRecord> findTo(String fromId, String fromEntity, int relation, String toEntity) {
+    return isReadable(fromEntity, toEntity)
+        ? compactDAO.findTo(toBytes(fromId), getCode(fromEntity), relation, getCode(toEntity))
+        : dao.findTo(fromId, fromEntity, relation, toEntity);
+  }
+
+  @Override
+  public List<EntityRelationshipRecord> findToPipeline(String fromId, int relation) {
+    // Looks up relationships by the pipeline id in the json which is not in the compact layout
+    return dao.findToPipeline(fromId, relation);
+  }
+
+  @Override
+  public List<EntityRelationshipRecord> findFrom(String toId, String toEntity, int relation, String fromEntity) {
+    return isReadable(toEntity, fromEntity)
+        ? compactDAO.findFrom(toBytes(toId), getCode(toEntity), relation, getCode(fromEntity))
+        : dao.findFrom(toId, toEntity, relation, fromEntity);
+  }
+
+  @Override
+  public List<EntityRelationshipRecord> findFrom(String toId, String toEntity, int relation) {
+    return isReadable(toEntity)
+        ? compactDAO.findFrom(toBytes(toId), getCode(toEntity), relation)
+        : dao.findFrom(toId, toEntity, relation);
+  }
+
+  @Override
+  public List<EntityRelationshipRecord> findFromPipleine(String toId, int relation) {
+    return dao.findFromPipleine(toId, relation);
+  }
+
+  @Override
+  public List<EntityRelationshipRecord> findFrom(String toId) {
+    return isReadable() ? compactDAO.findFrom(toBytes(toId)) : dao.findFrom(toId);
+  }
+
+  @Override
+  public int findIfAnyRelationExist(String fromEntity, String toEntity) {
+    return isReadable(fromEntity, toEntity)
+        ? compactDAO.findIfAnyRelationExist(getCode(fromEntity), getCode(toEntity))
+        : dao.findIfAnyRelationExist(fromEntity, toEntity);
+  }
+
+  @Override
+  public int delete(String fromId, String fromEntity, String toId, String toEntity, int relation) {
+    int deleted = dao.delete(fromId, fromEntity, toId, toEntity, relation);
+    if (hasCodes(fromEntity, toEntity)) {
+      compactDAO.delete(toBytes(fromId), getCode(fromEntity), toBytes(toId), getCode(toEntity), relation);
+    }
+    return deleted;
+  }
+
+  @Override
+  public void deleteFrom(String fromId, String fromEntity, int relation, String toEntity) {
+    dao.deleteFrom(fromId, fromEntity, relation, toEntity);
+    if (hasCodes(fromEntity, toEntity)) {
+      compactDAO.deleteFrom(toBytes(fromId), getCode(fromEntity), relation, getCode(toEntity));
+    }
+  }
+
+  @Override
+  public void deleteTo(String toId, String toEntity, int relation, String fromEntity) {
+    dao.deleteTo(toId, toEntity, relation, fromEntity);
+    if (hasCodes(toEntity, fromEntity)) {
+      compactDAO.deleteTo(toBytes(toId), getCode(toEntity), relation, getCode(fromEntity));
+    }
+  }
+
+  @Override
+  public void deleteAll(String id, String entity) {
+    dao.deleteAll(id, entity);
+    if (hasCodes(entity)) {
+      compactDAO.deleteAll(toBytes(id), getCode(entity));
+    }
+  }
+
+  /** Relationships are read from the compact table once it is verified and when the entity types have a code */
+  private static boolean isReadable(String... entityTypes) {
+    return verified && Arrays.stream(entityTypes).allMatch(EntityTypeCode::hasCode);
+  }
+
+  /**
+   * Relationships of entity types without a code are only stored in entity_relationship. Relationships are read from
+   * entity_relationship once such a relationship is written, as the lookups of the compact table would miss it.
+   */
+  private static boolean hasCodes(String... entityTypes) {
+    for (String entityType : entityTypes) {
+      if (!EntityTypeCode.hasCode(entityType)) {
+        if (verified) {
+          LOG.warn(
+              "No entity type code for entity type {}. Relationships are read from entity_relationship", entityType);
+          verified = false;
+        }
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<CompactRelationshipObject> toCompact(List<EntityRelationshipObject> values) {
+    return values.stream()
+        .filter(value -> hasCodes(value.getFromEntity(), value.getToEntity()))
+        .map(CompactRelationshipObject::of)
+        .collect(Collectors.toList());
+  }
+}
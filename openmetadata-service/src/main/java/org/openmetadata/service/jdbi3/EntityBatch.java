@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageObject;
+
+/**
+ * Buffers the writes made while creating entities in bulk. The json documents of the new entities, their relationships
+ * and their tag usages are written with multi-row inserts when the batch is flushed, instead of one insert per row. The
+ * tag usages and custom properties are written after the entities, so that nothing is left behind for the entities of a
+ * batch that fails to be written.
+ *
+ * <p>Writes made for an entity can be discarded when creating that entity fails, by marking the batch before creating
+ * the entity and resetting the batch to the mark on failure.
+ */
+final class EntityBatch {
+  /** Maximum number of rows written by a single insert statement */
+  static final int MAX_ROWS = 1000;
+
+  private final List<String> entities = new ArrayList<>();
+  private final List<EntityRelationshipObject> relationships = new ArrayList<>();
+  private final List<TagUsageObject> tagUsages = new ArrayList<>();
+  private final List<Extension> extensions = new ArrayList<>();
+  private int entityMark;
+  private int relationshipMark;
+  private int tagUsageMark;
+  private int extensionMark;
+
+  void addEntity(String json) {
+    entities.add(json);
+  }
+
+  void addRelationship(String fromId, String toId, String fromEntity, String toEntity, int relation, String json) {
+    relationships.add(
+        EntityRelationshipObject.builder()
+            .fromId(fromId)
+            .toId(toId)
+            .fromEntity(fromEntity)
+            .toEntity(toEntity)
+            .relation(relation)
+            .json(json)
+            .build());
+  }
+
+  void addTagUsages(List<TagUsageObject> rows) {
+    tagUsages.addAll(rows);
+  }
+
+  void addExtension(String id, String extension, String jsonSchema, String json) {
+    extensions.add(new Extension(id, extension, jsonSchema, json));
+  }
+
+  void mark() {
+    entityMark = entities.size();
+    relationshipMark = relationships.size();
+    tagUsageMark = tagUsages.size();
+    extensionMark = extensions.size();
+  }
+
+  void reset() {
+    entities.subList(entityMark, entities.size()).clear();
+    relationships.subList(relationshipMark, relationships.size()).clear();
+    tagUsages.subList(tagUsageMark, tagUsages.size()).clear();
+    extensions.subList(extensionMark, extensions.size()).clear();
+  }
+
+  int size() {
+    return entities.size();
+  }
+
+  /**
+   * Write the buffered entities followed by their relationships, tag usages and custom properties and clear the batch
+   */
+  void flush(EntityDAO<?> dao, CollectionDAO daoCollection) {
+    EntityRelationshipDAO relationshipDAO = daoCollection.relationshipDAO();
+    for (List<String> rows : Lists.partition(entities, MAX_ROWS)) {
+      dao.insertMany(rows);
+    }
+    // A relationship added more than once is written once with the json from the last addition. A multi-row upsert
+    // can't update the same row twice.
+    Map<String, EntityRelationshipObject> uniqueRelationships = new LinkedHashMap<>();
+    for (EntityRelationshipObject relationship : relationships) {
+      String key = relationship.getFromId() + relationship.getToId() + relationship.getRelation();
+      uniqueRelationships.remove(key);
+      uniqueRelationships.put(key, relationship);
+    }
+    for (List<EntityRelationshipObject> rows :
+        Lists.partition(new ArrayList<>(uniqueRelationships.values()), MAX_ROWS)) {
+      relationshipDAO.insertMany(rows);
+    }
+    if (!tagUsages.isEmpty()) {
+      daoCollection.tagUsageDAO().applyTags(tagUsages);
+    }
+    for (Extension extension : extensions) {
+      daoCollection
+          .entityExtensionDAO()
+          .insert(extension.getId(), extension.getExtension(), extension.getJsonSchema(), extension.getJson());
+    }
+    entities.clear();
+    relationships.clear();
+    tagUsages.clear();
+    extensions.clear();
+    mark();
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class Extension {
+    private final String id;
+    private final String extension;
+    private final String jsonSchema;
+    private final String json;
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.schema.util.EntitiesCount;
+import org.openmetadata.schema.util.ServicesCount;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityCount;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityCounterDAO;
+
+/**
+ * Counts of entities and of tag usages, which are maintained in entity_counter and tag_usage_counter as entities are
+ * created, deleted and restored and as tags are applied and removed, so that the counts are read without counting the
+ * rows of the entity tables and of tag_usage. Counts that drift, such as when a write fails after the count is updated,
+ * are corrected by periodically counting the rows again.
+ */
+@Slf4j
+public final class EntityCounters {
+  private static final String MYSQL_NOT_BOT =
+      "WHERE JSON_EXTRACT(json, '$.isBot') IS NULL OR JSON_EXTRACT(json, '$.isBot') = FALSE";
+  private static final String POSTGRES_NOT_BOT =
+      "WHERE json#>'{isBot}' IS NULL OR ((json#>'{isBot}')::boolean) = FALSE";
+  private static ScheduledExecutorService executor;
+
+  private EntityCounters() {}
+
+  public static EntitiesCount getEntitiesCount(EntityCounterDAO dao, Include include) {
+    Map<String, Long> counts = getCounts(dao, include);
+    return new EntitiesCount()
+        .withTableCount(count(counts, Entity.TABLE))
+        .withTopicCount(count(counts, Entity.TOPIC))
+        .withDashboardCount(count(counts, Entity.DASHBOARD))
+        .withPipelineCount(count(counts, Entity.PIPELINE))
+        .withMlmodelCount(count(counts, Entity.MLMODEL))
+        .withServicesCount(
+            count(
+                counts,
+                Entity.METADATA_SERVICE,
+                Entity.DATABASE_SERVICE,
+                Entity.MESSAGING_SERVICE,
+                Entity.DASHBOARD_SERVICE,
+                Entity.PIPELINE_SERVICE,
+                Entity.MLMODEL_SERVICE,
+                Entity.STORAGE_SERVICE))
+        .withUserCount(count(counts, Entity.USER))
+        .withTeamCount(count(counts, Entity.TEAM))
+        .withTestSuiteCount(count(counts, Entity.TEST_SUITE))
+        .withStorageContainerCount(count(counts, Entity.CONTAINER))
+        .withGlossaryCount(count(counts, Entity.GLOSSARY))
+        .withGlossaryTermCount(count(counts, Entity.GLOSSARY_TERM));
+  }
+
+  public static ServicesCount getServicesCount(EntityCounterDAO dao, Include include) {
+    Map<String, Long> counts = getCounts(dao, include);
+    return new ServicesCount()
+        .withDatabaseServiceCount(count(counts, Entity.DATABASE))
+        .withMessagingServiceCount(count(counts, Entity.MESSAGING_SERVICE))
+        .withDashboardServiceCount(count(counts, Entity.DASHBOARD_SERVICE))
+        .withPipelineServiceCount(count(counts, Entity.PIPELINE_SERVICE))
+        .withMlModelServiceCount(count(counts, Entity.MLMODEL_SERVICE))
+        .withStorageServiceCount(count(counts, Entity.STORAGE_SERVICE));
+  }
+
+  /** Count of the entities of each entity type that are included */
+  private static Map<String, Long> getCounts(EntityCounterDAO dao, Include include) {
+    Map<String, Long> counts = new HashMap<>();
+    for (EntityCount count : dao.listCounts()) {
+      if (include == Include.ALL || count.isDeleted() == (include == Include.DELETED)) {
+        counts.merge(count.getEntityType(), count.getCount(), Long::sum);
+      }
+    }
+    return counts;
+  }
+
+  private static int count(Map<String, Long> counts, String... entityTypes) {
+    long count = 0;
+    for (String entityType : entityTypes) {
+      count += counts.getOrDefault(entityType, 0L);
+    }
+    return (int) count;
+  }
+
+  /** Count the entities and the tag usages again and replace the counts */
+  public static void reconcile(CollectionDAO collectionDAO) {
+    EntityCounterDAO dao = collectionDAO.entityCounterDAO();
+    for (String entityType : Entity.getEntityList()) {
+      try {
+        EntityRepository<?> repository = Entity.getEntityRepository(entityType);
+        EntityDAO<?> entityDAO = repository.getDao();
+        String deleted = repository.supportsSoftDelete ? "deleted" : "FALSE";
+        boolean users = entityType.equals(Entity.USER);
+        String mysqlCond = users ? MYSQL_NOT_BOT : "";
+        String postgresCond = users ? POSTGRES_NOT_BOT : "";
+        dao.replaceCounts(
+            entityType, dao.countEntities(entityType, entityDAO.getTableName(), deleted, mysqlCond, postgresCond));
+      } catch (Exception ex) {
+        LOG.warn("Failed to count the {} entities", entityType, ex);
+      }
+    }
+    collectionDAO.tagUsageDAO().reconcileTagCounts();
+  }
+
+  /**
+   * To be called during application startup, once the entity repositories are registered, to count the entities in the
+   * background without delaying the startup, and to correct the counts periodically.
+   */
+  public static synchronized void start(CollectionDAO collectionDAO, int reconciliationIntervalMinutes) {
+    stop();
+    executor = Executors.newSingleThreadScheduledExecutor();
+    executor.scheduleWithFixedDelay(
+        () -> {
+          try {
+            reconcile(collectionDAO);
+          } catch (Exception ex) {
+            LOG.error("Failed to count the entities and the tag usages", ex);
+          }
+        },
+        0,
+        reconciliationIntervalMinutes,
+        TimeUnit.MINUTES);
+    LOG.info("Correcting the counts of the entities every {} minutes", reconciliationIntervalMinutes);
+  }
+
+  public static synchronized void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+}
@@ -14,17 +14,33 @@
 package org.openmetadata.service.jdbi3;
 
 import static org.openmetadata.service.exception.CatalogExceptionMessage.entityNotFound;
-import static org.openmetadata.service.jdbi3.ListFilter.escape;
-import static org.openmetadata.service.jdbi3.ListFilter.escapeApostrophe;
+import static org.openmetadata.service.jdbi3.ListFilter.escapeLike;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.SneakyThrows;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindBeanList;
+import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
@@ -34,13 +50,32 @@ import org.openmetadata.schema.type.Include;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQuery;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
+import org.openmetadata.service.util.EntityReferenceCache;
+import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
 
 public interface EntityDAO<T extends EntityInterface> {
   org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(EntityDAO.class);
 
+  /** Only the attributes of the entity needed for an entity reference are read, instead of the whole json */
+  String MYSQL_REFERENCE_COLUMNS =
+      "SELECT id, json ->> '$.name' AS name, json ->> '$.fullyQualifiedName' AS fullyQualifiedName, "
+          + "json ->> '$.displayName' AS displayName, json ->> '$.description' AS description, "
+          + "json ->> '$.deleted' AS deleted FROM <table> ";
+
+  // Key and value of an attribute in the projection of the entity json
+  String MYSQL_PROJECTION = "'%s', json -> '$.%s'";
+  String POSTGRES_PROJECTION = "'%s', json -> '%s'";
+  Pattern PROJECTION_FIELD = Pattern.compile("^[a-zA-Z][a-zA-Z0-9]*$");
+
+  String POSTGRES_REFERENCE_COLUMNS =
+      "SELECT id, json ->> 'name' AS name, json ->> 'fullyQualifiedName' AS fullyQualifiedName, "
+          + "json ->> 'displayName' AS displayName, json ->> 'description' AS description, "
+          + "json ->> 'deleted' AS deleted FROM <table> ";
+
   /** Methods that need to be overridden by interfaces extending this */
   String getTableName();
 
@@ -57,41 +92,111 @@ public interface EntityDAO<T extends EntityInterface> {
   @ConnectionAwareSqlUpdate(value = "INSERT INTO <table> (json) VALUES (:json :: jsonb)", connectionType = POSTGRES)
   void insert(@Define("table") String table, @Bind("json") String json);
 
+  @ConnectionAwareSqlUpdate(value = "INSERT INTO <table> (json) VALUES <values>", connectionType = MYSQL)
+  @ConnectionAwareSqlUpdate(
+      value = "INSERT INTO <table> (json) SELECT CAST(v.json AS jsonb) FROM (VALUES <values>) AS v(json)",
+      connectionType = POSTGRES)
+  void insertMany(
+      @Define("table") String table, @BindBeanList(value = "values", propertyNames = "json") List<EntityJson> values);
+
   @ConnectionAwareSqlUpdate(value = "UPDATE <table> SET  json = :json WHERE id = :id", connectionType = MYSQL)
   @ConnectionAwareSqlUpdate(
       value = "UPDATE <table> SET  json = (:json :: jsonb) WHERE id = :id",
       connectionType = POSTGRES)
   void update(@Define("table") String table, @Bind("id") String id, @Bind("json") String json);
 
-  default void updateFqn(String oldPrefix, String newPrefix) {
-    LOG.info("Updating FQN for {} from {} to {}", getTableName(), oldPrefix, newPrefix);
+  /** FQNs of at most limit descendants of the entity with the given FQN, which are renamed together in a chunk */
+  default List<String> listDescendantFqns(String fqn, int limit) {
     if (!getNameColumn().equals("fullyQualifiedName")) {
-      return;
+      return List.of();
     }
-    String mySqlUpdate =
-        String.format(
-            "UPDATE %s SET json = "
-                + "JSON_REPLACE(json, '$.fullyQualifiedName', REGEXP_REPLACE(fullyQualifiedName, '^%s\\.', '%s.')) "
-                + "WHERE fullyQualifiedName LIKE '%s.%%'",
-            getTableName(), escape(oldPrefix), escapeApostrophe(newPrefix), escape(oldPrefix));
-
-    String postgresUpdate =
-        String.format(
-            "UPDATE %s SET json = "
-                + "REPLACE(json::text, '\"fullyQualifiedName\": \"%s.', "
-                + "'\"fullyQualifiedName\": \"%s.')::jsonb "
-                + "WHERE fullyQualifiedName LIKE '%s.%%'",
-            getTableName(), escapeApostrophe(oldPrefix), escapeApostrophe(newPrefix), escape(oldPrefix));
-    updateFqnInternal(mySqlUpdate, postgresUpdate);
-  }
-
-  @ConnectionAwareSqlUpdate(value = "<mySqlUpdate>", connectionType = MYSQL)
-  @ConnectionAwareSqlUpdate(value = "<postgresUpdate>", connectionType = POSTGRES)
-  void updateFqnInternal(@Define("mySqlUpdate") String mySqlUpdate, @Define("postgresUpdate") String postgresUpdate);
+    return listDescendantFqns(getTableName(), escapeLike(fqn) + ".%", limit);
+  }
+
+  @SqlQuery("SELECT fullyQualifiedName FROM <table> WHERE fullyQualifiedName LIKE :prefix LIMIT :limit")
+  List<String> listDescendantFqns(
+      @Define("table") String table, @Bind("prefix") String prefix, @Bind("limit") int limit);
+
+  /** Replace the oldPrefix of the FQN of the given descendants with newPrefix, and return the number renamed */
+  default int updateFqnPrefix(String oldPrefix, String newPrefix, List<String> fqns) {
+    return updateFqnPrefix(getTableName(), oldPrefix, newPrefix, fqns);
+  }
+
+  @ConnectionAwareSqlUpdate(
+      value =
+          "UPDATE <table> SET json = JSON_REPLACE(json, '$.fullyQualifiedName', "
+              + "CONCAT(:newPrefix, SUBSTR(fullyQualifiedName, CHAR_LENGTH(:oldPrefix) + 1))) "
+              + "WHERE fullyQualifiedName IN (<fqns>)",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlUpdate(
+      value =
+          "UPDATE <table> SET json = jsonb_set(json, '{fullyQualifiedName}', "
+              + "to_jsonb(CONCAT(:newPrefix, SUBSTR(fullyQualifiedName, CHAR_LENGTH(:oldPrefix) + 1)))) "
+              + "WHERE fullyQualifiedName IN (<fqns>)",
+      connectionType = POSTGRES)
+  int updateFqnPrefix(
+      @Define("table") String table,
+      @Bind("oldPrefix") String oldPrefix,
+      @Bind("newPrefix") String newPrefix,
+      @BindList("fqns") List<String> fqns);
 
   @SqlQuery("SELECT json FROM <table> WHERE id = :id <cond>")
   String findById(@Define("table") String table, @Bind("id") String id, @Define("cond") String cond);
 
+  @ConnectionAwareSqlQuery(value = MYSQL_REFERENCE_COLUMNS + "WHERE id = :id <cond>", connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(value = POSTGRES_REFERENCE_COLUMNS + "WHERE id = :id <cond>", connectionType = POSTGRES)
+  @RegisterRowMapper(EntityReferenceMapper.class)
+  EntityReference findReferenceById(@Define("table") String table, @Bind("id") String id, @Define("cond") String cond);
+
+  @ConnectionAwareSqlQuery(value = MYSQL_REFERENCE_COLUMNS + "WHERE id IN (<ids>)", connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(value = POSTGRES_REFERENCE_COLUMNS + "WHERE id IN (<ids>)", connectionType = POSTGRES)
+  @RegisterRowMapper(EntityReferenceMapper.class)
+  List<EntityReference> findReferencesByIds(@Define("table") String table, @BindList("ids") List<String> ids);
+
+  @ConnectionAwareSqlQuery(
+      value = MYSQL_REFERENCE_COLUMNS + "WHERE <nameColumn> = :name <cond>",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(
+      value = POSTGRES_REFERENCE_COLUMNS + "WHERE <nameColumn> = :name <cond>",
+      connectionType = POSTGRES)
+  @RegisterRowMapper(EntityReferenceMapper.class)
+  EntityReference findReferenceByName(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @Bind("name") String name,
+      @Define("cond") String cond);
+
+  @ConnectionAwareSqlQuery(
+      value = "SELECT JSON_OBJECT(<mysqlFields>) FROM <table> WHERE id = :id <cond>",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(
+      value = "SELECT jsonb_build_object(<postgresFields>) FROM <table> WHERE id = :id <cond>",
+      connectionType = POSTGRES)
+  String findProjectionById(
+      @Define("table") String table,
+      @Define("mysqlFields") String mysqlFields,
+      @Define("postgresFields") String postgresFields,
+      @Bind("id") String id,
+      @Define("cond") String cond);
+
+  @ConnectionAwareSqlQuery(
+      value = "SELECT JSON_OBJECT(<mysqlFields>) FROM <table> WHERE <nameColumn> = :name <cond>",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(
+      value = "SELECT jsonb_build_object(<postgresFields>) FROM <table> WHERE <nameColumn> = :name <cond>",
+      connectionType = POSTGRES)
+  String findProjectionByName(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @Define("mysqlFields") String mysqlFields,
+      @Define("postgresFields") String postgresFields,
+      @Bind("name") String name,
+      @Define("cond") String cond);
+
+  @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> IN (<names>)")
+  List<String> findByNames(
+      @Define("table") String table, @Define("nameColumn") String nameColumn, @BindList("names") List<String> names);
+
   @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> = :name <cond>")
   String findByName(
       @Define("table") String table,
@@ -130,6 +235,45 @@ public interface EntityDAO<T extends EntityInterface> {
       @Bind("limit") int limit,
       @Bind("after") String after);
 
+  /** Rows after the name in the binary order of the name column, which is the same on MySQL and Postgres */
+  @ConnectionAwareSqlQuery(
+      value =
+          "SELECT json FROM <table> <cond> AND CAST(<nameColumn> AS BINARY) > CAST(:after AS BINARY) "
+              + "ORDER BY CAST(<nameColumn> AS BINARY) LIMIT :limit",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(
+      value =
+          "SELECT json FROM <table> <cond> AND <nameColumn> COLLATE \"C\" > :after "
+              + "ORDER BY <nameColumn> COLLATE \"C\" LIMIT :limit",
+      connectionType = POSTGRES)
+  List<String> listAfterInBinaryOrder(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @Define("cond") String cond,
+      @Bind("limit") int limit,
+      @Bind("after") String after);
+
+  /** Stream the rows instead of collecting them into a list, which the caller must close */
+  @SqlQuery("SELECT json FROM <table> <cond> AND " + "<nameColumn> > :after " + "ORDER BY <nameColumn>")
+  Stream<String> streamAfter(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @Define("cond") String cond,
+      @Bind("after") String after);
+
+  @SqlQuery(
+      "SELECT json FROM <table> WHERE updatedAt > :updatedAt OR (updatedAt = :updatedAt AND id > :id) "
+          + "ORDER BY updatedAt, id "
+          + "LIMIT :limit")
+  List<String> listUpdatedAfter(
+      @Define("table") String table,
+      @Bind("updatedAt") long updatedAt,
+      @Bind("id") String id,
+      @Bind("limit") int limit);
+
+  @SqlQuery("SELECT count(*) FROM <table> WHERE updatedAt >= :updatedAt")
+  int countUpdatedSince(@Define("table") String table, @Bind("updatedAt") long updatedAt);
+
   @SqlQuery("SELECT json FROM <table> <cond> AND " + "ORDER BY <nameColumn> " + "LIMIT :limit " + "OFFSET :offset")
   List<String> listAfter(
       @Define("table") String table,
@@ -152,12 +296,25 @@ public interface EntityDAO<T extends EntityInterface> {
     insert(getTableName(), JsonUtils.pojoToJson(entity));
   }
 
+  /** Insert the given entity json documents with a multi-row insert */
+  default void insertMany(List<String> jsons) {
+    if (!jsons.isEmpty()) {
+      insertMany(getTableName(), jsons.stream().map(EntityJson::new).collect(Collectors.toList()));
+    }
+  }
+
   default void update(UUID id, String json) {
     update(getTableName(), id.toString(), json);
+    invalidateReference(id);
   }
 
   default void update(EntityInterface entity) throws JsonProcessingException {
     update(getTableName(), entity.getId().toString(), JsonUtils.pojoToJson(entity));
+    invalidateReference(entity.getId());
+  }
+
+  default void invalidateReference(UUID id) {
+    EntityReferenceCache.getInstance().invalidate(Entity.getEntityTypeFromClass(getEntityClass()), id);
   }
 
   default String getCondition(Include include) {
@@ -206,25 +363,153 @@ public interface EntityDAO<T extends EntityInterface> {
   }
 
   default EntityReference findEntityReferenceById(UUID id) throws IOException {
-    return findEntityById(id).getEntityReference();
+    return findEntityReferenceById(id, Include.NON_DELETED);
   }
 
   default EntityReference findEntityReferenceByName(String fqn) {
-    return findEntityByName(fqn).getEntityReference();
+    return findEntityReferenceByName(fqn, Include.NON_DELETED);
   }
 
   default EntityReference findEntityReferenceById(UUID id, Include include) throws IOException {
-    return findEntityById(id, include).getEntityReference();
+    String entityType = Entity.getEntityTypeFromClass(getEntityClass());
+    EntityReference ref = EntityReferenceCache.getInstance().get(entityType, id);
+    if (ref == null) {
+      ref = findReferenceById(getTableName(), id.toString(), getCondition(Include.ALL));
+      if (ref == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, id));
+      }
+      ref.setType(entityType);
+      EntityReferenceCache.getInstance().put(ref);
+    }
+    if (!isIncluded(ref, include)) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, id));
+    }
+    return ref;
   }
 
   default EntityReference findEntityReferenceByName(String fqn, Include include) {
-    return findEntityByName(fqn, include).getEntityReference();
+    EntityReference ref = findReferenceByName(getTableName(), getNameColumn(), fqn, getCondition(include));
+    String entityType = Entity.getEntityTypeFromClass(getEntityClass());
+    if (ref == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, fqn));
+    }
+    return ref.withType(entityType);
+  }
+
+  /**
+   * Find the entity with only the given attributes set, along with the id. The attributes are extracted from the stored
+   * json by the database, so that large entities are not read and deserialized when only a few attributes are needed.
+   * Only the attributes stored in the json can be projected, and not the fields such as owner, followers, and tags that
+   * are stored as relationships.
+   */
+  default T findProjectionById(UUID id, List<String> fields, Include include) throws IOException {
+    String json =
+        findProjectionById(
+            getTableName(),
+            getProjection(fields, MYSQL_PROJECTION),
+            getProjection(fields, POSTGRES_PROJECTION),
+            id.toString(),
+            getCondition(include));
+    return jsonToEntity(json, id.toString());
+  }
+
+  /** Find the entity by name with only the given attributes set. See {@link #findProjectionById} */
+  default T findProjectionByName(String fqn, List<String> fields, Include include) throws IOException {
+    String json =
+        findProjectionByName(
+            getTableName(),
+            getNameColumn(),
+            getProjection(fields, MYSQL_PROJECTION),
+            getProjection(fields, POSTGRES_PROJECTION),
+            fqn,
+            getCondition(include));
+    return jsonToEntity(json, fqn);
+  }
+
+  /** Returns the list of key and value arguments of JSON_OBJECT or jsonb_build_object for the given attributes */
+  static String getProjection(List<String> fields, String format) {
+    StringBuilder projection = new StringBuilder(String.format(format, "id", "id"));
+    for (String field : fields) {
+      if (!PROJECTION_FIELD.matcher(field).matches()) {
+        throw new IllegalArgumentException(CatalogExceptionMessage.invalidField(field));
+      }
+      if (!field.equals("id")) {
+        projection.append(", ").append(String.format(format, field, field));
+      }
+    }
+    return projection.toString();
+  }
+
+  /** Find the references of the entities, including the deleted ones, in the order of the given ids */
+  default List<EntityReference> findEntityReferencesByIds(List<UUID> ids) {
+    String entityType = Entity.getEntityTypeFromClass(getEntityClass());
+    Map<UUID, EntityReference> refs = new HashMap<>();
+    List<String> missing = new ArrayList<>();
+    for (UUID id : ids) {
+      EntityReference ref = EntityReferenceCache.getInstance().get(entityType, id);
+      if (ref != null) {
+        refs.put(id, ref);
+      } else {
+        missing.add(id.toString());
+      }
+    }
+    if (!missing.isEmpty()) {
+      for (EntityReference ref : findReferencesByIds(getTableName(), missing)) {
+        ref.setType(entityType);
+        EntityReferenceCache.getInstance().put(ref);
+        refs.put(ref.getId(), ref);
+      }
+    }
+    List<EntityReference> result = new ArrayList<>(ids.size());
+    Set<UUID> added = new HashSet<>();
+    for (UUID id : ids) {
+      EntityReference ref = refs.get(id);
+      if (ref == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, id));
+      }
+      // Callers modify the references, an entity listed more than once gets its own copy
+      result.add(
+          added.add(id) ? ref : EntityUtil.copy(ref, new EntityReference()).withDescription(ref.getDescription()));
+    }
+    return result;
+  }
+
+  private boolean isIncluded(EntityReference ref, Include include) {
+    if (!supportsSoftDelete() || include == Include.ALL) {
+      return true;
+    }
+    boolean deleted = Boolean.TRUE.equals(ref.getDeleted());
+    return include == Include.DELETED ? deleted : !deleted;
+  }
+
+  class EntityReferenceMapper implements RowMapper<EntityReference> {
+    @Override
+    public EntityReference map(ResultSet r, StatementContext ctx) throws SQLException {
+      String name = r.getString("name");
+      String fqn = r.getString("fullyQualifiedName");
+      String deleted = r.getString("deleted");
+      return new EntityReference()
+          .withId(UUID.fromString(r.getString("id")))
+          .withName(name)
+          .withFullyQualifiedName(fqn == null ? name : fqn)
+          .withDisplayName(r.getString("displayName"))
+          .withDescription(r.getString("description"))
+          .withDeleted(deleted == null ? null : Boolean.valueOf(deleted));
+    }
   }
 
   default String findJsonById(UUID id, Include include) {
     return findById(getTableName(), id.toString(), getCondition(include));
   }
 
+  /** Find the entities, including the deleted ones, with the given fully qualified names in a single query */
+  default List<T> findEntitiesByNames(List<String> fqns) throws IOException {
+    if (fqns.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return JsonUtils.readObjects(findByNames(getTableName(), getNameColumn(), fqns), getEntityClass());
+  }
+
   default String findJsonByFqn(String fqn, Include include) {
     return findByName(getTableName(), getNameColumn(), fqn, getCondition(include));
   }
@@ -249,10 +534,31 @@ public interface EntityDAO<T extends EntityInterface> {
     return listAfter(getTableName(), getNameColumn(), filter.getCondition(), limit, after);
   }
 
+  default List<String> listAfterInBinaryOrder(ListFilter filter, int limit, String after) {
+    // Quoted name is stored in fullyQualifiedName column and not in the name column
+    after = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(after) : after;
+    return listAfterInBinaryOrder(getTableName(), getNameColumn(), filter.getCondition(), limit, after);
+  }
+
+  default Stream<String> streamAfter(ListFilter filter, String after) {
+    // Quoted name is stored in fullyQualifiedName column and not in the name column
+    after = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(after) : after;
+    return streamAfter(getTableName(), getNameColumn(), filter.getCondition(), after);
+  }
+
   default List<String> listAfter(ListFilter filter, int limit, int offset) {
     return listAfter(getTableName(), getNameColumn(), filter.getCondition(), limit, offset);
   }
 
+  /** Pagination in the order of updatedAt, with id to break ties, for entities updated after the cursor */
+  default List<String> listUpdatedAfter(long updatedAt, String id, int limit) {
+    return listUpdatedAfter(getTableName(), updatedAt, id, limit);
+  }
+
+  default int countUpdatedSince(long updatedAt) {
+    return countUpdatedSince(getTableName(), updatedAt);
+  }
+
   default void exists(UUID id) {
     if (!exists(getTableName(), id.toString())) {
       String entityType = Entity.getEntityTypeFromClass(getEntityClass());
@@ -269,10 +575,18 @@ public interface EntityDAO<T extends EntityInterface> {
 
   default int delete(String id) {
     int rowsDeleted = delete(getTableName(), id);
+    invalidateReference(UUID.fromString(id));
     if (rowsDeleted <= 0) {
       String entityType = Entity.getEntityTypeFromClass(getEntityClass());
       throw EntityNotFoundException.byMessage(entityNotFound(entityType, id));
     }
     return rowsDeleted;
   }
+
+  /** Entity json document bound as a row of a multi-row insert */
+  @Getter
+  @AllArgsConstructor
+  class EntityJson {
+    private final String json;
+  }
 }
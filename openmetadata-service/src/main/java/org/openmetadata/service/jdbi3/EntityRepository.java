@@ -45,10 +45,12 @@ import static org.openmetadata.service.util.EntityUtil.tagLabelMatch;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Lists;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.ValidationMessage;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -64,9 +66,12 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.json.JsonPatch;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -75,8 +80,6 @@ import org.openmetadata.common.utils.CommonUtil;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.api.VoteRequest;
 import org.openmetadata.schema.api.teams.CreateTeam;
-import org.openmetadata.schema.entity.classification.Tag;
-import org.openmetadata.schema.entity.data.GlossaryTerm;
 import org.openmetadata.schema.entity.data.Table;
 import org.openmetadata.schema.entity.teams.Team;
 import org.openmetadata.schema.entity.teams.User;
@@ -91,8 +94,8 @@ import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.ProviderType;
 import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.schema.type.TagLabel;
-import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.schema.type.Votes;
+import org.openmetadata.schema.type.api.BulkOperationResult;
 import org.openmetadata.schema.type.csv.CsvImportResult;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
@@ -103,12 +106,14 @@ import org.openmetadata.service.exception.UnhandledServerException;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.service.jdbi3.CollectionDAO.ExtensionRecord;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageObject;
 import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.security.policyevaluator.SubjectCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.LambdaExceptionUtil.ConsumerWithExceptions;
 import org.openmetadata.service.util.RestUtil;
 import org.openmetadata.service.util.RestUtil.DeleteResponse;
 import org.openmetadata.service.util.RestUtil.PatchResponse;
@@ -148,6 +153,9 @@ import org.openmetadata.service.util.ResultList;
  */
 @Slf4j
 public abstract class EntityRepository<T extends EntityInterface> {
+  /** Number of new entities written together by {@link #bulkCreateOrUpdate} */
+  public static final int BULK_BATCH_SIZE = 100;
+
   private final String collectionPath;
   private final Class<T> entityClass;
   @Getter protected final String entityType;
@@ -166,6 +174,9 @@ public abstract class EntityRepository<T extends EntityInterface> {
   /** Fields that can be updated during PUT operation */
   @Getter protected final Fields putFields;
 
+  /** Batch that buffers the writes of the thread creating entities in bulk. See {@link #bulkCreateOrUpdate} */
+  private final ThreadLocal<EntityBatch> entityBatch = new ThreadLocal<>();
+
   EntityRepository(
       String collectionPath,
       String entityType,
@@ -362,16 +373,37 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   @Transaction
   public final List<T> listAll(Fields fields, ListFilter filter) throws IOException {
-    // forward scrolling, if after == null then first page is being asked
-    List<String> jsons = dao.listAfter(filter, Integer.MAX_VALUE, "");
+    // Deserialize the entities as the rows are read, instead of first collecting the json of all the entities
     List<T> entities = new ArrayList<>();
-    for (String json : jsons) {
-      T entity = setFieldsInternal(JsonUtils.readValue(json, entityClass), fields);
-      entities.add(entity);
+    try (Stream<T> stream = JsonUtils.readValues(dao.streamAfter(filter, ""), entityClass)) {
+      Iterator<T> iterator = stream.iterator();
+      while (iterator.hasNext()) {
+        entities.add(setFieldsInternal(iterator.next(), fields));
+      }
     }
     return entities;
   }
 
+  /**
+   * Visit all the entities that match the filter in the binary order of the name column, which is the same on MySQL and
+   * Postgres. Entities are read a page at a time using the name column as a keyset cursor so that only one page of
+   * entities is held in memory at any time.
+   */
+  public final void forEachEntity(
+      Fields fields, ListFilter filter, int pageSize, ConsumerWithExceptions<T, IOException> consumer)
+      throws IOException {
+    String after = "";
+    List<String> jsons;
+    do {
+      jsons = dao.listAfterInBinaryOrder(filter, pageSize, after);
+      for (String json : jsons) {
+        T entity = setFieldsInternal(JsonUtils.readValue(json, entityClass), fields);
+        consumer.accept(entity);
+        after = entity.getFullyQualifiedName();
+      }
+    } while (jsons.size() == pageSize);
+  }
+
   @Transaction
   public ResultList<T> listAfter(UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String after)
       throws IOException {
@@ -400,6 +432,41 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  /**
+   * List entities updated at or after the given time in the order of updatedAt, used for incremental reindexing. The
+   * after cursor is made of updatedAt and id of the last entity in the page, since updatedAt is not unique.
+   */
+  public ResultList<T> listUpdatedSince(Fields fields, long updatedSince, int limitParam, String after)
+      throws IOException {
+    long afterUpdatedAt = updatedSince;
+    String afterId = ""; // Include all the entities updated exactly at updatedSince
+    if (after != null) {
+      String[] cursor = RestUtil.decodeCursor(after).split(",", 2);
+      afterUpdatedAt = Long.parseLong(cursor[0]);
+      afterId = cursor[1];
+    }
+    int total = dao.countUpdatedSince(updatedSince);
+    List<String> jsons = dao.listUpdatedAfter(afterUpdatedAt, afterId, limitParam + 1);
+
+    List<T> entities = new ArrayList<>();
+    List<String> errors = new ArrayList<>();
+    for (String json : jsons.subList(0, Math.min(jsons.size(), limitParam))) {
+      try {
+        entities.add(setFieldsInternal(JsonUtils.readValue(json, entityClass), fields));
+      } catch (Exception e) {
+        LOG.error("Failed in Set Fields for Entity with Json : {}", json);
+        errors.add(json);
+      }
+    }
+
+    String afterCursor = null;
+    if (jsons.size() > limitParam) { // If extra result exists, then next page exists - return after cursor
+      T last = JsonUtils.readValue(jsons.get(limitParam - 1), entityClass);
+      afterCursor = last.getUpdatedAt() + "," + last.getId();
+    }
+    return getResultList(entities, errors, null, afterCursor, total);
+  }
+
   @Transaction
   public ResultList<T> listAfterWithSkipFailure(
       UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String after) throws IOException {
@@ -548,6 +615,97 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return update(uriInfo, original, updated);
   }
 
+  /**
+   * Create or update a list of entities that are already prepared using {@link #prepareInternal(EntityInterface)}. The
+   * existing entities are read with a single query and updated one at a time. The new entities, their relationships and
+   * tag usages are written with multi-row inserts, in batches of {@link #BULK_BATCH_SIZE} entities. Hence {@link
+   * #storeRelationships(EntityInterface)} must not read back the entity being created.
+   *
+   * <p>The result of each entity is added to the given result. Failing to create or update an entity does not fail the
+   * other entities, except when writing a batch of new entities fails, which fails all the entities in that batch.
+   */
+  public final void bulkCreateOrUpdate(UriInfo uriInfo, List<T> entities, BulkOperationResult result)
+      throws IOException {
+    List<String> fqns = new ArrayList<>();
+    entities.forEach(entity -> fqns.add(entity.getFullyQualifiedName()));
+    Map<String, T> originals = new HashMap<>();
+    for (List<String> names : Lists.partition(fqns, EntityBatch.MAX_ROWS)) {
+      dao.findEntitiesByNames(names).forEach(original -> originals.put(original.getFullyQualifiedName(), original));
+    }
+
+    Set<String> processed = new HashSet<>();
+    List<T> created = new ArrayList<>();
+    for (T entity : entities) {
+      if (!processed.add(entity.getFullyQualifiedName())) {
+        RestUtil.addBulkFailure(
+            result, entity, Status.BAD_REQUEST, CatalogExceptionMessage.DUPLICATE_ENTITY_IN_REQUEST);
+        continue;
+      }
+      T original = originals.get(entity.getFullyQualifiedName());
+      if (original == null) {
+        created.add(entity);
+        continue;
+      }
+      try {
+        PutResponse<T> response = update(uriInfo, original, entity);
+        postUpdate(response.getEntity());
+        RestUtil.addBulkSuccess(result, response);
+      } catch (Exception e) {
+        RestUtil.addBulkFailure(result, entity, e);
+      }
+    }
+
+    for (List<T> batch : Lists.partition(created, BULK_BATCH_SIZE)) {
+      createNewEntities(uriInfo, batch, result);
+    }
+
+    int passed = listOrEmpty(result.getSuccessRequest()).size();
+    int failed = listOrEmpty(result.getFailedRequest()).size();
+    result
+        .withNumberOfRequestsProcessed(passed + failed)
+        .withNumberOfRequestsPassed(passed)
+        .withNumberOfRequestsFailed(failed)
+        .withStatus(
+            failed == 0
+                ? BulkOperationResult.Status.SUCCESS
+                : passed == 0 ? BulkOperationResult.Status.FAILURE : BulkOperationResult.Status.PARTIAL_SUCCESS);
+  }
+
+  private void createNewEntities(UriInfo uriInfo, List<T> entities, BulkOperationResult result) {
+    EntityBatch batch = new EntityBatch();
+    List<T> stored = new ArrayList<>();
+    entityBatch.set(batch);
+    try {
+      for (T entity : entities) {
+        batch.mark();
+        try {
+          createNewEntity(entity);
+          stored.add(entity);
+        } catch (Exception e) {
+          batch.reset(); // Discard the writes of the failed entity
+          RestUtil.addBulkFailure(result, entity, e);
+        }
+      }
+    } finally {
+      entityBatch.remove();
+    }
+
+    try {
+      batch.flush(dao, daoCollection);
+    } catch (Exception e) {
+      LOG.error("Failed to create a batch of {} {} entities", stored.size(), entityType, e);
+      stored.forEach(entity -> RestUtil.addBulkFailure(result, entity, e));
+      return;
+    }
+    addCounts(stored);
+    for (T entity : stored) {
+      LOG.info("Created {}:{}:{}", entityType, entity.getId(), entity.getFullyQualifiedName());
+      postCreate(entity);
+      RestUtil.addBulkSuccess(
+          result, new PutResponse<>(Status.CREATED, withHref(uriInfo, entity), RestUtil.ENTITY_CREATED));
+    }
+  }
+
   @SuppressWarnings("unused")
   protected void postCreate(T entity) {
     // Override to perform any operation required after creation.
@@ -728,6 +886,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
       updated.setDeleted(true);
       EntityUpdater updater = getUpdater(original, updated, Operation.SOFT_DELETE);
       updater.update();
+      moveCount(original, updated);
       changeType = RestUtil.ENTITY_SOFT_DELETED;
     } else {
       cleanup(updated);
@@ -803,6 +962,35 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
     // Finally, delete the entity
     dao.delete(id);
+    addCount(entityInterface, -1);
+  }
+
+  /** Entities for which this returns false are not counted in entity_counter, such as bots in the count of users */
+  protected boolean isCounted(T entity) {
+    return true;
+  }
+
+  /** Add {@code delta} to the count of the entities of this type with the deleted flag of the entity */
+  private void addCount(T entity, long delta) {
+    if (isCounted(entity)) {
+      daoCollection.entityCounterDAO().add(entityType, Boolean.TRUE.equals(entity.getDeleted()), delta);
+    }
+  }
+
+  /** Count the entities created together, with a single update of the count */
+  private void addCounts(List<T> entities) {
+    long count = entities.stream().filter(this::isCounted).count();
+    if (count > 0) {
+      daoCollection.entityCounterDAO().add(entityType, false, count);
+    }
+  }
+
+  /** Move the entity between the counts of the deleted and the non-deleted entities when it is deleted or restored */
+  private void moveCount(T original, T updated) {
+    if (Boolean.TRUE.equals(original.getDeleted()) != Boolean.TRUE.equals(updated.getDeleted())) {
+      addCount(original, -1);
+      addCount(updated, 1);
+    }
   }
 
   @Transaction
@@ -862,8 +1050,11 @@ public abstract class EntityRepository<T extends EntityInterface> {
     if (update) {
       dao.update(entity.getId(), JsonUtils.pojoToJson(entity));
       LOG.info("Updated {}:{}:{}", entityType, entity.getId(), entity.getFullyQualifiedName());
+    } else if (entityBatch.get() != null) {
+      entityBatch.get().addEntity(JsonUtils.pojoToJson(entity)); // Counted once the batch is written
     } else {
       dao.insert(entity);
+      addCount(entity, 1);
       LOG.info("Created {}:{}:{}", entityType, entity.getId(), entity.getFullyQualifiedName());
     }
 
@@ -920,6 +1111,11 @@ public abstract class EntityRepository<T extends EntityInterface> {
   private void storeCustomProperty(EntityInterface entity, String fieldName, JsonNode value)
       throws JsonProcessingException {
     String fieldFQN = TypeRegistry.getCustomPropertyFQN(entityType, fieldName);
+    EntityBatch batch = entityBatch.get();
+    if (batch != null) {
+      batch.addExtension(entity.getId().toString(), fieldFQN, "customFieldSchema", JsonUtils.pojoToJson(value));
+      return;
+    }
     daoCollection
         .entityExtensionDAO()
         .insert(entity.getId().toString(), fieldFQN, "customFieldSchema", JsonUtils.pojoToJson(value));
@@ -979,26 +1175,37 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   /** Apply tags {@code tagLabels} to the entity or field identified by {@code targetFQN} */
   public void applyTags(List<TagLabel> tagLabels, String targetFQN) {
-    for (TagLabel tagLabel : listOrEmpty(tagLabels)) {
-      if (tagLabel.getSource() == TagSource.CLASSIFICATION) {
-        Tag tag = daoCollection.tagDAO().findEntityByName(tagLabel.getTagFQN());
-        tagLabel.withDescription(tag.getDescription());
-        tagLabel.setSource(TagSource.CLASSIFICATION);
-      } else if (tagLabel.getSource() == TagLabel.TagSource.GLOSSARY) {
-        GlossaryTerm term = daoCollection.glossaryTermDAO().findEntityByName(tagLabel.getTagFQN(), NON_DELETED);
-        tagLabel.withDescription(term.getDescription());
-        tagLabel.setSource(TagLabel.TagSource.GLOSSARY);
-      }
+    List<TagUsageObject> tagUsages = new ArrayList<>();
+    addTagUsages(tagLabels, targetFQN, tagUsages);
+    applyTagUsages(tagUsages);
+  }
 
-      // Apply tagLabel to targetFQN that identifies an entity or field
-      daoCollection
-          .tagUsageDAO()
-          .applyTag(
-              tagLabel.getSource().ordinal(),
-              tagLabel.getTagFQN(),
-              targetFQN,
-              tagLabel.getLabelType().ordinal(),
-              tagLabel.getState().ordinal());
+  /** Write the tag usages, which are buffered until the entities are written when creating entities in bulk */
+  protected final void applyTagUsages(List<TagUsageObject> tagUsages) {
+    EntityBatch batch = entityBatch.get();
+    if (batch != null) {
+      batch.addTagUsages(tagUsages);
+      return;
+    }
+    daoCollection.tagUsageDAO().applyTags(tagUsages);
+  }
+
+  /**
+   * Add the tag usages for applying tags {@code tagLabels} to the entity or field identified by {@code targetFQN}. This
+   * is used for applying the tags of all the fields of an entity, such as columns, with a single batch of writes.
+   */
+  protected final void addTagUsages(List<TagLabel> tagLabels, String targetFQN, List<TagUsageObject> tagUsages) {
+    for (TagLabel tagLabel : listOrEmpty(tagLabels)) {
+      // Tags and glossary terms are looked up from the cache
+      tagLabel.withDescription(TagLabelCache.getInstance().getDescription(tagLabel));
+      tagUsages.add(
+          TagUsageObject.builder()
+              .source(tagLabel.getSource().ordinal())
+              .tagFQN(tagLabel.getTagFQN())
+              .targetFQN(targetFQN)
+              .labelType(tagLabel.getLabelType().ordinal())
+              .state(tagLabel.getState().ordinal())
+              .build());
     }
   }
 
@@ -1081,6 +1288,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
     updated.setUpdatedAt(System.currentTimeMillis());
     EntityUpdater updater = getUpdater(original, updated, Operation.PUT);
     updater.update();
+    moveCount(original, updated);
     String change = updater.fieldsChanged() ? RestUtil.ENTITY_UPDATED : RestUtil.ENTITY_NO_CHANGE;
     return new PutResponse<>(Status.OK, updated, change);
   }
@@ -1110,6 +1318,11 @@ public abstract class EntityRepository<T extends EntityInterface> {
       from = toId;
       to = fromId;
     }
+    EntityBatch batch = entityBatch.get();
+    if (batch != null) {
+      batch.addRelationship(from.toString(), to.toString(), fromEntity, toEntity, relationship.ordinal(), json);
+      return;
+    }
     daoCollection.relationshipDAO().insert(from, to, fromEntity, toEntity, relationship.ordinal(), json);
   }
 
@@ -1343,6 +1556,15 @@ public abstract class EntityRepository<T extends EntityInterface> {
     throw new IllegalArgumentException(csvNotSupported(entityType));
   }
 
+  /**
+   * Override this method to stream CSV records to the client as they are read instead of building the CSV in memory.
+   * Any validation must be done before returning, as errors during streaming can't change the response status.
+   */
+  public StreamingOutput exportToCsvStream(String name, String user) throws IOException {
+    String csv = exportToCsv(name, user);
+    return output -> output.write(csv.getBytes(StandardCharsets.UTF_8));
+  }
+
   /** Load CSV provided for bulk upload */
   public CsvImportResult importFromCsv(String name, String csv, boolean dryRun, String user) throws IOException {
     throw new IllegalArgumentException(csvNotSupported(entityType));
@@ -1417,12 +1639,17 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
       // Store the updated entity
       storeUpdate();
+      postStoreUpdate();
     }
 
     public void entitySpecificUpdate() throws IOException {
       // Default implementation. Override this to add any entity specific field updates
     }
 
+    protected void postStoreUpdate() throws IOException {
+      // Default implementation. Override this to act once the updated entity is stored, such as invalidating caches
+    }
+
     private void updateDescription() throws JsonProcessingException {
       if (operation.isPut() && !nullOrEmpty(original.getDescription()) && updatedByBot()) {
         // Revert change to non-empty description if it is being updated by a bot
@@ -1632,21 +1859,10 @@ public abstract class EntityRepository<T extends EntityInterface> {
         throws JsonProcessingException {
       origList = listOrEmpty(origList);
       updatedList = listOrEmpty(updatedList);
-      for (K stored : origList) {
-        // If an entry in the original list is not in updated list, then it is deleted during update
-        K u = updatedList.stream().filter(c -> typeMatch.test(c, stored)).findAny().orElse(null);
-        if (u == null) {
-          deletedItems.add(stored);
-        }
-      }
-
-      for (K U : updatedList) {
-        // If an entry in the updated list is not in original list, then it is added during update
-        K stored = origList.stream().filter(c -> typeMatch.test(c, U)).findAny().orElse(null);
-        if (stored == null) { // New entry added
-          addedItems.add(U);
-        }
-      }
+      // If an entry in the original list is not in updated list, then it is deleted during update
+      deletedItems.addAll(EntityUtil.findUnmatched(origList, updatedList, typeMatch));
+      // If an entry in the updated list is not in original list, then it is added during update
+      addedItems.addAll(EntityUtil.findUnmatched(updatedList, origList, typeMatch));
       if (!addedItems.isEmpty()) {
         fieldAdded(changeDescription, field, JsonUtils.pojoToJson(addedItems));
       }
@@ -1831,9 +2047,10 @@ public abstract class EntityRepository<T extends EntityInterface> {
       }
 
       // Carry forward the user generated metadata from existing columns to new columns
-      for (Column updated : updatedColumns) {
+      UnaryOperator<Column> storedColumns = EntityUtil.getMatcher(listOrEmpty(origColumns), columnMatch);
+      for (Column updated : listOrEmpty(updatedColumns)) {
         // Find stored column matching name, data type and ordinal position
-        Column stored = origColumns.stream().filter(c -> columnMatch.test(c, updated)).findAny().orElse(null);
+        Column stored = storedColumns.apply(updated);
         if (stored == null) { // New column added
           continue;
         }
@@ -0,0 +1,131 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.openmetadata.service.Entity;
+
+/**
+ * Small integer codes for entity types and binary form of entity ids used by the compact layout of entity
+ * relationships.
+ *
+ * <p>The code of an entity type is its position in {@link #ENTITY_TYPES} and is stored in the database, similar to how
+ * the ordinal of {@link org.openmetadata.schema.type.Relationship} is stored. New entity types must only be appended to
+ * the end of the list.
+ */
+public final class EntityTypeCode {
+  private static final List<String> ENTITY_TYPES =
+      List.of(
+          Entity.DATABASE_SERVICE,
+          Entity.MESSAGING_SERVICE,
+          Entity.DASHBOARD_SERVICE,
+          Entity.PIPELINE_SERVICE,
+          Entity.STORAGE_SERVICE,
+          Entity.MLMODEL_SERVICE,
+          Entity.METADATA_SERVICE,
+          Entity.TABLE,
+          Entity.DATABASE,
+          Entity.DATABASE_SCHEMA,
+          Entity.METRICS,
+          Entity.DASHBOARD,
+          Entity.PIPELINE,
+          Entity.CHART,
+          Entity.REPORT,
+          Entity.TOPIC,
+          Entity.MLMODEL,
+          Entity.CONTAINER,
+          Entity.BOT,
+          Entity.EVENT_SUBSCRIPTION,
+          Entity.THREAD,
+          Entity.QUERY,
+          Entity.GLOSSARY,
+          Entity.GLOSSARY_TERM,
+          Entity.TAG,
+          Entity.CLASSIFICATION,
+          Entity.TYPE,
+          Entity.TEST_DEFINITION,
+          Entity.TEST_CONNECTION_DEFINITION,
+          Entity.WORKFLOW,
+          Entity.TEST_SUITE,
+          Entity.KPI,
+          Entity.TEST_CASE,
+          Entity.WEB_ANALYTIC_EVENT,
+          Entity.DATA_INSIGHT_CHART,
+          Entity.DASHBOARD_DATA_MODEL,
+          Entity.POLICY,
+          Entity.ROLE,
+          Entity.USER,
+          Entity.TEAM,
+          Entity.INGESTION_PIPELINE);
+
+  private static final Map<String, Integer> CODES = new HashMap<>();
+
+  static {
+    for (int i = 0; i < ENTITY_TYPES.size(); i++) {
+      CODES.put(ENTITY_TYPES.get(i), i);
+    }
+  }
+
+  private EntityTypeCode() {}
+
+  public static List<String> getEntityTypes() {
+    return ENTITY_TYPES;
+  }
+
+  public static boolean hasCode(String entityType) {
+    return CODES.containsKey(entityType);
+  }
+
+  public static int getCode(String entityType) {
+    Integer code = CODES.get(entityType);
+    if (code == null) {
+      throw new IllegalArgumentException("No entity type code for entity type " + entityType);
+    }
+    return code;
+  }
+
+  public static String getEntityType(int code) {
+    if (code < 0 || code >= ENTITY_TYPES.size()) {
+      throw new IllegalArgumentException("Invalid entity type code " + code);
+    }
+    return ENTITY_TYPES.get(code);
+  }
+
+  /** SQL expression that maps the entity type names in the given column to their codes */
+  public static String getCodeExpression(String column) {
+    StringBuilder expression = new StringBuilder("CASE ").append(column);
+    for (int i = 0; i < ENTITY_TYPES.size(); i++) {
+      expression.append(" WHEN '").append(ENTITY_TYPES.get(i)).append("' THEN ").append(i);
+    }
+    return expression.append(" END").toString();
+  }
+
+  /** 16 byte big-endian form of the id. Binary ids sort in the same order as their string form. */
+  public static byte[] toBytes(String id) {
+    UUID uuid = UUID.fromString(id);
+    return ByteBuffer.allocate(16)
+        .putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits())
+        .array();
+  }
+
+  public static UUID toUUID(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+}
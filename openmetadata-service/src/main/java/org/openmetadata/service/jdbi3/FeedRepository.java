@@ -163,7 +163,7 @@ public class FeedRepository {
     }
 
     // Insert a new thread
-    dao.feedDAO().insert(JsonUtils.pojoToJson(thread));
+    dao.feedDAO().insert(thread.getId().toString(), JsonUtils.pojoToJson(thread), about);
 
     // Add relationship User -- created --> Thread relationship
     dao.relationshipDAO().insert(createdByUser.getId(), thread.getId(), Entity.USER, Entity.THREAD, CREATED.ordinal());
@@ -586,14 +586,7 @@ public class FeedRepository {
       result =
           // TODO fix this
           dao.feedDAO()
-              .listCountByEntityLink(
-                  null,
-                  Entity.THREAD,
-                  null,
-                  IS_ABOUT.ordinal(),
-                  filter.getThreadType(),
-                  filter.getTaskStatus(),
-                  filter.getResolved());
+              .listCountByEntityLink(null, null, filter.getThreadType(), filter.getTaskStatus(), filter.getResolved());
     } else {
       EntityLink entityLink = EntityLink.parse(link);
       EntityReference reference = EntityUtil.validateEntityLink(entityLink);
@@ -611,9 +604,7 @@ public class FeedRepository {
             dao.feedDAO()
                 .listCountByEntityLink(
                     entityLink.getFullyQualifiedFieldValue(),
-                    Entity.THREAD,
                     entityLink.getFullyQualifiedFieldType(),
-                    IS_ABOUT.ordinal(),
                     filter.getThreadType(),
                     filter.getTaskStatus(),
                     filter.getResolved());
@@ -665,12 +656,9 @@ public class FeedRepository {
           String userName = userId != null ? SubjectCache.getInstance().getUserById(userId).getName() : null;
           List<String> teamNames = getTeamNames(userId);
           List<String> jsons;
-          jsons =
-              dao.feedDAO()
-                  .listThreadsByEntityLink(filter, entityLink, limit + 1, IS_ABOUT.ordinal(), userName, teamNames);
+          jsons = dao.feedDAO().listThreadsByEntityLink(filter, entityLink, limit + 1, userName, teamNames);
           threads = JsonUtils.readObjects(jsons, Thread.class);
-          total =
-              dao.feedDAO().listCountThreadsByEntityLink(filter, entityLink, IS_ABOUT.ordinal(), userName, teamNames);
+          total = dao.feedDAO().listCountThreadsByEntityLink(filter, entityLink, userName, teamNames);
         }
       } else {
         // userId filter present
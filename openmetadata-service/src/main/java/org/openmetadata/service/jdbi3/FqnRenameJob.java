@@ -0,0 +1,54 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Rename of a glossary, glossary term, classification or tag, and of the descendants renamed so far */
+@Getter
+@Setter
+@NoArgsConstructor
+public class FqnRenameJob {
+  public enum Status {
+    RUNNING,
+    /** Claimed by a server resuming the interrupted rename */
+    RESUMING,
+    COMPLETED,
+    FAILED
+  }
+
+  private UUID id;
+  private String entityType;
+  private String oldFqn;
+  private String newFqn;
+  private Status status;
+  /** Number of descendants renamed */
+  private long renamed;
+
+  private long startedAt;
+  private long updatedAt;
+
+  public FqnRenameJob(String entityType, String oldFqn, String newFqn) {
+    this.id = UUID.randomUUID();
+    this.entityType = entityType;
+    this.oldFqn = oldFqn;
+    this.newFqn = newFqn;
+    this.status = Status.RUNNING;
+    this.startedAt = System.currentTimeMillis();
+    this.updatedAt = startedAt;
+  }
+}
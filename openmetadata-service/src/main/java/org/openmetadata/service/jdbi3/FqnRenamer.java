@@ -0,0 +1,178 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.type.TagLabel.TagSource;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.FqnRenameJobDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO;
+import org.openmetadata.service.util.EntityReferenceCache;
+
+/**
+ * Renames the descendants of a renamed glossary, glossary term, classification or tag, and the tag usages of the
+ * renamed entity and its descendants. The descendants are renamed in chunks, each with a set-based statement over the
+ * entity table and the tag usages, so that renaming a large glossary neither runs in a single long statement nor holds
+ * the locks on all the tag usages until it completes. The progress is recorded in {@code fqn_rename_job} after every
+ * chunk.
+ *
+ * <p>A chunk is the descendants that still have the old FQN, so that an interrupted rename is resumed by running it
+ * again. The tag usages of a chunk are renamed before the descendants, so that the usages of a chunk that is
+ * interrupted are renamed when the chunk is found again. The rename is started once the renamed entity is stored.
+ */
+@Slf4j
+public class FqnRenamer {
+  static final int CHUNK_SIZE = 500;
+
+  private final CollectionDAO daoCollection;
+  private final int chunkSize;
+
+  public FqnRenamer(CollectionDAO daoCollection) {
+    this(daoCollection, CHUNK_SIZE);
+  }
+
+  FqnRenamer(CollectionDAO daoCollection, int chunkSize) {
+    this.daoCollection = daoCollection;
+    this.chunkSize = chunkSize;
+  }
+
+  /** Rename the descendants and the tag usages of the entity of the given type renamed from oldFqn to newFqn */
+  public FqnRenameJob rename(String entityType, String oldFqn, String newFqn) {
+    FqnRenameJob job = new FqnRenameJob(entityType, oldFqn, newFqn);
+    daoCollection.fqnRenameJobDAO().insert(job);
+    run(job);
+    return job;
+  }
+
+  /**
+   * Complete the renames that were interrupted, such as by a restart of the server. A job is claimed by changing its
+   * status, so that a job is resumed by only one of the servers starting together. The descendants of an entity whose
+   * rename was not stored are renamed back to the old FQN and the job is marked as failed.
+   */
+  public void resumeIncomplete() {
+    FqnRenameJobDAO jobDAO = daoCollection.fqnRenameJobDAO();
+    for (FqnRenameJob job : jobDAO.listIncomplete()) {
+      if (!jobDAO.claim(job, FqnRenameJob.Status.RESUMING, System.currentTimeMillis())) {
+        LOG.info("Rename of {} {} is resumed by another server", job.getEntityType(), job.getOldFqn());
+        continue;
+      }
+      try {
+        EntityDAO<?> parentDAO = getParentDAO(job.getEntityType());
+        if (parentDAO.existsByName(parentDAO.getTableName(), parentDAO.getNameColumn(), job.getNewFqn())) {
+          LOG.info("Resuming rename of {} {} to {}", job.getEntityType(), job.getOldFqn(), job.getNewFqn());
+          run(job);
+        } else {
+          LOG.warn(
+              "Rolling back rename of {} {} to {} that was not stored",
+              job.getEntityType(),
+              job.getOldFqn(),
+              job.getNewFqn());
+          rollback(job);
+        }
+      } catch (Exception e) {
+        LOG.error("Failed to resume rename of {} {} to {}", job.getEntityType(), job.getOldFqn(), job.getNewFqn(), e);
+      }
+    }
+  }
+
+  private void run(FqnRenameJob job) {
+    try {
+      renameDescendants(job, job.getOldFqn(), job.getNewFqn());
+      job.setStatus(FqnRenameJob.Status.COMPLETED);
+    } catch (RuntimeException e) {
+      job.setStatus(FqnRenameJob.Status.FAILED);
+      throw e;
+    } finally {
+      job.setUpdatedAt(System.currentTimeMillis());
+      daoCollection.fqnRenameJobDAO().update(job);
+    }
+    LOG.info(
+        "Renamed {} {} to {} with {} descendants",
+        job.getEntityType(),
+        job.getOldFqn(),
+        job.getNewFqn(),
+        job.getRenamed());
+  }
+
+  /** Rename the descendants and the tag usages renamed so far back to the old FQN of the entity */
+  private void rollback(FqnRenameJob job) {
+    try {
+      job.setRenamed(0);
+      renameDescendants(job, job.getNewFqn(), job.getOldFqn());
+    } finally {
+      job.setStatus(FqnRenameJob.Status.FAILED);
+      job.setUpdatedAt(System.currentTimeMillis());
+      daoCollection.fqnRenameJobDAO().update(job);
+    }
+  }
+
+  private void renameDescendants(FqnRenameJob job, String fromFqn, String toFqn) {
+    String entityType = job.getEntityType();
+    EntityDAO<?> entityDAO = getEntityDAO(entityType);
+    int source = getTagSource(entityType).ordinal();
+    TagUsageDAO tagUsageDAO = daoCollection.tagUsageDAO();
+    try {
+      if (entityType.equals(Entity.TAG) || entityType.equals(Entity.GLOSSARY_TERM)) {
+        tagUsageDAO.renameTag(source, fromFqn, toFqn);
+      }
+      List<String> fqns;
+      while (!(fqns = entityDAO.listDescendantFqns(fromFqn, chunkSize)).isEmpty()) {
+        tagUsageDAO.updateTagPrefix(source, fromFqn, toFqn, fqns);
+        if (entityDAO.updateFqnPrefix(fromFqn, toFqn, fqns) == 0) {
+          throw new IllegalStateException(
+              String.format("Descendants of %s %s were not renamed to %s", entityType, fromFqn, toFqn));
+        }
+        job.setRenamed(job.getRenamed() + fqns.size());
+        job.setUpdatedAt(System.currentTimeMillis());
+        daoCollection.fqnRenameJobDAO().update(job);
+      }
+      // Rename the remaining usages of tags under the old FQN that are not in the entity table
+      tagUsageDAO.updateTagPrefix(source, fromFqn, toFqn);
+    } finally {
+      EntityReferenceCache.getInstance().invalidateAll(Entity.getEntityTypeFromClass(entityDAO.getEntityClass()));
+    }
+  }
+
+  /** DAO of the renamed entity, whose row has the new FQN once the rename is stored */
+  private EntityDAO<?> getParentDAO(String entityType) {
+    switch (entityType) {
+      case Entity.CLASSIFICATION:
+        return daoCollection.classificationDAO();
+      case Entity.GLOSSARY:
+        return daoCollection.glossaryDAO();
+      default:
+        return getEntityDAO(entityType);
+    }
+  }
+
+  private EntityDAO<?> getEntityDAO(String entityType) {
+    switch (entityType) {
+      case Entity.CLASSIFICATION:
+      case Entity.TAG:
+        return daoCollection.tagDAO();
+      case Entity.GLOSSARY:
+      case Entity.GLOSSARY_TERM:
+        return daoCollection.glossaryTermDAO();
+      default:
+        throw new IllegalArgumentException("Descendants of entity type " + entityType + " can not be renamed");
+    }
+  }
+
+  private static TagSource getTagSource(String entityType) {
+    return entityType.equals(Entity.GLOSSARY) || entityType.equals(Entity.GLOSSARY_TERM)
+        ? TagSource.GLOSSARY
+        : TagSource.CLASSIFICATION;
+  }
+}
@@ -25,18 +25,21 @@ import static org.openmetadata.csv.CsvUtil.addOwner;
 import static org.openmetadata.csv.CsvUtil.addTagLabels;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
+import javax.ws.rs.core.StreamingOutput;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import org.openmetadata.csv.CsvUtil;
 import org.openmetadata.csv.EntityCsv;
-import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.api.data.TermReference;
 import org.openmetadata.schema.entity.data.Glossary;
 import org.openmetadata.schema.entity.data.GlossaryTerm;
@@ -53,6 +56,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.resources.glossary.GlossaryResource;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
@@ -118,15 +122,21 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
     return new GlossaryUpdater(original, updated, operation);
   }
 
-  /** Export glossary as CSV */
+  /** Stream glossary terms as CSV, reading them a page at a time in the order of their fully qualified names */
   @Override
-  public String exportToCsv(String name, String user) throws IOException {
+  public StreamingOutput exportToCsvStream(String name, String user) throws IOException {
     Glossary glossary = getByName(null, name, Fields.EMPTY_FIELDS); // Validate glossary name
     GlossaryTermRepository repository = (GlossaryTermRepository) Entity.getEntityRepository(Entity.GLOSSARY_TERM);
     ListFilter filter = new ListFilter(Include.NON_DELETED).addQueryParam("parent", name);
-    List<GlossaryTerm> terms = repository.listAll(repository.getFields("owner,reviewers,tags,relatedTerms"), filter);
-    terms.sort(Comparator.comparing(EntityInterface::getFullyQualifiedName));
-    return new GlossaryCsv(glossary, user).exportCsv(terms);
+    Fields fields = repository.getFields("owner,reviewers,tags,relatedTerms");
+    GlossaryCsv glossaryCsv = new GlossaryCsv(glossary, user);
+    return output -> {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+      CSVPrinter printer = glossaryCsv.exportHeaders(writer);
+      repository.forEachEntity(
+          fields, filter, EntityCsv.EXPORT_PAGE_SIZE, term -> glossaryCsv.exportRecord(printer, term));
+      printer.flush();
+    };
   }
 
   /** Load CSV provided for bulk upload */
@@ -269,6 +279,15 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
       updateName(original, updated);
     }
 
+    @Override
+    protected void postStoreUpdate() {
+      if (!original.getName().equals(updated.getName())) {
+        // Rename the terms and their usages once the renamed glossary is stored
+        new FqnRenamer(daoCollection).rename(entityType, original.getName(), updated.getName());
+        TagLabelCache.getInstance().invalidateGlossaryTerm(original.getFullyQualifiedName());
+      }
+    }
+
     private void updateReviewers(Glossary origGlossary, Glossary updatedGlossary) throws JsonProcessingException {
       List<EntityReference> origUsers = listOrEmpty(origGlossary.getReviewers());
       List<EntityReference> updatedUsers = listOrEmpty(updatedGlossary.getReviewers());
@@ -290,10 +309,6 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
         }
         // Glossary name changed - update tag names starting from glossary and all the children tags
         LOG.info("Glossary name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.glossaryTermDAO().updateFqn(original.getName(), updated.getName());
-        daoCollection
-            .tagUsageDAO()
-            .updateTagPrefix(TagSource.GLOSSARY.ordinal(), original.getName(), updated.getName());
         recordChange("name", original.getName(), updated.getName());
       }
     }
@@ -46,6 +46,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.resources.glossary.GlossaryTermResource;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
@@ -201,6 +202,7 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
   protected void postDelete(GlossaryTerm entity) {
     // Cleanup all the tag labels using this glossary term
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.GLOSSARY.ordinal(), entity.getFullyQualifiedName());
+    TagLabelCache.getInstance().invalidateGlossaryTerm(entity.getFullyQualifiedName());
   }
 
   private void addGlossaryRelationship(GlossaryTerm term) {
@@ -265,6 +267,17 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
       updateParent(original, updated);
     }
 
+    @Override
+    protected void postStoreUpdate() {
+      String oldFqn = original.getFullyQualifiedName();
+      if (!oldFqn.equals(updated.getFullyQualifiedName())) {
+        // Rename the children and the tag usages once the renamed or moved term is stored
+        new FqnRenamer(daoCollection).rename(entityType, oldFqn, updated.getFullyQualifiedName());
+      }
+      // The term and its children are cached by the original FQNs, which no longer exist when the term is renamed
+      TagLabelCache.getInstance().invalidateGlossaryTerm(oldFqn);
+    }
+
     @Override
     protected void updateTags(String fqn, String fieldName, List<TagLabel> origTags, List<TagLabel> updatedTags)
         throws IOException {
@@ -333,10 +346,6 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
         }
         // Glossary term name changed - update the FQNs of the children terms to reflect this
         LOG.info("Glossary term name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.glossaryTermDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
-        daoCollection
-            .tagUsageDAO()
-            .rename(TagSource.GLOSSARY.ordinal(), original.getFullyQualifiedName(), updated.getFullyQualifiedName());
         recordChange("name", original.getName(), updated.getName());
       }
     }
@@ -351,10 +360,6 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
       UUID newGlossaryId = getId(updated.getGlossary());
       boolean glossaryChanged = !Objects.equals(oldGlossaryId, newGlossaryId);
 
-      daoCollection.glossaryTermDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
-      daoCollection
-          .tagUsageDAO()
-          .rename(TagSource.GLOSSARY.ordinal(), original.getFullyQualifiedName(), updated.getFullyQualifiedName());
       if (glossaryChanged) {
         updateGlossaryRelationship(original, updated);
         recordChange("glossary", original.getGlossary(), updated.getGlossary(), true, entityReferenceMatch);
@@ -15,7 +15,9 @@ package org.openmetadata.service.jdbi3;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
@@ -230,6 +232,20 @@ public class IngestionPipelineRepository extends EntityRepository<IngestionPipel
         PipelineStatus.class);
   }
 
+  /** Set the latest status of each of the pipelines, which are read with a single query */
+  public void setLatestPipelineStatuses(List<IngestionPipeline> ingestionPipelines) throws IOException {
+    List<String> fqns = new ArrayList<>(ingestionPipelines.size());
+    for (IngestionPipeline ingestionPipeline : ingestionPipelines) {
+      fqns.add(ingestionPipeline.getFullyQualifiedName());
+    }
+    Map<String, String> statuses =
+        daoCollection.entityExtensionTimeSeriesDao().getLatestExtensionByFQNs(fqns, PIPELINE_STATUS_JSON_SCHEMA);
+    for (IngestionPipeline ingestionPipeline : ingestionPipelines) {
+      ingestionPipeline.setPipelineStatuses(
+          JsonUtils.readValue(statuses.get(ingestionPipeline.getFullyQualifiedName()), PipelineStatus.class));
+    }
+  }
+
   public PipelineStatus getPipelineStatus(String ingestionPipelineFQN, UUID pipelineStatusRunId) throws IOException {
     IngestionPipeline ingestionPipeline = dao.findEntityByName(ingestionPipelineFQN);
     return JsonUtils.readValue(
@@ -35,6 +35,7 @@ import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
 
 public class LineageRepository {
+  private static final List<String> COLUMN_FIELDS = List.of("fullyQualifiedName", "columns");
   private final CollectionDAO dao;
 
   public LineageRepository(CollectionDAO dao) {
@@ -95,7 +96,7 @@ public class LineageRepository {
           "Column level lineage is only allowed between two tables or from table to dashboard.");
     }
 
-    Table fromTable = dao.tableDAO().findEntityById(from.getId());
+    Table fromTable = dao.tableDAO().findProjectionById(from.getId(), COLUMN_FIELDS, Include.NON_DELETED);
     ColumnsEntityInterface toTable = getToEntity(to);
     if (columnsLineage != null) {
       for (ColumnLineage columnLineage : columnsLineage) {
@@ -104,7 +105,8 @@ public class LineageRepository {
           if (fromColumn.startsWith(fromTable.getFullyQualifiedName())) {
             ColumnUtil.validateColumnFQN(fromTable.getColumns(), fromColumn);
           } else {
-            Table otherTable = dao.tableDAO().findEntityByName(FullyQualifiedName.getTableFQN(fromColumn));
+            String otherTableFqn = FullyQualifiedName.getTableFQN(fromColumn);
+            Table otherTable = dao.tableDAO().findProjectionByName(otherTableFqn, COLUMN_FIELDS, Include.NON_DELETED);
             ColumnUtil.validateColumnFQN(otherTable.getColumns(), fromColumn);
           }
         }
@@ -116,8 +118,8 @@ public class LineageRepository {
 
   private ColumnsEntityInterface getToEntity(EntityReference from) throws IOException {
     return from.getType().equals(Entity.TABLE)
-        ? dao.tableDAO().findEntityById(from.getId())
-        : dao.dashboardDataModelDAO().findEntityById(from.getId());
+        ? dao.tableDAO().findProjectionById(from.getId(), COLUMN_FIELDS, Include.NON_DELETED)
+        : dao.dashboardDataModelDAO().findProjectionById(from.getId(), COLUMN_FIELDS, Include.NON_DELETED);
   }
 
   private boolean areValidEntities(EntityReference from, EntityReference to) {
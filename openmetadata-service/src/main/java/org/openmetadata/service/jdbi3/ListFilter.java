@@ -205,4 +205,10 @@ public class ListFilter {
     // "_" is a wildcard and looks for any single character. Add "\\" in front of it to escape it
     return name.replaceAll("_", "\\\\_");
   }
+
+  public static String escapeLike(String name) {
+    // Escape string to be bound as the pattern of LIKE clause
+    // Backslash is the escape character, and "%" and "_" are the wildcards. Add a backslash in front of each of them
+    return name.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
 }
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.entity.data.Pipeline;
@@ -312,8 +313,9 @@ public class PipelineRepository extends EntityRepository<Pipeline> {
 
       boolean newTasks = false;
       // Update the task descriptions
+      UnaryOperator<Task> storedTasks = EntityUtil.getMatcher(origTasks, taskMatch);
       for (Task updatedTask : updatedTasks) {
-        Task storedTask = origTasks.stream().filter(c -> taskMatch.test(c, updatedTask)).findAny().orElse(null);
+        Task storedTask = storedTasks.apply(updatedTask);
         if (storedTask == null || updatedTask == null) { // New task added
           newTasks = true;
           continue;
@@ -13,7 +13,10 @@ import org.openmetadata.schema.settings.SettingsType;
 import org.openmetadata.schema.util.EntitiesCount;
 import org.openmetadata.schema.util.ServicesCount;
 import org.openmetadata.service.exception.CustomExceptionMessage;
+import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.fernet.Fernet;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityCounterDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.FqnRenameJobDAO;
 import org.openmetadata.service.jdbi3.CollectionDAO.SystemDAO;
 import org.openmetadata.service.resources.settings.SettingsCache;
 import org.openmetadata.service.util.JsonUtils;
@@ -25,17 +28,34 @@ public class SystemRepository {
   private static final String FAILED_TO_UPDATE_SETTINGS = "Failed to Update Settings";
   public static final String INTERNAL_SERVER_ERROR_WITH_REASON = "Internal Server Error. Reason :";
   private final SystemDAO dao;
+  private final EntityCounterDAO entityCounterDAO;
+  private final FqnRenameJobDAO fqnRenameJobDAO;
 
-  public SystemRepository(SystemDAO dao) {
+  public SystemRepository(SystemDAO dao, EntityCounterDAO entityCounterDAO, FqnRenameJobDAO fqnRenameJobDAO) {
     this.dao = dao;
+    this.entityCounterDAO = entityCounterDAO;
+    this.fqnRenameJobDAO = fqnRenameJobDAO;
   }
 
   public EntitiesCount getAllEntitiesCount(ListFilter filter) {
-    return dao.getAggregatedEntitiesCount(filter.getCondition());
+    return EntityCounters.getEntitiesCount(entityCounterDAO, filter.getInclude());
   }
 
   public ServicesCount getAllServicesCount(ListFilter filter) {
-    return dao.getAggregatedServicesCount(filter.getCondition());
+    return EntityCounters.getServicesCount(entityCounterDAO, filter.getInclude());
+  }
+
+  public ResultList<FqnRenameJob> listFqnRenames(int limit) {
+    List<FqnRenameJob> jobs = fqnRenameJobDAO.listLatest(limit);
+    return new ResultList<>(jobs, null, null, jobs.size());
+  }
+
+  public FqnRenameJob getFqnRename(String id) {
+    FqnRenameJob job = fqnRenameJobDAO.findById(id);
+    if (job == null) {
+      throw EntityNotFoundException.byMessage(String.format("Rename %s not found", id));
+    }
+    return job;
   }
 
   public ResultList<Settings> listAllConfigs() {
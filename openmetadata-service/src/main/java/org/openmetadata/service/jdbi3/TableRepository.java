@@ -117,7 +117,7 @@ public class TableRepository extends EntityRepository<Table> {
     table.setFollowers(fields.contains(FIELD_FOLLOWERS) ? getFollowers(table) : null);
     table.setUsageSummary(
         fields.contains("usageSummary") ? EntityUtil.getLatestUsage(daoCollection.usageDAO(), table.getId()) : null);
-    getColumnTags(fields.contains(FIELD_TAGS), table.getColumns());
+    getColumnTags(fields.contains(FIELD_TAGS), table);
     table.setJoins(fields.contains("joins") ? getJoins(table) : null);
     table.setViewDefinition(fields.contains("viewDefinition") ? table.getViewDefinition() : null);
     table.setTableProfilerConfig(fields.contains("tableProfilerConfig") ? getTableProfilerConfig(table) : null);
@@ -702,11 +702,17 @@ public class TableRepository extends EntityRepository<Table> {
   }
 
   private void applyTags(List<Column> columns) {
-    // Add column level tags by adding tag to column relationship
+    // Add column level tags by adding tag to column relationship. Tags of all the columns are written together.
+    List<CollectionDAO.TagUsageObject> tagUsages = new ArrayList<>();
+    addColumnTagUsages(columns, tagUsages);
+    applyTagUsages(tagUsages);
+  }
+
+  private void addColumnTagUsages(List<Column> columns, List<CollectionDAO.TagUsageObject> tagUsages) {
     for (Column column : columns) {
-      applyTags(column.getTags(), column.getFullyQualifiedName());
+      addTagUsages(column.getTags(), column.getFullyQualifiedName(), tagUsages);
       if (column.getChildren() != null) {
-        applyTags(column.getChildren());
+        addColumnTagUsages(column.getChildren(), tagUsages);
       }
     }
   }
@@ -733,10 +739,17 @@ public class TableRepository extends EntityRepository<Table> {
     return allTags;
   }
 
-  private void getColumnTags(boolean setTags, List<Column> columns) {
+  private void getColumnTags(boolean setTags, Table table) {
+    // Tags of all the columns are read with a single query
+    Map<String, List<TagLabel>> columnTags =
+        setTags ? daoCollection.tagUsageDAO().getTagsByPrefix(table.getFullyQualifiedName()) : null;
+    getColumnTags(columnTags, table.getColumns());
+  }
+
+  private void getColumnTags(Map<String, List<TagLabel>> columnTags, List<Column> columns) {
     for (Column c : listOrEmpty(columns)) {
-      c.setTags(setTags ? getTags(c.getFullyQualifiedName()) : null);
-      getColumnTags(setTags, c.getChildren());
+      c.setTags(columnTags != null ? columnTags.getOrDefault(c.getFullyQualifiedName(), new ArrayList<>()) : null);
+      getColumnTags(columnTags, c.getChildren());
     }
   }
 
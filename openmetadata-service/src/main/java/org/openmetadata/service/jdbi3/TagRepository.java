@@ -32,6 +32,7 @@ import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.resources.tags.TagResource;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
@@ -94,6 +95,7 @@ public class TagRepository extends EntityRepository<Tag> {
   protected void postDelete(Tag entity) {
     // Cleanup all the tag labels using this tag
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.CLASSIFICATION.ordinal(), entity.getFullyQualifiedName());
+    TagLabelCache.getInstance().invalidateTag(entity.getFullyQualifiedName());
   }
 
   @Override
@@ -163,6 +165,18 @@ public class TagRepository extends EntityRepository<Tag> {
       updateParent(original, updated);
     }
 
+    @Override
+    protected void postStoreUpdate() throws IOException {
+      String oldFqn = original.getFullyQualifiedName();
+      if (!oldFqn.equals(updated.getFullyQualifiedName())) {
+        // Rename the children and the tag usages once the renamed or moved tag is stored
+        new FqnRenamer(daoCollection).rename(entityType, oldFqn, updated.getFullyQualifiedName());
+        getChildren(updated);
+      }
+      // The tag and its children are cached by the original FQNs, which no longer exist when the tag is renamed
+      TagLabelCache.getInstance().invalidateTag(oldFqn);
+    }
+
     public void updateName(Tag original, Tag updated) throws IOException {
       if (!original.getName().equals(updated.getName())) {
         if (ProviderType.SYSTEM.equals(original.getProvider())) {
@@ -171,16 +185,8 @@ public class TagRepository extends EntityRepository<Tag> {
         }
         // Category name changed - update tag names starting from classification and all the children tags
         LOG.info("Tag name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.tagDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
-        daoCollection
-            .tagUsageDAO()
-            .rename(
-                TagSource.CLASSIFICATION.ordinal(), original.getFullyQualifiedName(), updated.getFullyQualifiedName());
         recordChange("name", original.getName(), updated.getName());
       }
-
-      // Populate response fields
-      getChildren(updated);
     }
 
     private void updateParent(Tag original, Tag updated) throws JsonProcessingException {
@@ -193,11 +199,6 @@ public class TagRepository extends EntityRepository<Tag> {
       UUID newCategoryId = getId(updated.getClassification());
       boolean ClassificationChanged = !Objects.equals(oldCategoryId, newCategoryId);
 
-      daoCollection.tagDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
-      daoCollection
-          .tagUsageDAO()
-          .rename(
-              TagSource.CLASSIFICATION.ordinal(), original.getFullyQualifiedName(), updated.getFullyQualifiedName());
       if (ClassificationChanged) {
         updateClassificationRelationship(original, updated);
         recordChange(
@@ -78,6 +78,9 @@ import org.openmetadata.service.util.ResultList;
 public class TeamRepository extends EntityRepository<Team> {
   static final String PARENTS_FIELD = "parents";
   static final String TEAM_UPDATE_FIELDS = "owner,profile,users,defaultRoles,parents,children,policies,teamType,email";
+  // Attributes of the team json read to validate the team hierarchy and to build the team references
+  static final List<String> TEAM_REFERENCE_FIELDS =
+      List.of("name", "fullyQualifiedName", "displayName", "description", "deleted", "teamType");
   static final String TEAM_PATCH_FIELDS = "owner,profile,users,defaultRoles,parents,children,policies,teamType,email";
   private static final String DEFAULT_ROLES = "defaultRoles";
   private Team organization = null;
@@ -199,13 +202,13 @@ public class TeamRepository extends EntityRepository<Team> {
 
   @Override
   public String exportToCsv(String parentTeam, String user) throws IOException {
-    Team team = getByName(null, parentTeam, Fields.EMPTY_FIELDS); // Validate team name
+    Team team = dao.findProjectionByName(parentTeam, List.of("name"), Include.NON_DELETED); // Validate team name
     return new TeamCsv(team, user).exportCsv();
   }
 
   @Override
   public CsvImportResult importFromCsv(String name, String csv, boolean dryRun, String user) throws IOException {
-    Team team = getByName(null, name, Fields.EMPTY_FIELDS); // Validate team name
+    Team team = dao.findProjectionByName(name, List.of("name"), Include.NON_DELETED); // Validate team name
     TeamCsv teamCsv = new TeamCsv(team, user);
     return teamCsv.importCsv(csv, dryRun);
   }
@@ -461,7 +464,8 @@ public class TeamRepository extends EntityRepository<Team> {
     List<Team> teams = new ArrayList<>();
     for (EntityReference teamRef : teamRefs) {
       try {
-        Team team = dao.findEntityById(teamRef.getId());
+        // Only the team type and the reference attributes are needed to validate the hierarchy
+        Team team = dao.findProjectionById(teamRef.getId(), TEAM_REFERENCE_FIELDS, Include.NON_DELETED);
         teams.add(team);
       } catch (EntityNotFoundException ex) {
         // Team was soft-deleted
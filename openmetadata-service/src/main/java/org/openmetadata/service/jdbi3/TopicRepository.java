@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.EntityInterface;
@@ -321,9 +322,10 @@ public class TopicRepository extends EntityRepository<Topic> {
       }
 
       // Carry forward the user generated metadata from existing fields to new fields
-      for (Field updated : updatedFields) {
+      UnaryOperator<Field> storedFields = EntityUtil.getMatcher(listOrEmpty(origFields), fieldMatch);
+      for (Field updated : listOrEmpty(updatedFields)) {
         // Find stored field matching name, data type and ordinal position
-        Field stored = origFields.stream().filter(c -> fieldMatch.test(c, updated)).findAny().orElse(null);
+        Field stored = storedFields.apply(updated);
         if (stored == null) { // New field added
           continue;
         }
@@ -98,6 +98,11 @@ public class UserRepository extends EntityRepository<User> {
         .withAuthenticationMechanism(original.getAuthenticationMechanism());
   }
 
+  @Override
+  protected boolean isCounted(User user) {
+    return !Boolean.TRUE.equals(user.getIsBot()); // Bots are not counted as users
+  }
+
   private List<EntityReference> getInheritedRoles(User user) throws IOException {
     if (Boolean.TRUE.equals(user.getIsBot())) {
       return null; // No inherited roles for bots
@@ -166,21 +171,22 @@ public class UserRepository extends EntityRepository<User> {
 
   @Override
   public String exportToCsv(String importingTeam, String user) throws IOException {
-    Team team = daoCollection.teamDAO().findEntityByName(importingTeam);
+    Team team = daoCollection.teamDAO().findProjectionByName(importingTeam, List.of("name"), Include.NON_DELETED);
     return new UserCsv(team, user).exportCsv();
   }
 
   @Override
   public CsvImportResult importFromCsv(String importingTeam, String csv, boolean dryRun, String user)
       throws IOException {
-    Team team = daoCollection.teamDAO().findEntityByName(importingTeam);
+    Team team = daoCollection.teamDAO().findProjectionByName(importingTeam, List.of("name"), Include.NON_DELETED);
     UserCsv userCsv = new UserCsv(team, user);
     return userCsv.importCsv(csv, dryRun);
   }
 
   public boolean isTeamJoinable(String teamId) throws IOException {
-    Team team = daoCollection.teamDAO().findEntityById(UUID.fromString(teamId), Include.NON_DELETED);
-    return team.getIsJoinable();
+    Team team =
+        daoCollection.teamDAO().findProjectionById(UUID.fromString(teamId), List.of("isJoinable"), Include.NON_DELETED);
+    return !Boolean.FALSE.equals(team.getIsJoinable()); // Attribute is absent from the projection when not stored
   }
 
   public void validateTeams(User user) throws IOException {
@@ -263,7 +269,7 @@ public class UserRepository extends EntityRepository<User> {
   private List<EntityReference> getGroupTeams(List<EntityReference> teams) throws IOException {
     Set<EntityReference> result = new HashSet<>();
     for (EntityReference t : teams) {
-      Team team = Entity.getEntity(t, "", Include.ALL);
+      Team team = daoCollection.teamDAO().findProjectionById(t.getId(), List.of("teamType"), Include.ALL);
       if (TeamType.GROUP.equals(team.getTeamType())) {
         result.add(t);
       } else {
@@ -10,6 +10,8 @@ import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.analytics.WebAnalyticEvent;
 import org.openmetadata.schema.analytics.WebAnalyticEventData;
 import org.openmetadata.schema.analytics.type.WebAnalyticEventType;
+import org.openmetadata.service.events.WebAnalyticEventBuffer;
+import org.openmetadata.service.jdbi3.CollectionDAO.ExtensionTimeSeriesObject;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.ResultList;
@@ -54,6 +56,20 @@ public class WebAnalyticEventRepository extends EntityRepository<WebAnalyticEven
   @Transaction
   public Response addWebAnalyticEventData(WebAnalyticEventData webAnalyticEventData) throws IOException {
     webAnalyticEventData.setEventId(UUID.randomUUID());
+    WebAnalyticEventBuffer buffer = WebAnalyticEventBuffer.getInstance();
+    if (buffer != null) {
+      ExtensionTimeSeriesObject event =
+          ExtensionTimeSeriesObject.builder()
+              .entityFQN(webAnalyticEventData.getEventType().value())
+              .extension(WEB_ANALYTICS_EVENT_DATA_EXTENSION)
+              .jsonSchema("webAnalyticEventData")
+              .json(JsonUtils.pojoToJson(webAnalyticEventData))
+              .build();
+      if (!buffer.add(event)) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS).build();
+      }
+      return Response.ok(webAnalyticEventData).build();
+    }
     daoCollection
         .entityExtensionTimeSeriesDao()
         .insert(
@@ -67,6 +83,7 @@ public class WebAnalyticEventRepository extends EntityRepository<WebAnalyticEven
 
   @Transaction
   public void deleteWebAnalyticEventData(WebAnalyticEventType name, Long timestamp) {
+    flushBufferedEvents();
     daoCollection
         .entityExtensionTimeSeriesDao()
         .deleteBeforeExclusive(name.value(), WEB_ANALYTICS_EVENT_DATA_EXTENSION, timestamp);
@@ -74,6 +91,7 @@ public class WebAnalyticEventRepository extends EntityRepository<WebAnalyticEven
 
   public ResultList<WebAnalyticEventData> getWebAnalyticEventData(String eventType, Long startTs, Long endTs)
       throws IOException {
+    flushBufferedEvents();
     List<WebAnalyticEventData> webAnalyticEventData;
     webAnalyticEventData =
         JsonUtils.readObjects(
@@ -85,4 +103,12 @@ public class WebAnalyticEventRepository extends EntityRepository<WebAnalyticEven
     return new ResultList<>(
         webAnalyticEventData, String.valueOf(startTs), String.valueOf(endTs), webAnalyticEventData.size());
   }
+
+  /** Write the buffered events so that the events that are already received are read and deleted */
+  private static void flushBufferedEvents() {
+    WebAnalyticEventBuffer buffer = WebAnalyticEventBuffer.getInstance();
+    if (buffer != null) {
+      buffer.flush();
+    }
+  }
 }
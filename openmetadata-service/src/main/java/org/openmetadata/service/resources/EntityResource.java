@@ -6,6 +6,7 @@ import static org.openmetadata.schema.type.MetadataOperation.VIEW_BASIC;
 import static org.openmetadata.service.util.EntityUtil.createOrUpdateOperation;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,8 +14,10 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
 import javax.json.JsonPatch;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +27,8 @@ import org.openmetadata.schema.type.EntityHistory;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.MetadataOperation;
+import org.openmetadata.schema.type.api.BulkOperationResult;
+import org.openmetadata.schema.type.api.BulkResponse;
 import org.openmetadata.schema.type.csv.CsvImportResult;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
@@ -45,6 +50,9 @@ import org.openmetadata.service.util.ResultList;
 
 @Slf4j
 public abstract class EntityResource<T extends EntityInterface, K extends EntityRepository<T>> {
+  /** Maximum number of entities in a bulk create or update request */
+  public static final int MAX_BULK_REQUESTS = 1000;
+
   protected final Class<T> entityClass;
   protected final String entityType;
   protected final List<String> allowedFields;
@@ -229,6 +237,37 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     return response.toResponse();
   }
 
+  /**
+   * Create or update a list of entities. Each entity is prepared and authorized the same way as {@link
+   * #createOrUpdate}, and the result of each entity is returned in {@link BulkOperationResult}.
+   */
+  public Response bulkCreateOrUpdateInternal(UriInfo uriInfo, SecurityContext securityContext, List<T> entities)
+      throws IOException {
+    if (entities.size() > MAX_BULK_REQUESTS) {
+      throw new IllegalArgumentException(
+          String.format("A bulk request can have at most %d entities, found %d", MAX_BULK_REQUESTS, entities.size()));
+    }
+    BulkOperationResult result =
+        new BulkOperationResult().withSuccessRequest(new ArrayList<>()).withFailedRequest(new ArrayList<>());
+    List<T> authorized = new ArrayList<>();
+    for (T entity : entities) {
+      try {
+        repository.prepareInternal(entity);
+        ResourceContext resourceContext = getResourceContextByName(entity.getFullyQualifiedName());
+        OperationContext operationContext = new OperationContext(entityType, createOrUpdateOperation(resourceContext));
+        authorizer.authorize(securityContext, operationContext, resourceContext);
+        authorized.add(entity);
+      } catch (Exception e) {
+        RestUtil.addBulkFailure(result, entity, e);
+      }
+    }
+    repository.bulkCreateOrUpdate(uriInfo, authorized, result);
+    for (BulkResponse response : result.getSuccessRequest()) {
+      addHref(uriInfo, entityClass.cast(response.getEntity()));
+    }
+    return Response.ok(result).build();
+  }
+
   public Response patchInternal(UriInfo uriInfo, SecurityContext securityContext, UUID id, JsonPatch patch)
       throws IOException {
     OperationContext operationContext = new OperationContext(entityType, patch);
@@ -269,10 +308,11 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     return response.toResponse();
   }
 
-  public String exportCsvInternal(SecurityContext securityContext, String name) throws IOException {
+  public Response exportCsvInternal(SecurityContext securityContext, String name) throws IOException {
     OperationContext operationContext = new OperationContext(entityType, MetadataOperation.VIEW_ALL);
     authorizer.authorize(securityContext, operationContext, getResourceContextByName(name));
-    return repository.exportToCsv(name, securityContext.getUserPrincipal().getName());
+    StreamingOutput csv = repository.exportToCsvStream(name, securityContext.getUserPrincipal().getName());
+    return Response.ok(csv, MediaType.TEXT_PLAIN_TYPE).build();
   }
 
   protected CsvImportResult importCsvInternal(SecurityContext securityContext, String name, String csv, boolean dryRun)
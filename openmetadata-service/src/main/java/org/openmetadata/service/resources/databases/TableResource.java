@@ -25,6 +25,7 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import javax.json.JsonPatch;
@@ -65,6 +66,7 @@ import org.openmetadata.schema.type.TableData;
 import org.openmetadata.schema.type.TableJoins;
 import org.openmetadata.schema.type.TableProfile;
 import org.openmetadata.schema.type.TableProfilerConfig;
+import org.openmetadata.schema.type.api.BulkOperationResult;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.ListFilter;
@@ -347,6 +349,33 @@ public class TableResource extends EntityResource<Table, TableRepository> {
     return createOrUpdate(uriInfo, securityContext, table);
   }
 
+  @PUT
+  @Path("/bulk")
+  @Operation(
+      operationId = "bulkCreateOrUpdateTables",
+      summary = "Create or update tables in bulk",
+      description =
+          "Create or update a list of tables. Each table is created if it does not exist, and updated if it exists. "
+              + "A failure to create or update a table does not fail the other tables in the request.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Result of creating or updating each of the tables",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationResult.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request")
+      })
+  public Response bulkCreateOrUpdate(
+      @Context UriInfo uriInfo, @Context SecurityContext securityContext, @Valid List<CreateTable> creates)
+      throws IOException {
+    String user = securityContext.getUserPrincipal().getName();
+    List<Table> tables = new ArrayList<>();
+    for (CreateTable create : creates) {
+      tables.add(getTable(create, user));
+    }
+    return bulkCreateOrUpdateInternal(uriInfo, securityContext, tables);
+  }
+
   @PATCH
   @Path("/{id}")
   @Operation(
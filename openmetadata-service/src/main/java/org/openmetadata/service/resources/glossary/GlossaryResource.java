@@ -408,9 +408,9 @@ public class GlossaryResource extends EntityResource<Glossary, GlossaryRepositor
         @ApiResponse(
             responseCode = "200",
             description = "Exported csv with glossary terms",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
+            content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class)))
       })
-  public String exportCsv(
+  public Response exportCsv(
       @Context SecurityContext securityContext,
       @Parameter(description = "Name of the glossary", schema = @Schema(type = "string")) @PathParam("name")
           String name)
@@ -16,7 +16,6 @@ package org.openmetadata.service.resources.settings;
 import static org.openmetadata.schema.settings.SettingsType.CUSTOM_LOGO_CONFIGURATION;
 import static org.openmetadata.schema.settings.SettingsType.EMAIL_CONFIGURATION;
 
-import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import java.util.concurrent.TimeUnit;
@@ -27,6 +26,8 @@ import org.openmetadata.schema.email.SmtpSettings;
 import org.openmetadata.schema.settings.Settings;
 import org.openmetadata.schema.settings.SettingsType;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.Caches;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.SystemRepository;
@@ -35,6 +36,7 @@ import org.openmetadata.service.util.JsonUtils;
 @Slf4j
 public class SettingsCache {
   private static final SettingsCache INSTANCE = new SettingsCache();
+  private static final String SETTINGS_CACHE_NAME = "settings";
   private static volatile boolean INITIALIZED = false;
   protected static LoadingCache<String, Settings> SETTINGS_CACHE;
   protected static SystemRepository systemRepository;
@@ -42,9 +44,9 @@ public class SettingsCache {
   // Expected to be called only once from the DefaultAuthorizer
   public static void initialize(CollectionDAO dao, OpenMetadataApplicationConfig config) {
     if (!INITIALIZED) {
-      SETTINGS_CACHE =
-          CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(3, TimeUnit.MINUTES).build(new SettingsLoader());
-      systemRepository = new SystemRepository(dao.systemDAO());
+      SETTINGS_CACHE = Caches.newCache(SETTINGS_CACHE_NAME, 1000, 3, TimeUnit.MINUTES, new SettingsLoader());
+      CacheInvalidator.register(SETTINGS_CACHE_NAME, SettingsCache::invalidateSettingsLocally);
+      systemRepository = new SystemRepository(dao.systemDAO(), dao.entityCounterDAO(), dao.fqnRenameJobDAO());
       INITIALIZED = true;
       createDefaultConfiguration(config);
     }
@@ -101,6 +103,11 @@ public class SettingsCache {
   }
 
   public void invalidateSettings(String settingsName) {
+    invalidateSettingsLocally(settingsName);
+    CacheInvalidator.publish(SETTINGS_CACHE_NAME, settingsName);
+  }
+
+  private static void invalidateSettingsLocally(String settingsName) {
     try {
       SETTINGS_CACHE.invalidate(settingsName);
     } catch (Exception ex) {
@@ -12,8 +12,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.io.IOException;
 import java.util.Objects;
+import java.util.UUID;
 import javax.json.JsonPatch;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
@@ -36,6 +39,7 @@ import org.openmetadata.schema.util.EntitiesCount;
 import org.openmetadata.schema.util.ServicesCount;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.FqnRenameJob;
 import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.jdbi3.SystemRepository;
 import org.openmetadata.service.resources.Collection;
@@ -57,7 +61,7 @@ public class SystemResource {
 
   public SystemResource(CollectionDAO dao, Authorizer authorizer) {
     Objects.requireNonNull(dao, "SystemRepository must not be null");
-    this.systemRepository = new SystemRepository(dao.systemDAO());
+    this.systemRepository = new SystemRepository(dao.systemDAO(), dao.entityCounterDAO(), dao.fqnRenameJobDAO());
     this.authorizer = authorizer;
   }
 
@@ -70,6 +74,10 @@ public class SystemResource {
     /* Required for serde */
   }
 
+  public static class FqnRenameJobList extends ResultList<FqnRenameJob> {
+    /* Required for serde */
+  }
+
   @GET
   @Path("/settings")
   @Operation(
@@ -223,4 +231,49 @@ public class SystemResource {
     ListFilter filter = new ListFilter(include);
     return systemRepository.getAllServicesCount(filter);
   }
+
+  @GET
+  @Path("/renames")
+  @Operation(
+      operationId = "listRenames",
+      summary = "List the latest renames",
+      description =
+          "Get the latest renames of glossaries, glossary terms, classifications and tags, with the number of "
+              + "descendants renamed so far.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "List of renames",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = FqnRenameJobList.class)))
+      })
+  public ResultList<FqnRenameJob> listRenames(
+      @Context UriInfo uriInfo,
+      @Parameter(description = "Limit the number of renames returned. (1 to 1000, default = 10)")
+          @DefaultValue("10")
+          @Min(1)
+          @Max(1000)
+          @QueryParam("limit")
+          int limit) {
+    return systemRepository.listFqnRenames(limit);
+  }
+
+  @GET
+  @Path("/renames/{id}")
+  @Operation(
+      operationId = "getRename",
+      summary = "Get a rename",
+      description = "Get the status of a rename and the number of descendants renamed so far.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rename",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = FqnRenameJob.class))),
+        @ApiResponse(responseCode = "404", description = "Rename for instance {id} is not found")
+      })
+  public FqnRenameJob getRename(
+      @Context UriInfo uriInfo,
+      @Parameter(description = "Id of the rename", schema = @Schema(type = "UUID")) @PathParam("id") UUID id) {
+    return systemRepository.getFqnRename(id.toString());
+  }
 }
@@ -13,7 +13,6 @@
 
 package org.openmetadata.service.resources.tags;
 
-import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
@@ -29,6 +28,8 @@ import org.openmetadata.schema.entity.data.GlossaryTerm;
 import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.Caches;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.ClassificationRepository;
@@ -44,6 +45,15 @@ import org.openmetadata.service.util.FullyQualifiedName;
 @Slf4j
 public class TagLabelCache {
   private static final TagLabelCache INSTANCE = new TagLabelCache();
+  private static final String TAG_CACHE_NAME = "tag";
+  private static final String GLOSSARY_TERM_CACHE_NAME = "glossaryTerm";
+  // Tags and glossary terms are looked up for every tag label read or applied. The caches are sized to hold the tags
+  // and glossary terms used across the catalog so that labeling an entity with many columns does not go to the
+  // database.
+  private static final int MAX_CLASSIFICATIONS = 1000;
+  private static final int MAX_TAGS = 10000;
+  private static final int MAX_GLOSSARIES = 1000;
+  private static final int MAX_GLOSSARY_TERMS = 10000;
   private static volatile boolean INITIALIZED = false;
 
   protected static TagRepository TAG_REPOSITORY;
@@ -60,22 +70,16 @@ public class TagLabelCache {
   public static void initialize() {
     if (!INITIALIZED) {
       CLASSIFICATION_CACHE =
-          CacheBuilder.newBuilder()
-              .maximumSize(25)
-              .expireAfterWrite(2, TimeUnit.MINUTES)
-              .build(new ClassificationLoader());
-      TAG_CACHE =
-          CacheBuilder.newBuilder().maximumSize(100).expireAfterWrite(2, TimeUnit.MINUTES).build(new TagLoader());
+          Caches.newCache("classification", MAX_CLASSIFICATIONS, 2, TimeUnit.MINUTES, new ClassificationLoader());
+      TAG_CACHE = Caches.newCache(TAG_CACHE_NAME, MAX_TAGS, 2, TimeUnit.MINUTES, new TagLoader());
+      CacheInvalidator.register(TAG_CACHE_NAME, TagLabelCache::invalidateTagLocally);
       TAG_REPOSITORY = (TagRepository) Entity.getEntityRepository(Entity.TAG);
       TAG_CLASSIFICATION_REPOSITORY = (ClassificationRepository) Entity.getEntityRepository(Entity.CLASSIFICATION);
 
-      GLOSSARY_CACHE =
-          CacheBuilder.newBuilder().maximumSize(25).expireAfterWrite(2, TimeUnit.MINUTES).build(new GlossaryLoader());
+      GLOSSARY_CACHE = Caches.newCache("glossary", MAX_GLOSSARIES, 2, TimeUnit.MINUTES, new GlossaryLoader());
       GLOSSARY_TERM_CACHE =
-          CacheBuilder.newBuilder()
-              .maximumSize(100)
-              .expireAfterWrite(2, TimeUnit.MINUTES)
-              .build(new GlossaryTermLoader());
+          Caches.newCache(GLOSSARY_TERM_CACHE_NAME, MAX_GLOSSARY_TERMS, 2, TimeUnit.MINUTES, new GlossaryTermLoader());
+      CacheInvalidator.register(GLOSSARY_TERM_CACHE_NAME, TagLabelCache::invalidateGlossaryTermLocally);
       GLOSSARY_TERM_REPOSITORY = (GlossaryTermRepository) Entity.getEntityRepository(Entity.GLOSSARY_TERM);
       GLOSSARY_REPOSITORY = (GlossaryRepository) Entity.getEntityRepository(Entity.GLOSSARY);
       INITIALIZED = true;
@@ -96,6 +100,35 @@ public class TagLabelCache {
     INITIALIZED = false;
   }
 
+  /** Remove the cached tag and the tags under it so that the next look up reads the updated tags */
+  public void invalidateTag(String tagFqn) {
+    invalidateTagLocally(tagFqn);
+    CacheInvalidator.publish(TAG_CACHE_NAME, tagFqn);
+  }
+
+  /** Remove the cached glossary term and the terms under it so that the next look up reads the updated terms */
+  public void invalidateGlossaryTerm(String glossaryTermFqn) {
+    invalidateGlossaryTermLocally(glossaryTermFqn);
+    CacheInvalidator.publish(GLOSSARY_TERM_CACHE_NAME, glossaryTermFqn);
+  }
+
+  private static void invalidateTagLocally(String tagFqn) {
+    invalidateWithDescendants(TAG_CACHE, tagFqn);
+  }
+
+  private static void invalidateGlossaryTermLocally(String glossaryTermFqn) {
+    invalidateWithDescendants(GLOSSARY_TERM_CACHE, glossaryTermFqn);
+  }
+
+  /** Descendants are cached by FQNs that start with the FQN of the renamed, moved or deleted tag or glossary term */
+  private static void invalidateWithDescendants(LoadingCache<String, ?> cache, String fqn) {
+    if (cache != null) {
+      String prefix = fqn + Entity.SEPARATOR;
+      cache.invalidate(fqn);
+      cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+  }
+
   public Classification getClassification(String classificationName) {
     try {
       return CLASSIFICATION_CACHE.get(classificationName);
@@ -474,9 +474,10 @@ public class TeamResource extends EntityResource<Team, TeamRepository> {
         @ApiResponse(
             responseCode = "200",
             description = "Exported csv with teams information",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
+            content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class)))
       })
-  public String exportCsv(@Context SecurityContext securityContext, @PathParam("name") String name) throws IOException {
+  public Response exportCsv(@Context SecurityContext securityContext, @PathParam("name") String name)
+      throws IOException {
     return exportCsvInternal(securityContext, name);
   }
 
@@ -25,7 +25,6 @@ import static org.openmetadata.service.exception.CatalogExceptionMessage.EMAIL_S
 import static org.openmetadata.service.jdbi3.UserRepository.AUTH_MECHANISM_FIELD;
 import static org.openmetadata.service.security.jwt.JWTTokenGenerator.getExpiryDate;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
 import freemarker.template.TemplateException;
 import io.dropwizard.jersey.PATCH;
 import io.dropwizard.jersey.errors.ErrorMessage;
@@ -125,6 +124,7 @@ import org.openmetadata.service.security.AuthorizationException;
 import org.openmetadata.service.security.Authorizer;
 import org.openmetadata.service.security.auth.AuthenticatorHandler;
 import org.openmetadata.service.security.auth.BotTokenCache;
+import org.openmetadata.service.security.auth.PasswordHasher;
 import org.openmetadata.service.security.auth.UserTokenCache;
 import org.openmetadata.service.security.jwt.JWTTokenGenerator;
 import org.openmetadata.service.security.policyevaluator.OperationContext;
@@ -1176,9 +1176,9 @@ public class UserResource extends EntityResource<User, UserRepository> {
         @ApiResponse(
             responseCode = "200",
             description = "Exported csv with user information",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class)))
+            content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class)))
       })
-  public String exportUsersCsv(
+  public Response exportUsersCsv(
       @Context SecurityContext securityContext,
       @Parameter(
               description = "Name of the team to under which the users are imported to",
@@ -1364,7 +1364,7 @@ public class UserResource extends EntityResource<User, UserRepository> {
       throw new IllegalArgumentException("Password and Confirm Password should be same.");
     }
     PasswordUtil.validatePassword(create.getPassword());
-    String newHashedPwd = BCrypt.withDefaults().hashToString(12, create.getPassword().toCharArray());
+    String newHashedPwd = PasswordHasher.getInstance().hash(create.getPassword());
     BasicAuthMechanism newAuthForUser = new BasicAuthMechanism().withPassword(newHashedPwd);
     user.setAuthenticationMechanism(new AuthenticationMechanism().withAuthType(BASIC).withConfig(newAuthForUser));
   }
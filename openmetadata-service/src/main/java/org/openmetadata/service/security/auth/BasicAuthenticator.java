@@ -30,7 +30,6 @@ import static org.openmetadata.service.exception.CatalogExceptionMessage.SELF_SI
 import static org.openmetadata.service.exception.CatalogExceptionMessage.TOKEN_EXPIRY_ERROR;
 import static org.openmetadata.service.resources.teams.UserResource.USER_PROTECTED_FIELDS;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import freemarker.template.TemplateException;
 import java.io.IOException;
@@ -81,11 +80,10 @@ import org.openmetadata.service.util.TokenUtil;
 
 @Slf4j
 public class BasicAuthenticator implements AuthenticatorHandler {
-  // No of cycles to perform hashing, increasing too much slows the algorithm
-  private static final int HASHING_COST = 12;
   private UserRepository userRepository;
   private TokenRepository tokenRepository;
   private LoginAttemptCache loginAttemptCache;
+  private LoginRateLimiter loginRateLimiter;
   private AuthorizerConfiguration authorizerConfiguration;
   private LoginConfiguration loginConfiguration;
   private boolean isEmailServiceEnabled;
@@ -97,6 +95,7 @@ public class BasicAuthenticator implements AuthenticatorHandler {
     this.tokenRepository = new TokenRepository(jdbi.onDemand(CollectionDAO.class));
     this.authorizerConfiguration = config.getAuthorizerConfiguration();
     this.loginAttemptCache = new LoginAttemptCache(config);
+    this.loginRateLimiter = new LoginRateLimiter(config.getPasswordVerification().getMaxFailedLoginsPerUserPerMinute());
     SmtpSettings smtpSettings = config.getSmtpSettings();
     this.isEmailServiceEnabled = smtpSettings != null && smtpSettings.getEnableSmtpServer();
     this.isSelfSignUpAvailable = config.getAuthenticationConfiguration().getEnableSelfSignup();
@@ -224,7 +223,7 @@ public class BasicAuthenticator implements AuthenticatorHandler {
     }
     PasswordUtil.validatePassword(request.getPassword());
 
-    String newHashedPwd = BCrypt.withDefaults().hashToString(HASHING_COST, request.getPassword().toCharArray());
+    String newHashedPwd = PasswordHasher.getInstance().hash(request.getPassword());
     BasicAuthMechanism newAuthForUser = new BasicAuthMechanism().withPassword(newHashedPwd);
 
     storedUser.setAuthenticationMechanism(new AuthenticationMechanism().withAuthType(BASIC).withConfig(newAuthForUser));
@@ -267,10 +266,10 @@ public class BasicAuthenticator implements AuthenticatorHandler {
         JsonUtils.convertValue(storedUser.getAuthenticationMechanism().getConfig(), BasicAuthMechanism.class);
 
     String storedHashPassword = storedBasicAuthMechanism.getPassword();
-    String newHashedPassword = BCrypt.withDefaults().hashToString(HASHING_COST, request.getNewPassword().toCharArray());
+    String newHashedPassword = PasswordHasher.getInstance().hash(request.getNewPassword());
 
     if (request.getRequestType() == SELF
-        && !BCrypt.verifyer().verify(request.getOldPassword().toCharArray(), storedHashPassword).verified) {
+        && !PasswordHasher.getInstance().verify(request.getOldPassword(), storedHashPassword).isVerified()) {
       throw new CustomExceptionMessage(UNAUTHORIZED, "Old Password is not correct");
     }
 
@@ -394,7 +393,7 @@ public class BasicAuthenticator implements AuthenticatorHandler {
 
   private User getUserFromRegistrationRequest(RegistrationRequest create) {
     String username = create.getEmail().split("@")[0];
-    String hashedPwd = BCrypt.withDefaults().hashToString(HASHING_COST, create.getPassword().toCharArray());
+    String hashedPwd = PasswordHasher.getInstance().hash(create.getPassword());
 
     BasicAuthMechanism newAuthMechanism = new BasicAuthMechanism().withPassword(hashedPwd);
     return new User()
@@ -424,6 +423,7 @@ public class BasicAuthenticator implements AuthenticatorHandler {
   public JwtResponse loginUser(LoginRequest loginRequest) throws IOException, TemplateException {
     String userName =
         loginRequest.getEmail().contains("@") ? loginRequest.getEmail().split("@")[0] : loginRequest.getEmail();
+    loginRateLimiter.checkAllowed(userName);
     checkIfLoginBlocked(userName);
     User storedUser = lookUserInProvider(userName);
     validatePassword(storedUser, loginRequest.getPassword());
@@ -462,11 +462,34 @@ public class BasicAuthenticator implements AuthenticatorHandler {
     LinkedHashMap<String, String> storedData =
         (LinkedHashMap<String, String>) storedUser.getAuthenticationMechanism().getConfig();
     String storedHashPassword = storedData.get("password");
-    if (!BCrypt.verifyer().verify(reqPassword.toCharArray(), storedHashPassword).verified) {
+    PasswordHasher.Verification verification = PasswordHasher.getInstance().verify(reqPassword, storedHashPassword);
+    if (!verification.isVerified()) {
       // record Failed Login Attempts
+      loginRateLimiter.recordFailedLogin(storedUser.getName());
       recordFailedLoginAttempt(storedUser);
       throw new AuthenticationException(INVALID_USERNAME_PASSWORD);
     }
+    if (verification.getRehashedPassword() != null) {
+      storeRehashedPassword(storedUser, storedHashPassword, verification.getRehashedPassword());
+    }
+  }
+
+  /**
+   * Replace the hash of the password with the hash of the configured cost, unless the password was changed since it was
+   * verified. The user is updated without a new version, as the password is the same.
+   */
+  private void storeRehashedPassword(User storedUser, String verifiedHash, String rehashedPassword) {
+    try {
+      User user = userRepository.getDao().findEntityById(storedUser.getId());
+      BasicAuthMechanism authMechanism =
+          JsonUtils.convertValue(user.getAuthenticationMechanism().getConfig(), BasicAuthMechanism.class);
+      if (verifiedHash.equals(authMechanism.getPassword())) {
+        user.getAuthenticationMechanism().setConfig(authMechanism.withPassword(rehashedPassword));
+        userRepository.getDao().update(user);
+      }
+    } catch (Exception e) {
+      LOG.warn("Failed to store the password of user {} hashed with the configured cost", storedUser.getName(), e);
+    }
   }
 
   @Override
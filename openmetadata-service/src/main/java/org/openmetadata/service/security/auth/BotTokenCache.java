@@ -2,7 +2,6 @@ package org.openmetadata.service.security.auth;
 
 import static org.openmetadata.schema.type.Include.NON_DELETED;
 
-import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
@@ -16,6 +15,8 @@ import org.openmetadata.schema.auth.JWTAuthMechanism;
 import org.openmetadata.schema.entity.teams.AuthenticationMechanism;
 import org.openmetadata.schema.entity.teams.User;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.Caches;
 import org.openmetadata.service.jdbi3.UserRepository;
 import org.openmetadata.service.resources.teams.UserResource;
 import org.openmetadata.service.util.EntityUtil;
@@ -24,12 +25,13 @@ import org.openmetadata.service.util.JsonUtils;
 @Slf4j
 public class BotTokenCache {
   public static final String EMPTY_STRING = "";
+  private static final String BOT_TOKEN_CACHE_NAME = "botToken";
   private static BotTokenCache INSTANCE;
   private final LoadingCache<String, String> BOTS_TOKEN_CACHE;
 
   public BotTokenCache() {
-    BOTS_TOKEN_CACHE =
-        CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(2, TimeUnit.MINUTES).build(new BotTokenLoader());
+    BOTS_TOKEN_CACHE = Caches.newCache(BOT_TOKEN_CACHE_NAME, 1000, 2, TimeUnit.MINUTES, new BotTokenLoader());
+    CacheInvalidator.register(BOT_TOKEN_CACHE_NAME, this::invalidateTokenLocally);
   }
 
   public String getToken(String botName) {
@@ -44,6 +46,11 @@ public class BotTokenCache {
   }
 
   public void invalidateToken(String botName) {
+    invalidateTokenLocally(botName);
+    CacheInvalidator.publish(BOT_TOKEN_CACHE_NAME, botName);
+  }
+
+  private void invalidateTokenLocally(String botName) {
     try {
       BOTS_TOKEN_CACHE.invalidate(botName);
     } catch (Exception ex) {
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.security.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.Response;
+import org.openmetadata.service.exception.CustomExceptionMessage;
+
+/**
+ * Limits the failed logins of each user to a number in a minute, counted from the first failed login of the minute, so
+ * that a client that guesses the password of a user does not take the threads that verify the passwords from the other
+ * users. Logins that succeed are not counted, so that a client that sends the right credentials of a user on every
+ * request does not lock the user out.
+ */
+public class LoginRateLimiter {
+  private final int maxFailedLoginsPerMinute;
+  private final Cache<String, AtomicInteger> failedLogins;
+
+  public LoginRateLimiter(int maxFailedLoginsPerMinute) {
+    this.maxFailedLoginsPerMinute = maxFailedLoginsPerMinute;
+    this.failedLogins = CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(1, TimeUnit.MINUTES).build();
+  }
+
+  /** Reject the login with 429 Too Many Requests when the user has too many failed logins, without counting it */
+  public void checkAllowed(String userName) {
+    AtomicInteger count = failedLogins.getIfPresent(userName);
+    if (count != null && count.get() >= maxFailedLoginsPerMinute) {
+      throw new CustomExceptionMessage(
+          Response.Status.TOO_MANY_REQUESTS, "Too many failed logins for the user. Please try again in a minute.");
+    }
+  }
+
+  /** Count a login of the user whose password was not verified */
+  public void recordFailedLogin(String userName) {
+    try {
+      failedLogins.get(userName, AtomicInteger::new).incrementAndGet();
+    } catch (ExecutionException e) {
+      // The counter is created without failing
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.security.auth;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import at.favre.lib.crypto.bcrypt.BCrypt.HashData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.Response;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.exception.CustomExceptionMessage;
+
+/**
+ * Hashes and verifies the bcrypt hashes of the passwords of basic authentication on a bounded pool of threads. Hashing
+ * is CPU bound by design, and a burst of logins would otherwise keep every request thread of the server busy hashing.
+ * Once the threads are busy and the queue is full, the password is rejected without waiting, so that at most {@code
+ * threads + queueSize} request threads wait for passwords and the other requests are served.
+ */
+@Slf4j
+public class PasswordHasher {
+  private static final String SERVER_BUSY = "Too many logins are in progress. Please try again later.";
+  private static volatile PasswordHasher instance;
+
+  private final PasswordVerificationConfiguration configuration;
+  private final ThreadPoolExecutor executor;
+  private final Timer verificationTimer;
+  private final Timer queueTimer;
+  private final Counter rejectedCounter;
+
+  public PasswordHasher(PasswordVerificationConfiguration configuration, MeterRegistry registry) {
+    this.configuration = configuration;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            configuration.getThreads(),
+            configuration.getThreads(),
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(configuration.getQueueSize()),
+            runnable -> {
+              Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    this.verificationTimer =
+        Timer.builder("password_verification")
+            .description("Time taken to hash or verify a password.")
+            .register(registry);
+    this.queueTimer =
+        Timer.builder("password_verification_queue")
+            .description("Time a password waited for a thread to hash or verify it.")
+            .register(registry);
+    this.rejectedCounter =
+        Counter.builder("password_verification_rejected")
+            .description("Passwords rejected because all the threads were busy and the queue was full.")
+            .register(registry);
+  }
+
+  public static PasswordHasher getInstance() {
+    PasswordHasher hasher = instance;
+    if (hasher == null) {
+      synchronized (PasswordHasher.class) {
+        if (instance == null) {
+          instance = new PasswordHasher(new PasswordVerificationConfiguration(), new SimpleMeterRegistry());
+        }
+        hasher = instance;
+      }
+    }
+    return hasher;
+  }
+
+  /** To be called during application startup to hash the passwords with the configured threads and cost */
+  public static synchronized void start(PasswordHasher hasher) {
+    stop();
+    instance = hasher;
+  }
+
+  public static synchronized void stop() {
+    if (instance != null) {
+      instance.executor.shutdownNow();
+      instance = null;
+    }
+  }
+
+  /** Hash the password with the configured cost */
+  public String hash(String password) {
+    return execute(() -> BCrypt.withDefaults().hashToString(configuration.getHashingCost(), password.toCharArray()));
+  }
+
+  /**
+   * Verify the password against the hash. When the password is verified and the hash has another cost than the
+   * configured one, the password is hashed again with the configured cost and returned to be stored in place of the
+   * hash.
+   */
+  public Verification verify(String password, String hash) {
+    return execute(
+        () -> {
+          BCrypt.Result result = BCrypt.verifyer().verify(password.toCharArray(), hash);
+          if (!result.verified) {
+            return new Verification(false, null);
+          }
+          HashData details = result.details;
+          String rehashed =
+              details != null && details.cost != configuration.getHashingCost()
+                  ? BCrypt.withDefaults().hashToString(configuration.getHashingCost(), password.toCharArray())
+                  : null;
+          return new Verification(true, rehashed);
+        });
+  }
+
+  private <T> T execute(Callable<T> task) {
+    long submitted = System.nanoTime();
+    Future<T> future;
+    try {
+      future =
+          executor.submit(
+              () -> {
+                long started = System.nanoTime();
+                queueTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                  return task.call();
+                } finally {
+                  verificationTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+              });
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw new CustomExceptionMessage(Response.Status.SERVICE_UNAVAILABLE, SERVER_BUSY);
+    }
+    try {
+      return future.get(configuration.getTimeoutSeconds(), TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new CustomExceptionMessage(Response.Status.SERVICE_UNAVAILABLE, SERVER_BUSY);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new CustomExceptionMessage(Response.Status.SERVICE_UNAVAILABLE, SERVER_BUSY);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @Getter
+  public static class Verification {
+    private final boolean verified;
+    /** Hash of the password with the configured cost when the verified hash has another cost, otherwise null */
+    private final String rehashedPassword;
+
+    Verification(boolean verified, String rehashedPassword) {
+      this.verified = verified;
+      this.rehashedPassword = rehashedPassword;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.security.auth;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PasswordVerificationConfiguration {
+  /** Threads that hash and verify the passwords of basic authentication */
+  private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+  /** Passwords waiting for a thread, beyond which logins are rejected with 503 Service Unavailable */
+  private int queueSize = 64;
+
+  /** Longest time a request waits for its password to be verified */
+  private int timeoutSeconds = 10;
+
+  /** Cost of the bcrypt hashes. Passwords hashed with another cost are hashed again when the user logs in */
+  private int hashingCost = 12;
+
+  /** Failed logins of a user in a minute, beyond which logins are rejected with 429 Too Many Requests */
+  private int maxFailedLoginsPerUserPerMinute = 20;
+}
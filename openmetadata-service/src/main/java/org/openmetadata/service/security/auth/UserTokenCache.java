@@ -2,7 +2,6 @@ package org.openmetadata.service.security.auth;
 
 import static org.openmetadata.schema.type.Include.NON_DELETED;
 
-import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
@@ -18,6 +17,8 @@ import org.openmetadata.schema.auth.PersonalAccessToken;
 import org.openmetadata.schema.auth.TokenType;
 import org.openmetadata.schema.entity.teams.User;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.Caches;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.TokenRepository;
 import org.openmetadata.service.jdbi3.UserRepository;
@@ -26,6 +27,7 @@ import org.openmetadata.service.util.EntityUtil;
 
 @Slf4j
 public class UserTokenCache {
+  private static final String USER_TOKEN_CACHE_NAME = "userToken";
   private static UserTokenCache INSTANCE;
   private static LoadingCache<String, HashSet<String>> USER_TOKEN_CACHE;
   private static volatile boolean INITIALIZED = false;
@@ -33,11 +35,8 @@ public class UserTokenCache {
 
   public static void initialize(CollectionDAO dao) {
     if (!INITIALIZED) {
-      USER_TOKEN_CACHE =
-          CacheBuilder.newBuilder()
-              .maximumSize(1000)
-              .expireAfterWrite(2, TimeUnit.MINUTES)
-              .build(new UserTokenLoader());
+      USER_TOKEN_CACHE = Caches.newCache(USER_TOKEN_CACHE_NAME, 1000, 2, TimeUnit.MINUTES, new UserTokenLoader());
+      CacheInvalidator.register(USER_TOKEN_CACHE_NAME, UserTokenCache::invalidateTokenLocally);
       tokenRepository = new TokenRepository(dao);
       INSTANCE = new UserTokenCache();
       INITIALIZED = true;
@@ -57,6 +56,11 @@ public class UserTokenCache {
   }
 
   public void invalidateToken(String userName) {
+    invalidateTokenLocally(userName);
+    CacheInvalidator.publish(USER_TOKEN_CACHE_NAME, userName);
+  }
+
+  private static void invalidateTokenLocally(String userName) {
     try {
       USER_TOKEN_CACHE.invalidate(userName);
     } catch (Exception ex) {
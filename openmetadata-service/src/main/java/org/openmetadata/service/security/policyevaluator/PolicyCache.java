@@ -13,7 +13,6 @@
 
 package org.openmetadata.service.security.policyevaluator;
 
-import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
@@ -28,6 +27,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.entity.policies.Policy;
 import org.openmetadata.schema.entity.policies.accessControl.Rule;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.Caches;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.PolicyRepository;
 import org.openmetadata.service.util.EntityUtil.Fields;
@@ -36,6 +37,7 @@ import org.openmetadata.service.util.EntityUtil.Fields;
 @Slf4j
 public class PolicyCache {
   private static final PolicyCache INSTANCE = new PolicyCache();
+  private static final String POLICY_CACHE_NAME = "policy";
   private static volatile boolean INITIALIZED = false;
 
   protected static LoadingCache<UUID, List<CompiledRule>> POLICY_CACHE;
@@ -49,8 +51,8 @@ public class PolicyCache {
   /** To be called during application startup by Default Authorizer */
   public static void initialize() {
     if (!INITIALIZED) {
-      POLICY_CACHE =
-          CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(3, TimeUnit.MINUTES).build(new PolicyLoader());
+      POLICY_CACHE = Caches.newCache(POLICY_CACHE_NAME, 1000, 3, TimeUnit.MINUTES, new PolicyLoader());
+      CacheInvalidator.register(POLICY_CACHE_NAME, policyId -> invalidatePolicyLocally(UUID.fromString(policyId)));
       POLICY_REPOSITORY = (PolicyRepository) Entity.getEntityRepository(Entity.POLICY);
       FIELDS = POLICY_REPOSITORY.getFields("rules");
       INITIALIZED = true;
@@ -66,6 +68,11 @@ public class PolicyCache {
   }
 
   public void invalidatePolicy(UUID policyId) {
+    invalidatePolicyLocally(policyId);
+    CacheInvalidator.publish(POLICY_CACHE_NAME, policyId.toString());
+  }
+
+  private static void invalidatePolicyLocally(UUID policyId) {
     try {
       POLICY_CACHE.invalidate(policyId);
     } catch (Exception ex) {
@@ -15,7 +15,6 @@ package org.openmetadata.service.security.policyevaluator;
 
 import static org.openmetadata.service.exception.CatalogExceptionMessage.entityNotFound;
 
-import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
@@ -27,6 +26,8 @@ import javax.annotation.CheckForNull;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.entity.teams.Role;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.Caches;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.RoleRepository;
 import org.openmetadata.service.util.EntityUtil.Fields;
@@ -35,6 +36,7 @@ import org.openmetadata.service.util.EntityUtil.Fields;
 @Slf4j
 public class RoleCache {
   private static final RoleCache INSTANCE = new RoleCache();
+  private static final String ROLE_CACHE_NAME = "roleById";
   private static volatile boolean INITIALIZED = false;
   protected static LoadingCache<String, Role> ROLE_CACHE;
   protected static LoadingCache<UUID, Role> ROLE_CACHE_WITH_ID;
@@ -48,13 +50,9 @@ public class RoleCache {
   /** To be called only once during the application start from DefaultAuthorizer */
   public static void initialize() {
     if (!INITIALIZED) {
-      ROLE_CACHE =
-          CacheBuilder.newBuilder().maximumSize(100).expireAfterWrite(3, TimeUnit.MINUTES).build(new RoleLoader());
-      ROLE_CACHE_WITH_ID =
-          CacheBuilder.newBuilder()
-              .maximumSize(100)
-              .expireAfterWrite(3, TimeUnit.MINUTES)
-              .build(new RoleLoaderWithId());
+      ROLE_CACHE = Caches.newCache("role", 100, 3, TimeUnit.MINUTES, new RoleLoader());
+      ROLE_CACHE_WITH_ID = Caches.newCache(ROLE_CACHE_NAME, 100, 3, TimeUnit.MINUTES, new RoleLoaderWithId());
+      CacheInvalidator.register(ROLE_CACHE_NAME, roleId -> invalidateRoleLocally(UUID.fromString(roleId)));
       ROLE_REPOSITORY = (RoleRepository) Entity.getEntityRepository(Entity.ROLE);
       FIELDS = ROLE_REPOSITORY.getFields("policies");
       INITIALIZED = true;
@@ -78,6 +76,11 @@ public class RoleCache {
   }
 
   public void invalidateRole(UUID roleId) {
+    invalidateRoleLocally(roleId);
+    CacheInvalidator.publish(ROLE_CACHE_NAME, roleId.toString());
+  }
+
+  private static void invalidateRoleLocally(UUID roleId) {
     try {
       ROLE_CACHE_WITH_ID.invalidate(roleId);
     } catch (Exception ex) {
@@ -15,7 +15,6 @@ package org.openmetadata.service.security.policyevaluator;
 
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
-import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
@@ -34,6 +33,8 @@ import org.openmetadata.schema.entity.teams.Team;
 import org.openmetadata.schema.entity.teams.User;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.Caches;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.TeamRepository;
@@ -43,6 +44,8 @@ import org.openmetadata.service.util.EntityUtil.Fields;
 /** Subject context used for Access Control Policies */
 @Slf4j
 public class SubjectCache {
+  private static final String USER_CACHE_NAME = "user";
+  private static final String TEAM_CACHE_NAME = "teamById";
   private static SubjectCache INSTANCE;
   private static volatile boolean INITIALIZED = false;
   protected static LoadingCache<String, SubjectContext> USER_CACHE;
@@ -57,20 +60,12 @@ public class SubjectCache {
   // Expected to be called only once from the DefaultAuthorizer
   public static void initialize() {
     if (!INITIALIZED) {
-      USER_CACHE =
-          CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(3, TimeUnit.MINUTES).build(new UserLoader());
-      USER_CACHE_WIH_ID =
-          CacheBuilder.newBuilder()
-              .maximumSize(1000)
-              .expireAfterWrite(3, TimeUnit.MINUTES)
-              .build(new UserLoaderWithId());
-      TEAM_CACHE =
-          CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(3, TimeUnit.MINUTES).build(new TeamLoader());
-      TEAM_CACHE_WITH_ID =
-          CacheBuilder.newBuilder()
-              .maximumSize(1000)
-              .expireAfterWrite(3, TimeUnit.MINUTES)
-              .build(new TeamLoaderWithId());
+      USER_CACHE = Caches.newCache(USER_CACHE_NAME, 1000, 3, TimeUnit.MINUTES, new UserLoader());
+      USER_CACHE_WIH_ID = Caches.newCache("userById", 1000, 3, TimeUnit.MINUTES, new UserLoaderWithId());
+      TEAM_CACHE = Caches.newCache("team", 1000, 3, TimeUnit.MINUTES, new TeamLoader());
+      TEAM_CACHE_WITH_ID = Caches.newCache(TEAM_CACHE_NAME, 1000, 3, TimeUnit.MINUTES, new TeamLoaderWithId());
+      CacheInvalidator.register(USER_CACHE_NAME, SubjectCache::invalidateUserLocally);
+      CacheInvalidator.register(TEAM_CACHE_NAME, teamId -> invalidateTeamLocally(UUID.fromString(teamId)));
       USER_REPOSITORY = (UserRepository) Entity.getEntityRepository(Entity.USER);
       USER_FIELDS = USER_REPOSITORY.getFields("roles, teams, isAdmin, profile");
       TEAM_REPOSITORY = (TeamRepository) Entity.getEntityRepository(Entity.TEAM);
@@ -183,6 +178,16 @@ public class SubjectCache {
   }
 
   public void invalidateUser(String userName) {
+    invalidateUserLocally(userName);
+    CacheInvalidator.publish(USER_CACHE_NAME, userName);
+  }
+
+  public void invalidateTeam(UUID teamId) {
+    invalidateTeamLocally(teamId);
+    CacheInvalidator.publish(TEAM_CACHE_NAME, teamId.toString());
+  }
+
+  private static void invalidateUserLocally(String userName) {
     try {
       USER_CACHE.invalidate(userName);
     } catch (Exception ex) {
@@ -190,7 +195,7 @@ public class SubjectCache {
     }
   }
 
-  public void invalidateTeam(UUID teamId) {
+  private static void invalidateTeamLocally(UUID teamId) {
     try {
       TEAM_CACHE_WITH_ID.invalidate(teamId);
     } catch (Exception ex) {
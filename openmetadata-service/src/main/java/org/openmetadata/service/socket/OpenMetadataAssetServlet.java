@@ -13,25 +13,203 @@
 
 package org.openmetadata.service.socket;
 
+import com.google.common.hash.Hashing;
 import io.dropwizard.servlets.assets.AssetServlet;
 import java.io.IOException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * Serves the UI assets. The UI build emits a Brotli (.br) and a gzip (.gz) copy of the text assets, and the copy is
+ * sent in place of the asset when the browser accepts its encoding, so that the bundle is neither compressed on every
+ * request nor sent uncompressed. Chunks with the content hash in their name are cached by the browser for a year, and
+ * the other assets, such as index.html and the entry bundle, are revalidated with their ETag on every use.
+ */
 public class OpenMetadataAssetServlet extends AssetServlet {
+  static final String IMMUTABLE = "public, max-age=31536000, immutable";
+  static final String REVALIDATE = "no-cache";
+
+  // Chunks are named [name].[contenthash].js by the UI build
+  private static final Pattern CONTENT_HASHED = Pattern.compile(".*\\.[0-9a-f]{16,}\\.(js|css)$");
+  private static final String[][] ENCODINGS = {{"br", ".br"}, {"gzip", ".gz"}};
+
+  private final String resourcePath;
+  private final String uriPath;
+  // The assets are in the UI jar and do not change while the server runs. Only the copies that exist are cached, so
+  // that the requests for paths without a copy do not grow the map.
+  private final Map<String, PrecompressedAsset> precompressedAssets = new ConcurrentHashMap<>();
 
   public OpenMetadataAssetServlet(String resourcePath, String uriPath, @Nullable String indexFile) {
     super(resourcePath, uriPath, indexFile, "text/html", StandardCharsets.UTF_8);
+    this.resourcePath = trimSlashes(resourcePath);
+    this.uriPath = trimSlashes(uriPath);
   }
 
   @Override
   protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+    String path = getRequestedPath(req);
+    resp.setHeader(HttpHeaders.CACHE_CONTROL, CONTENT_HASHED.matcher(path).matches() ? IMMUTABLE : REVALIDATE);
+    if (servePrecompressed(req, resp, path)) {
+      return;
+    }
     super.doGet(req, resp);
     if (!resp.isCommitted() && (resp.getStatus() == 404)) {
       resp.sendError(404);
     }
   }
+
+  /** Send the precompressed copy of the asset in the encoding preferred by the browser, when there is one */
+  private boolean servePrecompressed(HttpServletRequest req, HttpServletResponse resp, String path) throws IOException {
+    if (path.isEmpty() || path.contains("..")) {
+      return false;
+    }
+    String acceptEncoding = req.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    for (String[] encoding : ENCODINGS) {
+      if (!accepts(acceptEncoding, encoding[0])) {
+        continue;
+      }
+      PrecompressedAsset asset = getAsset(path + encoding[1], encoding[0]);
+      if (asset != null) {
+        sendAsset(req, resp, path, asset);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void sendAsset(HttpServletRequest req, HttpServletResponse resp, String path, PrecompressedAsset asset)
+      throws IOException {
+    // The response differs by encoding, and caches along the way must not send it to the browsers that do not accept
+    // the encoding
+    resp.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    resp.setHeader(HttpHeaders.ETAG, asset.eTag);
+    if (matches(req.getHeader(HttpHeaders.IF_NONE_MATCH), asset.eTag)) {
+      resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+    String mimeType = req.getServletContext().getMimeType(path);
+    resp.setContentType(mimeType == null ? getDefaultMediaType() : mimeType);
+    if (mimeType == null || mimeType.startsWith("text/") || mimeType.contains("javascript")) {
+      resp.setCharacterEncoding(getDefaultCharset().name());
+    }
+    resp.setHeader("Content-Encoding", asset.encoding);
+    resp.setContentLength(asset.content.length);
+    resp.getOutputStream().write(asset.content);
+  }
+
+  private PrecompressedAsset getAsset(String path, String encoding) {
+    PrecompressedAsset asset = precompressedAssets.get(path);
+    if (asset == null) {
+      asset = loadAsset(path, encoding);
+      if (asset != null) {
+        precompressedAssets.putIfAbsent(path, asset);
+      }
+    }
+    return asset;
+  }
+
+  private PrecompressedAsset loadAsset(String path, String encoding) {
+    URL url;
+    try {
+      url = getResourceUrl(resourcePath.isEmpty() ? path : resourcePath + "/" + path);
+    } catch (IllegalArgumentException e) {
+      return null; // There is no precompressed copy of the asset
+    }
+    try {
+      return new PrecompressedAsset(encoding, readResource(url));
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private String getRequestedPath(HttpServletRequest req) {
+    StringBuilder builder = new StringBuilder(req.getServletPath());
+    if (req.getPathInfo() != null) {
+      builder.append(req.getPathInfo());
+    }
+    String key = trimSlashes(builder.toString());
+    return key.startsWith(uriPath) ? trimSlashes(key.substring(uriPath.length())) : key;
+  }
+
+  /**
+   * Returns true when the Accept-Encoding header accepts the encoding with a non-zero quality, either by name or with
+   * the wildcard when the encoding is not named
+   */
+  static boolean accepts(String acceptEncoding, String encoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Boolean wildcard = null;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] params = coding.split(";");
+      String name = params[0].trim();
+      if (name.equalsIgnoreCase(encoding)) {
+        return quality(params) > 0;
+      }
+      if (name.equals("*")) {
+        wildcard = quality(params) > 0;
+      }
+    }
+    return Boolean.TRUE.equals(wildcard);
+  }
+
+  private static double quality(String[] params) {
+    for (int i = 1; i < params.length; i++) {
+      String param = params[i].trim();
+      if (param.startsWith("q=")) {
+        try {
+          return Double.parseDouble(param.substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  private static boolean matches(String ifNoneMatch, String eTag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String tag : ifNoneMatch.split(",")) {
+      String trimmed = tag.trim();
+      if (trimmed.equals("*") || trimmed.equals(eTag) || trimmed.equals("W/" + eTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String trimSlashes(String path) {
+    int start = 0;
+    int end = path.length();
+    while (start < end && path.charAt(start) == '/') {
+      start++;
+    }
+    while (end > start && path.charAt(end - 1) == '/') {
+      end--;
+    }
+    return path.substring(start, end);
+  }
+
+  private static final class PrecompressedAsset {
+    private final String encoding;
+    private final byte[] content;
+    private final String eTag;
+
+    private PrecompressedAsset(String encoding, byte[] content) {
+      this.encoding = encoding;
+      this.content = content;
+      // The ETag differs by encoding, as the representations differ
+      this.eTag = '"' + Hashing.murmur3_128().hashBytes(content).toString() + '-' + encoding + '"';
+    }
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import com.google.common.cache.Cache;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.Caches;
+
+/**
+ * Cache of entity references by entity id, including the deleted entities. References are resolved for owners,
+ * followers, lineage and feeds on every read, and only need the id, name, FQN, displayName, description and deleted
+ * attributes of the entity. Entries are invalidated when the entity is updated, renamed or deleted, on this server and
+ * through {@link CacheInvalidator} on the other servers.
+ */
+@Slf4j
+public class EntityReferenceCache {
+  public static final String CACHE_NAME = "entityReference";
+  private static final int MAX_SIZE = 10000;
+  private static final String KEY_SEPARATOR = ":";
+  private static final String ALL_KEYS = "*";
+  private final Cache<String, EntityReference> cache = Caches.newCache(CACHE_NAME, MAX_SIZE, 5, TimeUnit.MINUTES);
+
+  private EntityReferenceCache() {
+    CacheInvalidator.register(CACHE_NAME, this::invalidateLocally);
+  }
+
+  /** Built on first use, after the caches are configured during application startup */
+  private static class Holder {
+    private static final EntityReferenceCache INSTANCE = new EntityReferenceCache();
+  }
+
+  public static EntityReferenceCache getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /** Returns a copy of the cached reference, since the callers modify the references returned */
+  public EntityReference get(String entityType, UUID id) {
+    return copy(cache.getIfPresent(getKey(entityType, id)));
+  }
+
+  public void put(EntityReference ref) {
+    cache.put(getKey(ref.getType(), ref.getId()), copy(ref));
+  }
+
+  public void invalidate(String entityType, UUID id) {
+    String key = getKey(entityType, id);
+    cache.invalidate(key);
+    CacheInvalidator.publish(CACHE_NAME, key);
+  }
+
+  /** Invalidate all the references of an entity type, when the FQNs of entities are renamed by prefix */
+  public void invalidateAll(String entityType) {
+    String key = entityType + KEY_SEPARATOR + ALL_KEYS;
+    invalidateLocally(key);
+    CacheInvalidator.publish(CACHE_NAME, key);
+  }
+
+  /** Invalidate all the references on this server only */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private void invalidateLocally(String key) {
+    if (key.endsWith(KEY_SEPARATOR + ALL_KEYS)) {
+      LOG.debug("Invalidating entity references of {}", key);
+      String prefix = key.substring(0, key.length() - ALL_KEYS.length());
+      Map<String, EntityReference> entries = cache.asMap();
+      entries.keySet().removeIf(entry -> entry.startsWith(prefix));
+    } else {
+      cache.invalidate(key);
+    }
+  }
+
+  private static EntityReference copy(EntityReference ref) {
+    if (ref == null) {
+      return null;
+    }
+    return new EntityReference()
+        .withId(ref.getId())
+        .withType(ref.getType())
+        .withName(ref.getName())
+        .withFullyQualifiedName(ref.getFullyQualifiedName())
+        .withDisplayName(ref.getDisplayName())
+        .withDescription(ref.getDescription())
+        .withDeleted(ref.getDeleted());
+  }
+
+  private static String getKey(String entityType, UUID id) {
+    return entityType + KEY_SEPARATOR + id;
+  }
+}
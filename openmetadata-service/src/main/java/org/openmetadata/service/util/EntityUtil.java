@@ -22,10 +22,19 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.ws.rs.WebApplicationException;
 import lombok.Getter;
 import lombok.NonNull;
@@ -80,50 +89,68 @@ public final class EntityUtil {
   public static final BiPredicate<Object, Object> objectMatch = Object::equals;
 
   public static final BiPredicate<EntityReference, EntityReference> entityReferenceMatch =
-      (ref1, ref2) -> ref1.getId().equals(ref2.getId()) && ref1.getType().equals(ref2.getType());
+      new KeyedMatch<>(ref -> Arrays.asList(ref.getId(), ref.getType()));
 
-  public static final BiPredicate<TagLabel, TagLabel> tagLabelMatch =
-      (tag1, tag2) -> tag1.getTagFQN().equals(tag2.getTagFQN()) && tag1.getSource().equals(tag2.getSource());
+  public static final KeyedMatch<TagLabel> tagLabelMatch =
+      new KeyedMatch<>(tag -> Arrays.asList(tag.getTagFQN(), tag.getSource()));
 
-  public static final BiPredicate<Task, Task> taskMatch = (task1, task2) -> task1.getName().equals(task2.getName());
+  public static final BiPredicate<Task, Task> taskMatch = new KeyedMatch<>(Task::getName);
 
-  public static final BiPredicate<String, String> stringMatch = String::equals;
+  public static final BiPredicate<String, String> stringMatch = new KeyedMatch<>(Function.identity());
 
   public static final BiPredicate<Column, Column> columnMatch =
-      (column1, column2) ->
-          column1.getName().equalsIgnoreCase(column2.getName())
-              && column1.getDataType() == column2.getDataType()
-              && column1.getArrayDataType() == column2.getArrayDataType();
+      new KeyedMatch<>(
+          column ->
+              Arrays.asList(
+                  column.getName().toLowerCase(Locale.ROOT), column.getDataType(), column.getArrayDataType()));
 
   public static final BiPredicate<Column, Column> columnNameMatch =
-      (column1, column2) -> column1.getName().equalsIgnoreCase(column2.getName());
+      new KeyedMatch<>(column -> column.getName().toLowerCase(Locale.ROOT));
 
   public static final BiPredicate<TableConstraint, TableConstraint> tableConstraintMatch =
-      (constraint1, constraint2) ->
-          constraint1.getConstraintType() == constraint2.getConstraintType()
-              && constraint1.getColumns().equals(constraint2.getColumns());
+      new KeyedMatch<>(constraint -> Arrays.asList(constraint.getConstraintType(), constraint.getColumns()));
 
-  public static final BiPredicate<MlFeature, MlFeature> mlFeatureMatch = MlFeature::equals;
-  public static final BiPredicate<MlHyperParameter, MlHyperParameter> mlHyperParameterMatch = MlHyperParameter::equals;
+  public static final BiPredicate<MlFeature, MlFeature> mlFeatureMatch = new KeyedMatch<>(Function.identity());
+  public static final BiPredicate<MlHyperParameter, MlHyperParameter> mlHyperParameterMatch =
+      new KeyedMatch<>(Function.identity());
 
   public static final BiPredicate<GlossaryTerm, GlossaryTerm> glossaryTermMatch =
-      (filter1, filter2) -> filter1.getFullyQualifiedName().equals(filter2.getFullyQualifiedName());
+      new KeyedMatch<>(GlossaryTerm::getFullyQualifiedName);
 
   public static final BiPredicate<ContainerFileFormat, ContainerFileFormat> containerFileFormatMatch =
-      (format1, format2) -> format1.equals(format2);
+      new KeyedMatch<>(Function.identity());
   public static final BiPredicate<TermReference, TermReference> termReferenceMatch =
-      (ref1, ref2) -> ref1.getName().equals(ref2.getName()) && ref1.getEndpoint().equals(ref2.getEndpoint());
+      new KeyedMatch<>(ref -> Arrays.asList(ref.getName(), ref.getEndpoint()));
 
   public static final BiPredicate<CustomProperty, CustomProperty> customFieldMatch =
-      (ref1, ref2) ->
-          ref1.getName().equals(ref2.getName())
-              && entityReferenceMatch.test(ref1.getPropertyType(), ref2.getPropertyType());
+      new KeyedMatch<>(
+          ref -> Arrays.asList(ref.getName(), ref.getPropertyType().getId(), ref.getPropertyType().getType()));
 
-  public static final BiPredicate<Rule, Rule> ruleMatch = (ref1, ref2) -> ref1.getName().equals(ref2.getName());
+  public static final BiPredicate<Rule, Rule> ruleMatch = new KeyedMatch<>(Rule::getName);
 
   public static final BiPredicate<Field, Field> schemaFieldMatch =
-      (field1, field2) ->
-          field1.getName().equalsIgnoreCase(field2.getName()) && field1.getDataType() == field2.getDataType();
+      new KeyedMatch<>(field -> Arrays.asList(field.getName().toLowerCase(Locale.ROOT), field.getDataType()));
+
+  /**
+   * Matcher that matches two items when their keys are equal. Lists of items compared with it are diffed by hashing the
+   * keys, instead of testing every pair of items, which matters for entities with thousands of columns.
+   */
+  public static final class KeyedMatch<K> implements BiPredicate<K, K> {
+    private final Function<K, ?> key;
+
+    public KeyedMatch(Function<K, ?> key) {
+      this.key = key;
+    }
+
+    public Object getKey(K item) {
+      return key.apply(item);
+    }
+
+    @Override
+    public boolean test(K item1, K item2) {
+      return Objects.equals(getKey(item1), getKey(item2));
+    }
+  }
 
   private EntityUtil() {}
 
@@ -166,10 +193,9 @@ public final class EntityUtil {
 
   public static List<EntityReference> populateEntityReferences(
       List<EntityRelationshipRecord> records, @NonNull String entityType) throws IOException {
-    List<EntityReference> refs = new ArrayList<>(records.size());
-    for (EntityRelationshipRecord id : records) {
-      refs.add(Entity.getEntityReferenceById(entityType, id.getId(), ALL));
-    }
+    // Resolve all the references with a single query
+    List<UUID> ids = records.stream().map(EntityRelationshipRecord::getId).collect(Collectors.toList());
+    List<EntityReference> refs = Entity.getEntityRepository(entityType).getDao().findEntityReferencesByIds(ids);
     refs.sort(compareEntityReference);
     return refs;
   }
@@ -207,14 +233,40 @@ public final class EntityUtil {
     if (nullOrEmpty(mergeFrom)) {
       return;
     }
-    for (TagLabel fromTag : mergeFrom) {
-      TagLabel tag = mergeTo.stream().filter(t -> tagLabelMatch.test(t, fromTag)).findAny().orElse(null);
-      if (tag == null) { // The tag does not exist in the mergeTo list. Add it.
-        mergeTo.add(fromTag);
+    // Add the tags that do not exist in the mergeTo list, including the ones added from earlier in the mergeFrom list
+    Set<Object> keys = new HashSet<>();
+    mergeTo.forEach(tag -> keys.add(tagLabelMatch.getKey(tag)));
+    for (TagLabel tag : mergeFrom) {
+      if (keys.add(tagLabelMatch.getKey(tag))) {
+        mergeTo.add(tag);
       }
     }
   }
 
+  /** Returns the items in the list that do not match any item in the other list, in the order of the list */
+  public static <K> List<K> findUnmatched(List<K> list, List<K> other, BiPredicate<K, K> typeMatch) {
+    if (typeMatch instanceof KeyedMatch) {
+      KeyedMatch<K> keyedMatch = (KeyedMatch<K>) typeMatch;
+      Set<Object> otherKeys = new HashSet<>();
+      other.forEach(item -> otherKeys.add(keyedMatch.getKey(item)));
+      return list.stream().filter(item -> !otherKeys.contains(keyedMatch.getKey(item))).collect(Collectors.toList());
+    }
+    return list.stream()
+        .filter(item -> other.stream().noneMatch(o -> typeMatch.test(o, item)))
+        .collect(Collectors.toList());
+  }
+
+  /** Returns a function that finds the first item in the list matching a given item, or null if there is none */
+  public static <K> UnaryOperator<K> getMatcher(List<K> list, BiPredicate<K, K> typeMatch) {
+    if (typeMatch instanceof KeyedMatch) {
+      KeyedMatch<K> keyedMatch = (KeyedMatch<K>) typeMatch;
+      Map<Object, K> items = new HashMap<>();
+      list.forEach(item -> items.putIfAbsent(keyedMatch.getKey(item), item));
+      return item -> items.get(keyedMatch.getKey(item));
+    }
+    return item -> list.stream().filter(c -> typeMatch.test(c, item)).findFirst().orElse(null);
+  }
+
   public static List<String> getJsonDataResources(String path) throws IOException {
     return CommonUtil.getResources(Pattern.compile(path));
   }
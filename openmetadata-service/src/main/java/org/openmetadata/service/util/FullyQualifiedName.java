@@ -13,6 +13,9 @@
 
 package org.openmetadata.service.util;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -20,19 +23,22 @@ import java.util.regex.Pattern;
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.tree.ParseTreeWalker;
-import org.openmetadata.schema.FqnBaseListener;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.openmetadata.schema.FqnLexer;
 import org.openmetadata.schema.FqnParser;
-import org.openmetadata.schema.FqnParser.FqnContext;
-import org.openmetadata.schema.FqnParser.QuotedNameContext;
-import org.openmetadata.schema.FqnParser.UnquotedNameContext;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 
 public class FullyQualifiedName {
   // Quoted name of format "sss" or unquoted string sss
   private static final Pattern namePattern = Pattern.compile("^(\")([^\"]+)(\")$|^(.*)$");
+  private static final char SEPARATOR = '.';
+  private static final char QUOTE = '"';
+
+  // Parent FQNs such as the table FQN of columns are repeatedly computed for the same prefix. Intern them to retain
+  // a single copy of each prefix in the maps and caches they are stored in.
+  private static final Interner<String> PREFIXES = Interners.newWeakInterner();
 
   private FullyQualifiedName() {
     /* Utility class with private constructor */
@@ -52,26 +58,96 @@ public class FullyQualifiedName {
     return String.join(Entity.SEPARATOR, list);
   }
 
-  public static String[] split(String string) {
-    SplitListener listener = new SplitListener();
-    walk(string, listener);
-    return listener.split();
+  /**
+   * Split the FQN into the names, retaining the quotes of the quoted names. The FQN is split with a hand-written
+   * scanner that follows the same grammar as {@code Fqn.g4}, as this method is called for every column, tag and lineage
+   * edge.
+   */
+  public static String[] split(String fqn) {
+    int count = 1;
+    for (int end = nextSeparator(fqn, 0); end < fqn.length(); end = nextSeparator(fqn, end + 1)) {
+      count++;
+    }
+    String[] parts = new String[count];
+    int start = 0;
+    for (int i = 0; i < count; i++) {
+      int end = nextSeparator(fqn, start);
+      parts[i] = fqn.substring(start, end);
+      start = end + 1;
+    }
+    return parts;
   }
 
-  private static <L extends FqnBaseListener> void walk(String string, L listener) {
-    FqnLexer fqnLexer = new FqnLexer(CharStreams.fromString(string));
+  /** Validate the FQN using the ANTLR parser generated from {@code Fqn.g4} */
+  public static void validate(String fqn) {
+    FqnLexer fqnLexer = new FqnLexer(CharStreams.fromString(fqn));
     CommonTokenStream tokens = new CommonTokenStream(fqnLexer);
     FqnParser fqnParser = new FqnParser(tokens);
     fqnParser.setErrorHandler(new BailErrorStrategy());
-    FqnContext fqn = fqnParser.fqn();
-    ParseTreeWalker walker = new ParseTreeWalker();
-    walker.walk(listener, fqn);
+    fqnParser.fqn();
+  }
+
+  /**
+   * Scan the name that begins at the given index and return the index of the separator that ends it, or the length of
+   * the FQN for the last name. A name is either a non-empty string without quotes and separators or a quoted string
+   * with at least one separator and no quotes.
+   */
+  private static int nextSeparator(String fqn, int start) {
+    int length = fqn.length();
+    if (start >= length) {
+      throw invalidFqn(fqn);
+    }
+    int end;
+    if (fqn.charAt(start) == QUOTE) {
+      int closingQuote = fqn.indexOf(QUOTE, start + 1);
+      int separator = fqn.indexOf(SEPARATOR, start + 1);
+      if (closingQuote < 0 || separator < 0 || separator > closingQuote) {
+        throw invalidFqn(fqn); // Quoted name without the closing quote or without a separator
+      }
+      end = closingQuote + 1;
+      if (end < length && fqn.charAt(end) != SEPARATOR) {
+        throw invalidFqn(fqn);
+      }
+      return end;
+    }
+    for (end = start; end < length; end++) {
+      char c = fqn.charAt(end);
+      if (c == SEPARATOR) {
+        break;
+      }
+      if (c == QUOTE) {
+        throw invalidFqn(fqn);
+      }
+    }
+    if (end == start) {
+      throw invalidFqn(fqn); // Empty name
+    }
+    return end;
+  }
+
+  /** Return the index of the separator before the last name, or -1 when the FQN has only one name */
+  private static int lastSeparator(String fqn) {
+    int last = -1;
+    for (int end = nextSeparator(fqn, 0); end < fqn.length(); end = nextSeparator(fqn, end + 1)) {
+      last = end;
+    }
+    return last;
+  }
+
+  private static ParseCancellationException invalidFqn(String fqn) {
+    return new ParseCancellationException("Invalid fully qualified name " + fqn);
   }
 
   public static String getParent(String fqn) {
-    // Split fqn of format a.b.c.d and return the parent a.b.c
-    String[] split = split(fqn);
-    return getParent(split);
+    // Return the parent a.b.c of fqn of format a.b.c.d
+    int last = lastSeparator(fqn);
+    if (last < 0) {
+      return null;
+    }
+    if (nextSeparator(fqn, 0) == last) {
+      return unquoteName(fqn.substring(0, last)); // The root name is not quoted and only the unquoted name is returned
+    }
+    return PREFIXES.intern(fqn.substring(0, last));
   }
 
   public static String getParent(String... fqnParts) {
@@ -90,12 +166,13 @@ public class FullyQualifiedName {
   }
 
   public static String getRoot(String fqn) {
-    // Split fqn of format a.b.c.d and return the root a
-    String[] split = split(fqn);
-    if (split.length <= 1) {
+    // Return the root a of fqn of format a.b.c.d
+    int end = nextSeparator(fqn, 0);
+    if (end == fqn.length()) {
       return null;
     }
-    return split[0];
+    lastSeparator(fqn); // Validate the rest of the FQN
+    return PREFIXES.intern(fqn.substring(0, end));
   }
 
   public static boolean isParent(String childFqn, String parentFqn) {
@@ -103,24 +180,6 @@ public class FullyQualifiedName {
     return childFqn.startsWith(parentFqn) && childFqn.length() > parentFqn.length();
   }
 
-  private static class SplitListener extends FqnBaseListener {
-    final List<String> list = new ArrayList<>();
-
-    public String[] split() {
-      return list.toArray(new String[0]);
-    }
-
-    @Override
-    public void enterQuotedName(QuotedNameContext ctx) {
-      list.add(ctx.getText());
-    }
-
-    @Override
-    public void enterUnquotedName(UnquotedNameContext ctx) {
-      list.add(ctx.getText());
-    }
-  }
-
   /** Adds quotes to name as required */
   public static String quoteName(String name) {
     Matcher matcher = namePattern.matcher(name);
@@ -160,16 +219,53 @@ public class FullyQualifiedName {
   }
 
   public static String getTableFQN(String columnFQN) {
-    // Split columnFQN of format databaseServiceName.databaseName.tableName.columnName
-    String[] split = split(columnFQN);
-    if (split.length != 5) {
+    // Return table FQN of format databaseService.databaseName.schemaName.tableName from the columnFQN of format
+    // databaseService.databaseName.schemaName.tableName.columnName
+    int end = -1;
+    for (int i = 0; i < 4; i++) {
+      end = nextSeparator(columnFQN, end + 1);
+      if (end == columnFQN.length()) {
+        throw new IllegalArgumentException("Invalid fully qualified column name " + columnFQN);
+      }
+    }
+    if (nextSeparator(columnFQN, end + 1) != columnFQN.length()) {
       throw new IllegalArgumentException("Invalid fully qualified column name " + columnFQN);
     }
-    // Return table FQN of format databaseService.tableName
-    return build(split[0], split[1], split[2], split[3]);
+    return PREFIXES.intern(columnFQN.substring(0, end));
   }
 
   public static String getColumnName(String columnFQN) {
     return FullyQualifiedName.split(columnFQN)[4]; // Get from column name from FQN
   }
+
+  /**
+   * Hash of the FQN that is stored and indexed in place of the FQN in the keys of tag_usage and field_relationship. The
+   * hash is the MD5 of the whole FQN, which is 32 hex digits long regardless of the length of the FQN, and is computed
+   * in SQL with MD5(fqn) by the migrations and the renames. The descendants of an FQN are looked up by the hashes of
+   * their parent paths, see {@link #buildParentHashes(String)}.
+   */
+  public static String buildHash(String fqn) {
+    return fqn == null ? null : DigestUtils.md5Hex(fqn.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static List<String> buildHash(List<String> fqns) {
+    List<String> hashes = new ArrayList<>(fqns.size());
+    for (String fqn : fqns) {
+      hashes.add(buildHash(fqn));
+    }
+    return hashes;
+  }
+
+  /**
+   * Hashes of the parent paths of the FQN, from the root to the parent, such as the hashes of a and a.b for a.b.c. The
+   * parent paths are stored in fqn_parent_path so that the descendants of an FQN at any depth are looked up by the hash
+   * of the FQN instead of by a prefix of the FQN columns.
+   */
+  public static List<String> buildParentHashes(String fqn) {
+    List<String> hashes = new ArrayList<>();
+    for (int end = nextSeparator(fqn, 0); end < fqn.length(); end = nextSeparator(fqn, end + 1)) {
+      hashes.add(buildHash(fqn.substring(0, end)));
+    }
+    return hashes;
+  }
 }
@@ -0,0 +1,279 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+/**
+ * Applies JSON patch operations (RFC 6902) directly on Jackson trees, without converting the entity to a JSR-353
+ * structure and back.
+ *
+ * <p>Patches generated by {@code Json.createDiff} and by the UI refer to array elements by their index in the original
+ * document. For example, removing the last two elements of a three element array is sent as {@code remove /tags/1}
+ * followed by {@code remove /tags/2}, and adding two elements may be sent as {@code add /tags/3} followed by {@code add
+ * /tags/2}. To apply such patches, the operations are ordered by the array indexes in their path before applying them.
+ * Array elements are added in increasing order of index and removed in decreasing order of index after all the other
+ * operations. Operations on the read-only and auto generated {@code href} fields are ignored.
+ */
+final class JsonPatchEngine {
+  private static final String APPEND_INDEX = "-";
+
+  /** JSR-353 numbers are converted to Jackson nodes of a different numeric type than the document values */
+  private static final Comparator<JsonNode> NUMERIC_VALUE_COMPARATOR =
+      (node1, node2) -> {
+        if (node1.isNumber() && node2.isNumber()) {
+          return node1.decimalValue().compareTo(node2.decimalValue());
+        }
+        return node1.equals(node2) ? 0 : 1;
+      };
+
+  private JsonPatchEngine() {
+    /* Hidden constructor */
+  }
+
+  /** Applies the patch operations on the given tree and returns the updated tree. The given tree may be modified. */
+  static JsonNode apply(JsonNode target, JsonArray operations) {
+    List<Operation> removeOperations = new ArrayList<>();
+    List<Operation> otherOperations = new ArrayList<>();
+    for (JsonValue value : operations) {
+      Operation operation = new Operation(value.asJsonObject());
+      if (operation.path.endsWith("href")) {
+        continue;
+      }
+      if (operation.op.equals("remove")) {
+        removeOperations.add(operation);
+      } else {
+        otherOperations.add(operation);
+      }
+    }
+    // Sorting is stable and retains the order of operations that do not refer to array indexes
+    Comparator<Operation> byIndexes = Comparator.comparing(o -> o.indexes, JsonPatchEngine::compareIndexes);
+    otherOperations.sort(byIndexes);
+    removeOperations.sort(byIndexes);
+    Collections.reverse(removeOperations);
+
+    JsonNode result = target;
+    for (Operation operation : otherOperations) {
+      result = operation.apply(result);
+    }
+    for (Operation operation : removeOperations) {
+      result = operation.apply(result);
+    }
+    return result;
+  }
+
+  private static int compareIndexes(int[] indexes1, int[] indexes2) {
+    int length = Math.min(indexes1.length, indexes2.length);
+    for (int i = 0; i < length; i++) {
+      int compare = Integer.compare(indexes1[i], indexes2[i]);
+      if (compare != 0) {
+        return compare;
+      }
+    }
+    return Integer.compare(indexes1.length, indexes2.length);
+  }
+
+  /** Parse JSON pointer into reference tokens, unescaping {@code ~1} to {@code /} and {@code ~0} to {@code ~} */
+  static List<String> parsePointer(String pointer) {
+    if (pointer.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (pointer.charAt(0) != '/') {
+      throw new JsonException(String.format("A non-empty JSON pointer must begin with a '/' - %s", pointer));
+    }
+    List<String> tokens = new ArrayList<>();
+    int start = 1;
+    while (true) {
+      int end = pointer.indexOf('/', start);
+      String token = end < 0 ? pointer.substring(start) : pointer.substring(start, end);
+      if (token.indexOf('~') >= 0) {
+        token = token.replace("~1", "/").replace("~0", "~");
+      }
+      tokens.add(token);
+      if (end < 0) {
+        return tokens;
+      }
+      start = end + 1;
+    }
+  }
+
+  private static final class Operation {
+    private final String op;
+    private final String path;
+    private final List<String> tokens;
+    private final int[] indexes;
+    private final JsonObject operation;
+
+    Operation(JsonObject operation) {
+      this.operation = operation;
+      this.op = operation.getString("op");
+      this.path = operation.getString("path");
+      this.tokens = parsePointer(path);
+      this.indexes = tokens.stream().filter(Operation::isIndex).mapToInt(Operation::toIndex).toArray();
+    }
+
+    JsonNode apply(JsonNode root) {
+      switch (op) {
+        case "add":
+          return add(root, tokens, path, getValue());
+        case "remove":
+          remove(root, tokens, path);
+          return root;
+        case "replace":
+          remove(root, tokens, path);
+          return add(root, tokens, path, getValue());
+        case "move":
+          String from = operation.getString("from");
+          List<String> fromTokens = parsePointer(from);
+          JsonNode moved = get(root, fromTokens, from);
+          remove(root, fromTokens, from);
+          return add(root, tokens, path, moved);
+        case "copy":
+          String source = operation.getString("from");
+          return add(root, tokens, path, get(root, parsePointer(source), source).deepCopy());
+        case "test":
+          if (!get(root, tokens, path).equals(NUMERIC_VALUE_COMPARATOR, getValue())) {
+            throw new JsonException(String.format("The JSON patch test operation failed at path %s", path));
+          }
+          return root;
+        default:
+          throw new JsonException(String.format("Invalid JSON patch operation %s", op));
+      }
+    }
+
+    private JsonNode getValue() {
+      if (!operation.containsKey("value")) {
+        throw new JsonException(String.format("JSON patch operation %s at path %s is missing a value", op, path));
+      }
+      return JsonUtils.valueToTree(operation.get("value"));
+    }
+
+    private static boolean isIndex(String token) {
+      if (token.equals(APPEND_INDEX)) {
+        return true;
+      }
+      if (token.isEmpty() || token.length() > 9) {
+        return false;
+      }
+      for (int i = 0; i < token.length(); i++) {
+        if (!Character.isDigit(token.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static int toIndex(String token) {
+      return token.equals(APPEND_INDEX) ? Integer.MAX_VALUE : Integer.parseInt(token);
+    }
+  }
+
+  private static JsonNode get(JsonNode root, List<String> tokens, String path) {
+    JsonNode node = root;
+    for (String token : tokens) {
+      node = getChild(node, token, path);
+    }
+    return node;
+  }
+
+  private static JsonNode getChild(JsonNode node, String token, String path) {
+    if (node.isObject()) {
+      JsonNode child = node.get(token);
+      if (child == null) {
+        throw new JsonException(
+            String.format("The JSON object at path %s contains no mapping for the name %s", path, token));
+      }
+      return child;
+    }
+    if (node.isArray()) {
+      int index = getArrayIndex(token, path);
+      if (index >= node.size()) {
+        throw noElement(path, index);
+      }
+      return node.get(index);
+    }
+    throw new JsonException(
+        String.format("The JSON pointer %s refers to a value that is not an object or array", path));
+  }
+
+  private static JsonNode add(JsonNode root, List<String> tokens, String path, JsonNode value) {
+    if (tokens.isEmpty()) {
+      return value;
+    }
+    JsonNode parent = get(root, tokens.subList(0, tokens.size() - 1), path);
+    String last = tokens.get(tokens.size() - 1);
+    if (parent.isObject()) {
+      ((ObjectNode) parent).set(last, value);
+    } else if (parent.isArray()) {
+      ArrayNode array = (ArrayNode) parent;
+      if (last.equals(APPEND_INDEX)) {
+        array.add(value);
+      } else {
+        int index = getArrayIndex(last, path);
+        if (index > array.size()) {
+          throw noElement(path, index);
+        }
+        array.insert(index, value);
+      }
+    } else {
+      throw new JsonException(
+          String.format("The JSON pointer %s refers to a value that is not an object or array", path));
+    }
+    return root;
+  }
+
+  private static void remove(JsonNode root, List<String> tokens, String path) {
+    if (tokens.isEmpty()) {
+      throw new JsonException("The root of the JSON document can't be removed");
+    }
+    JsonNode parent = get(root, tokens.subList(0, tokens.size() - 1), path);
+    String last = tokens.get(tokens.size() - 1);
+    if (parent.isObject()) {
+      if (((ObjectNode) parent).remove(last) == null) {
+        throw new JsonException(
+            String.format("The JSON object at path %s contains no mapping for the name %s", path, last));
+      }
+    } else if (parent.isArray()) {
+      int index = getArrayIndex(last, path);
+      if (index >= parent.size()) {
+        throw noElement(path, index);
+      }
+      ((ArrayNode) parent).remove(index);
+    } else {
+      throw new JsonException(
+          String.format("The JSON pointer %s refers to a value that is not an object or array", path));
+    }
+  }
+
+  private static int getArrayIndex(String token, String path) {
+    if (!Operation.isIndex(token) || token.equals(APPEND_INDEX) || (token.length() > 1 && token.charAt(0) == '0')) {
+      throw new JsonException(String.format("Invalid array index %s in JSON pointer %s", token, path));
+    }
+    return Integer.parseInt(token);
+  }
+
+  private static JsonException noElement(String path, int index) {
+    return new JsonException(String.format("The JSON array at path %s contains no element for index %d", path, index));
+  }
+}
@@ -20,31 +20,33 @@ import com.fasterxml.jackson.core.StreamReadFeature;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jsr353.JSR353Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion.VersionFlag;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import javax.json.Json;
-import javax.json.JsonArray;
-import javax.json.JsonArrayBuilder;
-import javax.json.JsonObject;
 import javax.json.JsonPatch;
 import javax.json.JsonReader;
 import javax.json.JsonStructure;
@@ -67,12 +69,18 @@ public final class JsonUtils {
   private static final ObjectMapper MASKER_OBJECT_MAPPER;
   private static final JsonSchemaFactory schemaFactory = JsonSchemaFactory.getInstance(VersionFlag.V7);
 
+  // Readers and writers bound to a class resolve the root deserializer and serializer once, instead of on every call
+  private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
   static {
     OBJECT_MAPPER = new ObjectMapper();
     // Ensure the date-time fields are serialized in ISO-8601 format
     OBJECT_MAPPER.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     OBJECT_MAPPER.setDateFormat(DATE_TIME_FORMAT);
     OBJECT_MAPPER.registerModule(new JSR353Module());
+    // Access the properties of the POJOs with generated lambdas instead of reflection
+    OBJECT_MAPPER.registerModule(new BlackbirdModule());
   }
 
   static {
@@ -95,9 +103,9 @@ public final class JsonUtils {
   }
 
   public static String pojoToJson(Object o, boolean prettyPrint) throws JsonProcessingException {
-    return prettyPrint
-        ? OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(o)
-        : OBJECT_MAPPER.writeValueAsString(o);
+    ObjectWriter writer =
+        o == null ? OBJECT_MAPPER.writer() : WRITERS.computeIfAbsent(o.getClass(), OBJECT_MAPPER::writerFor);
+    return prettyPrint ? writer.withDefaultPrettyPrinter().writeValueAsString(o) : writer.writeValueAsString(o);
   }
 
   public static JsonStructure getJsonStructure(Object o) {
@@ -114,7 +122,11 @@ public final class JsonUtils {
     if (json == null) {
       return null;
     }
-    return OBJECT_MAPPER.readValue(json, clz);
+    return getReader(clz).readValue(json);
+  }
+
+  private static ObjectReader getReader(Class<?> clz) {
+    return READERS.computeIfAbsent(clz, OBJECT_MAPPER::readerFor);
   }
 
   public static <T> T readValue(String json, TypeReference<T> valueTypeRef) throws IOException {
@@ -138,13 +150,30 @@ public final class JsonUtils {
     if (jsons == null) {
       return Collections.emptyList();
     }
-    List<T> list = new ArrayList<>();
+    ObjectReader reader = getReader(clz);
+    List<T> list = new ArrayList<>(jsons.size());
     for (String json : jsons) {
-      list.add(readValue(json, clz));
+      list.add(reader.readValue(json));
     }
     return list;
   }
 
+  /**
+   * Read objects of type {@code T} from a stream of json documents, such as the rows streamed from the database. Each
+   * document is deserialized as the stream is consumed, without holding all the documents in memory.
+   */
+  public static <T> Stream<T> readValues(Stream<String> jsons, Class<T> clz) {
+    ObjectReader reader = getReader(clz);
+    return jsons.map(
+        json -> {
+          try {
+            return reader.<T>readValue(json);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
   public static <T> T convertValue(Object object, Class<T> clz) {
     if (object == null) {
       return null;
@@ -161,113 +190,21 @@ public final class JsonUtils {
 
   /** Applies the patch on original object and returns the updated object */
   public static JsonValue applyPatch(Object original, JsonPatch patch) {
-    JsonStructure targetJson = JsonUtils.getJsonStructure(original);
-
-    //
-    // -----------------------------------------------------------
-    // JSON patch modification 1 - Reorder the operations
-    // -----------------------------------------------------------
-    // JsonPatch array operations are not handled correctly by johnzon libraries. Example, the following operation:
-    // {"op":"replace","path":"/tags/0/tagFQN","value":"User.BankAccount"}
-    // {"op":"replace","path":"/tags/0/labelType","value":"MANUAL"}
-    // {"op":"remove","path":"/tags/1"}
-    // {"op":"remove","path":"/tags/2"}
-    // Removes second array element in a 3 array field /tags/1
-    // Then it fails to remove 3rd array element /tags/2. Because the previous operation removed the second element and
-    // now array of length 2 and there is no third element to remove. The patch operation fails with "array index not
-    // found error".
-    //
-    // The same applies to add operation as well. Example, the following operation:
-    // {"op":"add","path":"/tags/2"}
-    // {"op":"add","path":"/tags/1"}
-    // It will try to add element in index 2 before adding element in index 1 and the patch operation fails with
-    // "contains no element for index 1" error.
-    //
-    // Reverse sorting the remove operations and sorting all the other operations including "add" by "path" fields
-    // before applying the patch as a workaround.
-    //
-    // ---------------------------------------------------------------------
-    // JSON patch modification 2 - Ignore operations related to href patch
-    // ---------------------------------------------------------------------
-    // Another important modification to patch operation:
-    // Ignore all the patch operations related to the href path as href path is read only and is auto generated
-    // by removing those operations from patch operation array
-    //
-    JsonArray array = patch.toJsonArray();
-    List<JsonObject> removeOperations = new ArrayList<>();
-    List<JsonObject> otherOperations = new ArrayList<>();
-
-    array.forEach(
-        entry -> {
-          JsonObject jsonObject = entry.asJsonObject();
-          if (jsonObject.getString("path").endsWith("href")) {
-            // Ignore patch operations related to href path
-            return;
-          }
-          if (jsonObject.getString("op").equals("remove")) {
-            removeOperations.add(jsonObject);
-          } else {
-            otherOperations.add(jsonObject);
-          }
-        });
-
-    // sort the operations by path
-    if (!otherOperations.isEmpty()) {
-      ArrayList<String> paths = new ArrayList<>();
-      for (JsonObject jsonObject : otherOperations) {
-        paths.add(jsonObject.getString("path"));
-      }
-      for (String path : paths) {
-        if (path.matches("^[a-zA-Z]*$")) {
-          otherOperations.sort(Comparator.comparing(jsonObject -> jsonObject.getString("path")));
-        } else if (path.matches(".*\\d.*")) {
-          otherOperations.sort(
-              Comparator.comparing(
-                  jsonObject -> {
-                    String pathValue = jsonObject.getString("path");
-                    String tagIndex = pathValue.replaceAll("\\D", "");
-                    return tagIndex.isEmpty() ? 0 : Integer.parseInt(tagIndex);
-                  }));
-        }
-      }
-    }
-    if (!removeOperations.isEmpty()) {
-      ArrayList<String> paths = new ArrayList<>();
-      for (JsonObject jsonObject : removeOperations) {
-        paths.add(jsonObject.getString("path"));
-      }
-      for (String path : paths) {
-        if (path.matches("^[a-zA-Z]*$")) {
-          removeOperations.sort(Comparator.comparing(jsonObject -> jsonObject.getString("path")));
-          // reverse sort only the remove operations
-          Collections.reverse(removeOperations);
-        } else if (path.matches(".*\\d.*")) {
-          removeOperations.sort(
-              Comparator.comparing(
-                  jsonObject -> {
-                    String pathValue = jsonObject.getString("path");
-                    String tagIndex = pathValue.replaceAll("\\D", "");
-                    return tagIndex.isEmpty() ? 0 : Integer.parseInt(tagIndex);
-                  }));
-          // reverse sort only the remove operations
-          Collections.reverse(removeOperations);
-        }
-      }
-    }
-
-    // Build new sorted patch
-    JsonArrayBuilder arrayBuilder = Json.createArrayBuilder();
-    otherOperations.forEach(arrayBuilder::add);
-    removeOperations.forEach(arrayBuilder::add);
-    JsonPatch sortedPatch = Json.createPatch(arrayBuilder.build());
-
-    // Apply sortedPatch
-    return sortedPatch.apply(targetJson);
+    JsonNode updated = JsonPatchEngine.apply(valueToTree(original), patch.toJsonArray());
+    return OBJECT_MAPPER.convertValue(updated, JsonValue.class);
   }
 
+  /**
+   * Applies the patch on the JSON tree of the original object and binds the updated tree back to the object class. See
+   * {@link JsonPatchEngine} for how the patch operations are applied.
+   */
   public static <T> T applyPatch(T original, JsonPatch patch, Class<T> clz) {
-    JsonValue value = applyPatch(original, patch);
-    return OBJECT_MAPPER.convertValue(value, clz);
+    JsonNode updated = JsonPatchEngine.apply(valueToTree(original), patch.toJsonArray());
+    try {
+      return OBJECT_MAPPER.treeToValue(updated, clz);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
   }
 
   public static JsonPatch getJsonPatch(String v1, String v2) {
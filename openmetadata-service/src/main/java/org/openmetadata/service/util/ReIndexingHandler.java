@@ -51,6 +51,7 @@ import org.openmetadata.service.workflows.searchIndex.SearchIndexWorkflow;
 @Slf4j
 public class ReIndexingHandler {
   public static final String REINDEXING_JOB_EXTENSION = "reindexing.eventPublisher";
+  public static final String REINDEXING_WATERMARK_EXTENSION = "reindexing.watermark";
   private static ReIndexingHandler INSTANCE;
   private static volatile boolean INITIALIZED = false;
   private static CollectionDAO dao;
@@ -169,6 +170,10 @@ public class ReIndexingHandler {
     } else {
       throw new IllegalArgumentException("Entities cannot be Empty");
     }
+    if (job.getRunMode() == CreateEventPublisherJob.RunMode.INCREMENTAL
+        && Boolean.TRUE.equals(job.getRecreateIndex())) {
+      throw new IllegalArgumentException("Incremental Reindexing cannot recreate the Indexes");
+    }
   }
 
   public void removeCompletedJob(UUID jobId) {
@@ -223,7 +228,10 @@ public class ReIndexingHandler {
         .withId(UUID.randomUUID())
         .withName(job.getName())
         .withPublisherType(CreateEventPublisherJob.PublisherType.ELASTIC_SEARCH)
-        .withRunMode(CreateEventPublisherJob.RunMode.BATCH)
+        .withRunMode(
+            job.getRunMode() == CreateEventPublisherJob.RunMode.INCREMENTAL
+                ? CreateEventPublisherJob.RunMode.INCREMENTAL
+                : CreateEventPublisherJob.RunMode.BATCH)
         .withStartedBy(startedBy)
         .withStatus(EventPublisherJob.Status.STARTED)
         .withStats(new Stats())
@@ -233,6 +241,7 @@ public class ReIndexingHandler {
         .withBatchSize(job.getBatchSize())
         .withFailure(new Failure())
         .withRecreateIndex(job.getRecreateIndex())
+        .withAliasSwap(job.getAliasSwap())
         .withSearchIndexMappingLanguage(job.getSearchIndexMappingLanguage())
         .withAfterCursor(job.getAfterCursor());
   }
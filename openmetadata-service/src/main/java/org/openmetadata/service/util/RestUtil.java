@@ -28,7 +28,12 @@ import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 import lombok.Getter;
 import org.openmetadata.common.utils.CommonUtil;
+import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.api.BulkOperationResult;
+import org.openmetadata.schema.type.api.BulkResponse;
+import org.openmetadata.sdk.exception.WebServiceException;
+import org.openmetadata.service.security.AuthorizationException;
 
 public final class RestUtil {
   public static final String CHANGE_CUSTOM_HEADER = "X-OpenMetadata-Change";
@@ -119,11 +124,43 @@ public final class RestUtil {
     return cursor == null ? null : new String(Base64.getUrlDecoder().decode(cursor));
   }
 
+  /** Add the result of an entity successfully created or updated by a bulk operation */
+  public static void addBulkSuccess(BulkOperationResult result, PutResponse<? extends EntityInterface> response) {
+    EntityInterface entity = response.getEntity();
+    result
+        .getSuccessRequest()
+        .add(
+            new BulkResponse()
+                .withRequest(entity.getFullyQualifiedName())
+                .withStatus(response.getStatus().getStatusCode())
+                .withMessage(response.getChangeType())
+                .withEntity(entity));
+  }
+
+  /** Add the result of an entity that a bulk operation failed to create or update due to the given exception */
+  public static void addBulkFailure(BulkOperationResult result, EntityInterface entity, Exception exception) {
+    Status status = Status.BAD_REQUEST;
+    if (exception instanceof AuthorizationException) {
+      status = Status.FORBIDDEN;
+    } else if (exception instanceof WebServiceException) {
+      status = Status.fromStatusCode(((WebServiceException) exception).getResponse().getStatus());
+    }
+    addBulkFailure(result, entity, status, exception.getMessage());
+  }
+
+  public static void addBulkFailure(BulkOperationResult result, EntityInterface entity, Status status, String reason) {
+    // Name is used when the request failed before the fully qualified name of the entity was set
+    String request = entity.getFullyQualifiedName() != null ? entity.getFullyQualifiedName() : entity.getName();
+    result
+        .getFailedRequest()
+        .add(new BulkResponse().withRequest(request).withStatus(status.getStatusCode()).withMessage(reason));
+  }
+
   public static class PutResponse<T> {
     @Getter private T entity;
     private ChangeEvent changeEvent;
     @Getter private final Response.Status status;
-    private final String changeType;
+    @Getter private final String changeType;
 
     /**
      * Response.Status.CREATED when PUT operation creates a new entity or Response.Status.OK when PUT operation updates
@@ -24,7 +24,6 @@ import static org.openmetadata.schema.entity.teams.AuthenticationMechanism.AuthT
 import static org.openmetadata.schema.entity.teams.AuthenticationMechanism.AuthType.SSO;
 import static org.openmetadata.service.Entity.ADMIN_USER_NAME;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +47,7 @@ import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.EntityRepository;
 import org.openmetadata.service.jdbi3.UserRepository;
 import org.openmetadata.service.resources.teams.RoleResource;
+import org.openmetadata.service.security.auth.PasswordHasher;
 import org.openmetadata.service.security.jwt.JWTTokenGenerator;
 
 @Slf4j
@@ -116,7 +116,7 @@ public final class UserUtil {
   }
 
   public static void updateUserWithHashedPwd(User user, String pwd) {
-    String hashedPwd = BCrypt.withDefaults().hashToString(12, pwd.toCharArray());
+    String hashedPwd = PasswordHasher.getInstance().hash(pwd);
     user.setAuthenticationMechanism(
         new AuthenticationMechanism()
             .withAuthType(AuthenticationMechanism.AuthType.BASIC)
@@ -14,6 +14,7 @@
 package org.openmetadata.service.workflows.searchIndex;
 
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.ENTITY_TYPE_KEY;
+import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getTargetIndex;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getUpdatedStats;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -26,7 +27,6 @@ import org.elasticsearch.common.xcontent.XContentType;
 import org.openmetadata.common.utils.CommonUtil;
 import org.openmetadata.schema.analytics.ReportData;
 import org.openmetadata.schema.system.StepStats;
-import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
 import org.openmetadata.service.elasticsearch.ReportDataIndexes;
 import org.openmetadata.service.exception.ProcessorException;
 import org.openmetadata.service.util.JsonUtils;
@@ -48,7 +48,7 @@ public class EsDataInsightProcessor implements Processor<ResultList<ReportData>,
         "[EsDataInsightProcessor] Processing a Batch of Size: {}, EntityType: {} ", input.getData().size(), entityType);
     BulkRequest requests;
     try {
-      requests = buildBulkRequests(entityType, input.getData());
+      requests = buildBulkRequests(getTargetIndex(entityType, contextData), input.getData());
       LOG.debug(
           "[EsDataInsightProcessor] Batch Stats :- Submitted : {} Success: {} Failed: {}",
           input.getData().size(),
@@ -67,19 +67,17 @@ public class EsDataInsightProcessor implements Processor<ResultList<ReportData>,
     return requests;
   }
 
-  private BulkRequest buildBulkRequests(String entityType, List<ReportData> entities) throws JsonProcessingException {
+  private BulkRequest buildBulkRequests(String indexName, List<ReportData> entities) throws JsonProcessingException {
     BulkRequest bulkRequests = new BulkRequest();
     for (ReportData reportData : entities) {
-      UpdateRequest request = getUpdateRequest(entityType, reportData);
+      UpdateRequest request = getUpdateRequest(indexName, reportData);
       bulkRequests.add(request);
     }
     return bulkRequests;
   }
 
-  private UpdateRequest getUpdateRequest(String entityType, ReportData reportData) throws JsonProcessingException {
-    ElasticSearchIndexDefinition.ElasticSearchIndexType indexType =
-        ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
-    UpdateRequest updateRequest = new UpdateRequest(indexType.indexName, reportData.getId().toString());
+  private UpdateRequest getUpdateRequest(String indexName, ReportData reportData) throws JsonProcessingException {
+    UpdateRequest updateRequest = new UpdateRequest(indexName, reportData.getId().toString());
     updateRequest.doc(JsonUtils.pojoToJson(new ReportDataIndexes(reportData).buildESDoc()), XContentType.JSON);
     updateRequest.docAsUpsert(true);
     return updateRequest;
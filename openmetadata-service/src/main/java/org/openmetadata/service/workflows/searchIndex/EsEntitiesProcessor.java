@@ -14,6 +14,7 @@
 package org.openmetadata.service.workflows.searchIndex;
 
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.ENTITY_TYPE_KEY;
+import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getTargetIndex;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getUpdatedStats;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -50,7 +51,7 @@ public class EsEntitiesProcessor implements Processor<ResultList<? extends Entit
         "[EsEntitiesProcessor] Processing a Batch of Size: {}, EntityType: {} ", input.getData().size(), entityType);
     BulkRequest requests;
     try {
-      requests = buildBulkRequests(entityType, input.getData());
+      requests = buildBulkRequests(entityType, getTargetIndex(entityType, contextData), input.getData());
       LOG.debug(
           "[EsEntitiesProcessor] Batch Stats :- Submitted : {} Success: {} Failed: {}",
           input.getData().size(),
@@ -69,11 +70,11 @@ public class EsEntitiesProcessor implements Processor<ResultList<? extends Entit
     return requests;
   }
 
-  private BulkRequest buildBulkRequests(String entityType, List<? extends EntityInterface> entities)
+  private BulkRequest buildBulkRequests(String entityType, String indexName, List<? extends EntityInterface> entities)
       throws JsonProcessingException {
     BulkRequest bulkRequests = new BulkRequest();
     for (EntityInterface entity : entities) {
-      UpdateRequest request = getUpdateRequest(entityType, entity);
+      UpdateRequest request = getUpdateRequest(entityType, indexName, entity);
       bulkRequests.add(request);
     }
     return bulkRequests;
@@ -83,7 +84,12 @@ public class EsEntitiesProcessor implements Processor<ResultList<? extends Entit
       throws JsonProcessingException {
     ElasticSearchIndexDefinition.ElasticSearchIndexType indexType =
         ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
-    UpdateRequest updateRequest = new UpdateRequest(indexType.indexName, entity.getId().toString());
+    return getUpdateRequest(entityType, indexType.indexName, entity);
+  }
+
+  public static UpdateRequest getUpdateRequest(String entityType, String indexName, EntityInterface entity)
+      throws JsonProcessingException {
+    UpdateRequest updateRequest = new UpdateRequest(indexName, entity.getId().toString());
     updateRequest.doc(
         JsonUtils.pojoToJson(
             Objects.requireNonNull(ElasticSearchIndexFactory.buildIndex(entityType, entity)).buildESDoc()),
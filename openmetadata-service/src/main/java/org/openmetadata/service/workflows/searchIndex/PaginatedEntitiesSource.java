@@ -25,6 +25,7 @@ import org.openmetadata.schema.system.StepStats;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.SourceException;
+import org.openmetadata.service.jdbi3.EntityDAO;
 import org.openmetadata.service.jdbi3.EntityRepository;
 import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.util.ResultList;
@@ -35,6 +36,7 @@ public class PaginatedEntitiesSource implements Source<ResultList<? extends Enti
   @Getter private final int batchSize;
   @Getter private final String entityType;
   @Getter private final List<String> fields;
+  @Getter private final Long updatedSince;
   private final StepStats stats = new StepStats();
   private String lastFailedCursor = null;
 
@@ -42,10 +44,17 @@ public class PaginatedEntitiesSource implements Source<ResultList<? extends Enti
   @Getter private boolean isDone = false;
 
   public PaginatedEntitiesSource(String entityType, int batchSize, List<String> fields) {
+    this(entityType, batchSize, fields, null);
+  }
+
+  /** When updatedSince is given, only the entities updated at or after that time are read. */
+  public PaginatedEntitiesSource(String entityType, int batchSize, List<String> fields, Long updatedSince) {
     this.entityType = entityType;
     this.batchSize = batchSize;
     this.fields = fields;
-    this.stats.setTotalRecords(Entity.getEntityRepository(entityType).getDao().listTotalCount());
+    this.updatedSince = updatedSince;
+    EntityDAO<?> dao = Entity.getEntityRepository(entityType).getDao();
+    this.stats.setTotalRecords(updatedSince == null ? dao.listTotalCount() : dao.countUpdatedSince(updatedSince));
   }
 
   @Override
@@ -68,8 +77,11 @@ public class PaginatedEntitiesSource implements Source<ResultList<? extends Enti
     ResultList<? extends EntityInterface> result;
     try {
       result =
-          entityRepository.listAfterWithSkipFailure(
-              null, Entity.getFields(entityType, fields), new ListFilter(Include.ALL), batchSize, cursor);
+          updatedSince == null
+              ? entityRepository.listAfterWithSkipFailure(
+                  null, Entity.getFields(entityType, fields), new ListFilter(Include.ALL), batchSize, cursor)
+              : entityRepository.listUpdatedSince(
+                  Entity.getFields(entityType, fields), updatedSince, batchSize, cursor);
       if (!result.getErrors().isEmpty()) {
         lastFailedCursor = this.cursor;
         result
@@ -13,6 +13,7 @@
 
 package org.openmetadata.service.workflows.searchIndex;
 
+import java.util.Map;
 import java.util.Set;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkResponse;
@@ -24,6 +25,15 @@ import org.openmetadata.service.jdbi3.EntityRepository;
 
 public class ReindexingUtil {
   public static final String ENTITY_TYPE_KEY = "entityType";
+  public static final String TARGET_INDEX_KEY = "targetIndex";
+
+  /** Index to write to, which is the staging index during alias swap reindexing and the live index otherwise */
+  public static String getTargetIndex(String entityType, Map<String, Object> contextData) {
+    String targetIndex = (String) contextData.get(TARGET_INDEX_KEY);
+    return targetIndex != null
+        ? targetIndex
+        : ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType).indexName;
+  }
 
   public static void getUpdatedStats(StepStats stats, int currentSuccess, int currentFailed) {
     stats.setProcessedRecords(stats.getProcessedRecords() + currentSuccess + currentFailed);
@@ -15,7 +15,9 @@ package org.openmetadata.service.workflows.searchIndex;
 
 import static org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.getIndexFields;
 import static org.openmetadata.service.util.ReIndexingHandler.REINDEXING_JOB_EXTENSION;
+import static org.openmetadata.service.util.ReIndexingHandler.REINDEXING_WATERMARK_EXTENSION;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.ENTITY_TYPE_KEY;
+import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.TARGET_INDEX_KEY;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getSuccessFromBulkResponse;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getTotalRequestToProcess;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getUpdatedStats;
@@ -35,16 +37,22 @@ import org.apache.commons.lang.exception.ExceptionUtils;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.openmetadata.common.utils.CommonUtil;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.analytics.ReportData;
+import org.openmetadata.schema.api.CreateEventPublisherJob;
 import org.openmetadata.schema.system.EventPublisherJob;
 import org.openmetadata.schema.system.Failure;
 import org.openmetadata.schema.system.FailureDetails;
+import org.openmetadata.schema.system.ReindexWatermark;
 import org.openmetadata.schema.system.Stats;
 import org.openmetadata.schema.system.StepStats;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EventType;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
 import org.openmetadata.service.exception.ProcessorException;
 import org.openmetadata.service.exception.SinkException;
 import org.openmetadata.service.exception.SourceException;
@@ -57,14 +65,18 @@ import org.openmetadata.service.util.ResultList;
 @Slf4j
 public class SearchIndexWorkflow implements Runnable {
   private static final String ENTITY_TYPE_ERROR_MSG = "EntityType: %s %n Cause: %s %n Stack: %s";
+  // Entities committed with an updatedAt slightly older than the watermark are read again in the next run
+  private static final long WATERMARK_OVERLAP_MILLIS = 5 * 60 * 1000L;
   private final List<PaginatedEntitiesSource> paginatedEntitiesSources = new ArrayList<>();
   private final List<PaginatedDataInsightSource> paginatedDataInsightSources = new ArrayList<>();
   private final EsEntitiesProcessor entitiesProcessor;
   private final EsDataInsightProcessor dataInsightProcessor;
   private final EsSearchIndexSink searchIndexSink;
   private final ElasticSearchIndexDefinition elasticSearchIndexDefinition;
+  private final StagingIndexes stagingIndexes;
   @Getter private final EventPublisherJob jobData;
   private final CollectionDAO dao;
+  private final boolean incremental;
   private volatile boolean stopped = false;
 
   public SearchIndexWorkflow(
@@ -74,6 +86,7 @@ public class SearchIndexWorkflow implements Runnable {
       EventPublisherJob request) {
     this.dao = dao;
     this.jobData = request;
+    this.incremental = request.getRunMode() == CreateEventPublisherJob.RunMode.INCREMENTAL;
     request
         .getEntities()
         .forEach(
@@ -83,7 +96,8 @@ public class SearchIndexWorkflow implements Runnable {
                     new ArrayList<>(
                         Objects.requireNonNull(getIndexFields(entityType, jobData.getSearchIndexMappingLanguage())));
                 PaginatedEntitiesSource source =
-                    new PaginatedEntitiesSource(entityType, jobData.getBatchSize(), fields);
+                    new PaginatedEntitiesSource(
+                        entityType, jobData.getBatchSize(), fields, getUpdatedSince(entityType));
                 if (!CommonUtil.nullOrEmpty(request.getAfterCursor())) {
                   source.setCursor(request.getAfterCursor());
                 }
@@ -97,6 +111,7 @@ public class SearchIndexWorkflow implements Runnable {
     this.dataInsightProcessor = new EsDataInsightProcessor();
     this.searchIndexSink = new EsSearchIndexSink(client);
     this.elasticSearchIndexDefinition = elasticSearchIndexDefinition;
+    this.stagingIndexes = new StagingIndexes(elasticSearchIndexDefinition);
   }
 
   @SneakyThrows
@@ -110,6 +125,10 @@ public class SearchIndexWorkflow implements Runnable {
       dataInsightReindex();
       // Mark Job as Completed
       updateJobStatus();
+      // Swap in the indexes built in the background, with the changes made while they were built
+      swapStagingIndexes();
+      // Move the watermark of the incremental reindexing to the start of this run
+      storeWatermarks();
       jobData.setEndTime(System.currentTimeMillis());
     } catch (Exception ex) {
       String error =
@@ -120,6 +139,8 @@ public class SearchIndexWorkflow implements Runnable {
       jobData.setStatus(EventPublisherJob.Status.FAILED);
       handleJobError("Failure in Job: Check Stack", error, System.currentTimeMillis());
     } finally {
+      // Drop the staging indexes that were not swapped in, the live indexes continue serving searches
+      stagingIndexes.discard(jobData);
       // store job details in Database
       updateRecordToDb();
       // Send update
@@ -129,77 +150,149 @@ public class SearchIndexWorkflow implements Runnable {
     }
   }
 
-  private void entitiesReIndex() {
+  private void entitiesReIndex() throws IOException {
     Map<String, Object> contextData = new HashMap<>();
     for (PaginatedEntitiesSource paginatedEntitiesSource : paginatedEntitiesSources) {
-      reCreateIndexes(paginatedEntitiesSource.getEntityType());
-      contextData.put(ENTITY_TYPE_KEY, paginatedEntitiesSource.getEntityType());
-      ResultList<? extends EntityInterface> resultList;
-      while (!stopped && !paginatedEntitiesSource.isDone()) {
-        long currentTime = System.currentTimeMillis();
-        int requestToProcess = jobData.getBatchSize();
-        int failed = requestToProcess;
-        int success = 0;
-        try {
-          resultList = paginatedEntitiesSource.readNext(null);
-          requestToProcess = resultList.getData().size() + resultList.getErrors().size();
-          if (!resultList.getData().isEmpty()) {
-            // process data to build Reindex Request
-            BulkRequest requests = entitiesProcessor.process(resultList, contextData);
-            // write the data to ElasticSearch
-            BulkResponse response = searchIndexSink.write(requests, contextData);
-            // update Status
-            handleErrors(resultList, paginatedEntitiesSource.getLastFailedCursor(), response, currentTime);
-            // Update stats
-            success = getSuccessFromBulkResponse(response);
-            failed = requestToProcess - success;
-          } else {
-            failed = 0;
-          }
-        } catch (SourceException rx) {
-          handleSourceError(
-              rx.getMessage(),
-              String.format(
-                  ENTITY_TYPE_ERROR_MSG,
-                  paginatedEntitiesSource.getEntityType(),
-                  rx.getCause(),
-                  ExceptionUtils.getStackTrace(rx)),
-              currentTime);
-        } catch (ProcessorException px) {
-          handleProcessorError(
-              px.getMessage(),
-              String.format(
-                  ENTITY_TYPE_ERROR_MSG,
-                  paginatedEntitiesSource.getEntityType(),
-                  px.getCause(),
-                  ExceptionUtils.getStackTrace(px)),
-              currentTime);
-        } catch (SinkException wx) {
-          handleEsSinkError(
-              wx.getMessage(),
-              String.format(
-                  ENTITY_TYPE_ERROR_MSG,
-                  paginatedEntitiesSource.getEntityType(),
-                  wx.getCause(),
-                  ExceptionUtils.getStackTrace(wx)),
-              currentTime);
-        } finally {
+      reCreateIndexes(paginatedEntitiesSource.getEntityType(), contextData);
+      reindex(paginatedEntitiesSource, contextData, true);
+    }
+  }
+
+  private void reindex(PaginatedEntitiesSource paginatedEntitiesSource, Map<String, Object> contextData, boolean stats)
+      throws IOException {
+    contextData.put(ENTITY_TYPE_KEY, paginatedEntitiesSource.getEntityType());
+    ResultList<? extends EntityInterface> resultList;
+    while (!stopped && !paginatedEntitiesSource.isDone()) {
+      long currentTime = System.currentTimeMillis();
+      int requestToProcess = jobData.getBatchSize();
+      int failed = requestToProcess;
+      int success = 0;
+      try {
+        resultList = paginatedEntitiesSource.readNext(null);
+        requestToProcess = resultList.getData().size() + resultList.getErrors().size();
+        if (!resultList.getData().isEmpty()) {
+          // process data to build Reindex Request
+          BulkRequest requests = entitiesProcessor.process(resultList, contextData);
+          // write the data to ElasticSearch
+          BulkResponse response = searchIndexSink.write(requests, contextData);
+          // update Status
+          handleErrors(resultList, paginatedEntitiesSource.getLastFailedCursor(), response, currentTime);
+          // Update stats
+          success = getSuccessFromBulkResponse(response);
+          failed = requestToProcess - success;
+        } else {
+          failed = 0;
+        }
+      } catch (SourceException rx) {
+        handleSourceError(
+            rx.getMessage(),
+            String.format(
+                ENTITY_TYPE_ERROR_MSG,
+                paginatedEntitiesSource.getEntityType(),
+                rx.getCause(),
+                ExceptionUtils.getStackTrace(rx)),
+            currentTime);
+      } catch (ProcessorException px) {
+        handleProcessorError(
+            px.getMessage(),
+            String.format(
+                ENTITY_TYPE_ERROR_MSG,
+                paginatedEntitiesSource.getEntityType(),
+                px.getCause(),
+                ExceptionUtils.getStackTrace(px)),
+            currentTime);
+      } catch (SinkException wx) {
+        handleEsSinkError(
+            wx.getMessage(),
+            String.format(
+                ENTITY_TYPE_ERROR_MSG,
+                paginatedEntitiesSource.getEntityType(),
+                wx.getCause(),
+                ExceptionUtils.getStackTrace(wx)),
+            currentTime);
+      } finally {
+        if (stats) {
           updateStats(
               success,
               failed,
               paginatedEntitiesSource.getStats(),
               entitiesProcessor.getStats(),
               searchIndexSink.getStats());
-          sendUpdates();
         }
+        sendUpdates();
       }
     }
+    if (!stopped && paginatedEntitiesSource.getUpdatedSince() != null) {
+      deleteRemovedEntities(paginatedEntitiesSource, contextData);
+    }
   }
 
-  private void dataInsightReindex() {
+  /**
+   * Hard deleted entities no longer have a row to be read from, remove them from the index using the entityDeleted
+   * change events since the watermark. Soft deleted entities are updated and reindexed with the rest.
+   */
+  private void deleteRemovedEntities(PaginatedEntitiesSource source, Map<String, Object> contextData)
+      throws IOException {
+    long currentTime = System.currentTimeMillis();
+    String entityType = source.getEntityType();
+    List<ChangeEvent> deletedEvents =
+        JsonUtils.readObjects(
+            dao.changeEventDAO().list(EventType.ENTITY_DELETED.value(), List.of(entityType), source.getUpdatedSince()),
+            ChangeEvent.class);
+    if (deletedEvents.isEmpty()) {
+      return;
+    }
+    String indexName = ReindexingUtil.getTargetIndex(entityType, contextData);
+    BulkRequest requests = new BulkRequest();
+    deletedEvents.forEach(event -> requests.add(new DeleteRequest(indexName, event.getEntityId().toString())));
+    try {
+      // Deleting a document that is already gone is not reported as a failed item
+      handleEsSinkErrors(searchIndexSink.write(requests, contextData), currentTime);
+    } catch (SinkException wx) {
+      handleEsSinkError(
+          wx.getMessage(),
+          String.format(ENTITY_TYPE_ERROR_MSG, entityType, wx.getCause(), ExceptionUtils.getStackTrace(wx)),
+          currentTime);
+    }
+  }
+
+  @SneakyThrows
+  private Long getUpdatedSince(String entityType) {
+    if (!incremental) {
+      return null;
+    }
+    String json = dao.entityExtensionTimeSeriesDao().getLatestExtension(entityType, REINDEXING_WATERMARK_EXTENSION);
+    if (json == null) {
+      return null; // Never reindexed before, read everything
+    }
+    ReindexWatermark watermark = JsonUtils.readValue(json, ReindexWatermark.class);
+    return Math.max(0, watermark.getTimestamp() - WATERMARK_OVERLAP_MILLIS);
+  }
+
+  private void storeWatermarks() throws JsonProcessingException {
+    if (!incremental || jobData.getStatus() != EventPublisherJob.Status.COMPLETED) {
+      return;
+    }
+    for (PaginatedEntitiesSource source : paginatedEntitiesSources) {
+      ReindexWatermark watermark =
+          new ReindexWatermark()
+              .withEntityType(source.getEntityType())
+              .withTimestamp(jobData.getStartTime())
+              .withJobId(jobData.getId());
+      dao.entityExtensionTimeSeriesDao().delete(source.getEntityType(), REINDEXING_WATERMARK_EXTENSION);
+      dao.entityExtensionTimeSeriesDao()
+          .insert(
+              source.getEntityType(),
+              REINDEXING_WATERMARK_EXTENSION,
+              "reindexWatermark",
+              JsonUtils.pojoToJson(watermark));
+    }
+  }
+
+  private void dataInsightReindex() throws IOException {
     Map<String, Object> contextData = new HashMap<>();
     for (PaginatedDataInsightSource paginatedDataInsightSource : paginatedDataInsightSources) {
-      reCreateIndexes(paginatedDataInsightSource.getEntityType());
+      reCreateIndexes(paginatedDataInsightSource.getEntityType(), contextData);
       contextData.put(ENTITY_TYPE_KEY, paginatedDataInsightSource.getEntityType());
       ResultList<ReportData> resultList;
       while (!stopped && !paginatedDataInsightSource.isDone()) {
@@ -282,7 +375,7 @@ public class SearchIndexWorkflow implements Runnable {
     // Total Stats
     StepStats stats = jobData.getStats().getJobStats();
     if (stats == null) {
-      stats = new StepStats().withTotalRecords(getTotalRequestToProcess(jobData.getEntities(), dao));
+      stats = new StepStats().withTotalRecords(getTotalRecords());
     }
     getUpdatedStats(stats, currentSuccess, currentFailed);
 
@@ -298,6 +391,21 @@ public class SearchIndexWorkflow implements Runnable {
     jobData.setStats(jobDataStats);
   }
 
+  private int getTotalRecords() {
+    if (!incremental) {
+      return getTotalRequestToProcess(jobData.getEntities(), dao);
+    }
+    // Only the changed entities are read by the sources
+    int total = 0;
+    for (PaginatedEntitiesSource source : paginatedEntitiesSources) {
+      total += source.getStats().getTotalRecords();
+    }
+    for (PaginatedDataInsightSource source : paginatedDataInsightSources) {
+      total += source.getStats().getTotalRecords();
+    }
+    return total;
+  }
+
   public void updateRecordToDb() throws IOException {
     String recordString =
         dao.entityExtensionTimeSeriesDao().getExtension(jobData.getId().toString(), REINDEXING_JOB_EXTENSION);
@@ -308,17 +416,62 @@ public class SearchIndexWorkflow implements Runnable {
             jobData.getId().toString(), REINDEXING_JOB_EXTENSION, JsonUtils.pojoToJson(jobData), originalLastUpdate);
   }
 
-  private void reCreateIndexes(String entityType) {
+  private void reCreateIndexes(String entityType, Map<String, Object> contextData) throws IOException {
+    contextData.remove(TARGET_INDEX_KEY);
     if (Boolean.FALSE.equals(jobData.getRecreateIndex())) {
       return;
     }
 
-    ElasticSearchIndexDefinition.ElasticSearchIndexType indexType =
-        ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
+    ElasticSearchIndexType indexType = ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
+    String lang = jobData.getSearchIndexMappingLanguage().value();
+    if (Boolean.TRUE.equals(jobData.getAliasSwap())) {
+      // Build into a staging index shared by all the entity types of the index, the live index is left untouched
+      contextData.put(TARGET_INDEX_KEY, stagingIndexes.getOrCreate(indexType, lang));
+      return;
+    }
     // Delete index
     elasticSearchIndexDefinition.deleteIndex(indexType);
     // Create index
-    elasticSearchIndexDefinition.createIndex(indexType, jobData.getSearchIndexMappingLanguage().value());
+    elasticSearchIndexDefinition.createIndex(indexType, lang);
+  }
+
+  /**
+   * Entities changed while the staging indexes were built are written to the live indexes by the event publisher and
+   * would be lost with the swap. They are replayed into the staging indexes before the swap, and the ones changed
+   * during that replay into the new live indexes after it. Only a completely built index replaces the live index.
+   */
+  private void swapStagingIndexes() throws IOException {
+    if (jobData.getStatus() != EventPublisherJob.Status.COMPLETED || stagingIndexes.isEmpty()) {
+      return;
+    }
+    long catchUpStart = System.currentTimeMillis();
+    replayChanges(jobData.getStartTime(), true);
+    updateJobStatus();
+    if (jobData.getStatus() != EventPublisherJob.Status.COMPLETED) {
+      return;
+    }
+    stagingIndexes.swap(jobData);
+    replayChanges(catchUpStart, false);
+    updateJobStatus();
+  }
+
+  /** Reindex the entities updated or deleted since the given time, data insight indexes are only appended to */
+  private void replayChanges(long since, boolean toStaging) throws IOException {
+    for (PaginatedEntitiesSource source : paginatedEntitiesSources) {
+      String entityType = source.getEntityType();
+      ElasticSearchIndexType indexType = ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
+      if (!stagingIndexes.getIndexTypes().contains(indexType)) {
+        continue;
+      }
+      Map<String, Object> contextData = new HashMap<>();
+      if (toStaging) {
+        contextData.put(TARGET_INDEX_KEY, stagingIndexes.get(indexType));
+      }
+      PaginatedEntitiesSource changes =
+          new PaginatedEntitiesSource(
+              entityType, jobData.getBatchSize(), source.getFields(), Math.max(0, since - WATERMARK_OVERLAP_MILLIS));
+      reindex(changes, contextData, false);
+    }
   }
 
   private void handleErrors(ResultList<?> data, String lastCursor, BulkResponse response, long time) {
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.workflows.searchIndex;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openmetadata.schema.system.EventPublisherJob;
+import org.openmetadata.schema.system.Failure;
+import org.openmetadata.schema.system.FailureDetails;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+
+/**
+ * Staging indexes of an alias swap reindexing job. They are swapped in only when the job completes without errors. A
+ * job that fails, including one with only some of the entities failing to be read or written, or that is stopped
+ * discards them, leaves the live indexes unchanged and records in its job error that the staging indexes were
+ * discarded, so that the job can be run again.
+ */
+class StagingIndexes {
+  private final ElasticSearchIndexDefinition indexDefinition;
+  private final Map<ElasticSearchIndexType, String> indexes = new EnumMap<>(ElasticSearchIndexType.class);
+  private final Set<ElasticSearchIndexType> swapped = EnumSet.noneOf(ElasticSearchIndexType.class);
+
+  StagingIndexes(ElasticSearchIndexDefinition indexDefinition) {
+    this.indexDefinition = indexDefinition;
+  }
+
+  /** Staging index of the index type, which is created for the first entity type of the index */
+  String getOrCreate(ElasticSearchIndexType indexType, String lang) throws IOException {
+    String stagingIndex = indexes.get(indexType);
+    if (stagingIndex == null) {
+      stagingIndex = indexDefinition.createStagingIndex(indexType, lang);
+      indexes.put(indexType, stagingIndex);
+    }
+    return stagingIndex;
+  }
+
+  String get(ElasticSearchIndexType indexType) {
+    return indexes.get(indexType);
+  }
+
+  boolean isEmpty() {
+    return indexes.isEmpty() && swapped.isEmpty();
+  }
+
+  /** Index types that were built into a staging index, whether swapped in or not */
+  Set<ElasticSearchIndexType> getIndexTypes() {
+    Set<ElasticSearchIndexType> indexTypes = EnumSet.noneOf(ElasticSearchIndexType.class);
+    indexTypes.addAll(indexes.keySet());
+    indexTypes.addAll(swapped);
+    return indexTypes;
+  }
+
+  /** Move the aliases to the staging indexes of a completed job */
+  void swap(EventPublisherJob job) throws IOException {
+    if (job.getStatus() != EventPublisherJob.Status.COMPLETED) {
+      return;
+    }
+    Iterator<Map.Entry<ElasticSearchIndexType, String>> iterator = indexes.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<ElasticSearchIndexType, String> entry = iterator.next();
+      indexDefinition.swapIndex(entry.getKey(), entry.getValue());
+      swapped.add(entry.getKey());
+      iterator.remove(); // Index is live now
+    }
+  }
+
+  /** Drop the staging indexes that were not swapped in, and record it in the job error */
+  void discard(EventPublisherJob job) {
+    if (indexes.isEmpty()) {
+      return;
+    }
+    List<String> discarded = new ArrayList<>(indexes.values());
+    discarded.forEach(indexDefinition::deleteStagingIndex);
+    indexes.clear();
+    Failure failure = job.getFailure() != null ? job.getFailure() : new Failure();
+    FailureDetails jobError = failure.getJobError() != null ? failure.getJobError() : new FailureDetails();
+    String outcome =
+        String.format(
+            "Staging indexes %s were discarded as the job ended with status %s. The live indexes were not changed.",
+            discarded, job.getStatus());
+    jobError.setContext(jobError.getContext() == null ? outcome : jobError.getContext() + " " + outcome);
+    if (jobError.getLastFailedAt() == null) {
+      jobError.setLastFailedAt(System.currentTimeMillis());
+    }
+    failure.setJobError(jobError);
+    job.setFailure(failure);
+  }
+}
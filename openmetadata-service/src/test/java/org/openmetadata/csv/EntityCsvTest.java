@@ -10,6 +10,7 @@ import static org.openmetadata.csv.EntityCsv.ENTITY_CREATED;
 import static org.openmetadata.csv.EntityCsv.ENTITY_UPDATED;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.csv.CSVPrinter;
@@ -83,6 +84,29 @@ public class EntityCsvTest {
     assertRows(importResult, expectedRecords);
   }
 
+  @Test
+  void test_exportCsvStreaming() throws IOException {
+    List<EntityInterface> tables = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      tables.add(new Table().withName("table" + i).withDescription("description, " + i));
+    }
+
+    // Records written one at a time to a writer must match the CSV built from the full list of entities
+    TestCsv testCsv = new TestExportCsv();
+    StringWriter writer = new StringWriter();
+    CSVPrinter printer = testCsv.exportHeaders(writer);
+    for (EntityInterface table : tables) {
+      testCsv.exportRecord(printer, table);
+    }
+    printer.flush();
+
+    List<String> records =
+        listOf("table0,\"description, 0\",", "table1,\"description, 1\",", "table2,\"description, 2\",");
+    String expectedCsv = createCsv(CSV_HEADERS, records);
+    assertEquals(expectedCsv, writer.toString());
+    assertEquals(expectedCsv, testCsv.exportCsv(tables));
+  }
+
   public static void assertSummary(
       CsvImportResult importResult,
       Status expectedStatus,
@@ -169,4 +193,12 @@ public class EntityCsvTest {
       return null;
     }
   }
+
+  /** Exports the name and description of the entities */
+  private static class TestExportCsv extends TestCsv {
+    @Override
+    protected List<String> toRecord(EntityInterface entity) {
+      return listOf(entity.getName(), entity.getDescription(), null);
+    }
+  }
 }
@@ -0,0 +1,99 @@
+package org.openmetadata.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.cache.CacheConfiguration.CacheSettings;
+import org.openmetadata.service.cache.CacheInvalidationLog.Invalidation;
+
+class CacheInvalidatorTest {
+  @AfterEach
+  void tearDown() {
+    CacheInvalidator.stop();
+    Caches.initialize(null, null);
+  }
+
+  @Test
+  void test_invalidationFromOtherServer() throws Exception {
+    LoadingCache<String, Object> cache = Caches.newCache("test", 10, 1, TimeUnit.MINUTES, new ObjectLoader());
+    CacheInvalidator.register("test", cache::invalidate);
+
+    // This server reads the invalidations published by the other server sharing the log
+    LocalCacheInvalidationLog thisServer = new LocalCacheInvalidationLog();
+    LocalCacheInvalidationLog otherServer = thisServer.otherServer();
+    CacheInvalidator.setInvalidationLog(thisServer);
+
+    Object cached = cache.get("key");
+    otherServer.append("test", "key");
+    otherServer.append("unknownCache", "key"); // Invalidations of caches not on this server are ignored
+    CacheInvalidator.poll();
+    assertNotSame(cached, cache.get("key"));
+
+    // Invalidations published by this server are not read back by this server
+    cached = cache.get("key");
+    CacheInvalidator.publish("test", "key");
+    CacheInvalidator.poll();
+    assertSame(cached, cache.get("key"));
+    assertEquals(1, otherServer.readNew().size());
+    assertEquals(List.of(), otherServer.readNew());
+  }
+
+  @Test
+  void test_localLogKeepsUnreadInvalidations() {
+    // Invalidations are not kept when no other server shares the log
+    LocalCacheInvalidationLog thisServer = new LocalCacheInvalidationLog();
+    thisServer.append("test", "key1");
+    LocalCacheInvalidationLog otherServer = thisServer.otherServer();
+    assertEquals(List.of(), otherServer.readNew());
+
+    // Invalidations read by every server are removed, and the ones not yet read by a server are still returned
+    thisServer.append("test", "key2");
+    assertEquals(1, otherServer.readNew().size());
+    thisServer.append("test", "key3");
+    LocalCacheInvalidationLog thirdServer = thisServer.otherServer();
+    otherServer.append("test", "key4");
+    List<Invalidation> invalidations = thisServer.readNew();
+    assertEquals(1, invalidations.size());
+    assertEquals("key4", invalidations.get(0).getKey());
+    assertEquals("key3", otherServer.readNew().get(0).getKey());
+    assertEquals("key4", thirdServer.readNew().get(0).getKey());
+  }
+
+  @Test
+  void test_cacheSettings() throws Exception {
+    CacheSettings settings = new CacheSettings();
+    settings.setMaximumSize(1L);
+    CacheConfiguration configuration = new CacheConfiguration();
+    configuration.setCaches(Map.of("test", settings));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Caches.initialize(configuration, registry);
+
+    LoadingCache<String, Object> cache = Caches.newCache("test", 10, 1, TimeUnit.MINUTES, new ObjectLoader());
+    cache.get("key1");
+    cache.get("key1");
+    cache.get("key2");
+    cache.cleanUp();
+    assertEquals(1, cache.size());
+
+    // Hits, misses and evictions are exported as metrics
+    assertEquals(1.0, registry.get("cache.gets").tag("cache", "test").tag("result", "hit").functionCounter().count());
+    assertEquals(2.0, registry.get("cache.gets").tag("cache", "test").tag("result", "miss").functionCounter().count());
+    assertEquals(1.0, registry.get("cache.evictions").tag("cache", "test").functionCounter().count());
+  }
+
+  static class ObjectLoader extends CacheLoader<String, Object> {
+    @Override
+    public Object load(String key) {
+      return new Object();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package org.openmetadata.service.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.FieldChange;
+
+class ElasticSearchIndexUtilsTest {
+  @Test
+  void test_getPartialDoc() {
+    Map<String, Object> doc = new HashMap<>();
+    doc.put("description", "new description");
+    doc.put("tags", List.of("PII.Sensitive"));
+    doc.put("tier", null);
+    doc.put("columns", List.of("c1"));
+    doc.put("name", "dashboard");
+    doc.put("displayName", "Dashboard");
+    doc.put("suggest", List.of("Dashboard"));
+    doc.put("version", 0.2);
+    doc.put("updatedAt", 10L);
+    doc.put("updatedBy", "admin");
+
+    // Only the changed field and the common fields are sent
+    ChangeDescription change =
+        new ChangeDescription().withFieldsUpdated(List.of(new FieldChange().withName("description")));
+    Map<String, Object> partialDoc = ElasticSearchIndexUtils.getPartialDoc(change, doc);
+    assertEquals(
+        Map.of("description", "new description", "version", 0.2, "updatedAt", 10L, "updatedBy", "admin"), partialDoc);
+
+    // Derived fields are sent along, removed fields are cleared
+    change = new ChangeDescription().withFieldsDeleted(List.of(new FieldChange().withName("tags")));
+    partialDoc = ElasticSearchIndexUtils.getPartialDoc(change, doc);
+    assertEquals(List.of("PII.Sensitive"), partialDoc.get("tags"));
+    assertTrue(partialDoc.containsKey("tier"));
+    assertNull(partialDoc.get("tier"));
+
+    // The suggest inputs and name built from the displayName are sent along
+    change = new ChangeDescription().withFieldsUpdated(List.of(new FieldChange().withName("displayName")));
+    partialDoc = ElasticSearchIndexUtils.getPartialDoc(change, doc);
+    assertEquals("Dashboard", partialDoc.get("displayName"));
+    assertEquals("dashboard", partialDoc.get("name"));
+    assertEquals(List.of("Dashboard"), partialDoc.get("suggest"));
+
+    // Derived fields missing from the index are not added
+    doc.remove("suggest");
+    partialDoc = ElasticSearchIndexUtils.getPartialDoc(change, doc);
+    assertFalse(partialDoc.containsKey("suggest"));
+
+    // Structural changes need the whole document
+    change =
+        new ChangeDescription()
+            .withFieldsUpdated(List.of(new FieldChange().withName("description")))
+            .withFieldsAdded(List.of(new FieldChange().withName("columns.c1.description")));
+    assertNull(ElasticSearchIndexUtils.getPartialDoc(change, doc));
+    assertNull(ElasticSearchIndexUtils.getPartialDoc(null, doc));
+  }
+}
@@ -0,0 +1,167 @@
+package org.openmetadata.service.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openmetadata.service.events.WebAnalyticEventBufferConfiguration.OverflowPolicy;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ExtensionTimeSeriesObject;
+
+class WebAnalyticEventBufferTest {
+  @TempDir Path tempDir;
+  private EntityExtensionTimeSeriesDAO dao;
+  private List<List<String>> batches;
+
+  @BeforeEach
+  void setup() {
+    dao = mock(EntityExtensionTimeSeriesDAO.class);
+    batches = Collections.synchronizedList(new ArrayList<>());
+    doAnswer(i -> batches.add(json(i.getArgument(0)))).when(dao).insertMany(anyList());
+  }
+
+  @AfterEach
+  void stop() {
+    WebAnalyticEventBuffer.stop();
+  }
+
+  @Test
+  void test_flushBySizeAndAge() throws InterruptedException {
+    WebAnalyticEventBuffer buffer = start(OverflowPolicy.REJECT, 100, 10, 200);
+
+    // Events are written in batches once the batch size is reached
+    for (int i = 0; i < 25; i++) {
+      assertTrue(buffer.add(event(i)));
+    }
+    waitForEvents(20);
+    assertEquals(10, batches.get(0).size());
+
+    // Remaining events are written once they are older than the flush interval
+    waitForEvents(25);
+    assertEquals(0, buffer.size());
+    assertEquals(25, batches.stream().mapToInt(List::size).sum());
+  }
+
+  @Test
+  void test_dropOldest() {
+    WebAnalyticEventBuffer buffer =
+        new WebAnalyticEventBuffer(configuration(OverflowPolicy.DROP_OLDEST, 3, 10), dao, new SimpleMeterRegistry());
+    for (int i = 0; i < 5; i++) {
+      assertTrue(buffer.add(event(i)));
+    }
+    buffer.flush();
+    assertEquals(List.of(List.of("2", "3", "4")), batches);
+  }
+
+  @Test
+  void test_reject() {
+    WebAnalyticEventBuffer buffer =
+        new WebAnalyticEventBuffer(configuration(OverflowPolicy.REJECT, 3, 10), dao, new SimpleMeterRegistry());
+    for (int i = 0; i < 3; i++) {
+      assertTrue(buffer.add(event(i)));
+    }
+    assertFalse(buffer.add(event(3)));
+    buffer.flush();
+    assertEquals(List.of(List.of("0", "1", "2")), batches);
+  }
+
+  @Test
+  void test_spill() {
+    WebAnalyticEventBufferConfiguration configuration = configuration(OverflowPolicy.SPILL, 2, 10);
+    WebAnalyticEventBuffer buffer = new WebAnalyticEventBuffer(configuration, dao, new SimpleMeterRegistry());
+    for (int i = 0; i < 4; i++) {
+      assertTrue(buffer.add(event(i)));
+    }
+    assertTrue(Files.exists(Path.of(configuration.getSpillFile())));
+
+    // Events that fail to be written are spilled and written with the spilled events on the next flush
+    doThrow(new IllegalStateException("Database is down")).when(dao).insertMany(anyList());
+    buffer.flush();
+    assertTrue(batches.isEmpty());
+
+    reset(dao);
+    doAnswer(i -> batches.add(json(i.getArgument(0)))).when(dao).insertMany(anyList());
+    buffer.flush();
+    assertEquals(
+        List.of("0", "1", "2", "3"), batches.stream().flatMap(List::stream).sorted().collect(Collectors.toList()));
+    assertFalse(Files.exists(Path.of(configuration.getSpillFile())));
+  }
+
+  @Test
+  void test_replayKeepsUnwrittenBatches() {
+    WebAnalyticEventBufferConfiguration configuration = configuration(OverflowPolicy.SPILL, 1, 2);
+    WebAnalyticEventBuffer buffer = new WebAnalyticEventBuffer(configuration, dao, new SimpleMeterRegistry());
+    for (int i = 0; i < 6; i++) {
+      assertTrue(buffer.add(event(i)));
+    }
+
+    // Second batch of the spilled events fails, and only the events from that batch on are kept for the retry
+    doAnswer(i -> batches.add(json(i.getArgument(0))))
+        .doAnswer(i -> batches.add(json(i.getArgument(0))))
+        .doThrow(new IllegalStateException("Database is down"))
+        .when(dao)
+        .insertMany(anyList());
+    buffer.flush();
+    assertEquals(List.of(List.of("0"), List.of("1", "2")), batches);
+
+    reset(dao);
+    doAnswer(i -> batches.add(json(i.getArgument(0)))).when(dao).insertMany(anyList());
+    buffer.flush();
+    assertEquals(
+        List.of("0", "1", "2", "3", "4", "5"),
+        batches.stream().flatMap(List::stream).sorted().collect(Collectors.toList()));
+  }
+
+  private WebAnalyticEventBuffer start(OverflowPolicy policy, int capacity, int batchSize, int flushIntervalMillis) {
+    WebAnalyticEventBufferConfiguration configuration = configuration(policy, capacity, batchSize);
+    configuration.setFlushIntervalMillis(flushIntervalMillis);
+    WebAnalyticEventBuffer.start(new WebAnalyticEventBuffer(configuration, dao, new SimpleMeterRegistry()));
+    return WebAnalyticEventBuffer.getInstance();
+  }
+
+  private WebAnalyticEventBufferConfiguration configuration(OverflowPolicy policy, int capacity, int batchSize) {
+    WebAnalyticEventBufferConfiguration configuration = new WebAnalyticEventBufferConfiguration();
+    configuration.setOverflowPolicy(policy);
+    configuration.setCapacity(capacity);
+    configuration.setBatchSize(batchSize);
+    configuration.setFlushIntervalMillis(60_000);
+    configuration.setSpillFile(tempDir.resolve("events.spill").toString());
+    return configuration;
+  }
+
+  private void waitForEvents(int count) throws InterruptedException {
+    for (int i = 0; i < 100 && batches.stream().mapToInt(List::size).sum() < count; i++) {
+      Thread.sleep(50);
+    }
+    assertTrue(batches.stream().mapToInt(List::size).sum() >= count);
+  }
+
+  private static ExtensionTimeSeriesObject event(int i) {
+    return ExtensionTimeSeriesObject.builder()
+        .entityFQN("PageView")
+        .extension("webAnalyticEvent.webAnalyticEventData")
+        .jsonSchema("webAnalyticEventData")
+        .json(String.valueOf(i))
+        .build();
+  }
+
+  private static List<String> json(List<ExtensionTimeSeriesObject> events) {
+    return events.stream().map(ExtensionTimeSeriesObject::getJson).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,133 @@
+package org.openmetadata.service.events.retention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.service.jdbi3.locator.ConnectionType;
+
+class ChangeEventChunksTest {
+  private static final long DAY = ChangeEventChunks.CHUNK_MILLIS;
+  private static final long MARCH_1 = LocalDate.of(2023, 3, 1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+
+  @Test
+  void test_mysqlChunks() {
+    ChangeEventDAO dao = mock(ChangeEventDAO.class);
+    ChangeEventChunks chunks = ChangeEventChunks.create(ConnectionType.MYSQL, dao);
+
+    // First chunks start on the next day so that the events already written stay in the first chunk
+    when(dao.listPartitions()).thenReturn(List.of("p_entitycreated_max", "p_entityupdated_max", "p_other"));
+    chunks.createChunks("entityCreated", MARCH_1 + 1000, MARCH_1 + 1000 + 2 * DAY);
+    verify(dao)
+        .alterPartitions(
+            String.format(
+                "ALTER TABLE change_event REORGANIZE PARTITION p_entitycreated_max INTO ("
+                    + "PARTITION p_entitycreated_20230302 VALUES LESS THAN ('entityCreated', %d), "
+                    + "PARTITION p_entitycreated_20230303 VALUES LESS THAN ('entityCreated', %d), "
+                    + "PARTITION p_entitycreated_max VALUES LESS THAN ('entityCreated', MAXVALUE))",
+                MARCH_1 + 2 * DAY, MARCH_1 + 3 * DAY));
+
+    // Chunks that end before the cutoff are dropped and their rows are taken from the table statistics
+    when(dao.listPartitions())
+        .thenReturn(List.of("p_entitycreated_20230303", "p_entitycreated_20230302", "p_entitycreated_max", "p_other"));
+    when(dao.getPartitionRows("p_entitycreated_20230302")).thenReturn(5L);
+    assertEquals(5, chunks.dropChunks("entityCreated", MARCH_1 + 2 * DAY + 1));
+    verify(dao).alterPartitions("ALTER TABLE change_event DROP PARTITION p_entitycreated_20230302");
+  }
+
+  @Test
+  void test_postgresChunks() {
+    ChangeEventDAO dao = mock(ChangeEventDAO.class);
+    ChangeEventChunks chunks = ChangeEventChunks.create(ConnectionType.POSTGRES, dao);
+
+    // Chunks are created after the last chunk
+    when(dao.listPartitions())
+        .thenReturn(
+            List.of(
+                "change_event_entityupdated",
+                "change_event_entityupdated_default",
+                "change_event_entityupdated_20230301",
+                "change_event_default"));
+    chunks.createChunks("entityUpdated", MARCH_1, MARCH_1 + 2 * DAY);
+    verify(dao)
+        .alterPartitions(
+            String.format(
+                "DO $$ BEGIN LOCK TABLE change_event_entityupdated_default IN EXCLUSIVE MODE; "
+                    + "CREATE TABLE change_event_entityupdated_20230302 (LIKE change_event_entityupdated INCLUDING ALL); "
+                    + "ALTER TABLE change_event_entityupdated_20230302 ADD CONSTRAINT change_event_entityupdated_20230302_range "
+                    + "CHECK (eventType = 'entityUpdated' AND eventTime >= %1$d AND eventTime < %2$d); "
+                    + "WITH moved AS (DELETE FROM change_event_entityupdated_default "
+                    + "WHERE eventTime >= %1$d AND eventTime < %2$d RETURNING eventType, eventTime, json) "
+                    + "INSERT INTO change_event_entityupdated_20230302 (eventType, eventTime, json) "
+                    + "SELECT eventType, eventTime, json FROM moved; "
+                    + "ALTER TABLE change_event_entityupdated ATTACH PARTITION change_event_entityupdated_20230302 "
+                    + "FOR VALUES FROM (%1$d) TO (%2$d); END $$",
+                MARCH_1 + DAY, MARCH_1 + 2 * DAY));
+
+    // Default partition is truncated only when all of its events are expired
+    when(dao.getPartitionRows("change_event_entityupdated_20230301")).thenReturn(3L);
+    when(dao.getPartitionRows("change_event_entityupdated_default")).thenReturn(7L);
+    when(dao.hasEventsSince("change_event_entityupdated_default", MARCH_1 + DAY)).thenReturn(true);
+    assertEquals(3, chunks.dropChunks("entityUpdated", MARCH_1 + DAY));
+    verify(dao).alterPartitions("DROP TABLE IF EXISTS change_event_entityupdated_20230301");
+    verify(dao, never()).alterPartitions("TRUNCATE TABLE change_event_entityupdated_default");
+
+    when(dao.hasEventsSince("change_event_entityupdated_default", MARCH_1 + DAY)).thenReturn(false);
+    assertEquals(10, chunks.dropChunks("entityUpdated", MARCH_1 + DAY));
+    verify(dao).alterPartitions("TRUNCATE TABLE change_event_entityupdated_default");
+  }
+
+  @Test
+  void test_chunksAfterFallingBehind() {
+    ChangeEventDAO dao = mock(ChangeEventDAO.class);
+    ChangeEventChunks chunks = ChangeEventChunks.create(ConnectionType.MYSQL, dao);
+
+    // Chunks start from the next day rather than after the last chunk, which ended days ago
+    when(dao.listPartitions()).thenReturn(List.of("p_entitycreated_20230301", "p_entitycreated_max"));
+    chunks.createChunks("entityCreated", MARCH_1 + 5 * DAY, MARCH_1 + 7 * DAY);
+    verify(dao)
+        .alterPartitions(
+            String.format(
+                "ALTER TABLE change_event REORGANIZE PARTITION p_entitycreated_max INTO ("
+                    + "PARTITION p_entitycreated_20230307 VALUES LESS THAN ('entityCreated', %d), "
+                    + "PARTITION p_entitycreated_max VALUES LESS THAN ('entityCreated', MAXVALUE))",
+                MARCH_1 + 7 * DAY));
+  }
+
+  @Test
+  void test_compactEventTypesWithRetention() {
+    ChangeEventChunks chunks = mock(ChangeEventChunks.class);
+    doThrow(new IllegalStateException("chunk exists"))
+        .when(chunks)
+        .createChunks(eq("entityUpdated"), anyLong(), anyLong());
+    ChangeEventRetentionConfiguration configuration = new ChangeEventRetentionConfiguration();
+    configuration.setRetentionDays(Map.of("entityUpdated", 1));
+    new ChangeEventCompactor(chunks, configuration, new SimpleMeterRegistry()).compact(MARCH_1 + DAY);
+
+    // Chunks are dropped even when they could not be created, and event types kept forever are not chunked
+    verify(chunks).dropChunks("entityUpdated", MARCH_1);
+    verify(chunks, never()).createChunks(eq("entityCreated"), anyLong(), anyLong());
+    verify(chunks, never()).dropChunks(eq("entityCreated"), anyLong());
+  }
+
+  @Test
+  void test_unpartitionedEventType() {
+    ChangeEventDAO dao = mock(ChangeEventDAO.class);
+    when(dao.listPartitions()).thenReturn(List.of("change_event_default"));
+    ChangeEventChunks.create(ConnectionType.POSTGRES, dao).createChunks("entityRestored", MARCH_1, MARCH_1 + DAY);
+    verify(dao, never()).alterPartitions(anyString());
+  }
+}
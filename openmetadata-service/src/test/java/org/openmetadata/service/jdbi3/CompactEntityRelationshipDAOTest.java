@@ -0,0 +1,158 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.Relationship;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.OpenMetadataApplicationTest;
+import org.openmetadata.service.jdbi3.CollectionDAO.CompactRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
+
+/** Relationships read from the compact layout must be identical to the relationships read from entity_relationship */
+class CompactEntityRelationshipDAOTest extends OpenMetadataApplicationTest {
+  private static final int CONTAINS = Relationship.CONTAINS.ordinal();
+  private static final int OWNS = Relationship.OWNS.ordinal();
+  private static final int FOLLOWS = Relationship.FOLLOWS.ordinal();
+
+  private static EntityRelationshipDAO stringDAO;
+  private static CompactRelationshipDAO compactDAO;
+  private static EntityRelationshipDAO dao;
+
+  @BeforeAll
+  static void setup() {
+    CollectionDAO collectionDAO = Entity.getEntityRepository(Entity.TABLE).daoCollection;
+    stringDAO = collectionDAO.entityRelationshipDAO();
+    compactDAO = collectionDAO.compactRelationshipDAO();
+    dao = new CompactEntityRelationshipDAO(stringDAO, compactDAO);
+  }
+
+  @Test
+  void test_parity() {
+    assertTrue(CompactEntityRelationshipDAO.synchronize(compactDAO));
+    String schema = UUID.randomUUID().toString();
+    String user = UUID.randomUUID().toString();
+    List<String> tables = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      tables.add(UUID.randomUUID().toString());
+    }
+
+    // Relationships written with each of the insert operations
+    dao.insert(UUID.fromString(user), UUID.fromString(schema), Entity.USER, Entity.DATABASE_SCHEMA, OWNS);
+    dao.bulkInsertToRelationship(
+        UUID.fromString(schema),
+        tables.subList(0, 10).stream().map(UUID::fromString).collect(Collectors.toList()),
+        Entity.DATABASE_SCHEMA,
+        Entity.TABLE,
+        CONTAINS);
+    List<EntityRelationshipObject> relationships = new ArrayList<>();
+    for (String table : tables.subList(10, 20)) {
+      relationships.add(relationship(schema, table, Entity.DATABASE_SCHEMA, Entity.TABLE, CONTAINS, null));
+    }
+    for (String table : tables) {
+      relationships.add(relationship(user, table, Entity.USER, Entity.TABLE, FOLLOWS, "{\"since\": 1}"));
+    }
+    dao.insertMany(relationships);
+    assertParity(schema, user, tables);
+
+    // Json of an existing relationship is updated
+    dao.insert(user, tables.get(0), Entity.USER, Entity.TABLE, FOLLOWS, "{\"since\": 2}");
+    assertParity(schema, user, tables);
+
+    // Relationships removed with each of the delete operations
+    assertEquals(1, dao.delete(schema, Entity.DATABASE_SCHEMA, tables.get(0), Entity.TABLE, CONTAINS));
+    dao.deleteTo(tables.get(1), Entity.TABLE, FOLLOWS, Entity.USER);
+    dao.deleteAll(tables.get(2), Entity.TABLE);
+    assertParity(schema, user, tables);
+    dao.deleteFrom(user, Entity.USER, FOLLOWS, Entity.TABLE);
+    assertParity(schema, user, tables);
+  }
+
+  @Test
+  void test_synchronize() {
+    String schema = UUID.randomUUID().toString();
+    String table = UUID.randomUUID().toString();
+    stringDAO.insert(schema, table, Entity.DATABASE_SCHEMA, Entity.TABLE, CONTAINS, null);
+    assertNotEquals(compactDAO.checksumSource(), compactDAO.checksum());
+
+    // Relationships written only to entity_relationship are copied to the compact layout
+    assertTrue(CompactEntityRelationshipDAO.synchronize(compactDAO));
+    assertEquals(compactDAO.checksumSource(), compactDAO.checksum());
+    assertParity(schema, table, List.of(table));
+
+    // A relationship with a different key is found by the checksum even when the row counts are the same
+    String otherTable = UUID.randomUUID().toString();
+    stringDAO.delete(schema, Entity.DATABASE_SCHEMA, table, Entity.TABLE, CONTAINS);
+    stringDAO.insert(schema, otherTable, Entity.DATABASE_SCHEMA, Entity.TABLE, CONTAINS, null);
+    assertNotEquals(compactDAO.checksumSource(), compactDAO.checksum());
+    assertTrue(CompactEntityRelationshipDAO.synchronize(compactDAO));
+    assertParity(schema, otherTable, List.of(table, otherTable));
+  }
+
+  @Test
+  void test_entityTypeWithoutCode() {
+    String schema = UUID.randomUUID().toString();
+    String other = UUID.randomUUID().toString();
+    assertTrue(CompactEntityRelationshipDAO.synchronize(compactDAO));
+
+    // A relationship of an entity type without a code is only written to entity_relationship and read from there
+    dao.insert(schema, other, Entity.DATABASE_SCHEMA, "unknownEntityType", CONTAINS, null);
+    assertEquals(
+        records(stringDAO.findTo(schema, Entity.DATABASE_SCHEMA, List.of(CONTAINS))),
+        records(dao.findTo(schema, Entity.DATABASE_SCHEMA, List.of(CONTAINS))));
+    assertEquals(1, dao.findTo(schema, Entity.DATABASE_SCHEMA, CONTAINS, "unknownEntityType").size());
+
+    // The compact layout is not read from while entity_relationship has relationships of entity types without a code
+    assertFalse(CompactEntityRelationshipDAO.synchronize(compactDAO));
+    dao.deleteAll(other, "unknownEntityType");
+    assertTrue(CompactEntityRelationshipDAO.synchronize(compactDAO));
+  }
+
+  private static void assertParity(String schema, String user, List<String> tables) {
+    assertEquals(
+        records(stringDAO.findTo(schema, Entity.DATABASE_SCHEMA, List.of(CONTAINS, OWNS))),
+        records(dao.findTo(schema, Entity.DATABASE_SCHEMA, List.of(CONTAINS, OWNS))));
+    assertEquals(
+        records(stringDAO.findTo(user, Entity.USER, FOLLOWS, Entity.TABLE)),
+        records(dao.findTo(user, Entity.USER, FOLLOWS, Entity.TABLE)));
+    assertEquals(records(stringDAO.findTo(user, Entity.USER, OWNS)), records(dao.findTo(user, Entity.USER, OWNS)));
+    assertEquals(
+        records(stringDAO.findFrom(schema, Entity.DATABASE_SCHEMA, OWNS)),
+        records(dao.findFrom(schema, Entity.DATABASE_SCHEMA, OWNS)));
+    for (String table : tables) {
+      assertEquals(
+          records(stringDAO.findFrom(table, Entity.TABLE, CONTAINS, Entity.DATABASE_SCHEMA)),
+          records(dao.findFrom(table, Entity.TABLE, CONTAINS, Entity.DATABASE_SCHEMA)));
+      assertEquals(records(stringDAO.findFrom(table)), records(dao.findFrom(table)));
+    }
+    assertEquals(
+        stringDAO.findIfAnyRelationExist(Entity.USER, Entity.TABLE),
+        dao.findIfAnyRelationExist(Entity.USER, Entity.TABLE));
+  }
+
+  private static List<String> records(List<EntityRelationshipRecord> records) {
+    return records.stream().map(r -> r.getId() + ":" + r.getType() + ":" + r.getJson()).collect(Collectors.toList());
+  }
+
+  private static EntityRelationshipObject relationship(
+      String fromId, String toId, String fromEntity, String toEntity, int relation, String json) {
+    return EntityRelationshipObject.builder()
+        .fromId(fromId)
+        .toId(toId)
+        .fromEntity(fromEntity)
+        .toEntity(toEntity)
+        .relation(relation)
+        .json(json)
+        .build();
+  }
+}
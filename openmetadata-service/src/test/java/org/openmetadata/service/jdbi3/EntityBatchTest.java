@@ -0,0 +1,118 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageObject;
+
+class EntityBatchTest {
+  private EntityDAO<?> dao;
+  private EntityRelationshipDAO relationshipDAO;
+  private TagUsageDAO tagUsageDAO;
+  private EntityExtensionDAO extensionDAO;
+  private CollectionDAO daoCollection;
+
+  @BeforeEach
+  void setUp() {
+    dao = mock(EntityDAO.class);
+    relationshipDAO = mock(EntityRelationshipDAO.class);
+    tagUsageDAO = mock(TagUsageDAO.class);
+    extensionDAO = mock(EntityExtensionDAO.class);
+    daoCollection = mock(CollectionDAO.class);
+    when(daoCollection.relationshipDAO()).thenReturn(relationshipDAO);
+    when(daoCollection.tagUsageDAO()).thenReturn(tagUsageDAO);
+    when(daoCollection.entityExtensionDAO()).thenReturn(extensionDAO);
+  }
+
+  @Test
+  void test_flush() {
+    EntityBatch batch = new EntityBatch();
+
+    // Writes for an entity that failed to be created are discarded
+    batch.addEntity("{\"name\":\"e1\"}");
+    batch.addRelationship("a", "b", "table", "user", 8, null);
+    batch.addTagUsages(List.of(tagUsage("e1")));
+    batch.addExtension("a", "table.p1", "customFieldSchema", "1");
+    batch.mark();
+    batch.addEntity("{\"name\":\"e2\"}");
+    batch.addRelationship("a", "c", "table", "user", 8, null);
+    batch.addTagUsages(List.of(tagUsage("e2")));
+    batch.addExtension("c", "table.p1", "customFieldSchema", "2");
+    batch.reset();
+    assertEquals(1, batch.size());
+
+    // A relationship added more than once is written once with the last json
+    batch.addRelationship("a", "b", "table", "user", 8, "{}");
+
+    // Rows are copied when written since the batch is cleared after the flush
+    List<String> entities = new ArrayList<>();
+    List<EntityRelationshipObject> relationships = new ArrayList<>();
+    List<TagUsageObject> tagUsages = new ArrayList<>();
+    doAnswer(i -> entities.addAll(i.getArgument(0))).when(dao).insertMany(anyList());
+    doAnswer(i -> relationships.addAll(i.getArgument(0))).when(relationshipDAO).insertMany(anyList());
+    doAnswer(i -> tagUsages.addAll(i.getArgument(0))).when(tagUsageDAO).applyTags(anyList());
+    batch.flush(dao, daoCollection);
+
+    assertEquals(List.of("{\"name\":\"e1\"}"), entities);
+    assertEquals(1, relationships.size());
+    assertEquals("{}", relationships.get(0).getJson());
+    assertEquals(1, tagUsages.size());
+    assertEquals("e1", tagUsages.get(0).getTargetFQN());
+    assertEquals(0, batch.size());
+
+    // Tag usages and custom properties are written after the entities
+    InOrder order = inOrder(dao, tagUsageDAO, extensionDAO);
+    order.verify(dao).insertMany(anyList());
+    order.verify(tagUsageDAO).applyTags(anyList());
+    order.verify(extensionDAO).insert("a", "table.p1", "customFieldSchema", "1");
+    verify(extensionDAO, never()).insert("c", "table.p1", "customFieldSchema", "2");
+  }
+
+  @Test
+  void test_flushFailureWritesNoTagsOrExtensions() {
+    EntityBatch batch = new EntityBatch();
+    batch.addEntity("{\"name\":\"e1\"}");
+    batch.addTagUsages(List.of(tagUsage("e1")));
+    batch.addExtension("a", "table.p1", "customFieldSchema", "1");
+    doAnswer(
+            i -> {
+              throw new IllegalStateException("duplicate key");
+            })
+        .when(dao)
+        .insertMany(anyList());
+
+    // Entities of the batch are reported as failed by the caller
+    assertThrows(IllegalStateException.class, () -> batch.flush(dao, daoCollection));
+    verify(tagUsageDAO, never()).applyTags(anyList());
+    verify(extensionDAO, never()).insert(anyString(), anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void test_flushEmpty() {
+    new EntityBatch().flush(dao, daoCollection);
+    verify(dao, never()).insertMany(anyList());
+    verify(relationshipDAO, never()).insertMany(anyList());
+    verify(tagUsageDAO, never()).applyTags(anyList());
+  }
+
+  private static TagUsageObject tagUsage(String targetFQN) {
+    return TagUsageObject.builder().source(0).tagFQN("PII.Sensitive").targetFQN(targetFQN).build();
+  }
+}
@@ -0,0 +1,44 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.schema.util.EntitiesCount;
+import org.openmetadata.schema.util.ServicesCount;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityCount;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityCounterDAO;
+
+class EntityCountersTest {
+  @Test
+  void test_counts() {
+    EntityCounterDAO dao = mock(EntityCounterDAO.class);
+    when(dao.listCounts())
+        .thenReturn(
+            List.of(
+                new EntityCount(Entity.TABLE, false, 10),
+                new EntityCount(Entity.TABLE, true, 3),
+                new EntityCount(Entity.DATABASE, false, 2),
+                new EntityCount(Entity.DATABASE_SERVICE, false, 1),
+                new EntityCount(Entity.MESSAGING_SERVICE, true, 4)));
+
+    EntitiesCount entities = EntityCounters.getEntitiesCount(dao, Include.NON_DELETED);
+    assertEquals(10, entities.getTableCount());
+    assertEquals(1, entities.getServicesCount());
+    assertEquals(0, entities.getTopicCount());
+    entities = EntityCounters.getEntitiesCount(dao, Include.DELETED);
+    assertEquals(3, entities.getTableCount());
+    assertEquals(4, entities.getServicesCount());
+    entities = EntityCounters.getEntitiesCount(dao, Include.ALL);
+    assertEquals(13, entities.getTableCount());
+    assertEquals(5, entities.getServicesCount());
+
+    ServicesCount services = EntityCounters.getServicesCount(dao, Include.ALL);
+    assertEquals(2, services.getDatabaseServiceCount());
+    assertEquals(4, services.getMessagingServiceCount());
+  }
+}
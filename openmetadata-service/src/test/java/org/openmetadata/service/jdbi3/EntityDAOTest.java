@@ -0,0 +1,29 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EntityDAOTest {
+  @Test
+  void test_getProjection() {
+    assertEquals("'id', json -> '$.id'", EntityDAO.getProjection(List.of(), EntityDAO.MYSQL_PROJECTION));
+    assertEquals(
+        "'id', json -> '$.id', 'fullyQualifiedName', json -> '$.fullyQualifiedName', 'columns', json -> '$.columns'",
+        EntityDAO.getProjection(List.of("id", "fullyQualifiedName", "columns"), EntityDAO.MYSQL_PROJECTION));
+    assertEquals(
+        "'id', json -> 'id', 'columns', json -> 'columns'",
+        EntityDAO.getProjection(List.of("columns"), EntityDAO.POSTGRES_PROJECTION));
+
+    // Field names are added to the query and must not allow SQL injection
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> EntityDAO.getProjection(List.of("name') FROM user_entity --"), EntityDAO.MYSQL_PROJECTION));
+    assertEquals("Invalid field name name') FROM user_entity --", e.getMessage());
+    assertThrows(
+        IllegalArgumentException.class, () -> EntityDAO.getProjection(List.of(""), EntityDAO.POSTGRES_PROJECTION));
+  }
+}
@@ -0,0 +1,51 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.Entity;
+
+class EntityTypeCodeTest {
+  @Test
+  void test_codes() {
+    List<String> entityTypes = EntityTypeCode.getEntityTypes();
+    assertEquals(entityTypes.size(), new HashSet<>(entityTypes).size());
+    for (String entityType : entityTypes) {
+      assertEquals(entityType, EntityTypeCode.getEntityType(EntityTypeCode.getCode(entityType)));
+    }
+    // Codes are stored in the database and must not change
+    assertEquals(0, EntityTypeCode.getCode(Entity.DATABASE_SERVICE));
+    assertEquals(7, EntityTypeCode.getCode(Entity.TABLE));
+    assertThrows(IllegalArgumentException.class, () -> EntityTypeCode.getCode("unknown"));
+    assertThrows(IllegalArgumentException.class, () -> EntityTypeCode.getEntityType(entityTypes.size()));
+    assertTrue(
+        EntityTypeCode.getCodeExpression("fromEntity").startsWith("CASE fromEntity WHEN 'databaseService' THEN 0"));
+  }
+
+  @Test
+  void test_binaryIds() {
+    List<String> ids = new ArrayList<>();
+    List<byte[]> binaryIds = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      String id = UUID.randomUUID().toString();
+      ids.add(id);
+      binaryIds.add(EntityTypeCode.toBytes(id));
+      assertEquals(id, EntityTypeCode.toUUID(EntityTypeCode.toBytes(id)).toString());
+    }
+
+    // Relationships are ordered by id and the binary ids must sort in the same order as the string ids
+    ids.sort(String::compareTo);
+    binaryIds.sort(Arrays::compareUnsigned);
+    for (int i = 0; i < ids.size(); i++) {
+      assertArrayEquals(EntityTypeCode.toBytes(ids.get(i)), binaryIds.get(i));
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openmetadata.schema.entity.classification.Tag;
+import org.openmetadata.schema.entity.data.GlossaryTerm;
+import org.openmetadata.schema.type.TagLabel.TagSource;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.FqnRenameJobDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.GlossaryDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.GlossaryTermDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO;
+
+class FqnRenamerTest {
+  private static final int GLOSSARY = TagSource.GLOSSARY.ordinal();
+  private static final int CLASSIFICATION = TagSource.CLASSIFICATION.ordinal();
+
+  private GlossaryDAO glossaryDAO;
+  private GlossaryTermDAO glossaryTermDAO;
+  private TagDAO tagDAO;
+  private TagUsageDAO tagUsageDAO;
+  private FqnRenameJobDAO jobDAO;
+  private FqnRenamer renamer;
+
+  @BeforeEach
+  void setUp() {
+    glossaryDAO = mock(GlossaryDAO.class);
+    when(glossaryDAO.getTableName()).thenReturn("glossary_entity");
+    when(glossaryDAO.getNameColumn()).thenReturn("name");
+    glossaryTermDAO = mock(GlossaryTermDAO.class);
+    when(glossaryTermDAO.getEntityClass()).thenReturn(GlossaryTerm.class);
+    tagDAO = mock(TagDAO.class);
+    when(tagDAO.getEntityClass()).thenReturn(Tag.class);
+    tagUsageDAO = mock(TagUsageDAO.class);
+    jobDAO = mock(FqnRenameJobDAO.class);
+    CollectionDAO dao = mock(CollectionDAO.class);
+    when(dao.glossaryDAO()).thenReturn(glossaryDAO);
+    when(dao.glossaryTermDAO()).thenReturn(glossaryTermDAO);
+    when(dao.tagDAO()).thenReturn(tagDAO);
+    when(dao.tagUsageDAO()).thenReturn(tagUsageDAO);
+    when(dao.fqnRenameJobDAO()).thenReturn(jobDAO);
+    renamer = new FqnRenamer(dao, 2);
+  }
+
+  @Test
+  void test_renameInChunks() {
+    List<String> chunk1 = List.of("g.t.a", "g.t.b");
+    List<String> chunk2 = List.of("g.t.a.c");
+    when(glossaryTermDAO.listDescendantFqns("g.t", 2)).thenReturn(chunk1, chunk2, List.of());
+    when(glossaryTermDAO.updateFqnPrefix(anyString(), anyString(), anyList())).thenReturn(2, 1);
+
+    FqnRenameJob job = renamer.rename(Entity.GLOSSARY_TERM, "g.t", "g.u");
+    assertEquals(FqnRenameJob.Status.COMPLETED, job.getStatus());
+    assertEquals(3, job.getRenamed());
+
+    // The usages of a chunk are renamed before the chunk, and the remaining usages after all the chunks
+    InOrder order = inOrder(tagUsageDAO, glossaryTermDAO);
+    order.verify(tagUsageDAO).renameTag(GLOSSARY, "g.t", "g.u");
+    order.verify(tagUsageDAO).updateTagPrefix(GLOSSARY, "g.t", "g.u", chunk1);
+    order.verify(glossaryTermDAO).updateFqnPrefix("g.t", "g.u", chunk1);
+    order.verify(tagUsageDAO).updateTagPrefix(GLOSSARY, "g.t", "g.u", chunk2);
+    order.verify(glossaryTermDAO).updateFqnPrefix("g.t", "g.u", chunk2);
+    order.verify(tagUsageDAO).updateTagPrefix(GLOSSARY, "g.t", "g.u");
+    verify(jobDAO).insert(job);
+    verify(jobDAO, times(3)).update(job);
+  }
+
+  @Test
+  void test_renameClassification() {
+    when(tagDAO.listDescendantFqns("c", 2)).thenReturn(List.of("c.t"), List.of());
+    when(tagDAO.updateFqnPrefix(anyString(), anyString(), anyList())).thenReturn(1);
+
+    FqnRenameJob job = renamer.rename(Entity.CLASSIFICATION, "c", "d");
+    assertEquals(FqnRenameJob.Status.COMPLETED, job.getStatus());
+    assertEquals(1, job.getRenamed());
+
+    // The usages of the classification itself are not renamed, as it is not applied as a tag
+    verify(tagUsageDAO, never()).renameTag(anyInt(), anyString(), anyString());
+    verify(tagUsageDAO).updateTagPrefix(CLASSIFICATION, "c", "d", List.of("c.t"));
+    verify(tagUsageDAO).updateTagPrefix(CLASSIFICATION, "c", "d");
+    verify(glossaryTermDAO, never()).listDescendantFqns(anyString(), anyInt());
+  }
+
+  @Test
+  void test_resumeIncomplete() {
+    FqnRenameJob job = new FqnRenameJob(Entity.GLOSSARY, "g", "h");
+    job.setRenamed(2);
+    when(jobDAO.listIncomplete()).thenReturn(List.of(job));
+    when(jobDAO.claim(any(), any(), anyLong())).thenReturn(true);
+    when(glossaryDAO.existsByName("glossary_entity", "name", "h")).thenReturn(true);
+    when(glossaryTermDAO.listDescendantFqns("g", 2)).thenReturn(List.of("g.c"), List.of());
+    when(glossaryTermDAO.updateFqnPrefix(anyString(), anyString(), anyList())).thenReturn(1);
+
+    renamer.resumeIncomplete();
+    assertEquals(FqnRenameJob.Status.COMPLETED, job.getStatus());
+    assertEquals(3, job.getRenamed());
+    verify(jobDAO).claim(eq(job), eq(FqnRenameJob.Status.RESUMING), anyLong());
+    verify(jobDAO, never()).insert(any());
+  }
+
+  @Test
+  void test_resumeRollsBackUnstoredRename() {
+    // The glossary was not stored with the new name, and its terms renamed so far are renamed back
+    FqnRenameJob job = new FqnRenameJob(Entity.GLOSSARY, "g", "h");
+    job.setRenamed(1);
+    when(jobDAO.listIncomplete()).thenReturn(List.of(job));
+    when(jobDAO.claim(any(), any(), anyLong())).thenReturn(true);
+    when(glossaryDAO.existsByName("glossary_entity", "name", "h")).thenReturn(false);
+    when(glossaryTermDAO.listDescendantFqns("h", 2)).thenReturn(List.of("h.c"), List.of());
+    when(glossaryTermDAO.updateFqnPrefix(anyString(), anyString(), anyList())).thenReturn(1);
+
+    renamer.resumeIncomplete();
+    assertEquals(FqnRenameJob.Status.FAILED, job.getStatus());
+    verify(tagUsageDAO).updateTagPrefix(GLOSSARY, "h", "g", List.of("h.c"));
+    verify(glossaryTermDAO).updateFqnPrefix("h", "g", List.of("h.c"));
+    verify(tagUsageDAO).updateTagPrefix(GLOSSARY, "h", "g");
+    verify(glossaryTermDAO, never()).listDescendantFqns("g", 2);
+  }
+
+  @Test
+  void test_resumeClaimedByAnotherServer() {
+    FqnRenameJob job = new FqnRenameJob(Entity.GLOSSARY, "g", "h");
+    when(jobDAO.listIncomplete()).thenReturn(List.of(job));
+    when(jobDAO.claim(any(), any(), anyLong())).thenReturn(false);
+
+    renamer.resumeIncomplete();
+    assertEquals(FqnRenameJob.Status.RUNNING, job.getStatus());
+    verify(glossaryTermDAO, never()).listDescendantFqns(anyString(), anyInt());
+    verify(jobDAO, never()).update(any());
+  }
+
+  @Test
+  void test_renameFailure() {
+    when(glossaryTermDAO.listDescendantFqns("g", 2)).thenReturn(List.of("g.c"));
+    when(glossaryTermDAO.updateFqnPrefix(anyString(), anyString(), anyList())).thenReturn(0);
+
+    // A chunk that is not renamed would be found again, and the rename fails instead of repeating it
+    FqnRenameJob[] inserted = new FqnRenameJob[1];
+    doAnswer(
+            invocation -> {
+              inserted[0] = invocation.getArgument(0);
+              return null;
+            })
+        .when(jobDAO)
+        .insert(any());
+    assertThrows(IllegalStateException.class, () -> renamer.rename(Entity.GLOSSARY, "g", "h"));
+    assertEquals(FqnRenameJob.Status.FAILED, inserted[0].getStatus());
+    verify(jobDAO).update(inserted[0]);
+  }
+}
@@ -14,13 +14,19 @@ package org.openmetadata.service.pipelineService.airflow;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.openmetadata.service.resources.services.ingestionpipelines.IngestionPipelineResourceTest.DATABASE_METADATA_CONFIG;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyStoreException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.joda.time.DateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +37,7 @@ import org.openmetadata.schema.api.configuration.pipelineServiceClient.Parameter
 import org.openmetadata.schema.api.configuration.pipelineServiceClient.PipelineServiceClientConfiguration;
 import org.openmetadata.schema.entity.services.ingestionPipelines.AirflowConfig;
 import org.openmetadata.schema.entity.services.ingestionPipelines.IngestionPipeline;
+import org.openmetadata.schema.entity.services.ingestionPipelines.PipelineStatus;
 import org.openmetadata.schema.entity.services.ingestionPipelines.PipelineType;
 import org.openmetadata.sdk.exception.PipelineServiceClientException;
 import org.openmetadata.service.clients.pipeline.airflow.AirflowRESTClient;
@@ -95,6 +102,132 @@ class AirflowRESTClientIntegrationTest {
     assertEquals(expectedMessage, actualMessage);
   }
 
+  @Test
+  void testQueuedPipelineStatusOfManyPipelinesIsFetchedConcurrentlyAndCached() {
+    AtomicInteger requests = new AtomicInteger();
+    registerStatusHandler(requests, 200, 200);
+    List<IngestionPipeline> pipelines = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      pipelines.add(new IngestionPipeline().withName("dag_" + i));
+    }
+
+    // 40 requests of 200 ms each, with at most 10 requests in flight
+    long start = System.currentTimeMillis();
+    Map<String, List<PipelineStatus>> statuses = airflowRESTClient.getQueuedPipelineStatus(pipelines);
+    long elapsed = System.currentTimeMillis() - start;
+    assertTrue(elapsed < 40 * 200 / 2, "Fetched the runs of 40 pipelines in " + elapsed + " ms");
+    assertEquals(40, statuses.size());
+    assertEquals("dag_7", statuses.get("dag_7").get(0).getRunId());
+    assertEquals(40, requests.get());
+
+    // Runs are cached, and a run added by the caller does not change the cache
+    statuses.get("dag_7").add(new PipelineStatus());
+    assertEquals(1, airflowRESTClient.getQueuedPipelineStatus(pipelines.get(7)).size());
+    airflowRESTClient.getQueuedPipelineStatus(pipelines);
+    assertEquals(40, requests.get());
+  }
+
+  @Test
+  void testRequestsAreQueuedWhenAllConnectionsAreInUse() throws KeyStoreException, URISyntaxException {
+    AtomicInteger requests = new AtomicInteger();
+    registerStatusHandler(requests, 200, 200);
+    airflowRESTClient = createClient(Map.of("maxConnections", 2));
+    List<IngestionPipeline> pipelines = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      pipelines.add(new IngestionPipeline().withName("dag_" + i));
+    }
+
+    // 6 requests of 200 ms each, with at most 2 requests in flight and none failed for the lack of a connection
+    long start = System.currentTimeMillis();
+    Map<String, List<PipelineStatus>> statuses = airflowRESTClient.getQueuedPipelineStatus(pipelines);
+    long elapsed = System.currentTimeMillis() - start;
+    assertTrue(elapsed >= 3 * 200, "Fetched the runs of 6 pipelines in " + elapsed + " ms");
+    for (IngestionPipeline pipeline : pipelines) {
+      assertEquals(pipeline.getName(), statuses.get(pipeline.getName()).get(0).getRunId());
+    }
+    assertEquals(6, requests.get());
+  }
+
+  @Test
+  void testQueuedPipelineStatusTimesOut() throws KeyStoreException, URISyntaxException {
+    registerStatusHandler(new AtomicInteger(), 200, 2000);
+    airflowRESTClient = createClient(Map.of("timeout", 1));
+
+    PipelineServiceClientException exception =
+        assertThrows(
+            PipelineServiceClientException.class, () -> airflowRESTClient.getQueuedPipelineStatus(INGESTION_PIPELINE));
+    assertTrue(exception.getMessage().contains("timed out"), exception.getMessage());
+
+    // A pipeline that times out does not fail the other pipelines of the batch
+    Map<String, List<PipelineStatus>> statuses = airflowRESTClient.getQueuedPipelineStatus(List.of(INGESTION_PIPELINE));
+    assertTrue(statuses.get(DAG_NAME).isEmpty());
+  }
+
+  @Test
+  void testCircuitBreakerOpensAfterFailures() throws KeyStoreException, URISyntaxException, InterruptedException {
+    AtomicInteger requests = new AtomicInteger();
+    registerStatusHandler(requests, 500, 0);
+    airflowRESTClient = createClient(Map.of("circuitBreakerFailures", 3, "circuitBreakerOpenSeconds", 1));
+
+    for (int i = 0; i < 3; i++) {
+      assertThrows(
+          PipelineServiceClientException.class, () -> airflowRESTClient.getQueuedPipelineStatus(INGESTION_PIPELINE));
+    }
+    assertEquals(3, requests.get());
+
+    // Requests fail without reaching Airflow while the breaker is open
+    Exception exception =
+        assertThrows(
+            PipelineServiceClientException.class, () -> airflowRESTClient.getQueuedPipelineStatus(INGESTION_PIPELINE));
+    assertTrue(exception.getMessage().contains("Airflow is unavailable"), exception.getMessage());
+    assertEquals(3, requests.get());
+
+    // A request is let through once the breaker has been open for the open duration
+    Thread.sleep(1100);
+    assertThrows(
+        PipelineServiceClientException.class, () -> airflowRESTClient.getQueuedPipelineStatus(INGESTION_PIPELINE));
+    assertEquals(4, requests.get());
+  }
+
+  private AirflowRESTClient createClient(Map<String, Object> parameters) throws KeyStoreException, URISyntaxException {
+    PipelineServiceClientConfiguration configuration = new PipelineServiceClientConfiguration();
+    configuration.setHostIp("111.11.11.1");
+    configuration.setApiEndpoint(HttpServerExtension.getUriFor("").toString());
+    Parameters params = new Parameters();
+    params.setAdditionalProperty("username", "user");
+    params.setAdditionalProperty("password", "pass");
+    params.setAdditionalProperty("timeout", 60);
+    parameters.forEach(params::setAdditionalProperty);
+    configuration.setParameters(params);
+    return new AirflowRESTClient(configuration);
+  }
+
+  /** Status endpoint that responds after the given latency with a queued run named after the DAG */
+  private void registerStatusHandler(AtomicInteger requests, int statusCode, long latencyMillis) {
+    httpServerExtension.registerHandler(
+        URI_TO_HANDLE_REQUEST,
+        exchange -> {
+          requests.incrementAndGet();
+          try {
+            Thread.sleep(latencyMillis);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          String query = exchange.getRequestURI().getQuery();
+          String dagId = query.substring("dag_id=".length(), query.indexOf('&'));
+          String body = statusCode == 200 ? "[{\"runId\": \"" + dagId + "\", \"pipelineState\": \"queued\"}]" : "{}";
+          byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          try {
+            exchange.sendResponseHeaders(statusCode, bytes.length);
+            exchange.getResponseBody().write(bytes);
+          } catch (IOException e) {
+            // The client stopped waiting for the response
+          }
+          exchange.close();
+        });
+  }
+
   private void registerMockedEndpoints(int lastDagLogStatusCode) {
     String jsonResponse = "{ \"key1\": \"value1\", \"key2\": \"value2\" }";
     if (lastDagLogStatusCode == 404) {
@@ -19,6 +19,7 @@ import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.concurrent.Executors;
 import org.apache.http.client.utils.URIBuilder;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
@@ -53,7 +54,8 @@ public class HttpServerExtension implements BeforeAllCallback, AfterAllCallback
   @Override
   public void beforeAll(ExtensionContext extensionContext) throws Exception {
     server = HttpServer.create(new InetSocketAddress(PORT), 0);
-    server.setExecutor(null);
+    // Requests are handled concurrently so that the latency injected by the handlers does not serialize them
+    server.setExecutor(Executors.newCachedThreadPool());
     server.start();
     server.createContext(DEFAULT_CONTEXT);
   }
@@ -12,9 +12,13 @@ import static org.openmetadata.service.util.TestUtils.assertResponseContains;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.ws.rs.client.WebTarget;
 import org.apache.http.client.HttpResponseException;
 import org.junit.jupiter.api.Test;
@@ -131,6 +135,43 @@ public class WebAnalyticEventResourceTest extends EntityResourceTest<WebAnalytic
         permissionNotAllowed(USER_WITH_DATA_CONSUMER_ROLE.getName(), List.of(MetadataOperation.DELETE)));
   }
 
+  @Test
+  void put_web_analytic_event_data_concurrently_200() throws Exception {
+    // Events buffered by concurrent requests are all written and read back
+    long timestamp = TestUtils.dateToTimestamp("2022-09-01");
+    int threads = 8;
+    int eventsPerThread = 100;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < eventsPerThread; i++) {
+                  putWebAnalyticEventData(
+                      new WebAnalyticEventData()
+                          .withTimestamp(timestamp)
+                          .withEventType(WebAnalyticEventType.PAGE_VIEW)
+                          .withEventData(
+                              new PageViewData()
+                                  .withHostname("http://localhost")
+                                  .withUserId(UUID.randomUUID())
+                                  .withSessionId(UUID.randomUUID())),
+                      ADMIN_AUTH_HEADERS);
+                }
+                return null;
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    ResultList<WebAnalyticEventData> webAnalyticEventDataResultList =
+        getWebAnalyticEventData(WebAnalyticEventType.PAGE_VIEW.value(), timestamp, timestamp, ADMIN_AUTH_HEADERS);
+    assertEquals(threads * eventsPerThread, webAnalyticEventDataResultList.getData().size());
+  }
+
   @Override
   public CreateWebAnalyticEvent createRequest(String name) {
     return new CreateWebAnalyticEvent()
@@ -49,6 +49,8 @@ import static org.openmetadata.service.util.EntityUtil.fieldUpdated;
 import static org.openmetadata.service.util.EntityUtil.tagLabelMatch;
 import static org.openmetadata.service.util.FullyQualifiedName.build;
 import static org.openmetadata.service.util.RestUtil.DATE_FORMAT;
+import static org.openmetadata.service.util.RestUtil.ENTITY_CREATED;
+import static org.openmetadata.service.util.RestUtil.ENTITY_UPDATED;
 import static org.openmetadata.service.util.TestUtils.ADMIN_AUTH_HEADERS;
 import static org.openmetadata.service.util.TestUtils.INGESTION_BOT_AUTH_HEADERS;
 import static org.openmetadata.service.util.TestUtils.TEST_AUTH_HEADERS;
@@ -123,6 +125,8 @@ import org.openmetadata.schema.type.TableProfilerConfig;
 import org.openmetadata.schema.type.TableType;
 import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.schema.type.TagLabel.LabelType;
+import org.openmetadata.schema.type.api.BulkOperationResult;
+import org.openmetadata.schema.type.api.BulkResponse;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.resources.EntityResourceTest;
@@ -511,6 +515,47 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     assertEquals(updatedTable.getColumns().get(0).getDataLength(), 200);
   }
 
+  @Test
+  void put_tablesInBulk_200(TestInfo test) throws IOException {
+    // Update an existing table and create new tables in bulk
+    CreateTable existing = createRequest(test, 0);
+    createEntity(existing, ADMIN_AUTH_HEADERS);
+    List<CreateTable> requests = new ArrayList<>();
+    requests.add(existing.withDescription("updatedDescription"));
+    requests.add(createRequest(test, 1).withTags(List.of(PERSONAL_DATA_TAG_LABEL)));
+    requests.add(createRequest(test, 2).withOwner(USER1_REF));
+    requests.add(createRequest(test, 2)); // Repeated table fails
+    TagLabel invalidTag =
+        new TagLabel()
+            .withTagFQN(FullyQualifiedName.add("PersonalData", "nonExistent"))
+            .withSource(TagLabel.TagSource.CLASSIFICATION)
+            .withLabelType(LabelType.MANUAL)
+            .withState(TagLabel.State.CONFIRMED);
+    requests.add(createRequest(test, 3).withTags(List.of(invalidTag))); // Invalid tag fails
+
+    WebTarget target = getCollection().path("/bulk");
+    BulkOperationResult result = TestUtils.put(target, requests, BulkOperationResult.class, OK, ADMIN_AUTH_HEADERS);
+    assertEquals(BulkOperationResult.Status.PARTIAL_SUCCESS, result.getStatus());
+    assertEquals(5, result.getNumberOfRequestsProcessed());
+    assertEquals(3, result.getNumberOfRequestsPassed());
+    assertEquals(2, result.getNumberOfRequestsFailed());
+    assertEquals(
+        List.of(ENTITY_UPDATED, ENTITY_CREATED, ENTITY_CREATED),
+        result.getSuccessRequest().stream().map(BulkResponse::getMessage).collect(Collectors.toList()));
+    assertEquals(
+        List.of(BAD_REQUEST.getStatusCode(), NOT_FOUND.getStatusCode()),
+        result.getFailedRequest().stream().map(BulkResponse::getStatus).collect(Collectors.toList()));
+
+    // Tables created in bulk have the same relationships as the tables created one at a time
+    Table table = getEntityByName(result.getSuccessRequest().get(0).getRequest(), "", ADMIN_AUTH_HEADERS);
+    assertEquals("updatedDescription", table.getDescription());
+    table = getEntityByName(result.getSuccessRequest().get(1).getRequest(), "tags", ADMIN_AUTH_HEADERS);
+    assertEquals(DATABASE_SCHEMA.getId(), table.getDatabaseSchema().getId());
+    assertEquals(PERSONAL_DATA_TAG_LABEL.getTagFQN(), table.getTags().get(0).getTagFQN());
+    table = getEntityByName(result.getSuccessRequest().get(2).getRequest(), "owner", ADMIN_AUTH_HEADERS);
+    assertEquals(USER1_REF.getId(), table.getOwner().getId());
+  }
+
   @Test
   void put_tableTableConstraintUpdate_200(TestInfo test) throws IOException {
     // Create table without table constraints
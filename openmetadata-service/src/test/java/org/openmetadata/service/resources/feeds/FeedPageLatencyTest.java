@@ -0,0 +1,167 @@
+package org.openmetadata.service.resources.feeds;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openmetadata.service.util.TestUtils.ADMIN_AUTH_HEADERS;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dropwizard.db.DataSourceFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.ws.rs.client.WebTarget;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.HttpResponseException;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openmetadata.schema.entity.feed.Thread;
+import org.openmetadata.schema.entity.teams.Team;
+import org.openmetadata.schema.type.ThreadType;
+import org.openmetadata.service.OpenMetadataApplicationTest;
+import org.openmetadata.service.resources.feeds.FeedResource.ThreadList;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.TestUtils;
+
+/**
+ * Latency of listing pages of the activity feed with a large number of threads. The test runs only when enabled with
+ * -DfeedPageLatencyTest=true, and the threads it writes are deleted when it ends. The number of threads can be raised
+ * with -DfeedPageLatencyThreads to measure larger feeds.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "feedPageLatencyTest", matches = "true")
+class FeedPageLatencyTest extends OpenMetadataApplicationTest {
+  private static final int THREADS = Integer.getInteger("feedPageLatencyThreads", 20_000);
+  private static final int BATCH_SIZE = 1000;
+  // One in every ORGANIZATION_THREADS threads is about the Organization team and the rest are about tables
+  private static final int ORGANIZATION_THREADS = 100;
+  private static final int TABLES = 10_000;
+  private static final int ITERATIONS = 20;
+  private static final int PAGE_SIZE = 10;
+  private static final long MAX_PAGE_MILLIS = 500;
+  private static final String ORGANIZATION_LINK = "<#E::team::Organization>";
+  private static final List<String> THREAD_IDS = new ArrayList<>();
+  private static Jdbi jdbi;
+
+  @BeforeAll
+  static void createThreads() throws HttpResponseException, JsonProcessingException {
+    Team organization = TestUtils.get(getResource("teams/name/Organization"), Team.class, ADMIN_AUTH_HEADERS);
+    DataSourceFactory dataSource = APP.getConfiguration().getDataSourceFactory();
+    boolean postgres = dataSource.getDriverClass().equals("org.postgresql.Driver");
+    jdbi = Jdbi.create(dataSource.getUrl(), dataSource.getUser(), dataSource.getPassword());
+    long now = System.currentTimeMillis();
+    try (Handle handle = jdbi.open()) {
+      for (int start = 0; start < THREADS; start += BATCH_SIZE) {
+        PreparedBatch threads =
+            handle.prepareBatch(
+                postgres
+                    ? "INSERT INTO thread_entity(json) VALUES (:json :: jsonb)"
+                    : "INSERT INTO thread_entity(json) VALUES (:json)");
+        PreparedBatch feed =
+            handle.prepareBatch(
+                "INSERT INTO thread_feed(id, entityId, entityLink, aboutFqn, aboutType, type, resolved, createdAt, "
+                    + "createdBy, updatedAt) VALUES (:id, :entityId, :entityLink, :aboutFqn, :aboutType, "
+                    + "'Conversation', false, :ts, 'admin', :ts)");
+        for (int i = start; i < Math.min(start + BATCH_SIZE, THREADS); i++) {
+          String id = UUID.randomUUID().toString();
+          THREAD_IDS.add(id);
+          boolean aboutOrganization = i % ORGANIZATION_THREADS == 0;
+          String entityId = aboutOrganization ? organization.getId().toString() : UUID.randomUUID().toString();
+          String aboutFqn = aboutOrganization ? "Organization" : "service.db.schema.table" + i % TABLES;
+          String aboutType = aboutOrganization ? "team" : "table";
+          String entityLink = String.format("<#E::%s::%s>", aboutType, aboutFqn);
+          long ts = now - THREADS + i;
+          Thread thread =
+              new Thread()
+                  .withId(UUID.fromString(id))
+                  .withType(ThreadType.Conversation)
+                  .withAbout(entityLink)
+                  .withEntityId(UUID.fromString(entityId))
+                  .withMessage("Thread " + i)
+                  .withThreadTs(ts)
+                  .withCreatedBy("admin")
+                  .withUpdatedAt(ts)
+                  .withUpdatedBy("admin")
+                  .withResolved(false)
+                  .withPosts(List.of())
+                  .withPostsCount(0)
+                  .withReactions(List.of());
+          threads.bind("json", JsonUtils.pojoToJson(thread)).add();
+          feed.bind("id", id)
+              .bind("entityId", entityId)
+              .bind("entityLink", entityLink)
+              .bind("aboutFqn", aboutFqn)
+              .bind("aboutType", aboutType)
+              .bind("ts", ts)
+              .add();
+        }
+        threads.execute();
+        feed.execute();
+      }
+    }
+    LOG.info("Created {} threads", THREADS);
+  }
+
+  @AfterAll
+  static void deleteThreads() {
+    if (jdbi == null) {
+      return;
+    }
+    try (Handle handle = jdbi.open()) {
+      for (int start = 0; start < THREAD_IDS.size(); start += BATCH_SIZE) {
+        List<String> ids = THREAD_IDS.subList(start, Math.min(start + BATCH_SIZE, THREAD_IDS.size()));
+        handle.createUpdate("DELETE FROM thread_feed WHERE id IN (<ids>)").bindList("ids", ids).execute();
+        handle.createUpdate("DELETE FROM thread_entity WHERE id IN (<ids>)").bindList("ids", ids).execute();
+      }
+    }
+    LOG.info("Deleted {} threads", THREAD_IDS.size());
+    THREAD_IDS.clear();
+  }
+
+  @Test
+  void test_pageLatency() throws HttpResponseException {
+    // First page of the threads of all the entities
+    ThreadList page = assertPageLatency("all threads", null, null);
+    assertTrue(page.getPaging().getTotal() >= THREADS);
+
+    // First and a later page, half way through the threads about an entity
+    page = assertPageLatency("entity threads", ORGANIZATION_LINK, null);
+    assertTrue(page.getPaging().getTotal() >= THREADS / ORGANIZATION_THREADS);
+    String after = page.getPaging().getAfter();
+    int pages = THREADS / ORGANIZATION_THREADS / PAGE_SIZE / 2;
+    for (int i = 0; i < pages; i++) {
+      after = listThreads(ORGANIZATION_LINK, after).getPaging().getAfter();
+    }
+    assertPageLatency(String.format("entity threads after %d pages", pages), ORGANIZATION_LINK, after);
+  }
+
+  private ThreadList assertPageLatency(String name, String entityLink, String after) throws HttpResponseException {
+    List<Long> latencies = new ArrayList<>();
+    ThreadList page = null;
+    for (int i = 0; i < ITERATIONS; i++) {
+      long start = System.nanoTime();
+      page = listThreads(entityLink, after);
+      latencies.add((System.nanoTime() - start) / 1_000_000);
+    }
+    latencies.sort(Long::compare);
+    long median = latencies.get(ITERATIONS / 2);
+    LOG.info(
+        "Latency of {} page with {} threads: median {} ms, max {} ms",
+        name,
+        THREADS,
+        median,
+        latencies.get(ITERATIONS - 1));
+    assertTrue(median <= MAX_PAGE_MILLIS, String.format("Median latency of %s page is %d ms", name, median));
+    return page;
+  }
+
+  private static ThreadList listThreads(String entityLink, String after) throws HttpResponseException {
+    WebTarget target = getResource("feed").queryParam("type", "Conversation").queryParam("limit", PAGE_SIZE);
+    target = entityLink != null ? target.queryParam("entityLink", entityLink) : target;
+    target = after != null ? target.queryParam("after", after) : target;
+    return TestUtils.get(target, ThreadList.class, ADMIN_AUTH_HEADERS);
+  }
+}
@@ -16,10 +16,12 @@
 
 package org.openmetadata.service.resources.glossary;
 
+import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.openmetadata.common.utils.CommonUtil.listOf;
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
@@ -75,8 +77,10 @@ import org.openmetadata.schema.type.Column;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.resources.EntityResourceTest;
 import org.openmetadata.service.resources.databases.TableResourceTest;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
@@ -212,6 +216,45 @@ public class GlossaryTermResourceTest extends EntityResourceTest<GlossaryTerm, C
     }
   }
 
+  @Test
+  void patch_renameTermWithNestedTermsAndUsages(TestInfo test) throws IOException {
+    // Create nested terms t1 -> t11 -> t111 and apply t11 and t111 to a table and its column
+    Glossary glossary = createGlossary(test, null, null);
+    GlossaryTerm t1 = createTerm(glossary, null, "t1", null);
+    GlossaryTerm t11 = createTerm(glossary, t1, "t11", null);
+    GlossaryTerm t111 = createTerm(glossary, t11, "t111", null);
+    String oldT11Fqn = t11.getFullyQualifiedName();
+    String oldT111Fqn = t111.getFullyQualifiedName();
+    assertEquals(t111.getId(), TagLabelCache.getInstance().getGlossaryTerm(oldT111Fqn).getId());
+
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    CreateTable createTable =
+        tableResourceTest
+            .createRequest(tableResourceTest.getEntityName(test))
+            .withTags(toTagLabels(t11, t111))
+            .withColumns(listOf(getColumn(C1, BIGINT, EntityUtil.toTagLabel(t111))));
+    Table table = tableResourceTest.createEntity(createTable, ADMIN_AUTH_HEADERS);
+
+    // Rename t1 and ensure the nested terms are renamed along with it
+    renameGlossaryTermAndCheck(t1, "renamedT1");
+    String newT1Fqn = FullyQualifiedName.build(glossary.getName(), "renamedT1");
+    String newT11Fqn = FullyQualifiedName.add(newT1Fqn, "t11");
+    String newT111Fqn = FullyQualifiedName.add(newT11Fqn, "t111");
+    assertEquals(newT11Fqn, getEntity(t11.getId(), ADMIN_AUTH_HEADERS).getFullyQualifiedName());
+    assertEquals(newT111Fqn, getEntity(t111.getId(), ADMIN_AUTH_HEADERS).getFullyQualifiedName());
+
+    // The tag usages of the nested terms have the new FQNs
+    table = tableResourceTest.getEntity(table.getId(), "columns,tags", ADMIN_AUTH_HEADERS);
+    assertEquals(
+        List.of(newT11Fqn, newT111Fqn), table.getTags().stream().map(TagLabel::getTagFQN).sorted().collect(toList()));
+    assertEquals(newT111Fqn, table.getColumns().get(0).getTags().get(0).getTagFQN());
+
+    // The nested terms are no longer cached by the old FQNs
+    assertThrows(EntityNotFoundException.class, () -> TagLabelCache.getInstance().getGlossaryTerm(oldT11Fqn));
+    assertThrows(EntityNotFoundException.class, () -> TagLabelCache.getInstance().getGlossaryTerm(oldT111Fqn));
+    assertEquals(t111.getId(), TagLabelCache.getInstance().getGlossaryTerm(newT111Fqn).getId());
+  }
+
   @Test
   void patch_addDeleteReviewers(TestInfo test) throws IOException {
     CreateGlossaryTerm create = createRequest(getEntityName(test), "", "", null).withReviewers(null).withSynonyms(null);
@@ -253,6 +253,29 @@ public class SystemResourceTest extends OpenMetadataApplicationTest {
     Assertions.assertEquals(beforeCount.getStorageServiceCount() + 1, afterCount.getStorageServiceCount());
   }
 
+  @Test
+  void entitiesCount_deleteAndRestore(TestInfo test) throws HttpResponseException {
+    EntitiesCount before = getEntitiesCount();
+    EntitiesCount beforeDeleted = getEntitiesCount("deleted");
+
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    CreateTable createTable = tableResourceTest.createRequest(test);
+    Table table = tableResourceTest.createEntity(createTable, ADMIN_AUTH_HEADERS);
+    assertTableCounts(before.getTableCount() + 1, beforeDeleted.getTableCount());
+
+    // Soft-deleted table moves to the count of the deleted tables
+    tableResourceTest.deleteEntity(table.getId(), ADMIN_AUTH_HEADERS);
+    assertTableCounts(before.getTableCount(), beforeDeleted.getTableCount() + 1);
+
+    // Table restored by PUT moves back to the count of the tables only once
+    tableResourceTest.updateEntity(createTable, Response.Status.OK, ADMIN_AUTH_HEADERS);
+    assertTableCounts(before.getTableCount() + 1, beforeDeleted.getTableCount());
+
+    // Hard-deleted table is no longer counted
+    tableResourceTest.deleteEntity(table.getId(), false, true, ADMIN_AUTH_HEADERS);
+    assertTableCounts(before.getTableCount(), beforeDeleted.getTableCount());
+  }
+
   @Test
   void botUserCountCheck(TestInfo test) throws HttpResponseException {
     int beforeUserCount = getEntitiesCount().getUserCount();
@@ -283,6 +306,16 @@ public class SystemResourceTest extends OpenMetadataApplicationTest {
     return TestUtils.get(target, EntitiesCount.class, ADMIN_AUTH_HEADERS);
   }
 
+  private static EntitiesCount getEntitiesCount(String include) throws HttpResponseException {
+    WebTarget target = getResource("system/entities/count").queryParam("include", include);
+    return TestUtils.get(target, EntitiesCount.class, ADMIN_AUTH_HEADERS);
+  }
+
+  private static void assertTableCounts(int expected, int expectedDeleted) throws HttpResponseException {
+    Assertions.assertEquals(expected, getEntitiesCount().getTableCount());
+    Assertions.assertEquals(expectedDeleted, getEntitiesCount("deleted").getTableCount());
+  }
+
   private static ServicesCount getServicesCount() throws HttpResponseException {
     WebTarget target = getResource("system/services/count");
     return TestUtils.get(target, ServicesCount.class, ADMIN_AUTH_HEADERS);
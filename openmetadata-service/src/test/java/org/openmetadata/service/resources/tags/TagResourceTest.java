@@ -18,6 +18,7 @@ import static javax.ws.rs.core.Response.Status.CREATED;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.openmetadata.common.utils.CommonUtil.listOf;
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
@@ -53,6 +54,7 @@ import org.openmetadata.schema.type.ProviderType;
 import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
+import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.resources.EntityResourceTest;
 import org.openmetadata.service.resources.tags.TagResource.TagList;
 import org.openmetadata.service.util.EntityUtil;
@@ -149,6 +151,24 @@ public class TagResourceTest extends EntityResourceTest<Tag, CreateTag> {
     classificationResourceTest.renameClassificationAndCheck(classification, newClassificationName);
   }
 
+  @Test
+  void rename_delete_invalidatesTagLabelCache(TestInfo test) throws IOException {
+    Tag tag = createEntity(createRequest(getEntityName(test)), ADMIN_AUTH_HEADERS);
+    String oldFqn = tag.getFullyQualifiedName();
+    assertEquals(tag.getId(), TagLabelCache.getInstance().getTag(oldFqn).getId());
+
+    // The tag cached by the old FQN is no longer returned after the rename
+    renameTagAndCheck(tag, "renamed_" + tag.getName());
+    tag = getEntity(tag.getId(), ADMIN_AUTH_HEADERS);
+    String newFqn = tag.getFullyQualifiedName();
+    assertThrows(EntityNotFoundException.class, () -> TagLabelCache.getInstance().getTag(oldFqn));
+    assertEquals(tag.getId(), TagLabelCache.getInstance().getTag(newFqn).getId());
+
+    // The tag is no longer returned from the cache after it is deleted
+    deleteEntity(tag.getId(), false, true, ADMIN_AUTH_HEADERS);
+    assertThrows(EntityNotFoundException.class, () -> TagLabelCache.getInstance().getTag(newFqn));
+  }
+
   @Test
   void delete_systemTag() throws HttpResponseException {
     Tag tag = getEntityByName("Tier.Tier1", ADMIN_AUTH_HEADERS);
@@ -0,0 +1,109 @@
+package org.openmetadata.service.security.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.exception.CustomExceptionMessage;
+
+class PasswordHasherTest {
+  private static final String PASSWORD = "Secret@123";
+
+  @Test
+  void test_verifyAndRehash() {
+    PasswordHasher hasher = hasher(2, 8, 5);
+    String hash = hasher.hash(PASSWORD);
+    assertEquals(5, BCrypt.verifyer().verify(PASSWORD.toCharArray(), hash).details.cost);
+
+    PasswordHasher.Verification verification = hasher.verify(PASSWORD, hash);
+    assertTrue(verification.isVerified());
+    assertNull(verification.getRehashedPassword());
+    assertFalse(hasher.verify("Wrong@123", hash).isVerified());
+
+    // A hash with another cost is hashed again with the configured cost
+    String oldHash = BCrypt.withDefaults().hashToString(4, PASSWORD.toCharArray());
+    verification = hasher.verify(PASSWORD, oldHash);
+    assertTrue(verification.isVerified());
+    assertEquals(5, BCrypt.verifyer().verify(PASSWORD.toCharArray(), verification.getRehashedPassword()).details.cost);
+    assertNull(hasher.verify("Wrong@123", oldHash).getRehashedPassword());
+  }
+
+  @Test
+  void test_loginStorm() throws Exception {
+    // A server with 16 request threads that receives a storm of logins followed by API requests
+    PasswordHasher hasher = hasher(1, 2, 12);
+    String hash = BCrypt.withDefaults().hashToString(12, PASSWORD.toCharArray());
+    ExecutorService requestThreads = Executors.newFixedThreadPool(16);
+    try {
+      AtomicInteger rejected = new AtomicInteger();
+      List<Future<?>> logins = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        logins.add(
+            requestThreads.submit(
+                () -> {
+                  try {
+                    hasher.verify(PASSWORD, hash);
+                  } catch (CustomExceptionMessage e) {
+                    assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), e.getResponse().getStatus());
+                    rejected.incrementAndGet();
+                  }
+                }));
+      }
+
+      // At most 3 request threads wait for passwords, and the API requests are served by the other threads without
+      // waiting for the logins
+      List<Long> latencies = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        long submitted = System.nanoTime();
+        requestThreads.submit(() -> null).get(10, TimeUnit.SECONDS);
+        latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted));
+        Thread.sleep(10);
+      }
+      for (Future<?> login : logins) {
+        login.get(60, TimeUnit.SECONDS);
+      }
+      latencies.sort(Long::compare);
+      long max = latencies.get(latencies.size() - 1);
+      assertTrue(max < 100, "API latency during the login storm " + latencies);
+      assertTrue(rejected.get() >= 64 - 16, "Rejected " + rejected.get() + " logins");
+    } finally {
+      requestThreads.shutdownNow();
+    }
+  }
+
+  @Test
+  void test_loginRateLimit() {
+    LoginRateLimiter limiter = new LoginRateLimiter(3);
+    // Logins that are allowed are not counted, only the failed logins are
+    for (int i = 0; i < 5; i++) {
+      limiter.checkAllowed("alice");
+    }
+    for (int i = 0; i < 3; i++) {
+      limiter.recordFailedLogin("alice");
+    }
+    CustomExceptionMessage exception = assertThrows(CustomExceptionMessage.class, () -> limiter.checkAllowed("alice"));
+    assertEquals(Response.Status.TOO_MANY_REQUESTS.getStatusCode(), exception.getResponse().getStatus());
+    limiter.checkAllowed("bob");
+  }
+
+  private static PasswordHasher hasher(int threads, int queueSize, int cost) {
+    PasswordVerificationConfiguration configuration = new PasswordVerificationConfiguration();
+    configuration.setThreads(threads);
+    configuration.setQueueSize(queueSize);
+    configuration.setHashingCost(cost);
+    return new PasswordHasher(configuration, new SimpleMeterRegistry());
+  }
+}
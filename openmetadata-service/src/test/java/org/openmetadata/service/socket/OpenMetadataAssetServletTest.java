@@ -0,0 +1,232 @@
+package org.openmetadata.service.socket;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.stubbing.Answer;
+
+class OpenMetadataAssetServletTest {
+  private static final String CHUNK = "main.0123456789abcdef0123.js";
+
+  @TempDir Path assets;
+  private byte[] chunk;
+  private OpenMetadataAssetServlet servlet;
+
+  @BeforeEach
+  void setup() throws IOException {
+    StringBuilder js = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      js.append("export function component").append(i).append("() { return document.createElement('div'); }\n");
+    }
+    chunk = js.toString().getBytes(StandardCharsets.UTF_8);
+    Files.write(assets.resolve(CHUNK), chunk);
+    Files.write(assets.resolve(CHUNK + ".gz"), gzip(chunk));
+    Files.write(assets.resolve("index.html"), "<html></html>".getBytes(StandardCharsets.UTF_8));
+    servlet =
+        new OpenMetadataAssetServlet("/assets", "/", "index.html") {
+          @Override
+          protected URL getResourceUrl(String path) {
+            Path file = assets.resolve(path.substring("assets/".length()));
+            if (!Files.exists(file)) {
+              throw new IllegalArgumentException("resource " + path + " not found.");
+            }
+            try {
+              return file.toUri().toURL();
+            } catch (MalformedURLException e) {
+              throw new IllegalArgumentException(e);
+            }
+          }
+        };
+  }
+
+  @Test
+  void test_precompressedAsset() throws Exception {
+    Response response = get(CHUNK, Map.of(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"));
+    assertEquals(200, response.status);
+    assertEquals("gzip", response.headers.get("Content-Encoding"));
+    assertEquals(HttpHeaders.ACCEPT_ENCODING, response.headers.get(HttpHeaders.VARY));
+    assertEquals(OpenMetadataAssetServlet.IMMUTABLE, response.headers.get(HttpHeaders.CACHE_CONTROL));
+    assertArrayEquals(chunk, gunzip(response.body.toByteArray()));
+
+    // The compressed chunk is a fraction of the size of the chunk
+    assertTrue(
+        response.body.size() * 10 < chunk.length,
+        String.format("Sent %d bytes for a chunk of %d bytes", response.body.size(), chunk.length));
+  }
+
+  @Test
+  void test_notModified() throws Exception {
+    Response response = get(CHUNK, Map.of(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+    String eTag = response.headers.get(HttpHeaders.ETAG);
+    assertNotNull(eTag);
+
+    response = get(CHUNK, Map.of(HttpHeaders.ACCEPT_ENCODING, "gzip", HttpHeaders.IF_NONE_MATCH, eTag));
+    assertEquals(304, response.status);
+    assertEquals(0, response.body.size());
+
+    // The ETag of the uncompressed chunk differs from the ETag of the compressed chunk
+    response = get(CHUNK, Map.of(HttpHeaders.IF_NONE_MATCH, eTag));
+    assertEquals(200, response.status);
+    assertArrayEquals(chunk, response.body.toByteArray());
+    response = get(CHUNK, Map.of(HttpHeaders.IF_NONE_MATCH, response.headers.get(HttpHeaders.ETAG)));
+    assertEquals(304, response.status);
+  }
+
+  @Test
+  void test_uncompressedAsset() throws Exception {
+    // Encodings without a precompressed copy, or refused by the browser, fall back to the asset
+    Response response = get(CHUNK, Map.of(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0"));
+    assertEquals(200, response.status);
+    assertNull(response.headers.get("Content-Encoding"));
+    assertArrayEquals(chunk, response.body.toByteArray());
+
+    // Assets without the content hash in the name are revalidated on every use
+    response = get("index.html", Map.of(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+    assertEquals(200, response.status);
+    assertNull(response.headers.get("Content-Encoding"));
+    assertEquals(OpenMetadataAssetServlet.REVALIDATE, response.headers.get(HttpHeaders.CACHE_CONTROL));
+  }
+
+  @Test
+  void test_missingAssetNotCached() throws Exception {
+    Response response = get("missing.js", Map.of(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+    assertEquals(404, response.status);
+
+    // Paths without a precompressed copy are looked up again rather than cached as missing
+    Files.write(assets.resolve("missing.js"), chunk);
+    Files.write(assets.resolve("missing.js.gz"), gzip(chunk));
+    response = get("missing.js", Map.of(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+    assertEquals(200, response.status);
+    assertEquals("gzip", response.headers.get("Content-Encoding"));
+  }
+
+  @Test
+  void test_acceptEncoding() {
+    assertTrue(OpenMetadataAssetServlet.accepts("gzip, deflate, br", "br"));
+    assertTrue(OpenMetadataAssetServlet.accepts("GZIP;q=0.5", "gzip"));
+    assertTrue(OpenMetadataAssetServlet.accepts("*", "br"));
+    assertFalse(OpenMetadataAssetServlet.accepts("*, br;q=0", "br"));
+    assertFalse(OpenMetadataAssetServlet.accepts("gzip;q=0", "gzip"));
+    assertFalse(OpenMetadataAssetServlet.accepts("deflate", "gzip"));
+    assertFalse(OpenMetadataAssetServlet.accepts(null, "gzip"));
+  }
+
+  private Response get(String path, Map<String, String> headers) throws Exception {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    ServletContext context = mock(ServletContext.class);
+    when(context.getMimeType(anyString()))
+        .thenAnswer(i -> i.getArgument(0, String.class).endsWith(".js") ? "application/javascript" : "text/html");
+    when(request.getServletContext()).thenReturn(context);
+    when(request.getServletPath()).thenReturn("");
+    when(request.getPathInfo()).thenReturn("/" + path);
+    when(request.getRequestURI()).thenReturn("/" + path);
+    when(request.getHeader(anyString())).thenAnswer(i -> headers.get(i.getArgument(0, String.class)));
+    when(request.getDateHeader(anyString())).thenReturn(-1L);
+
+    Response response = new Response();
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    Answer<Void> setHeader =
+        i -> {
+          response.headers.put(i.getArgument(0), String.valueOf(i.getArgument(1, Object.class)));
+          return null;
+        };
+    when(servletResponse.getOutputStream()).thenReturn(new CapturingOutputStream(response.body));
+    when(servletResponse.getStatus()).thenAnswer(i -> response.status);
+    doAnswer(setHeader).when(servletResponse).setHeader(anyString(), anyString());
+    doAnswer(
+            i -> {
+              response.status = i.getArgument(0);
+              return null;
+            })
+        .when(servletResponse)
+        .setStatus(anyInt());
+    doAnswer(
+            i -> {
+              response.status = i.getArgument(0);
+              return null;
+            })
+        .when(servletResponse)
+        .sendError(anyInt());
+    servlet.doGet(request, servletResponse);
+    return response;
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (OutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(content);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] gunzip(byte[] content) throws IOException {
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      return gzip.readAllBytes();
+    }
+  }
+
+  private static class Response {
+    private int status = 200;
+    private final Map<String, String> headers = new HashMap<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+  }
+
+  private static class CapturingOutputStream extends ServletOutputStream {
+    private final ByteArrayOutputStream out;
+
+    CapturingOutputStream(ByteArrayOutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) {
+      out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.URI;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.CacheInvalidator;
+import org.openmetadata.service.cache.LocalCacheInvalidationLog;
+
+class EntityReferenceCacheTest {
+  private final EntityReferenceCache cache = EntityReferenceCache.getInstance();
+
+  @AfterEach
+  void cleanUp() {
+    cache.invalidateAll();
+    CacheInvalidator.stop();
+  }
+
+  @Test
+  void test_getReturnsCopy() {
+    EntityReference ref = getReference(Entity.TABLE, "t1");
+    cache.put(ref);
+
+    EntityReference cached = cache.get(Entity.TABLE, ref.getId());
+    assertEquals(ref, cached);
+    assertNotSame(ref, cached);
+
+    // Changes made by the caller are not seen by the others
+    cached.setHref(URI.create("http://localhost"));
+    assertNull(cache.get(Entity.TABLE, ref.getId()).getHref());
+  }
+
+  @Test
+  void test_invalidate() {
+    EntityReference table = getReference(Entity.TABLE, "t1");
+    EntityReference tag1 = getReference(Entity.TAG, "c.t1");
+    EntityReference tag2 = getReference(Entity.TAG, "c.t2");
+    cache.put(table);
+    cache.put(tag1);
+    cache.put(tag2);
+
+    cache.invalidate(Entity.TAG, tag1.getId());
+    assertNull(cache.get(Entity.TAG, tag1.getId()));
+    assertEquals(tag2, cache.get(Entity.TAG, tag2.getId()));
+
+    // Renaming by prefix invalidates all the references of the entity type
+    cache.invalidateAll(Entity.TAG);
+    assertNull(cache.get(Entity.TAG, tag2.getId()));
+    assertEquals(table, cache.get(Entity.TABLE, table.getId()));
+  }
+
+  @Test
+  void test_invalidationFromOtherServer() {
+    LocalCacheInvalidationLog thisServer = new LocalCacheInvalidationLog();
+    LocalCacheInvalidationLog otherServer = thisServer.otherServer();
+    CacheInvalidator.setInvalidationLog(thisServer);
+    EntityReference table = getReference(Entity.TABLE, "t1");
+    EntityReference tag = getReference(Entity.TAG, "c.t1");
+    cache.put(table);
+    cache.put(tag);
+
+    // Updates and deletes on the other server invalidate the reference
+    otherServer.append(EntityReferenceCache.CACHE_NAME, Entity.TABLE + ":" + table.getId());
+    CacheInvalidator.poll();
+    assertNull(cache.get(Entity.TABLE, table.getId()));
+    assertEquals(tag, cache.get(Entity.TAG, tag.getId()));
+
+    // Renames by prefix on the other server invalidate all the references of the entity type
+    otherServer.append(EntityReferenceCache.CACHE_NAME, Entity.TAG + ":*");
+    CacheInvalidator.poll();
+    assertNull(cache.get(Entity.TAG, tag.getId()));
+
+    // Invalidations on this server are published to the other servers
+    cache.invalidate(Entity.TABLE, table.getId());
+    cache.invalidateAll(Entity.TAG);
+    assertEquals(2, otherServer.readNew().size());
+  }
+
+  private static EntityReference getReference(String type, String fqn) {
+    return new EntityReference()
+        .withId(UUID.randomUUID())
+        .withType(type)
+        .withName(fqn)
+        .withFullyQualifiedName(fqn)
+        .withDescription("description")
+        .withDeleted(false);
+  }
+}
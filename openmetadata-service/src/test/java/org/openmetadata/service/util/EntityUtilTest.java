@@ -0,0 +1,62 @@
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.ColumnDataType;
+import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.schema.type.TagLabel.TagSource;
+
+class EntityUtilTest {
+  @Test
+  void test_findUnmatched() {
+    List<Column> orig = List.of(column("c1", ColumnDataType.INT), column("c2", ColumnDataType.INT));
+    List<Column> updated =
+        List.of(column("C1", ColumnDataType.INT), column("c2", ColumnDataType.STRING), column("c3", null));
+
+    // Keyed matchers and plain predicates find the same items
+    BiPredicate<Column, Column> plainMatch = (c1, c2) -> EntityUtil.columnMatch.test(c1, c2);
+    for (BiPredicate<Column, Column> match : List.of(EntityUtil.columnMatch, plainMatch)) {
+      assertEquals(List.of(orig.get(1)), EntityUtil.findUnmatched(orig, updated, match));
+      assertEquals(List.of(updated.get(1), updated.get(2)), EntityUtil.findUnmatched(updated, orig, match));
+    }
+  }
+
+  @Test
+  void test_getMatcher() {
+    Column c1 = column("c1", ColumnDataType.INT);
+    Column duplicate = column("c1", ColumnDataType.INT);
+    UnaryOperator<Column> matcher = EntityUtil.getMatcher(List.of(c1, duplicate), EntityUtil.columnMatch);
+    assertSame(c1, matcher.apply(column("C1", ColumnDataType.INT))); // First match is returned
+    assertNull(matcher.apply(column("c1", ColumnDataType.STRING)));
+  }
+
+  @Test
+  void test_mergeTags() {
+    TagLabel pii = tag("PII.Sensitive", TagSource.CLASSIFICATION);
+    TagLabel tier = tag("Tier.Tier1", TagSource.CLASSIFICATION);
+    List<TagLabel> mergeTo = new ArrayList<>(List.of(pii));
+    EntityUtil.mergeTags(mergeTo, List.of(tag("PII.Sensitive", TagSource.CLASSIFICATION), tier));
+    assertEquals(List.of(pii, tier), mergeTo);
+
+    // Duplicates within the tags merged from are added once
+    TagLabel term = tag("g.t", TagSource.GLOSSARY);
+    EntityUtil.mergeTags(mergeTo, List.of(term, tag("g.t", TagSource.GLOSSARY), tag("g.t", TagSource.GLOSSARY)));
+    assertEquals(List.of(pii, tier, term), mergeTo);
+  }
+
+  private static Column column(String name, ColumnDataType dataType) {
+    return new Column().withName(name).withDataType(dataType);
+  }
+
+  private static TagLabel tag(String fqn, TagSource source) {
+    return new TagLabel().withTagFQN(fqn).withSource(source);
+  }
+}
@@ -1,5 +1,6 @@
 package org.openmetadata.service.util;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -83,12 +84,56 @@ class FullyQualifiedNameTest {
     assertThrows(ParseCancellationException.class, () -> FullyQualifiedName.split("a\""));
   }
 
+  @Test
+  void test_splitMatchesGrammar() {
+    // The hand-written scanner must accept and reject the same FQNs as the ANTLR parser generated from Fqn.g4
+    List<String> fqns =
+        List.of(
+            "a",
+            "a.b.c",
+            "\"a.1\".b",
+            "a.\"b.2\"",
+            "\"a.\"",
+            "\".\"",
+            "a b.c-d.e_f",
+            "",
+            ".",
+            "a.",
+            ".a",
+            "a..b",
+            "\"a\"",
+            "\"a.b",
+            "a.\"b.c",
+            "\"a.b\"c",
+            "\"a.b\"\"c.d\"",
+            "a\"b",
+            "\"\"");
+    for (String fqn : fqns) {
+      if (isValid(fqn)) {
+        assertDoesNotThrow(() -> FullyQualifiedName.split(fqn), fqn);
+      } else {
+        assertThrows(ParseCancellationException.class, () -> FullyQualifiedName.split(fqn), fqn);
+      }
+    }
+  }
+
+  @Test
+  void test_getTableFQN() {
+    assertEquals("s.d.\"sc.1\".t", FullyQualifiedName.getTableFQN("s.d.\"sc.1\".t.c"));
+    assertEquals("s.d.sc.t", FullyQualifiedName.getTableFQN("s.d.sc.t.\"c.1\""));
+    assertEquals("\"c.1\"", FullyQualifiedName.getColumnName("s.d.sc.t.\"c.1\""));
+    assertThrows(IllegalArgumentException.class, () -> FullyQualifiedName.getTableFQN("s.d.sc.t"));
+    assertThrows(IllegalArgumentException.class, () -> FullyQualifiedName.getTableFQN("s.d.sc.t.c.n"));
+  }
+
   @Test
   void test_getParent() {
     assertEquals("a.b.c", FullyQualifiedName.getParent("a.b.c.d"));
     assertEquals("a.b", FullyQualifiedName.getParent("a.b.c"));
     assertEquals("a", FullyQualifiedName.getParent("a.b"));
     assertNull(FullyQualifiedName.getParent("a"));
+    assertEquals("a.1", FullyQualifiedName.getParent("\"a.1\".b"));
+    assertEquals("\"a.1\".b", FullyQualifiedName.getParent("\"a.1\".b.\"c.2\""));
   }
 
   @Test
@@ -107,4 +152,39 @@ class FullyQualifiedNameTest {
     assertFalse(FullyQualifiedName.isParent("a.b", "a.b.c"));
     assertFalse(FullyQualifiedName.isParent("a.b.c", "a.b.c"));
   }
+
+  @Test
+  void test_buildHash() {
+    // md5 of "a" and "a.b"
+    assertEquals("0cc175b9c0f1b6a831c399e269772661", FullyQualifiedName.buildHash("a"));
+    assertEquals("e32b629f658481c8aa169aa08acc0625", FullyQualifiedName.buildHash("a.b"));
+
+    // Hash has a fixed length regardless of the number and the length of the names
+    assertEquals(32, FullyQualifiedName.buildHash("s.d.\"sc.1\".t.c").length());
+    assertEquals(32, FullyQualifiedName.buildHash("a.".repeat(100) + "b").length());
+    assertEquals(List.of(FullyQualifiedName.buildHash("a")), FullyQualifiedName.buildHash(List.of("a")));
+    assertNull(FullyQualifiedName.buildHash((String) null));
+  }
+
+  @Test
+  void test_buildParentHashes() {
+    assertEquals(List.of(), FullyQualifiedName.buildParentHashes("a"));
+    assertEquals(
+        List.of(FullyQualifiedName.buildHash("a"), FullyQualifiedName.buildHash("a.b")),
+        FullyQualifiedName.buildParentHashes("a.b.c"));
+
+    // The separators within quoted names do not separate the parent paths
+    assertEquals(
+        List.of(FullyQualifiedName.buildHash("s"), FullyQualifiedName.buildHash("s.\"d.1\"")),
+        FullyQualifiedName.buildParentHashes("s.\"d.1\".t"));
+  }
+
+  private static boolean isValid(String fqn) {
+    try {
+      FullyQualifiedName.validate(fqn);
+      return true;
+    } catch (ParseCancellationException e) {
+      return false;
+    }
+  }
 }
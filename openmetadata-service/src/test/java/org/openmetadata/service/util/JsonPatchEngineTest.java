@@ -0,0 +1,119 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import org.junit.jupiter.api.Test;
+
+class JsonPatchEngineTest {
+  @Test
+  void test_addReplaceRemoveObjectFields() throws IOException {
+    JsonNode doc = readTree("{\"name\":\"t\",\"description\":\"d\"}");
+    JsonArray ops =
+        Json.createPatchBuilder()
+            .add("/displayName", "T")
+            .replace("/description", "new")
+            .remove("/name")
+            .build()
+            .toJsonArray();
+    assertEquals(readTree("{\"description\":\"new\",\"displayName\":\"T\"}"), JsonPatchEngine.apply(doc, ops));
+
+    JsonArray missing = Json.createPatchBuilder().replace("/owner", "x").build().toJsonArray();
+    JsonException e =
+        assertThrows(JsonException.class, () -> JsonPatchEngine.apply(readTree("{\"name\":\"t\"}"), missing));
+    assertTrue(e.getMessage().contains("contains no mapping for the name owner"));
+  }
+
+  @Test
+  void test_arrayIndexesOfOriginalDocument() throws IOException {
+    // Patch generated by Json.createDiff removes the trailing elements in increasing order of index
+    JsonNode source = readTree("{\"tags\":[\"a\",\"b\",\"c\",\"d\"]}");
+    JsonNode target = readTree("{\"tags\":[\"x\",\"b\"]}");
+    JsonArray diff = JsonUtils.getJsonPatch(source.toString(), target.toString()).toJsonArray();
+    assertEquals(target, JsonPatchEngine.apply(source.deepCopy(), diff));
+    JsonArray reverseDiff = JsonUtils.getJsonPatch(target.toString(), source.toString()).toJsonArray();
+    assertEquals(source, JsonPatchEngine.apply(target.deepCopy(), reverseDiff));
+
+    // Adds are applied in increasing order of index
+    JsonArray adds = Json.createPatchBuilder().add("/tags/5", "f").add("/tags/4", "e").build().toJsonArray();
+    assertEquals(readTree("{\"tags\":[\"a\",\"b\",\"c\",\"d\",\"e\",\"f\"]}"), JsonPatchEngine.apply(source, adds));
+
+    JsonArray append = Json.createPatchBuilder().add("/tags/-", "g").build().toJsonArray();
+    JsonNode appended = JsonPatchEngine.apply(readTree("{\"tags\":[]}"), append);
+    assertEquals(readTree("{\"tags\":[\"g\"]}"), appended);
+
+    JsonArray outOfRange = Json.createPatchBuilder().add("/tags/3", "x").build().toJsonArray();
+    JsonException e =
+        assertThrows(JsonException.class, () -> JsonPatchEngine.apply(readTree("{\"tags\":[]}"), outOfRange));
+    assertTrue(e.getMessage().contains("contains no element for index 3"));
+  }
+
+  @Test
+  void test_nestedArrays() throws IOException {
+    JsonNode doc =
+        readTree("{\"columns\":[{\"name\":\"c1\",\"tags\":[\"t1\",\"t2\",\"t3\"]},{\"name\":\"c2\",\"tags\":[]}]}");
+    JsonArray ops =
+        Json.createPatchBuilder()
+            .replace("/columns/0/tags/0", "t0")
+            .remove("/columns/0/tags/1")
+            .remove("/columns/0/tags/2")
+            .add("/columns/1/tags/0", "t4")
+            .build()
+            .toJsonArray();
+    assertEquals(
+        readTree("{\"columns\":[{\"name\":\"c1\",\"tags\":[\"t0\"]},{\"name\":\"c2\",\"tags\":[\"t4\"]}]}"),
+        JsonPatchEngine.apply(doc, ops));
+  }
+
+  @Test
+  void test_moveCopyTestAndHref() throws IOException {
+    JsonNode doc = readTree("{\"a\":{\"b\":1},\"href\":\"h\",\"owner\":{\"href\":\"o\"}}");
+    JsonArray ops =
+        Json.createPatchBuilder()
+            .test("/a/b", 1)
+            .copy("/c", "/a")
+            .move("/d", "/a/b")
+            .replace("/owner/href", "ignored")
+            .remove("/href")
+            .build()
+            .toJsonArray();
+    assertEquals(
+        readTree("{\"a\":{},\"href\":\"h\",\"owner\":{\"href\":\"o\"},\"c\":{\"b\":1},\"d\":1}"),
+        JsonPatchEngine.apply(doc, ops));
+
+    JsonArray failedTest = Json.createPatchBuilder().test("/d", 2).build().toJsonArray();
+    assertThrows(JsonException.class, () -> JsonPatchEngine.apply(readTree("{\"d\":1}"), failedTest));
+  }
+
+  @Test
+  void test_parsePointer() {
+    assertEquals(List.of(), JsonPatchEngine.parsePointer(""));
+    assertEquals(List.of("a", "0", ""), JsonPatchEngine.parsePointer("/a/0/"));
+    assertEquals(List.of("a/b", "c~d"), JsonPatchEngine.parsePointer("/a~1b/c~0d"));
+    assertThrows(JsonException.class, () -> JsonPatchEngine.parsePointer("a"));
+  }
+
+  private static JsonNode readTree(String json) throws IOException {
+    return JsonUtils.readTree(json);
+  }
+}
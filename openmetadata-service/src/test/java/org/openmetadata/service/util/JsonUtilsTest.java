@@ -19,11 +19,15 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.json.Json;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonException;
@@ -115,6 +119,18 @@ class JsonUtilsTest {
     assertEquals(expectedMap, JsonUtils.readValue(json, mapTypeReference));
   }
 
+  @Test
+  void testReadValues() throws IOException {
+    Team team1 = new Team().withId(UUID.randomUUID()).withName("team1");
+    Team team2 = new Team().withId(UUID.randomUUID()).withName("team2");
+    Stream<String> jsons = Stream.of(JsonUtils.pojoToJson(team1), JsonUtils.pojoToJson(team2));
+    assertEquals(List.of(team1, team2), JsonUtils.readValues(jsons, Team.class).collect(Collectors.toList()));
+
+    // Invalid json fails when the stream is consumed
+    Stream<Team> teams = JsonUtils.readValues(Stream.of("{\"id\":"), Team.class);
+    assertThrows(UncheckedIOException.class, () -> teams.collect(Collectors.toList()));
+  }
+
   @Test
   void testJsonWithFieldsRemoveFields() throws IOException, URISyntaxException {
     HashMap authType = new HashMap();
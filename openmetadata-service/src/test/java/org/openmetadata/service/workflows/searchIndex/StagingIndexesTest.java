@@ -0,0 +1,85 @@
+package org.openmetadata.service.workflows.searchIndex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.system.EventPublisherJob;
+import org.openmetadata.schema.system.Failure;
+import org.openmetadata.schema.system.FailureDetails;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+
+class StagingIndexesTest {
+  private static final ElasticSearchIndexType TABLE = ElasticSearchIndexType.TABLE_SEARCH_INDEX;
+
+  private ElasticSearchIndexDefinition indexDefinition;
+  private StagingIndexes stagingIndexes;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    indexDefinition = mock(ElasticSearchIndexDefinition.class);
+    when(indexDefinition.createStagingIndex(TABLE, "en")).thenReturn("table_search_index_1");
+    stagingIndexes = new StagingIndexes(indexDefinition);
+    assertEquals("table_search_index_1", stagingIndexes.getOrCreate(TABLE, "en"));
+    // The entity types sharing an index are built into the same staging index
+    assertEquals("table_search_index_1", stagingIndexes.getOrCreate(TABLE, "en"));
+    verify(indexDefinition).createStagingIndex(TABLE, "en");
+  }
+
+  @Test
+  void test_completedJobSwapsStagingIndexes() throws IOException {
+    EventPublisherJob job = new EventPublisherJob().withStatus(EventPublisherJob.Status.COMPLETED);
+    stagingIndexes.swap(job);
+    stagingIndexes.discard(job);
+
+    verify(indexDefinition).swapIndex(TABLE, "table_search_index_1");
+    verify(indexDefinition, never()).deleteStagingIndex(anyString());
+    assertNull(stagingIndexes.get(TABLE));
+    assertEquals(Set.of(TABLE), stagingIndexes.getIndexTypes());
+    assertNull(job.getFailure());
+  }
+
+  @Test
+  void test_jobWithErrorsDiscardsStagingIndexes() throws IOException {
+    // A job with failed items is not swapped in, and keeps the earlier job error along with the outcome
+    EventPublisherJob job =
+        new EventPublisherJob()
+            .withStatus(EventPublisherJob.Status.FAILED)
+            .withFailure(
+                new Failure()
+                    .withSinkError(new FailureDetails().withContext("[EsWriter] BulkResponseItems"))
+                    .withJobError(new FailureDetails().withContext("Failure in Job").withLastFailedAt(1L)));
+    stagingIndexes.swap(job);
+    stagingIndexes.discard(job);
+
+    verify(indexDefinition, never()).swapIndex(any(), anyString());
+    verify(indexDefinition).deleteStagingIndex("table_search_index_1");
+    assertTrue(stagingIndexes.isEmpty());
+    String context = job.getFailure().getJobError().getContext();
+    assertTrue(context.startsWith("Failure in Job "));
+    assertTrue(context.contains("[table_search_index_1] were discarded as the job ended with status FAILED"));
+    assertEquals(1L, job.getFailure().getJobError().getLastFailedAt());
+    assertEquals("[EsWriter] BulkResponseItems", job.getFailure().getSinkError().getContext());
+  }
+
+  @Test
+  void test_stoppedJobDiscardsStagingIndexes() throws IOException {
+    EventPublisherJob job = new EventPublisherJob().withStatus(EventPublisherJob.Status.STOPPED);
+    stagingIndexes.swap(job);
+    stagingIndexes.discard(job);
+
+    verify(indexDefinition).deleteStagingIndex("table_search_index_1");
+    assertTrue(job.getFailure().getJobError().getContext().contains("ended with status STOPPED"));
+  }
+}
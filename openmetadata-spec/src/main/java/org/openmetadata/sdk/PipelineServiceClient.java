@@ -18,6 +18,7 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -179,6 +180,15 @@ public abstract class PipelineServiceClient {
   /* Get the status of a deployed pipeline */
   public abstract List<PipelineStatus> getQueuedPipelineStatus(IngestionPipeline ingestionPipeline);
 
+  /* Get the status of many deployed pipelines by the name of the pipeline */
+  public Map<String, List<PipelineStatus>> getQueuedPipelineStatus(List<IngestionPipeline> ingestionPipelines) {
+    Map<String, List<PipelineStatus>> statuses = new LinkedHashMap<>();
+    for (IngestionPipeline ingestionPipeline : ingestionPipelines) {
+      statuses.put(ingestionPipeline.getName(), getQueuedPipelineStatus(ingestionPipeline));
+    }
+    return statuses;
+  }
+
   /* Toggle the state of an Ingestion Pipeline as enabled/disabled */
   public abstract IngestionPipeline toggleIngestion(IngestionPipeline ingestionPipeline);
 
@@ -17,6 +17,7 @@ const HtmlWebpackPlugin = require('html-webpack-plugin');
 const CopyWebpackPlugin = require('copy-webpack-plugin');
 const WebpackBar = require('webpackbar');
 const webpack = require('webpack');
+const zlib = require('zlib');
 const MiniCssExtractPlugin = require('mini-css-extract-plugin');
 const BundleAnalyzerPlugin =
   require('webpack-bundle-analyzer').BundleAnalyzerPlugin;
@@ -24,6 +25,51 @@ const TsconfigPathsPlugin = require('tsconfig-paths-webpack-plugin');
 
 const outputPath = path.join(__dirname, 'dist/assets');
 
+// Emit a .br and a .gz copy of the text assets. The server sends the copy in
+// place of the asset when the browser accepts the encoding, so that the bundle
+// is not compressed again on every request
+class PrecompressPlugin {
+  apply(compiler) {
+    compiler.hooks.thisCompilation.tap('PrecompressPlugin', (compilation) => {
+      compilation.hooks.processAssets.tap(
+        {
+          name: 'PrecompressPlugin',
+          stage: webpack.Compilation.PROCESS_ASSETS_STAGE_OPTIMIZE_TRANSFER,
+        },
+        (assets) => {
+          Object.entries(assets)
+            .filter(([name]) => /\.(js|css|html|json|svg)$/.test(name))
+            .forEach(([name, source]) => {
+              const buffer = source.buffer();
+              if (buffer.length < 1024) {
+                return;
+              }
+              compilation.emitAsset(
+                `${name}.br`,
+                new webpack.sources.RawSource(
+                  zlib.brotliCompressSync(buffer, {
+                    params: {
+                      [zlib.constants.BROTLI_PARAM_QUALITY]:
+                        zlib.constants.BROTLI_MAX_QUALITY,
+                    },
+                  })
+                )
+              );
+              compilation.emitAsset(
+                `${name}.gz`,
+                new webpack.sources.RawSource(
+                  zlib.gzipSync(buffer, {
+                    level: zlib.constants.Z_BEST_COMPRESSION,
+                  })
+                )
+              );
+            });
+        }
+      );
+    });
+  }
+}
+
 module.exports = {
   // Production mode
   mode: 'production',
@@ -241,5 +287,6 @@ module.exports = {
       ),
       openAnalyzer: false,
     }),
+    new PrecompressPlugin(),
   ],
 };